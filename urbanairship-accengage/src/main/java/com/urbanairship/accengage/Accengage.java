@@ -41,12 +41,19 @@ public class Accengage extends AirshipComponent {
     private final PushManager pushManager;
     private final Analytics analytics;
     private final AccengageSettingsLoader settingsLoader;
+    private String deviceId;
+    private boolean isDeviceIdLoaded;
 
     /**
      * Preference key for Accengage settings migration status
      */
     private static final String IS_ALREADY_MIGRATED_PREFERENCE_KEY = "com.urbanairship.accengage.migrated";
 
+    /**
+     * Device ID read from the device info file. Empty if the file did not have one.
+     */
+    private static final String DEVICE_ID_PREFERENCE_KEY = "com.urbanairship.accengage.device_id";
+
     /**
      * Accengage Push settings file
      */
@@ -145,6 +152,20 @@ public class Accengage extends AirshipComponent {
         this.analytics = analytics;
         this.settingsLoader = settingsLoader;
         this.notificationProvider = new AccengageNotificationProvider();
+
+        // Registered here so the device ID is sent even if the component is not initialized yet.
+        // The device info file is only read when the payload is built.
+        airshipChannel.addChannelRegistrationPayloadExtender(new AirshipChannel.ChannelRegistrationPayloadExtender() {
+            @NonNull
+            @Override
+            public ChannelRegistrationPayload.Builder extend(@NonNull ChannelRegistrationPayload.Builder builder) {
+                String deviceId = getDeviceId();
+                if (deviceId != null) {
+                    builder.setAccengageDeviceId(deviceId);
+                }
+                return builder;
+            }
+        });
     }
 
     @Override
@@ -153,22 +174,6 @@ public class Accengage extends AirshipComponent {
 
         Logger.debug("Accengage - Accengage Init");
 
-        // Retrieve Accengage Device ID
-        JsonMap accengageDeviceInfo = this.settingsLoader.load(getContext(), DEVICE_INFO_FILE);
-        final String deviceId = accengageDeviceInfo.opt(DEVICE_ID_KEY).getString();
-        if (deviceId != null) {
-            Logger.debug("Accengage - Accengage Device ID retrieved : " + deviceId);
-            // Add Accengage Device ID to Channel Registration Payload
-            airshipChannel.addChannelRegistrationPayloadExtender(new AirshipChannel.ChannelRegistrationPayloadExtender() {
-                @NonNull
-                @Override
-                public ChannelRegistrationPayload.Builder extend(@NonNull ChannelRegistrationPayload.Builder builder) {
-                    builder.setAccengageDeviceId(deviceId);
-                    return builder;
-                }
-            });
-        }
-
         pushManager.addInternalNotificationListener(new InternalNotificationListener() {
             @Override
             public void onNotificationResponse(@NonNull NotificationInfo notificationInfo, @Nullable NotificationActionButtonInfo actionButtonInfo) {
@@ -184,12 +189,53 @@ public class Accengage extends AirshipComponent {
         Logger.debug("Accengage - Airship ready");
 
         // Migrate Accengage Settings
-        if (!getDataStore().getBoolean(IS_ALREADY_MIGRATED_PREFERENCE_KEY, false)) {
+        if (!isMigrated()) {
             migrateAccengageSettings(airship);
+
+            // Reads and stores the device ID with the other legacy files
+            getDeviceId();
+
+            // Legacy files are not read again once the marker is set
             getDataStore().put(IS_ALREADY_MIGRATED_PREFERENCE_KEY, true);
         }
     }
 
+    /**
+     * Checks if the Accengage settings have been migrated.
+     *
+     * @return {@code true} if the settings are migrated, otherwise {@code false}.
+     */
+    boolean isMigrated() {
+        return getDataStore().getBoolean(IS_ALREADY_MIGRATED_PREFERENCE_KEY, false);
+    }
+
+    /**
+     * Gets the Accengage device ID. The device info file is only read once, the result is
+     * stored in the data store.
+     *
+     * @return The Accengage device ID, or {@code null} if not available.
+     */
+    @Nullable
+    synchronized String getDeviceId() {
+        if (!isDeviceIdLoaded) {
+            String storedId = getDataStore().getString(DEVICE_ID_PREFERENCE_KEY, null);
+            if (storedId == null) {
+                JsonMap accengageDeviceInfo = this.settingsLoader.load(getContext(), DEVICE_INFO_FILE);
+                storedId = accengageDeviceInfo.opt(DEVICE_ID_KEY).optString();
+                getDataStore().put(DEVICE_ID_PREFERENCE_KEY, storedId);
+
+                if (!storedId.isEmpty()) {
+                    Logger.debug("Accengage - Accengage Device ID retrieved : " + storedId);
+                }
+            }
+
+            deviceId = storedId.isEmpty() ? null : storedId;
+            isDeviceIdLoaded = true;
+        }
+
+        return deviceId;
+    }
+
     /**
      * Gets the shared Accengage instance.
      *
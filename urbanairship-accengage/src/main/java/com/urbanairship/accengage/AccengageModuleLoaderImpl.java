@@ -45,6 +45,12 @@ class AccengageModuleLoaderImpl implements AccengageModuleLoader {
         return Collections.singleton(accengage);
     }
 
+    @Override
+    public boolean isInitDeferrable() {
+        // Settings are migrated in onAirshipReady so the first run has to initialize during takeOff
+        return accengage.isMigrated();
+    }
+
     @Override
     public AccengageNotificationHandler getAccengageNotificationHandler() {
         return new AccengageNotificationHandler() {
@@ -1,13 +1,14 @@
 package com.urbanairship.accengage.common.persistence;
 
 import android.content.Context;
+import android.util.JsonReader;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.RestrictTo;
 import androidx.annotation.WorkerThread;
 
 import com.urbanairship.Logger;
-import com.urbanairship.json.JsonException;
+import com.urbanairship.json.JsonList;
 import com.urbanairship.json.JsonMap;
 import com.urbanairship.json.JsonValue;
 
@@ -17,6 +18,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Accengage Settings Loader.
@@ -36,6 +39,7 @@ public class AccengageSettingsLoader {
     @WorkerThread
     @NonNull
     public JsonMap load(@NonNull Context context, @NonNull String filename) {
+        JsonReader reader = null;
         try {
             // read config file
             FileInputStream input = context.openFileInput(filename);
@@ -45,24 +49,95 @@ public class AccengageSettingsLoader {
             }
 
             // WE READ JSON archive as UTF8!!!
-            String readLine;
-            BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(input, Charset.forName("UTF-8")));
-            StringBuilder fileContent = new StringBuilder();
-            while ((readLine = bufferedReader.readLine()) != null) {
-                fileContent.append(readLine);
-            }
-            bufferedReader.close();
-            return JsonValue.parseString(fileContent.toString()).optMap();
+            reader = new JsonReader(new BufferedReader(new InputStreamReader(input, Charset.forName("UTF-8"))));
+            reader.setLenient(true);
+            return readValue(reader).optMap();
 
         } catch (FileNotFoundException e) {
             Logger.debug("JSONArchive - Unable to open file (reading) : %s", filename);
-        } catch (IOException e) {
-            Logger.debug(e, "JSONArchive - Error while closing file (reading) : %s", filename);
-        } catch (JsonException e) {
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
             Logger.debug(e, "JSONArchive - Error while converting file to JSONObject (reading) : %s", filename);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    Logger.debug(e, "JSONArchive - Error while closing file (reading) : %s", filename);
+                }
+            }
         }
 
         return JsonMap.EMPTY_MAP;
     }
 
+    /**
+     * Reads the next value from the stream without buffering the archive.
+     *
+     * @param reader The JSON reader.
+     * @return The parsed value.
+     * @throws IOException If the archive is malformed or can not be read.
+     */
+    @NonNull
+    private static JsonValue readValue(@NonNull JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                JsonMap.Builder mapBuilder = JsonMap.newBuilder();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    mapBuilder.put(name, readValue(reader));
+                }
+                reader.endObject();
+                return mapBuilder.build().toJsonValue();
+
+            case BEGIN_ARRAY:
+                List<JsonValue> list = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    list.add(readValue(reader));
+                }
+                reader.endArray();
+                return new JsonList(list).toJsonValue();
+
+            case STRING:
+                return JsonValue.wrap(reader.nextString());
+
+            case NUMBER:
+                return readNumber(reader.nextString());
+
+            case BOOLEAN:
+                return JsonValue.wrap(reader.nextBoolean());
+
+            case NULL:
+                reader.nextNull();
+                return JsonValue.NULL;
+
+            default:
+                throw new IOException("Unexpected token: " + reader.peek());
+        }
+    }
+
+    /**
+     * Converts a number literal the same way the JSON tokener does.
+     *
+     * @param number The number literal.
+     * @return The number value.
+     */
+    @NonNull
+    private static JsonValue readNumber(@NonNull String number) {
+        if (number.indexOf('.') == -1 && number.indexOf('e') == -1 && number.indexOf('E') == -1) {
+            try {
+                long value = Long.parseLong(number);
+                if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                    return JsonValue.wrap((int) value);
+                }
+                return JsonValue.wrap(value);
+            } catch (NumberFormatException ignored) {
+                // Falls back to double
+            }
+        }
+
+        return JsonValue.wrap(Double.parseDouble(number));
+    }
+
 }
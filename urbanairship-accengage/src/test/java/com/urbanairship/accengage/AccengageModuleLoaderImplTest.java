@@ -19,6 +19,7 @@ import org.junit.runner.RunWith;
 import org.robolectric.annotation.Config;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.mock;
 
@@ -56,4 +57,9 @@ public class AccengageModuleLoaderImplTest {
         assertEquals(notificationProvider, accengage.getNotificationProvider());
     }
 
+    @Test
+    public void testInitNotDeferrableBeforeMigration() {
+        assertFalse(accengageModuleLoader.isInitDeferrable());
+    }
+
 }
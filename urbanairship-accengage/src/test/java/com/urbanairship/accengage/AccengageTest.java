@@ -23,12 +23,15 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.robolectric.annotation.Config;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyZeroInteractions;
 
 @Config(sdk = 28)
 @RunWith(AndroidJUnit4.class)
@@ -40,13 +43,15 @@ public class AccengageTest {
     private UAirship mockAirship;
 
     private Accengage accengage;
+    private Application application;
+    private PreferenceDataStore preferenceDataStore;
 
      @NonNull
     private JsonMap accengageSettings;
     @Before
     public void setup() {
-        Application application = ApplicationProvider.getApplicationContext();
-        PreferenceDataStore preferenceDataStore = new PreferenceDataStore(application);
+        application = ApplicationProvider.getApplicationContext();
+        preferenceDataStore = new PreferenceDataStore(application);
 
         mockChannel = mock(AirshipChannel.class);
         mockAnalytics = mock(Analytics.class);
@@ -66,6 +71,36 @@ public class AccengageTest {
         accengage = new Accengage(application, preferenceDataStore, mockChannel, mockPush, mockAnalytics, settingsLoader);
     }
 
+    /**
+     * Test the device ID is stored so the device info file is only read once.
+     */
+    @Test
+    public void testDeviceIdStored() {
+        this.accengageSettings = JsonMap.newBuilder()
+                .put(Accengage.DEVICE_ID_KEY, "accengage-device-id")
+                .build();
+
+        accengage.init();
+        accengage.onAirshipReady(mockAirship);
+
+        final List<String> loadedFiles = new ArrayList<>();
+        AccengageSettingsLoader settingsLoader = new AccengageSettingsLoader() {
+            @NonNull
+            @Override
+            public JsonMap load(@NonNull Context context, @NonNull String filename) {
+                loadedFiles.add(filename);
+                return JsonMap.EMPTY_MAP;
+            }
+        };
+
+        Accengage relaunched = new Accengage(application, preferenceDataStore, mockChannel, mockPush, mockAnalytics, settingsLoader);
+        relaunched.init();
+        relaunched.onAirshipReady(mockAirship);
+
+        assertEquals("accengage-device-id", relaunched.getDeviceId());
+        assertTrue(loadedFiles.isEmpty());
+    }
+
     /**
      * Test Accengage device ID adding to the Channel Registration Payload
      */
@@ -108,7 +143,11 @@ public class AccengageTest {
         accengage.init();
         accengage.onAirshipReady(mockAirship);
 
-        verifyZeroInteractions(mockChannel);
+        ArgumentCaptor<AirshipChannel.ChannelRegistrationPayloadExtender> argument = ArgumentCaptor.forClass(AirshipChannel.ChannelRegistrationPayloadExtender.class);
+        verify(mockChannel).addChannelRegistrationPayloadExtender(argument.capture());
+
+        ChannelRegistrationPayload payload = argument.getValue().extend(new ChannelRegistrationPayload.Builder()).build();
+        assertEquals(new ChannelRegistrationPayload.Builder().build(), payload);
     }
 
     /**
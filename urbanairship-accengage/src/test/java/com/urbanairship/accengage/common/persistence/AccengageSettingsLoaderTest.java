@@ -0,0 +1,66 @@
+package com.urbanairship.accengage.common.persistence;
+
+import android.app.Application;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.urbanairship.json.JsonException;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.json.JsonValue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import static org.junit.Assert.assertEquals;
+
+@Config(sdk = 28)
+@RunWith(AndroidJUnit4.class)
+public class AccengageSettingsLoaderTest {
+
+    private Application application;
+    private AccengageSettingsLoader loader;
+
+    @Before
+    public void setup() {
+        application = ApplicationProvider.getApplicationContext();
+        loader = new AccengageSettingsLoader();
+    }
+
+    /**
+     * Test loading an archive matches parsing it as a string.
+     */
+    @Test
+    public void testLoad() throws IOException, JsonException {
+        String json = "{\n \"idfv\": \"device-id\",\n \"count\": 3,\n \"big\": 4000000000,\n \"ratio\": 1.5," +
+                " \"enabled\": false, \"none\": null, \"list\": [1, \"two\", {\"three\": 3}]\n}";
+        write("settings", json);
+
+        JsonMap expected = JsonValue.parseString(json).optMap();
+        assertEquals(expected, loader.load(application, "settings"));
+    }
+
+    /**
+     * Test missing or malformed archives load as an empty map.
+     */
+    @Test
+    public void testLoadInvalid() throws IOException {
+        assertEquals(JsonMap.EMPTY_MAP, loader.load(application, "missing"));
+
+        write("malformed", "{\"idfv\": ");
+        assertEquals(JsonMap.EMPTY_MAP, loader.load(application, "malformed"));
+    }
+
+    private void write(String filename, String content) throws IOException {
+        FileOutputStream output = application.openFileOutput(filename, 0);
+        output.write(content.getBytes(Charset.forName("UTF-8")));
+        output.close();
+    }
+
+}
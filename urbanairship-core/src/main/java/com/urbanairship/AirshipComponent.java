@@ -5,6 +5,7 @@ package com.urbanairship;
 import android.content.Context;
 
 import com.urbanairship.job.JobInfo;
+import com.urbanairship.job.JobRuntime;
 import com.urbanairship.json.JsonMap;
 
 import java.util.concurrent.Executor;
@@ -39,11 +40,6 @@ public abstract class AirshipComponent {
         this.enableKey = ENABLE_KEY_PREFIX + getClass().getName();
     }
 
-    /**
-     * Default job executor.
-     */
-    private final Executor jobExecutor = AirshipExecutors.newSerialExecutor();
-
     /**
      * Initialize the manager.
      * Called in {@link UAirship} during takeoff.
@@ -85,7 +81,18 @@ public abstract class AirshipComponent {
     @NonNull
     @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
     public Executor getJobExecutor(@NonNull JobInfo jobInfo) {
-        return jobExecutor;
+        return JobRuntime.shared().getComponentLane(this);
+    }
+
+    /**
+     * Gets the max number of jobs the default job executor will run at the same time.
+     *
+     * @return The max job concurrency. Defaults to 1.
+     * @hide
+     */
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public int getJobConcurrency() {
+        return 1;
     }
 
     /**
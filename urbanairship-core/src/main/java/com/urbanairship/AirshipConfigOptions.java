@@ -6,6 +6,7 @@ import android.content.Context;
 import android.net.Uri;
 import android.util.Log;
 
+import com.urbanairship.metrics.MetricsSink;
 import com.urbanairship.push.PushProvider;
 import com.urbanairship.util.Checks;
 import com.urbanairship.util.ConfigParser;
@@ -270,6 +271,31 @@ public class AirshipConfigOptions {
      */
     public final boolean dataCollectionOptInEnabled;
 
+    /**
+     * Flag indicating if the SDK stores its remote data, notification channel, inbox, preference
+     * and event tables in a single database instead of one database per store.
+     * <p>
+     * Enabling the flag is one-way: existing data is moved into the single database and the
+     * per-store databases are deleted, so the SDK keeps using the single database on that device
+     * even if the flag is disabled in a later release.
+     * <p>
+     * The flag defaults to false.
+     */
+    public final boolean consolidatedStorageEnabled;
+
+    /**
+     * Optional sink for the SDK performance metrics.
+     */
+    @Nullable
+    public final MetricsSink metricsSink;
+
+    /**
+     * Flag indicating if the SDK emits system trace sections around its timed work.
+     * <p>
+     * The flag defaults to false.
+     */
+    public final boolean tracingEnabled;
+
     /**
      * Notification icon.
      */
@@ -348,6 +374,9 @@ public class AirshipConfigOptions {
         this.customPushProvider = builder.customPushProvider;
         this.appStoreUri = builder.appStoreUri;
         this.dataCollectionOptInEnabled = builder.dataCollectionOptInEnabled;
+        this.consolidatedStorageEnabled = builder.consolidatedStorageEnabled;
+        this.metricsSink = builder.metricsSink;
+        this.tracingEnabled = builder.tracingEnabled;
     }
 
     /**
@@ -500,6 +529,9 @@ public class AirshipConfigOptions {
         private static final String FIELD_APP_STORE_URI = "appStoreUri";
         private static final String FIELD_SITE = "site";
         private static final String FIELD_DATA_COLLECTION_OPT_IN_ENABLED = "dataCollectionOptInEnabled";
+        private static final String FIELD_CONSOLIDATED_STORAGE_ENABLED = "consolidatedStorageEnabled";
+        private static final String FIELD_METRICS_SINK = "metricsSink";
+        private static final String FIELD_TRACING_ENABLED = "tracingEnabled";
 
         private String appKey;
         private String appSecret;
@@ -534,6 +566,9 @@ public class AirshipConfigOptions {
         private PushProvider customPushProvider;
         private Uri appStoreUri;
         private boolean dataCollectionOptInEnabled;
+        private boolean consolidatedStorageEnabled;
+        private MetricsSink metricsSink;
+        private boolean tracingEnabled;
         private @Site
         String site = SITE_US;
 
@@ -809,6 +844,21 @@ public class AirshipConfigOptions {
                         case FIELD_DATA_COLLECTION_OPT_IN_ENABLED:
                             this.setDataCollectionOptInEnabled(configParser.getBoolean(name, false));
                             break;
+
+                        case FIELD_CONSOLIDATED_STORAGE_ENABLED:
+                            this.setConsolidatedStorageEnabled(configParser.getBoolean(name, false));
+                            break;
+
+                        case FIELD_METRICS_SINK:
+                            String sinkClassName = configParser.getString(name);
+                            Checks.checkNotNull(sinkClassName, "Missing metrics sink class name");
+                            Class<? extends MetricsSink> sinkClass = Class.forName(sinkClassName).asSubclass(MetricsSink.class);
+                            this.setMetricsSink(sinkClass.newInstance());
+                            break;
+
+                        case FIELD_TRACING_ENABLED:
+                            this.setTracingEnabled(configParser.getBoolean(name, false));
+                            break;
                     }
                 } catch (Exception e) {
                     Logger.error(e, "Unable to set config field '%s' due to invalid configuration value.", configParser.getName(i));
@@ -1301,6 +1351,46 @@ public class AirshipConfigOptions {
             return this;
         }
 
+        /**
+         * Set the flag indicating whether the SDK stores its data in a single consolidated database.
+         * Existing databases are migrated into the consolidated database the first time they are opened.
+         * Once migrated, the data stays in the consolidated database even if the flag is disabled later.
+         *
+         * @param consolidatedStorageEnabled The flag indicating whether consolidated storage is enabled.
+         * @return The config options builder.
+         */
+        @NonNull
+        public Builder setConsolidatedStorageEnabled(boolean consolidatedStorageEnabled) {
+            this.consolidatedStorageEnabled = consolidatedStorageEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the sink for the SDK performance metrics, such as request, database, job and
+         * in-app message prepare timings. Metrics are dropped when no sink is set.
+         *
+         * @param metricsSink The metrics sink.
+         * @return The config options builder.
+         */
+        @NonNull
+        public Builder setMetricsSink(@Nullable MetricsSink metricsSink) {
+            this.metricsSink = metricsSink;
+            return this;
+        }
+
+        /**
+         * Set the flag indicating whether the SDK emits system trace sections around the same
+         * work that is reported to the metrics sink.
+         *
+         * @param tracingEnabled The flag indicating whether tracing is enabled.
+         * @return The config options builder.
+         */
+        @NonNull
+        public Builder setTracingEnabled(boolean tracingEnabled) {
+            this.tracingEnabled = tracingEnabled;
+            return this;
+        }
+
         /**
          * Builds the config options.
          *
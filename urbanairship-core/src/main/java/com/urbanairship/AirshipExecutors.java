@@ -4,6 +4,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.RestrictTo;
 
 import com.urbanairship.util.AirshipThreadFactory;
+import com.urbanairship.util.BoundedExecutor;
 import com.urbanairship.util.SerialExecutor;
 
 import java.util.concurrent.Executor;
@@ -49,4 +50,16 @@ public class AirshipExecutors {
         return new SerialExecutor(THREAD_POOL_EXECUTOR);
     }
 
+    /**
+     * Creates a new executor that runs at most {@code maxConcurrency} runnables at a time on the
+     * {@link #THREAD_POOL_EXECUTOR}.
+     *
+     * @param maxConcurrency The max number of runnables that run at the same time.
+     * @return A new bounded executor.
+     */
+    @NonNull
+    public static Executor newBoundedExecutor(int maxConcurrency) {
+        return new BoundedExecutor(THREAD_POOL_EXECUTOR, maxConcurrency);
+    }
+
 }
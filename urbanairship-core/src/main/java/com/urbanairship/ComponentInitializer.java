@@ -0,0 +1,485 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+
+import com.urbanairship.metrics.Metrics;
+import com.urbanairship.metrics.Span;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import androidx.annotation.IntDef;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+/**
+ * Initializes airship components in dependency order.
+ * <p>
+ * Components whose dependencies are initialized run in parallel on the executor, with the calling
+ * thread also running components while it waits. Deferred components are skipped by
+ * {@link #initialize()} and are initialized on first use with {@link #ensureInitialized(AirshipComponent)}.
+ * Components added with {@link #INIT_IDLE} are also initialized once the main thread is idle after
+ * {@link #scheduleDeferred(Looper)}.
+ * <p>
+ * {@link AirshipComponent#onAirshipReady(UAirship)} is called after a component is initialized
+ * and {@link #dispatchAirshipReady(UAirship)} has been called, whichever happens last.
+ */
+class ComponentInitializer {
+
+    /**
+     * Initialize during {@link #initialize()}.
+     */
+    static final int INIT_EAGER = 0;
+
+    /**
+     * Initialize on first use or once the main thread is idle.
+     */
+    static final int INIT_IDLE = 1;
+
+    /**
+     * Initialize only on first use.
+     */
+    static final int INIT_ON_DEMAND = 2;
+
+    @IntDef({ INIT_EAGER, INIT_IDLE, INIT_ON_DEMAND })
+    @Retention(RetentionPolicy.SOURCE)
+    @interface InitMode {}
+
+    /**
+     * Span prefix for component init times.
+     */
+    private static final String SPAN_PREFIX = "ua.component.init.";
+
+    /**
+     * Set while a thread is running a component init. Lets {@link UAirship#shared()} return
+     * the instance that is taking off instead of waiting on itself.
+     */
+    private static final ThreadLocal<Boolean> isInitThread = new ThreadLocal<>();
+
+    private final Executor executor;
+    private final int maxHelpers;
+    private final Map<AirshipComponent, Node> nodes = new HashMap<>();
+    private final List<Node> orderedNodes = new ArrayList<>();
+    private final Queue<Node> readyNodes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeHelpers = new AtomicInteger();
+    private final Object lock = new Object();
+
+    private int remainingCritical;
+    private Throwable failure;
+    private volatile boolean isCanceled;
+    private volatile UAirship readyAirship;
+
+    private final Runnable helperRunnable = new Runnable() {
+        @Override
+        public void run() {
+            try {
+                runReadyNodes();
+            } finally {
+                activeHelpers.decrementAndGet();
+            }
+        }
+    };
+
+    /**
+     * Default constructor.
+     *
+     * @param executor The executor for the parallel inits.
+     * @param parallelism The max number of threads initializing components, including the caller.
+     */
+    ComponentInitializer(@NonNull Executor executor, int parallelism) {
+        this.executor = executor;
+        this.maxHelpers = Math.max(0, parallelism - 1);
+    }
+
+    /**
+     * Checks if the current thread is initializing a component.
+     *
+     * @return {@code true} if the current thread is running a component init, otherwise {@code false}.
+     */
+    static boolean isInitThread() {
+        return Boolean.TRUE.equals(isInitThread.get());
+    }
+
+    /**
+     * Adds a component. Dependencies must be added before the component.
+     *
+     * @param component The component.
+     * @param mode The init mode.
+     * @param dependencies Components that must be initialized first.
+     */
+    void add(@NonNull AirshipComponent component, @InitMode int mode, @NonNull AirshipComponent... dependencies) {
+        if (nodes.containsKey(component)) {
+            return;
+        }
+
+        boolean deferred = mode != INIT_EAGER;
+        Node node = new Node(component, mode);
+        for (AirshipComponent dependency : dependencies) {
+            Node dependencyNode = dependency == null ? null : nodes.get(dependency);
+            if (dependencyNode == null) {
+                continue;
+            }
+
+            node.dependencies.add(dependencyNode);
+            if (!deferred) {
+                if (dependencyNode.deferred) {
+                    throw new IllegalArgumentException("Component " + component + " can not depend on deferred component " + dependency);
+                }
+                dependencyNode.dependents.add(node);
+            }
+        }
+
+        node.remainingDependencies.set(deferred ? 0 : node.dependencies.size());
+        nodes.put(component, node);
+        orderedNodes.add(node);
+    }
+
+    /**
+     * Adds a component that depends on every non-deferred component added so far.
+     *
+     * @param component The component.
+     * @param mode The init mode.
+     */
+    void addAfterAll(@NonNull AirshipComponent component, @InitMode int mode) {
+        List<AirshipComponent> dependencies = new ArrayList<>();
+        for (Node node : orderedNodes) {
+            if (!node.deferred) {
+                dependencies.add(node.component);
+            }
+        }
+
+        add(component, mode, dependencies.toArray(new AirshipComponent[0]));
+    }
+
+    /**
+     * Initializes all non-deferred components and waits for them to finish.
+     *
+     * @throws RuntimeException If a component failed to initialize.
+     */
+    void initialize() {
+        synchronized (lock) {
+            for (Node node : orderedNodes) {
+                if (!node.deferred) {
+                    remainingCritical++;
+                }
+            }
+        }
+
+        for (Node node : orderedNodes) {
+            if (!node.deferred && node.remainingDependencies.get() == 0) {
+                readyNodes.add(node);
+            }
+        }
+
+        startHelpers();
+
+        while (true) {
+            runReadyNodes();
+
+            synchronized (lock) {
+                if (failure != null) {
+                    if (failure instanceof RuntimeException) {
+                        throw (RuntimeException) failure;
+                    }
+                    if (failure instanceof Error) {
+                        throw (Error) failure;
+                    }
+                    throw new RuntimeException(failure);
+                }
+
+                if (remainingCritical == 0) {
+                    return;
+                }
+
+                if (readyNodes.isEmpty()) {
+                    try {
+                        lock.wait(TimeUnit.SECONDS.toMillis(1));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Initializes the component and its dependencies if they are not initialized. Blocks if
+     * another thread is initializing the component.
+     *
+     * @param component The component.
+     */
+    void ensureInitialized(@Nullable AirshipComponent component) {
+        Node node = component == null ? null : nodes.get(component);
+        if (node != null && !node.isInitialized) {
+            node.run();
+        }
+    }
+
+    /**
+     * Checks if the component is initialized.
+     *
+     * @param component The component.
+     * @return {@code true} if the component was initialized or was never added, otherwise {@code false}.
+     */
+    boolean isInitialized(@NonNull AirshipComponent component) {
+        Node node = nodes.get(component);
+        return node == null || node.isInitialized;
+    }
+
+    /**
+     * Initializes the deferred components on the executor once the looper is idle.
+     *
+     * @param looper The looper.
+     */
+    void scheduleDeferred(@NonNull Looper looper) {
+        new Handler(looper).post(new Runnable() {
+            @Override
+            public void run() {
+                Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+                    @Override
+                    public boolean queueIdle() {
+                        executor.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                initializeDeferred();
+                            }
+                        });
+                        return false;
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Initializes the deferred components.
+     */
+    @VisibleForTesting
+    void initializeDeferred() {
+        for (Node node : orderedNodes) {
+            if (isCanceled) {
+                return;
+            }
+
+            if (node.mode == INIT_IDLE && !node.isInitialized) {
+                node.run();
+            }
+        }
+    }
+
+    /**
+     * Calls {@link AirshipComponent#onAirshipReady(UAirship)} on the initialized components. Components
+     * initialized later are notified once their init finishes.
+     *
+     * @param airship The airship instance.
+     */
+    void dispatchAirshipReady(@NonNull UAirship airship) {
+        readyAirship = airship;
+        for (Node node : orderedNodes) {
+            node.dispatchReady();
+        }
+    }
+
+    /**
+     * Prevents any deferred component from being initialized by idle.
+     */
+    void cancel() {
+        isCanceled = true;
+    }
+
+    private void startHelpers() {
+        while (!readyNodes.isEmpty()) {
+            int helpers = activeHelpers.get();
+            if (helpers >= maxHelpers) {
+                return;
+            }
+
+            if (activeHelpers.compareAndSet(helpers, helpers + 1)) {
+                executor.execute(helperRunnable);
+            }
+        }
+    }
+
+    private void runReadyNodes() {
+        Node node;
+        while ((node = readyNodes.poll()) != null) {
+            if (!node.run()) {
+                return;
+            }
+        }
+    }
+
+    private void onNodeFinished(@NonNull Node node, @Nullable Throwable error) {
+        if (node.deferred) {
+            return;
+        }
+
+        if (error == null) {
+            for (Node dependent : node.dependents) {
+                if (dependent.remainingDependencies.decrementAndGet() == 0) {
+                    readyNodes.add(dependent);
+                }
+            }
+            startHelpers();
+        }
+
+        synchronized (lock) {
+            if (error != null && failure == null) {
+                failure = error;
+            }
+
+            remainingCritical--;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * A component and its dependencies.
+     */
+    private class Node {
+
+        final AirshipComponent component;
+        final int mode;
+        final boolean deferred;
+        final List<Node> dependencies = new ArrayList<>();
+        final List<Node> dependents = new ArrayList<>();
+        final AtomicInteger remainingDependencies = new AtomicInteger();
+        final AtomicBoolean isReadyDispatched = new AtomicBoolean();
+        volatile boolean isInitialized;
+        private Thread initThread;
+
+        Node(@NonNull AirshipComponent component, @InitMode int mode) {
+            this.component = component;
+            this.mode = mode;
+            this.deferred = mode != INIT_EAGER;
+        }
+
+        /**
+         * Notifies the component that airship is ready if it is initialized and has not been notified.
+         */
+        void dispatchReady() {
+            UAirship airship = readyAirship;
+            if (airship == null || !isInitialized) {
+                return;
+            }
+
+            if (isReadyDispatched.compareAndSet(false, true)) {
+                component.onAirshipReady(airship);
+            }
+        }
+
+        /**
+         * Claims the init for the current thread, waiting if another thread is running it.
+         *
+         * @return {@code true} if the current thread should run the init, {@code false} if the
+         * component is initialized or the current thread is already running its init.
+         */
+        private synchronized boolean claimInit() {
+            while (!isInitialized) {
+                if (initThread == null) {
+                    initThread = Thread.currentThread();
+                    return true;
+                }
+
+                if (initThread == Thread.currentThread()) {
+                    return false;
+                }
+
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Releases the init claim and wakes up the threads waiting on it.
+         *
+         * @param initialized {@code true} if the init succeeded, otherwise {@code false}.
+         */
+        private synchronized void releaseInit(boolean initialized) {
+            isInitialized = initialized;
+            initThread = null;
+            notifyAll();
+        }
+
+        /**
+         * Runs the component init. Only the claim on the init is locked, the dependencies, the
+         * init and {@link AirshipComponent#onAirshipReady(UAirship)} run without holding a lock.
+         *
+         * @return {@code true} if the init succeeded or the component is already initialized,
+         * otherwise {@code false}.
+         */
+        boolean run() {
+            if (!claimInit()) {
+                // Initialized, or called again from this component's own init
+                return true;
+            }
+
+            Throwable error = null;
+            Boolean wasInitThread = isInitThread.get();
+            isInitThread.set(Boolean.TRUE);
+
+            String name = component.getClass().getSimpleName();
+            long start = 0;
+            try {
+                for (Node dependency : dependencies) {
+                    dependency.run();
+                }
+
+                start = System.nanoTime();
+                Span span = Metrics.startSpan(SPAN_PREFIX + name);
+                try {
+                    component.init();
+                } finally {
+                    span.end();
+                }
+            } catch (Throwable e) {
+                error = e;
+            } finally {
+                isInitThread.set(wasInitThread);
+                releaseInit(error == null);
+            }
+
+            onNodeFinished(this, error);
+
+            if (error == null) {
+                Logger.verbose("ComponentInitializer - Initialized %s in %s ms", name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                dispatchReady();
+            }
+
+            // Deferred components are initialized on first use so surface the error to the caller
+            if (deferred && error != null) {
+                if (error instanceof RuntimeException) {
+                    throw (RuntimeException) error;
+                }
+                if (error instanceof Error) {
+                    throw (Error) error;
+                }
+                throw new RuntimeException(error);
+            }
+
+            return error == null;
+        }
+
+    }
+
+}
@@ -69,7 +69,7 @@ public class Logger {
     /**
      * Adds a listener.
      *
-     * Listener callbacks are synchronized but will be made from the originating thread.
+     * Listener callbacks are made on a background thread in the order the messages were logged.
      * Responsibility for any additional threading guarantees falls on the application.
      *
      * @param listener The listener.
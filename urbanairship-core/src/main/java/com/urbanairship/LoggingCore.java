@@ -4,31 +4,91 @@ package com.urbanairship;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import android.util.Log;
 
+import com.urbanairship.util.Clock;
 import com.urbanairship.util.UAStringUtil;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.IllegalFormatException;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Shared logging wrapper for all log entries.
  * This class serves to consolidate the tag and log level in a
  * single location.
+ * <p>
+ * Records for listeners are queued without locking and delivered in batches on a background
+ * executor. Verbose and debug records for the listeners are rate limited per call site before they
+ * are formatted; the default logger is not rate limited. Messages are only formatted on the logging
+ * thread when the default logger is enabled. Otherwise the args are copied to immutable values
+ * and the message is formatted on the executor. When the queue is full new records are dropped
+ * and the number of dropped records is reported with the next batch.
  */
 public class LoggingCore {
 
+    /**
+     * Max number of records waiting for the listeners.
+     */
+    @VisibleForTesting
+    static final int MAX_PENDING_RECORDS = 512;
+
+    /**
+     * Max number of records delivered per dispatch.
+     */
+    private static final int BATCH_SIZE = 64;
+
+    /**
+     * Max records per call site in a single rate limit window.
+     */
+    @VisibleForTesting
+    static final int RATE_LIMIT_COUNT = 20;
+
+    /**
+     * Rate limit window in milliseconds.
+     */
+    private static final long RATE_LIMIT_WINDOW_MS = 1000;
+
+    /**
+     * Max number of tracked call sites before the rate limit windows are reset.
+     */
+    private static final int MAX_RATE_LIMIT_SITES = 256;
+
     private String logTag;
     private int logLevel;
     private boolean isDefaultLoggerEnabled = true;
 
-
     /**
      * A list of listeners.
      */
     private final List<LoggerListener> listeners = new CopyOnWriteArrayList<>();
 
+    private final Executor executor;
+    private final Clock clock;
+    private final Queue<LogRecord> pendingRecords = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicInteger droppedCount = new AtomicInteger();
+    private final AtomicBoolean isDispatchScheduled = new AtomicBoolean();
+    private final Map<String, RateWindow> rateWindows = new ConcurrentHashMap<>();
+
+    private final Runnable dispatchRunnable = new Runnable() {
+        @Override
+        public void run() {
+            dispatchRecords();
+        }
+    };
+
     /**
      * The logging core constructor.
      *
@@ -36,8 +96,23 @@ public class LoggingCore {
      * @param tag The log tag.
      */
     public LoggingCore(int logLevel, @NonNull String tag) {
+        this(logLevel, tag, AirshipExecutors.newSerialExecutor(), Clock.DEFAULT_CLOCK);
+    }
+
+    /**
+     * The logging core constructor.
+     *
+     * @param logLevel The loggin level.
+     * @param tag The log tag.
+     * @param executor The executor used to deliver records to the listeners.
+     * @param clock The clock.
+     */
+    @VisibleForTesting
+    LoggingCore(int logLevel, @NonNull String tag, @NonNull Executor executor, @NonNull Clock clock) {
         this.logLevel = logLevel;
         this.logTag = tag;
+        this.executor = executor;
+        this.clock = clock;
     }
 
     /**
@@ -61,7 +136,7 @@ public class LoggingCore {
     /**
      * Adds a listener.
      *
-     * Listener callbacks are synchronized but will be made from the originating thread.
+     * Listener callbacks are made on a background thread in the order the messages were logged.
      * Responsibility for any additional threading guarantees falls on the application.
      *
      * @param listener The listener.
@@ -96,53 +171,259 @@ public class LoggingCore {
             return;
         }
 
-        String formattedMessage;
+        // Rate limit before formatting so dropped records are never formatted
+        boolean notifyListeners = !listeners.isEmpty() && (priority >= Log.WARN || !isRateLimited(message));
+        if (!notifyListeners && !isDefaultLoggerEnabled) {
+            return;
+        }
+
+        if (!isDefaultLoggerEnabled) {
+            // Only the listeners need the message, format it on the executor
+            enqueue(new LogRecord(priority, throwable, message, snapshotArgs(args)));
+            return;
+        }
+
+        String formattedMessage = formatMessage(message, args);
 
-        if (UAStringUtil.isEmpty(message)) {
+        if (notifyListeners) {
+            enqueue(new LogRecord(priority, throwable, formattedMessage, null));
+        }
+
+        // Log directly if we do not have a throwable
+        if (throwable == null) {
+            if (priority == Log.ASSERT) {
+                Log.wtf(logTag, formattedMessage);
+            } else {
+                Log.println(priority, logTag, formattedMessage);
+            }
+            return;
+        }
+
+        // Log using one of the provided log methods
+        switch (priority) {
+            case Log.INFO:
+                Log.i(logTag, formattedMessage, throwable);
+                break;
+            case Log.DEBUG:
+                Log.d(logTag, formattedMessage, throwable);
+                break;
+            case Log.VERBOSE:
+                Log.v(logTag, formattedMessage, throwable);
+                break;
+            case Log.WARN:
+                Log.w(logTag, formattedMessage, throwable);
+                break;
+            case Log.ERROR:
+                Log.e(logTag, formattedMessage, throwable);
+                break;
+            case Log.ASSERT:
+                Log.wtf(logTag, formattedMessage, throwable);
+                break;
+        }
+    }
+
+    /**
+     * Formats the message.
+     *
+     * @param format The message format.
+     * @param args The message args.
+     * @return The formatted message.
+     */
+    @NonNull
+    private static String formatMessage(@Nullable String format, @Nullable Object... args) {
+        if (UAStringUtil.isEmpty(format)) {
             // Default to empty string
-            formattedMessage = "";
+            return "";
+        }
+
+        // Format the message if we have arguments
+        return (args == null || args.length == 0) ? format : String.format(Locale.ROOT, format, args);
+    }
+
+    /**
+     * Copies the args so they can be formatted on another thread. Strings, numbers and other
+     * immutable values are kept to preserve their format conversions, anything else is
+     * converted with {@link String#valueOf(Object)}.
+     *
+     * @param args The message args.
+     * @return The copied args.
+     */
+    @Nullable
+    private static Object[] snapshotArgs(@Nullable Object... args) {
+        if (args == null || args.length == 0) {
+            return args;
+        }
+
+        Object[] snapshot = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg == null || arg instanceof String || arg instanceof Integer || arg instanceof Long
+                    || arg instanceof Double || arg instanceof Float || arg instanceof Short
+                    || arg instanceof Byte || arg instanceof Boolean || arg instanceof Character
+                    || arg instanceof BigInteger || arg instanceof BigDecimal || arg instanceof Enum) {
+                snapshot[i] = arg;
+            } else {
+                snapshot[i] = String.valueOf(arg);
+            }
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Checks if the call site has logged too many messages in the current window. The message
+     * format is used as the call site key since it is a constant at each call site.
+     *
+     * @param message The message format.
+     * @return {@code true} if the message should be dropped, otherwise {@code false}.
+     */
+    private boolean isRateLimited(@Nullable String message) {
+        String key = message == null ? "" : message;
+        long now = clock.currentTimeMillis();
+
+        RateWindow window = rateWindows.get(key);
+        if (window == null) {
+            if (rateWindows.size() >= MAX_RATE_LIMIT_SITES) {
+                rateWindows.clear();
+            }
+
+            window = new RateWindow(now);
+            rateWindows.put(key, window);
+        }
+
+        return !window.tryAcquire(now);
+    }
+
+    /**
+     * Queues a record for the listeners.
+     *
+     * @param record The record.
+     */
+    private void enqueue(@NonNull LogRecord record) {
+        if (pendingCount.incrementAndGet() > MAX_PENDING_RECORDS) {
+            pendingCount.decrementAndGet();
+            droppedCount.incrementAndGet();
         } else {
-            // Format the message if we have arguments
-            formattedMessage = (args == null || args.length == 0) ? message : String.format(Locale.ROOT, message, args);
+            pendingRecords.offer(record);
         }
 
-        for (LoggerListener listener : listeners) {
-            listener.onLog(priority, throwable, formattedMessage);
+        if (isDispatchScheduled.compareAndSet(false, true)) {
+            executor.execute(dispatchRunnable);
         }
+    }
+
+    /**
+     * Delivers a batch of pending records to the listeners, then either yields the executor for
+     * the next batch or clears the scheduled flag.
+     */
+    private void dispatchRecords() {
+        try {
+            deliverRecords();
+        } finally {
+            if (hasPendingRecords()) {
+                // Yield the executor between batches
+                executor.execute(dispatchRunnable);
+            } else {
+                isDispatchScheduled.set(false);
 
-        if (isDefaultLoggerEnabled) {
-            // Log directly if we do not have a throwable
-            if (throwable == null) {
-                if (priority == Log.ASSERT) {
-                    Log.wtf(logTag, formattedMessage);
-                } else {
-                    Log.println(priority, logTag, formattedMessage);
+                // Records queued after the last poll may have seen the dispatch as scheduled
+                if (hasPendingRecords() && isDispatchScheduled.compareAndSet(false, true)) {
+                    executor.execute(dispatchRunnable);
                 }
+            }
+        }
+    }
+
+    /**
+     * Delivers up to {@link #BATCH_SIZE} pending records to the listeners.
+     */
+    private void deliverRecords() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            int dropped = droppedCount.getAndSet(0);
+            if (dropped > 0) {
+                notifyListeners(new LogRecord(Log.WARN, null, formatMessage("Dropped %s log messages.", dropped), null));
+            }
+
+            LogRecord record = pendingRecords.poll();
+            if (record == null) {
                 return;
             }
 
-            // Log using one of the provided log methods
-            switch (priority) {
-                case Log.INFO:
-                    Log.i(logTag, formattedMessage, throwable);
-                    break;
-                case Log.DEBUG:
-                    Log.d(logTag, formattedMessage, throwable);
-                    break;
-                case Log.VERBOSE:
-                    Log.v(logTag, formattedMessage, throwable);
-                    break;
-                case Log.WARN:
-                    Log.w(logTag, formattedMessage, throwable);
-                    break;
-                case Log.ERROR:
-                    Log.e(logTag, formattedMessage, throwable);
-                    break;
-                case Log.ASSERT:
-                    Log.wtf(logTag, formattedMessage, throwable);
-                    break;
+            pendingCount.decrementAndGet();
+            notifyListeners(record);
+        }
+    }
+
+    private boolean hasPendingRecords() {
+        return !pendingRecords.isEmpty() || droppedCount.get() > 0;
+    }
+
+    private void notifyListeners(@NonNull LogRecord record) {
+        String message;
+        try {
+            message = record.getMessage();
+        } catch (IllegalFormatException e) {
+            Log.e(logTag, "Failed to format log message: " + record.message, e);
+            message = record.message;
+        }
+
+        for (LoggerListener listener : listeners) {
+            try {
+                listener.onLog(record.priority, record.throwable, message);
+            } catch (Exception e) {
+                // Logging through the core would notify the same listener again
+                Log.e(logTag, "Logger listener failed.", e);
+            }
+        }
+    }
+
+    /**
+     * A log record. The message is either already formatted or formatted from the copied args
+     * when the record is delivered.
+     */
+    private static class LogRecord {
+
+        final int priority;
+        final Throwable throwable;
+        final String message;
+        final Object[] args;
+
+        LogRecord(int priority, @Nullable Throwable throwable, @Nullable String message, @Nullable Object[] args) {
+            this.priority = priority;
+            this.throwable = throwable;
+            this.message = message;
+            this.args = args;
+        }
+
+        @NonNull
+        String getMessage() {
+            return formatMessage(message, args);
+        }
+
+    }
+
+    /**
+     * Fixed window counter for a single call site.
+     */
+    private static class RateWindow {
+
+        private volatile long windowStart;
+        private final AtomicInteger count = new AtomicInteger();
+
+        RateWindow(long windowStart) {
+            this.windowStart = windowStart;
+        }
+
+        boolean tryAcquire(long now) {
+            long start = windowStart;
+            if (now - start >= RATE_LIMIT_WINDOW_MS || now < start) {
+                windowStart = now;
+                count.set(0);
             }
+
+            return count.incrementAndGet() <= RATE_LIMIT_COUNT;
         }
+
     }
 
     /**
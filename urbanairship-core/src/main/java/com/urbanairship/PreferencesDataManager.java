@@ -19,7 +19,7 @@ class PreferencesDataManager extends DataManager {
     static final int DATABASE_VERSION = 1;
 
     public PreferencesDataManager(@NonNull Context context, @NonNull String appKey) {
-        super(context, appKey, DATABASE_NAME, DATABASE_VERSION);
+        super(context, appKey, DATABASE_NAME, DATABASE_VERSION, true);
     }
 
     @Override
@@ -40,6 +40,7 @@ import com.urbanairship.job.JobDispatcher;
 import com.urbanairship.js.Whitelist;
 import com.urbanairship.location.UALocationManager;
 import com.urbanairship.messagecenter.MessageCenter;
+import com.urbanairship.metrics.Metrics;
 import com.urbanairship.modules.AccengageModuleLoader;
 import com.urbanairship.modules.AccengageModuleLoaderFactory;
 import com.urbanairship.modules.AccengageNotificationHandler;
@@ -48,15 +49,23 @@ import com.urbanairship.push.PushProvider;
 import com.urbanairship.remoteconfig.RemoteConfigManager;
 import com.urbanairship.remotedata.RemoteData;
 import com.urbanairship.richpush.RichPushInbox;
+import com.urbanairship.util.AirshipDatabase;
+import com.urbanairship.util.ManifestUtils;
 import com.urbanairship.util.PlatformUtils;
 import com.urbanairship.util.UAStringUtil;
+import com.urbanairship.widget.NativeBridge;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * UAirship manages the shared state for all Airship
@@ -70,6 +79,25 @@ public class UAirship {
             "com.urbanairship.debug.DebugManager"
     };
 
+    /**
+     * Max number of threads initializing components during takeOff, including the takeOff thread.
+     */
+    private static final int INIT_PARALLELISM = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Manifest meta-data with a comma separated list of optional and module component class names
+     * to initialize during takeOff instead of on first use. Replaces {@link #DEFAULT_EAGER_COMPONENTS}.
+     */
+    private static final String EAGER_COMPONENTS_KEY = "com.urbanairship.EAGER_COMPONENTS";
+
+    /**
+     * Optional components that need to run from takeOff to track app state.
+     */
+    private static final String[] DEFAULT_EAGER_COMPONENTS = {
+            "com.urbanairship.aaid.AdvertisingIdTracker",
+            "com.urbanairship.debug.DebugManager"
+    };
+
     private static final String ACCENGAGE_MODULE_LOADER_FACTORY = "com.urbanairship.accengage.AccengageModuleLoaderFactoryImpl";
 
     /**
@@ -131,6 +159,8 @@ public class UAirship {
     private DeepLinkListener deepLinkListener;
 
     final List<AirshipComponent> components = new ArrayList<>();
+    private final Map<String, AirshipComponent> componentClassMap = new HashMap<>();
+    private final ComponentInitializer componentInitializer = new ComponentInitializer(AirshipExecutors.THREAD_POOL_EXECUTOR, INIT_PARALLELISM);
     ActionRegistry actionRegistry;
     AirshipConfigOptions airshipConfigOptions;
     Analytics analytics;
@@ -152,6 +182,7 @@ public class UAirship {
     Automation automation;
     ImageLoader imageLoader;
     AccengageNotificationHandler accengageNotificationHandler;
+    private final List<AirshipComponent> accengageComponents = new ArrayList<>();
 
     @Platform
     int platform;
@@ -175,6 +206,11 @@ public class UAirship {
      */
     @NonNull
     public static UAirship shared() {
+        // Components initializing in parallel during takeOff can not wait on the takeOff thread
+        if (isFlying && ComponentInitializer.isInitThread()) {
+            return sharedAirship;
+        }
+
         synchronized (airshipLock) {
             if (!isTakingOff && !isFlying) {
                 throw new IllegalStateException("Take off must be called before shared()");
@@ -210,6 +246,10 @@ public class UAirship {
      */
     @Nullable
     public static UAirship waitForTakeOff(long millis) {
+        if (isFlying && ComponentInitializer.isInitThread()) {
+            return sharedAirship;
+        }
+
         synchronized (airshipLock) {
             if (isFlying) {
                 return sharedAirship;
@@ -408,6 +448,9 @@ public class UAirship {
         Logger.info("UA Version: %s / App key = %s Production = %s", getVersion(), options.appKey, options.inProduction);
         Logger.verbose(BuildConfig.SDK_VERSION);
 
+        AirshipDatabase.setEnabled(options.consolidatedStorageEnabled);
+        Metrics.setSink(options.metricsSink);
+        Metrics.setTracingEnabled(options.tracingEnabled);
         sharedAirship = new UAirship(options);
 
         synchronized (airshipLock) {
@@ -427,10 +470,9 @@ public class UAirship {
                 readyCallback.onAirshipReady(sharedAirship);
             }
 
-            // Notify each component that airship is ready
-            for (AirshipComponent component : sharedAirship.getComponents()) {
-                component.onAirshipReady(sharedAirship);
-            }
+            // Notify each component that airship is ready. Deferred components are notified once
+            // they are initialized.
+            sharedAirship.componentInitializer.dispatchAirshipReady(sharedAirship);
 
             // Fire any pendingAirshipRequests
             synchronized (pendingAirshipRequests) {
@@ -695,6 +737,7 @@ public class UAirship {
         components.add(channel);
 
         this.whitelist = Whitelist.createDefaultWhitelist(airshipConfigOptions);
+        NativeBridge.preload(application);
         this.actionRegistry = new ActionRegistry();
         this.actionRegistry.registerDefaultActions(getApplicationContext());
 
@@ -753,23 +796,54 @@ public class UAirship {
         this.legacyInAppMessageManager = new LegacyInAppMessageManager(application, preferenceDataStore, this.inAppMessageManager, this.analytics);
         components.add(this.legacyInAppMessageManager);
 
+        // Component graph. Location, message center and legacy in-app are not needed during
+        // takeOff so they are deferred until first use or until the main thread is idle.
+        componentInitializer.add(channel, ComponentInitializer.INIT_EAGER);
+        componentInitializer.add(analytics, ComponentInitializer.INIT_EAGER, channel);
+        componentInitializer.add(applicationMetrics, ComponentInitializer.INIT_EAGER);
+        componentInitializer.add(inbox, ComponentInitializer.INIT_EAGER, channel);
+        componentInitializer.add(locationManager, ComponentInitializer.INIT_IDLE, channel);
+        componentInitializer.add(pushManager, ComponentInitializer.INIT_EAGER, channel);
+        componentInitializer.add(namedUser, ComponentInitializer.INIT_EAGER, channel);
+        componentInitializer.add(channelCapture, ComponentInitializer.INIT_EAGER, channel);
+        componentInitializer.add(messageCenter, ComponentInitializer.INIT_IDLE, inbox);
+        componentInitializer.add(automation, ComponentInitializer.INIT_EAGER, analytics);
+        componentInitializer.add(remoteData, ComponentInitializer.INIT_EAGER);
+        componentInitializer.add(remoteConfigManager, ComponentInitializer.INIT_EAGER, remoteData);
+        componentInitializer.add(inAppMessageManager, ComponentInitializer.INIT_EAGER, analytics, remoteData, channel);
+        componentInitializer.add(legacyInAppMessageManager, ComponentInitializer.INIT_IDLE, inAppMessageManager, analytics);
+
+        // Optional and module components do not declare dependencies so they run after the core
+        // components. Unless listed as eager they are only initialized on first use.
+        Set<String> eagerComponents = getEagerComponents();
+
         for (String className : OPTIONAL_COMPONENTS) {
             AirshipComponent component = createOptionalComponent(className, application, preferenceDataStore);
             if (component != null) {
                 components.add(component);
+                componentInitializer.addAfterAll(component, eagerComponents.contains(className) ?
+                        ComponentInitializer.INIT_EAGER : ComponentInitializer.INIT_ON_DEMAND);
             }
         }
 
         AccengageModuleLoader accengageModuleLoader = createAccengageModuleLoader(application, preferenceDataStore, channel, pushManager, analytics);
         if (accengageModuleLoader != null) {
             components.addAll(accengageModuleLoader.getComponents());
+            for (AirshipComponent component : accengageModuleLoader.getComponents()) {
+                boolean isEager = !accengageModuleLoader.isInitDeferrable() || eagerComponents.contains(component.getClass().getName());
+                componentInitializer.addAfterAll(component, isEager ? ComponentInitializer.INIT_EAGER : ComponentInitializer.INIT_ON_DEMAND);
+                accengageComponents.add(component);
+            }
             this.accengageNotificationHandler = accengageModuleLoader.getAccengageNotificationHandler();
         }
 
         for (AirshipComponent component : components) {
-            component.init();
+            componentClassMap.put(component.getClass().getName(), component);
         }
 
+        componentInitializer.initialize();
+        componentInitializer.scheduleDeferred(Looper.getMainLooper());
+
         // Store the version
         String currentVersion = getVersion();
         String previousVersion = preferenceDataStore.getString(LIBRARY_VERSION_KEY, null);
@@ -793,8 +867,12 @@ public class UAirship {
      * Tears down the UAirship instance.
      */
     private void tearDown() {
+        componentInitializer.cancel();
+
         for (AirshipComponent component : getComponents()) {
-            component.tearDown();
+            if (componentInitializer.isInitialized(component)) {
+                component.tearDown();
+            }
         }
 
         // Teardown the preference data store last
@@ -858,6 +936,7 @@ public class UAirship {
      */
     @NonNull
     public UALocationManager getLocationManager() {
+        componentInitializer.ensureInitialized(locationManager);
         return locationManager;
     }
 
@@ -868,6 +947,7 @@ public class UAirship {
      */
     @NonNull
     public LegacyInAppMessageManager getLegacyInAppMessageManager() {
+        componentInitializer.ensureInitialized(legacyInAppMessageManager);
         return legacyInAppMessageManager;
     }
 
@@ -939,6 +1019,7 @@ public class UAirship {
      */
     @NonNull
     public MessageCenter getMessageCenter() {
+        componentInitializer.ensureInitialized(messageCenter);
         return messageCenter;
     }
 
@@ -971,6 +1052,9 @@ public class UAirship {
     @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
     @Nullable
     public AccengageNotificationHandler getAccengageNotificationHandler() {
+        for (AirshipComponent component : accengageComponents) {
+            componentInitializer.ensureInitialized(component);
+        }
         return accengageNotificationHandler;
     }
 
@@ -1007,12 +1091,25 @@ public class UAirship {
     @Nullable
     @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
     public AirshipComponent getComponent(Class<? extends AirshipComponent> clazz) {
-        for (AirshipComponent component : components) {
-            if (component.getClass().equals(clazz)) {
-                return component;
-            }
+        return getComponent(clazz.getName());
+    }
+
+    /**
+     * Gets an AirshipComponent by class name.
+     *
+     * @param className The component class name.
+     * @return The component, or null if not found.
+     * @hide
+     */
+    @Nullable
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public AirshipComponent getComponent(@NonNull String className) {
+        AirshipComponent component = componentClassMap.get(className);
+        if (component != null) {
+            componentInitializer.ensureInitialized(component);
         }
-        return null;
+
+        return component;
     }
 
     /**
@@ -1119,6 +1216,31 @@ public class UAirship {
         return PlatformUtils.parsePlatform(platform);
     }
 
+    /**
+     * Gets the optional and module components that are initialized during takeOff.
+     *
+     * @return The set of component class names.
+     */
+    @NonNull
+    private Set<String> getEagerComponents() {
+        ApplicationInfo info = ManifestUtils.getApplicationInfo();
+        if (info == null || info.metaData == null || !info.metaData.containsKey(EAGER_COMPONENTS_KEY)) {
+            return new HashSet<>(Arrays.asList(DEFAULT_EAGER_COMPONENTS));
+        }
+
+        Set<String> eagerComponents = new HashSet<>();
+        String value = info.metaData.getString(EAGER_COMPONENTS_KEY);
+        if (value != null) {
+            for (String className : value.split(",")) {
+                if (!UAStringUtil.isEmpty(className.trim())) {
+                    eagerComponents.add(className.trim());
+                }
+            }
+        }
+
+        return eagerComponents;
+    }
+
     @Nullable
     private AirshipComponent createOptionalComponent(String className, Context context, PreferenceDataStore dataStore) {
         try {
@@ -12,6 +12,8 @@ import com.urbanairship.analytics.Event;
 import com.urbanairship.app.ActivityMonitor;
 import com.urbanairship.job.JobDispatcher;
 import com.urbanairship.job.JobInfo;
+import com.urbanairship.metrics.Metrics;
+import com.urbanairship.metrics.Span;
 import com.urbanairship.util.Checks;
 
 import java.util.Map;
@@ -183,6 +185,22 @@ public class EventManager {
      */
     @WorkerThread
     public boolean uploadEvents(@NonNull UAirship airship) {
+        Span span = Metrics.startSpan(Metrics.SPAN_EVENT_UPLOAD);
+        try {
+            return performUpload(airship);
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Uploads a batch of events.
+     *
+     * @param airship The airship instance.
+     * @return {@code true} if the events uploaded, otherwise {@code false}.
+     */
+    @WorkerThread
+    private boolean performUpload(@NonNull UAirship airship) {
         isScheduled = false;
         preferenceDataStore.put(LAST_SEND_KEY, System.currentTimeMillis());
 
@@ -198,6 +216,7 @@ public class EventManager {
         //pull enough events to fill a batch (roughly)
         int batchEventCount = Math.min(MAX_BATCH_EVENT_COUNT, preferenceDataStore.getInt(MAX_BATCH_SIZE_KEY, EventResponse.MAX_BATCH_SIZE_BYTES) / avgSize);
         Map<String, String> events = eventResolver.getEvents(batchEventCount);
+        Metrics.histogram(Metrics.HISTOGRAM_EVENT_BATCH_SIZE, events.size());
 
         EventResponse response = apiClient.sendEvents(airship, events.values());
 
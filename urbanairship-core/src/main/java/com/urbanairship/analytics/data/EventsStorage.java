@@ -67,7 +67,7 @@ public class EventsStorage extends DataManager {
     }
 
     public EventsStorage(@NonNull Context context, @NonNull String appKey) {
-        super(context, appKey, DATABASE_NAME, DATABASE_VERSION);
+        super(context, appKey, DATABASE_NAME, DATABASE_VERSION, true);
     }
 
     @Override
@@ -0,0 +1,308 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.automation;
+
+import android.os.Looper;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.urbanairship.CancelableOperation;
+import com.urbanairship.OperationScheduler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Queue of schedule alarms ordered by deadline. Only a single operation is scheduled with the
+ * {@link OperationScheduler} at a time, for the earliest deadline. When it fires, every alarm that
+ * is due runs and the operation is scheduled again for the next deadline.
+ * <p>
+ * Alarms are indexed by schedule ID and group. Canceled alarms are marked and dropped lazily when
+ * they reach the head of the queue, or when the queue is compacted.
+ */
+class AlarmQueue {
+
+    /**
+     * Min number of canceled alarms before the queue is compacted.
+     */
+    private static final int COMPACT_THRESHOLD = 32;
+
+    private final OperationScheduler scheduler;
+    private final Looper looper;
+
+    private final PriorityQueue<Alarm> queue = new PriorityQueue<>();
+    private final Map<String, List<Alarm>> scheduleAlarms = new HashMap<>();
+    private final Map<String, List<Alarm>> groupAlarms = new HashMap<>();
+
+    private long sequence = 0;
+    private int canceledCount = 0;
+
+    private CancelableOperation operation;
+    private long operationDeadline;
+
+    /**
+     * Default constructor.
+     *
+     * @param scheduler The operation scheduler.
+     * @param looper The looper the alarms run on.
+     */
+    AlarmQueue(@NonNull OperationScheduler scheduler, @NonNull Looper looper) {
+        this.scheduler = scheduler;
+        this.looper = looper;
+    }
+
+    /**
+     * Schedules an alarm.
+     *
+     * @param scheduleId The schedule ID.
+     * @param group The schedule group.
+     * @param delay The delay in milliseconds.
+     * @param runnable The runnable to run when the alarm fires.
+     */
+    void schedule(@NonNull String scheduleId, @Nullable String group, long delay, @NonNull Runnable runnable) {
+        synchronized (queue) {
+            Alarm alarm = new Alarm(scheduleId, group, SystemClock.elapsedRealtime() + Math.max(0, delay), sequence++, runnable);
+            queue.offer(alarm);
+            index(scheduleAlarms, scheduleId, alarm);
+            if (group != null) {
+                index(groupAlarms, group, alarm);
+            }
+
+            arm();
+        }
+    }
+
+    /**
+     * Cancels the alarms for the given schedules.
+     *
+     * @param scheduleIds The schedule IDs.
+     */
+    void cancelSchedules(@NonNull Collection<String> scheduleIds) {
+        synchronized (queue) {
+            for (String scheduleId : scheduleIds) {
+                List<Alarm> alarms = scheduleAlarms.get(scheduleId);
+                if (alarms != null) {
+                    cancel(new ArrayList<>(alarms));
+                }
+            }
+
+            arm();
+        }
+    }
+
+    /**
+     * Cancels the alarms for the given groups.
+     *
+     * @param groups The schedule groups.
+     */
+    void cancelGroups(@NonNull Collection<String> groups) {
+        synchronized (queue) {
+            for (String group : groups) {
+                List<Alarm> alarms = groupAlarms.get(group);
+                if (alarms != null) {
+                    cancel(new ArrayList<>(alarms));
+                }
+            }
+
+            arm();
+        }
+    }
+
+    /**
+     * Cancels all alarms.
+     */
+    void cancelAll() {
+        synchronized (queue) {
+            queue.clear();
+            scheduleAlarms.clear();
+            groupAlarms.clear();
+            canceledCount = 0;
+
+            if (operation != null) {
+                operation.cancel();
+                operation = null;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of pending alarms.
+     *
+     * @return The number of pending alarms.
+     */
+    int size() {
+        synchronized (queue) {
+            return queue.size() - canceledCount;
+        }
+    }
+
+    /**
+     * Runs the due alarms and schedules the next operation.
+     *
+     * @param deadline The deadline the operation was scheduled for.
+     */
+    private void onFire(long deadline) {
+        List<Alarm> due = new ArrayList<>();
+
+        synchronized (queue) {
+            operation = null;
+
+            // Alarms up to the operation's deadline are due even if the clock is slightly behind
+            long now = Math.max(SystemClock.elapsedRealtime(), deadline);
+
+            while (!queue.isEmpty() && queue.peek().deadline <= now) {
+                Alarm alarm = queue.poll();
+                if (alarm.isCanceled) {
+                    canceledCount--;
+                    continue;
+                }
+
+                unindex(alarm);
+                due.add(alarm);
+            }
+
+            arm();
+        }
+
+        for (Alarm alarm : due) {
+            alarm.runnable.run();
+        }
+    }
+
+    /**
+     * Schedules the operation for the earliest deadline if needed.
+     */
+    private void arm() {
+        while (!queue.isEmpty() && queue.peek().isCanceled) {
+            queue.poll();
+            canceledCount--;
+        }
+
+        compact();
+
+        Alarm next = queue.peek();
+        if (next == null) {
+            if (operation != null) {
+                operation.cancel();
+                operation = null;
+            }
+            return;
+        }
+
+        if (operation != null) {
+            if (operationDeadline <= next.deadline) {
+                return;
+            }
+            operation.cancel();
+        }
+
+        final long deadline = next.deadline;
+        operation = new CancelableOperation(looper) {
+            @Override
+            protected void onRun() {
+                onFire(deadline);
+            }
+        };
+        operationDeadline = deadline;
+        scheduler.schedule(Math.max(0, deadline - SystemClock.elapsedRealtime()), operation);
+    }
+
+    /**
+     * Rebuilds the queue without the canceled alarms once they make up most of the queue.
+     */
+    private void compact() {
+        if (canceledCount < COMPACT_THRESHOLD || canceledCount < queue.size() / 2) {
+            return;
+        }
+
+        List<Alarm> alarms = new ArrayList<>(queue.size() - canceledCount);
+        for (Alarm alarm : queue) {
+            if (!alarm.isCanceled) {
+                alarms.add(alarm);
+            }
+        }
+
+        queue.clear();
+        queue.addAll(alarms);
+        canceledCount = 0;
+    }
+
+    private void cancel(@NonNull List<Alarm> alarms) {
+        for (Alarm alarm : alarms) {
+            if (!alarm.isCanceled) {
+                alarm.isCanceled = true;
+                canceledCount++;
+                unindex(alarm);
+            }
+        }
+    }
+
+    private void unindex(@NonNull Alarm alarm) {
+        remove(scheduleAlarms, alarm.scheduleId, alarm);
+        if (alarm.group != null) {
+            remove(groupAlarms, alarm.group, alarm);
+        }
+    }
+
+    private static void index(@NonNull Map<String, List<Alarm>> index, @NonNull String key, @NonNull Alarm alarm) {
+        List<Alarm> alarms = index.get(key);
+        if (alarms == null) {
+            alarms = new ArrayList<>(1);
+            index.put(key, alarms);
+        }
+        alarms.add(alarm);
+    }
+
+    private static void remove(@NonNull Map<String, List<Alarm>> index, @NonNull String key, @NonNull Alarm alarm) {
+        List<Alarm> alarms = index.get(key);
+        if (alarms == null) {
+            return;
+        }
+
+        alarms.remove(alarm);
+        if (alarms.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * Scheduled alarm.
+     */
+    private static class Alarm implements Comparable<Alarm> {
+
+        final String scheduleId;
+        final String group;
+        final long deadline;
+        final long sequence;
+        final Runnable runnable;
+        boolean isCanceled;
+
+        Alarm(@NonNull String scheduleId, @Nullable String group, long deadline, long sequence, @NonNull Runnable runnable) {
+            this.scheduleId = scheduleId;
+            this.group = group;
+            this.deadline = deadline;
+            this.sequence = sequence;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public int compareTo(@NonNull Alarm other) {
+            if (deadline != other.deadline) {
+                return deadline < other.deadline ? -1 : 1;
+            }
+
+            if (sequence == other.sequence) {
+                return 0;
+            }
+
+            return sequence < other.sequence ? -1 : 1;
+        }
+
+    }
+
+}
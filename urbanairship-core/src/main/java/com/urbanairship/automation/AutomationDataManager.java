@@ -48,37 +48,63 @@ public class AutomationDataManager extends DataManager {
      */
     private static final String ORDER_SCHEDULES_STATEMENT = " ORDER BY " + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " ASC";
 
+    private final String scheduleTable;
+    private final String triggerTable;
+
     /**
      * Query for retrieving schedules with associated delays.
      */
-    private static final String GET_SCHEDULES_QUERY = "SELECT * FROM " + ScheduleEntry.TABLE_NAME + " a"
-            + " LEFT OUTER JOIN " + TriggerEntry.TABLE_NAME + " b ON a." + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + "=b." + TriggerEntry.COLUMN_NAME_SCHEDULE_ID;
+    private final String getSchedulesQuery;
 
     /**
      * Query for retrieving active triggers.
      */
-    private static final String GET_ACTIVE_TRIGGERS = "SELECT * FROM " + TriggerEntry.TABLE_NAME + " t" +
-            " LEFT OUTER JOIN " + ScheduleEntry.TABLE_NAME + " a ON a." + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " = t." + TriggerEntry.COLUMN_NAME_SCHEDULE_ID +
-            " WHERE t." + TriggerEntry.COLUMN_NAME_TYPE + " = ? AND a." + ScheduleEntry.COLUMN_NAME_START + " < ?" +
-            " AND ((t." + TriggerEntry.COLUMN_NAME_IS_CANCELLATION + " = 1 AND a." + ScheduleEntry.COLUMN_NAME_EXECUTION_STATE + " IN (" + ScheduleEntry.STATE_WAITING_SCHEDULE_CONDITIONS + "," + ScheduleEntry.STATE_TIME_DELAYED + "," + ScheduleEntry.STATE_PREPARING_SCHEDULE + "))" +
-            " OR (t." + TriggerEntry.COLUMN_NAME_IS_CANCELLATION + " = 0 AND a." + ScheduleEntry.COLUMN_NAME_EXECUTION_STATE + " = " + ScheduleEntry.STATE_IDLE + "))" +
-            " AND t." + TriggerEntry.COLUMN_NAME_SCHEDULE_ID + " LIKE ?";
+    private final String getActiveTriggersQuery;
 
     /**
      * Class constructor.
      *
      * @param context The app context.
      * @param appKey The app key.
+     * @param dbName The database name. Also used to prefix the tables in the consolidated database.
      */
     public AutomationDataManager(@NonNull Context context, @NonNull String appKey, @NonNull String dbName) {
-        super(context, appKey, dbName, DATABASE_VERSION);
+        super(context, appKey, dbName, DATABASE_VERSION, createTablePrefix(dbName));
+
+        this.scheduleTable = getTableName(ScheduleEntry.TABLE_NAME);
+        this.triggerTable = getTableName(TriggerEntry.TABLE_NAME);
+
+        this.getSchedulesQuery = "SELECT * FROM " + scheduleTable + " a"
+                + " LEFT OUTER JOIN " + triggerTable + " b ON a." + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + "=b." + TriggerEntry.COLUMN_NAME_SCHEDULE_ID;
+
+        this.getActiveTriggersQuery = "SELECT * FROM " + triggerTable + " t" +
+                " LEFT OUTER JOIN " + scheduleTable + " a ON a." + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " = t." + TriggerEntry.COLUMN_NAME_SCHEDULE_ID +
+                " WHERE t." + TriggerEntry.COLUMN_NAME_TYPE + " = ? AND a." + ScheduleEntry.COLUMN_NAME_START + " < ?" +
+                " AND ((t." + TriggerEntry.COLUMN_NAME_IS_CANCELLATION + " = 1 AND a." + ScheduleEntry.COLUMN_NAME_EXECUTION_STATE + " IN (" + ScheduleEntry.STATE_WAITING_SCHEDULE_CONDITIONS + "," + ScheduleEntry.STATE_TIME_DELAYED + "," + ScheduleEntry.STATE_PREPARING_SCHEDULE + "))" +
+                " OR (t." + TriggerEntry.COLUMN_NAME_IS_CANCELLATION + " = 0 AND a." + ScheduleEntry.COLUMN_NAME_EXECUTION_STATE + " = " + ScheduleEntry.STATE_IDLE + "))";
+    }
+
+    /**
+     * Creates the table prefix from the database name, e.g. {@code ua_automation_} for
+     * {@code ua_automation.db}. The automation and in-app automation stores use the same table
+     * names, so they need a prefix to share the consolidated database.
+     *
+     * @param dbName The database name.
+     * @return The table prefix.
+     */
+    @NonNull
+    private static String createTablePrefix(@NonNull String dbName) {
+        return dbName.replaceFirst("\\.db$", "").replaceAll("\\W", "_") + "_";
     }
 
     @Override
     protected void onCreate(@NonNull SQLiteDatabase db) {
         Logger.debug("AutomationDataManager - Creating automation database");
 
-        db.execSQL("CREATE TABLE IF NOT EXISTS " + ScheduleEntry.TABLE_NAME + " ("
+        String scheduleTableName = getTableName(ScheduleEntry.TABLE_NAME);
+        String triggerTableName = getTableName(TriggerEntry.TABLE_NAME);
+
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + scheduleTableName + " ("
                 + ScheduleEntry.COLUMN_NAME_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
                 + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " TEXT UNIQUE,"
                 + ScheduleEntry.COLUMN_NAME_METADATA + " TEXT,"
@@ -101,7 +127,7 @@ public class AutomationDataManager extends DataManager {
 
                 + ");");
 
-        db.execSQL("CREATE TABLE IF NOT EXISTS " + TriggerEntry.TABLE_NAME + " ("
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + triggerTableName + " ("
                 + TriggerEntry.COLUMN_NAME_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
                 + TriggerEntry.COLUMN_NAME_TYPE + " INTEGER,"
                 + TriggerEntry.COLUMN_NAME_IS_CANCELLATION + " INTEGER,"
@@ -109,7 +135,7 @@ public class AutomationDataManager extends DataManager {
                 + TriggerEntry.COLUMN_NAME_PREDICATE + " TEXT,"
                 + TriggerEntry.COLUMN_NAME_PROGRESS + " DOUBLE,"
                 + TriggerEntry.COLUMN_NAME_GOAL + " DOUBLE,"
-                + "FOREIGN KEY(" + TriggerEntry.COLUMN_NAME_SCHEDULE_ID + ") REFERENCES " + ScheduleEntry.TABLE_NAME + "(" + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + ") ON DELETE CASCADE"
+                + "FOREIGN KEY(" + TriggerEntry.COLUMN_NAME_SCHEDULE_ID + ") REFERENCES " + scheduleTableName + "(" + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + ") ON DELETE CASCADE"
                 + ");");
 
         Logger.debug("AutomationDataManager - Automation database created");
@@ -140,6 +166,8 @@ public class AutomationDataManager extends DataManager {
         //      action_schedules:
         //          * added s_execution_state_change_date, s_edit_grace_period, s_interval
 
+        String scheduleTableName = getTableName(ScheduleEntry.TABLE_NAME);
+        String triggerTableName = getTableName(TriggerEntry.TABLE_NAME);
         String tempScheduleTableName = "temp_schedule_entry_table";
         String tempTriggersTableName = "temp_triggers_entry_table";
         String oldIdColumn = "_id";
@@ -151,10 +179,10 @@ public class AutomationDataManager extends DataManager {
                 // Update the schedule table and rename the ID column.
 
                 db.execSQL("BEGIN TRANSACTION;");
-                db.execSQL("ALTER TABLE " + ScheduleEntry.TABLE_NAME + " RENAME TO " + tempScheduleTableName + ";");
-                db.execSQL("ALTER TABLE " + TriggerEntry.TABLE_NAME + " RENAME TO " + tempTriggersTableName + ";");
+                db.execSQL("ALTER TABLE " + scheduleTableName + " RENAME TO " + tempScheduleTableName + ";");
+                db.execSQL("ALTER TABLE " + triggerTableName + " RENAME TO " + tempTriggersTableName + ";");
 
-                db.execSQL("CREATE TABLE " + ScheduleEntry.TABLE_NAME + " ("
+                db.execSQL("CREATE TABLE " + scheduleTableName + " ("
                         + ScheduleEntry.COLUMN_NAME_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
                         + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " TEXT UNIQUE,"
                         + oldActionsColumn + " TEXT,"
@@ -171,7 +199,7 @@ public class AutomationDataManager extends DataManager {
                         + ScheduleEntry.COLUMN_NAME_SECONDS + " DOUBLE"
                         + ");");
 
-                db.execSQL("CREATE TABLE " + TriggerEntry.TABLE_NAME + "("
+                db.execSQL("CREATE TABLE " + triggerTableName + "("
                         + TriggerEntry.COLUMN_NAME_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
                         + TriggerEntry.COLUMN_NAME_TYPE + " INTEGER,"
                         + TriggerEntry.COLUMN_NAME_IS_CANCELLATION + " INTEGER,"
@@ -179,10 +207,10 @@ public class AutomationDataManager extends DataManager {
                         + TriggerEntry.COLUMN_NAME_PREDICATE + " TEXT,"
                         + TriggerEntry.COLUMN_NAME_PROGRESS + " DOUBLE,"
                         + TriggerEntry.COLUMN_NAME_GOAL + " DOUBLE,"
-                        + "FOREIGN KEY(" + TriggerEntry.COLUMN_NAME_SCHEDULE_ID + ") REFERENCES " + ScheduleEntry.TABLE_NAME + "(" + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + ") ON DELETE CASCADE"
+                        + "FOREIGN KEY(" + TriggerEntry.COLUMN_NAME_SCHEDULE_ID + ") REFERENCES " + scheduleTableName + "(" + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + ") ON DELETE CASCADE"
                         + ");");
 
-                db.execSQL("INSERT INTO " + ScheduleEntry.TABLE_NAME + "("
+                db.execSQL("INSERT INTO " + scheduleTableName + "("
                         + ScheduleEntry.COLUMN_NAME_ID + ", "
                         + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + ", "
                         + oldActionsColumn + ", "
@@ -210,7 +238,7 @@ public class AutomationDataManager extends DataManager {
                         + "0, 0.0, 1, NULL, NULL, 0 " +
                         "FROM " + tempScheduleTableName + ";");
 
-                db.execSQL("INSERT INTO " + TriggerEntry.TABLE_NAME + "("
+                db.execSQL("INSERT INTO " + triggerTableName + "("
                         + TriggerEntry.COLUMN_NAME_ID + ", "
                         + TriggerEntry.COLUMN_NAME_TYPE + ", "
                         + TriggerEntry.COLUMN_NAME_IS_CANCELLATION + ", "
@@ -234,10 +262,10 @@ public class AutomationDataManager extends DataManager {
 
             case 2:
                 db.execSQL("BEGIN TRANSACTION;");
-                db.execSQL("ALTER TABLE " + ScheduleEntry.TABLE_NAME + " RENAME TO " + tempScheduleTableName + ";");
-                db.execSQL("ALTER TABLE " + TriggerEntry.TABLE_NAME + " RENAME TO " + tempTriggersTableName + ";");
+                db.execSQL("ALTER TABLE " + scheduleTableName + " RENAME TO " + tempScheduleTableName + ";");
+                db.execSQL("ALTER TABLE " + triggerTableName + " RENAME TO " + tempTriggersTableName + ";");
 
-                db.execSQL("CREATE TABLE " + ScheduleEntry.TABLE_NAME + " ("
+                db.execSQL("CREATE TABLE " + scheduleTableName + " ("
                         + ScheduleEntry.COLUMN_NAME_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
                         + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " TEXT UNIQUE,"
                         + ScheduleEntry.COLUMN_NAME_DATA + " TEXT,"
@@ -255,7 +283,7 @@ public class AutomationDataManager extends DataManager {
                         + ScheduleEntry.COLUMN_NAME_SECONDS + " DOUBLE"
                         + ");");
 
-                db.execSQL("CREATE TABLE IF NOT EXISTS " + TriggerEntry.TABLE_NAME + " ("
+                db.execSQL("CREATE TABLE IF NOT EXISTS " + triggerTableName + " ("
                         + TriggerEntry.COLUMN_NAME_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
                         + TriggerEntry.COLUMN_NAME_TYPE + " INTEGER,"
                         + TriggerEntry.COLUMN_NAME_IS_CANCELLATION + " INTEGER,"
@@ -263,10 +291,10 @@ public class AutomationDataManager extends DataManager {
                         + TriggerEntry.COLUMN_NAME_PREDICATE + " TEXT,"
                         + TriggerEntry.COLUMN_NAME_PROGRESS + " DOUBLE,"
                         + TriggerEntry.COLUMN_NAME_GOAL + " DOUBLE,"
-                        + "FOREIGN KEY(" + TriggerEntry.COLUMN_NAME_SCHEDULE_ID + ") REFERENCES " + ScheduleEntry.TABLE_NAME + "(" + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + ") ON DELETE CASCADE"
+                        + "FOREIGN KEY(" + TriggerEntry.COLUMN_NAME_SCHEDULE_ID + ") REFERENCES " + scheduleTableName + "(" + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + ") ON DELETE CASCADE"
                         + ");");
 
-                db.execSQL("INSERT INTO " + ScheduleEntry.TABLE_NAME + "("
+                db.execSQL("INSERT INTO " + scheduleTableName + "("
                         + ScheduleEntry.COLUMN_NAME_ID + ", "
                         + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + ", "
                         + ScheduleEntry.COLUMN_NAME_DATA + ", "
@@ -300,7 +328,7 @@ public class AutomationDataManager extends DataManager {
                         + ScheduleEntry.COLUMN_NAME_SECONDS + " " +
                         "FROM " + tempScheduleTableName + ";");
 
-                db.execSQL("INSERT INTO " + TriggerEntry.TABLE_NAME + "("
+                db.execSQL("INSERT INTO " + triggerTableName + "("
                         + TriggerEntry.COLUMN_NAME_ID + ", "
                         + TriggerEntry.COLUMN_NAME_TYPE + ", "
                         + TriggerEntry.COLUMN_NAME_IS_CANCELLATION + ", "
@@ -325,21 +353,21 @@ public class AutomationDataManager extends DataManager {
 
             case 3:
                 db.execSQL("BEGIN TRANSACTION;");
-                db.execSQL("ALTER TABLE " + ScheduleEntry.TABLE_NAME + " ADD COLUMN " + ScheduleEntry.COLUMN_NAME_EXECUTION_STATE_CHANGE_DATE + " INTEGER;");
-                db.execSQL("ALTER TABLE " + ScheduleEntry.TABLE_NAME + " ADD COLUMN " + ScheduleEntry.COLUMN_EDIT_GRACE_PERIOD + " INTEGER;");
-                db.execSQL("ALTER TABLE " + ScheduleEntry.TABLE_NAME + " ADD COLUMN " + ScheduleEntry.COLUMN_NAME_INTERVAL + " INTEGER;");
+                db.execSQL("ALTER TABLE " + scheduleTableName + " ADD COLUMN " + ScheduleEntry.COLUMN_NAME_EXECUTION_STATE_CHANGE_DATE + " INTEGER;");
+                db.execSQL("ALTER TABLE " + scheduleTableName + " ADD COLUMN " + ScheduleEntry.COLUMN_EDIT_GRACE_PERIOD + " INTEGER;");
+                db.execSQL("ALTER TABLE " + scheduleTableName + " ADD COLUMN " + ScheduleEntry.COLUMN_NAME_INTERVAL + " INTEGER;");
                 db.execSQL("COMMIT;");
 
             case 4:
                 db.execSQL("BEGIN TRANSACTION;");
-                db.execSQL("ALTER TABLE " + ScheduleEntry.TABLE_NAME + " ADD COLUMN " + ScheduleEntry.COLUMN_NAME_METADATA + " TEXT;");
+                db.execSQL("ALTER TABLE " + scheduleTableName + " ADD COLUMN " + ScheduleEntry.COLUMN_NAME_METADATA + " TEXT;");
                 db.execSQL("COMMIT;");
 
                 break;
             default:
                 // Kills the table and existing data
-                db.execSQL("DROP TABLE IF EXISTS " + ScheduleEntry.TABLE_NAME);
-                db.execSQL("DROP TABLE IF EXISTS " + TriggerEntry.TABLE_NAME);
+                db.execSQL("DROP TABLE IF EXISTS " + scheduleTableName);
+                db.execSQL("DROP TABLE IF EXISTS " + triggerTableName);
 
                 // Recreates the database with a new version
                 onCreate(db);
@@ -351,9 +379,12 @@ public class AutomationDataManager extends DataManager {
         // Logs that the database is being downgraded
         Logger.debug("AutomationDataManager - Dropping automation database. Downgrading from version %s to %s", oldVersion, newVersion);
 
+        String scheduleTableName = getTableName(ScheduleEntry.TABLE_NAME);
+        String triggerTableName = getTableName(TriggerEntry.TABLE_NAME);
+
         // Drop the table and recreate it
-        db.execSQL("DROP TABLE IF EXISTS " + TriggerEntry.TABLE_NAME);
-        db.execSQL("DROP TABLE IF EXISTS " + ScheduleEntry.TABLE_NAME);
+        db.execSQL("DROP TABLE IF EXISTS " + triggerTableName);
+        db.execSQL("DROP TABLE IF EXISTS " + scheduleTableName);
         onCreate(db);
     }
 
@@ -370,7 +401,7 @@ public class AutomationDataManager extends DataManager {
      * @param scheduleId The schedule ID.
      */
     void deleteSchedule(String scheduleId) {
-        if (delete(ScheduleEntry.TABLE_NAME, ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " = ?", new String[] { scheduleId }) < 0) {
+        if (delete(scheduleTable, ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " = ?", new String[] { scheduleId }) < 0) {
             Logger.error("AutomationDataManager - failed to delete schedule for schedule ID %s", scheduleId);
         }
     }
@@ -382,7 +413,7 @@ public class AutomationDataManager extends DataManager {
      * @return {@code true} if the group was deleted, otherwise {@code false}.
      */
     boolean deleteGroup(String group) {
-        if (delete(ScheduleEntry.TABLE_NAME, ScheduleEntry.COLUMN_NAME_GROUP + " = ?", new String[] { group }) < 0) {
+        if (delete(scheduleTable, ScheduleEntry.COLUMN_NAME_GROUP + " = ?", new String[] { group }) < 0) {
             Logger.error("AutomationDataManager - failed to delete schedules for group %s", group);
             return false;
         }
@@ -393,7 +424,7 @@ public class AutomationDataManager extends DataManager {
      * Deletes all schedules.
      */
     void deleteAllSchedules() {
-        if (delete(ScheduleEntry.TABLE_NAME, null, null) < 0) {
+        if (delete(scheduleTable, null, null) < 0) {
             Logger.error("AutomationDataManager - failed to delete schedules");
         }
     }
@@ -418,7 +449,7 @@ public class AutomationDataManager extends DataManager {
             db.beginTransaction();
 
             for (ScheduleEntry scheduleEntry : scheduleEntries) {
-                if (!scheduleEntry.save(db)) {
+                if (!scheduleEntry.save(db, scheduleTable, triggerTable)) {
                     db.endTransaction();
                     return;
                 }
@@ -445,7 +476,7 @@ public class AutomationDataManager extends DataManager {
 
         try {
             db.beginTransaction();
-            if (entry.save(db)) {
+            if (entry.save(db, scheduleTable, triggerTable)) {
                 db.setTransactionSuccessful();
             }
             db.endTransaction();
@@ -474,7 +505,7 @@ public class AutomationDataManager extends DataManager {
             db.beginTransactionNonExclusive();
 
             for (TriggerEntry triggerEntry : triggerEntries) {
-                if (!triggerEntry.save(db)) {
+                if (!triggerEntry.save(db, triggerTable)) {
                     db.endTransaction();
                     return;
                 }
@@ -487,6 +518,39 @@ public class AutomationDataManager extends DataManager {
         }
     }
 
+    /**
+     * Saves trigger progress. Unlike {@link #saveTriggers(Collection)}, triggers that no longer
+     * exist are skipped instead of failing the whole update.
+     *
+     * @param triggerEntries The trigger entries.
+     */
+    void saveTriggerProgress(@NonNull Collection<TriggerEntry> triggerEntries) {
+        if (triggerEntries.isEmpty()) {
+            return;
+        }
+
+        final SQLiteDatabase db = getWritableDatabase();
+        if (db == null) {
+            Logger.error("AutomationDataManager - Unable to save trigger progress.");
+            return;
+        }
+
+        try {
+            db.beginTransactionNonExclusive();
+
+            for (TriggerEntry triggerEntry : triggerEntries) {
+                if (!triggerEntry.save(db, triggerTable)) {
+                    Logger.verbose("AutomationDataManager - Skipped progress for removed trigger: %s", triggerEntry.getId());
+                }
+            }
+
+            db.setTransactionSuccessful();
+            db.endTransaction();
+        } catch (SQLException e) {
+            Logger.error(e, "AutomationDataManager - Unable to save trigger progress.");
+        }
+    }
+
     /**
      * Deletes schedules given a list of groups.
      *
@@ -501,7 +565,7 @@ public class AutomationDataManager extends DataManager {
             @Override
             public void perform(@NonNull List<String> subset) {
                 String inStatement = repeat("?", subset.size(), ", ");
-                delete(ScheduleEntry.TABLE_NAME, ScheduleEntry.COLUMN_NAME_GROUP + " IN ( " + inStatement + " )", subset.toArray(new String[0]));
+                delete(scheduleTable, ScheduleEntry.COLUMN_NAME_GROUP + " IN ( " + inStatement + " )", subset.toArray(new String[0]));
             }
         });
     }
@@ -520,7 +584,7 @@ public class AutomationDataManager extends DataManager {
             @Override
             public void perform(@NonNull List<String> subset) {
                 String inStatement = repeat("?", subset.size(), ", ");
-                delete(ScheduleEntry.TABLE_NAME, ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " IN ( " + inStatement + " )", subset.toArray(new String[0]));
+                delete(scheduleTable, ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " IN ( " + inStatement + " )", subset.toArray(new String[0]));
             }
         });
     }
@@ -533,7 +597,7 @@ public class AutomationDataManager extends DataManager {
      */
     @NonNull
     List<ScheduleEntry> getScheduleEntries(@NonNull String group) {
-        String query = GET_SCHEDULES_QUERY + " WHERE a." + ScheduleEntry.COLUMN_NAME_GROUP + "=?" + ORDER_SCHEDULES_STATEMENT;
+        String query = getSchedulesQuery + " WHERE a." + ScheduleEntry.COLUMN_NAME_GROUP + "=?" + ORDER_SCHEDULES_STATEMENT;
         Cursor cursor = rawQuery(query, new String[] { String.valueOf(group) });
         if (cursor == null) {
             return Collections.emptyList();
@@ -551,7 +615,7 @@ public class AutomationDataManager extends DataManager {
      */
     @NonNull
     List<ScheduleEntry> getScheduleEntries() {
-        String query = GET_SCHEDULES_QUERY + ORDER_SCHEDULES_STATEMENT;
+        String query = getSchedulesQuery + ORDER_SCHEDULES_STATEMENT;
         Cursor cursor = rawQuery(query, null);
         if (cursor == null) {
             return Collections.emptyList();
@@ -589,7 +653,7 @@ public class AutomationDataManager extends DataManager {
         performSubSetOperations(ids, new SetOperation<String>() {
             @Override
             public void perform(@NonNull List<String> subset) {
-                String query = GET_SCHEDULES_QUERY + " WHERE a." + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " IN ( " + repeat("?", subset.size(), ", ") + ")" + ORDER_SCHEDULES_STATEMENT;
+                String query = getSchedulesQuery + " WHERE a." + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " IN ( " + repeat("?", subset.size(), ", ") + ")" + ORDER_SCHEDULES_STATEMENT;
 
                 Cursor cursor = rawQuery(query, subset.toArray(new String[0]));
                 if (cursor != null) {
@@ -611,7 +675,7 @@ public class AutomationDataManager extends DataManager {
      */
     @NonNull
     List<ScheduleEntry> getScheduleEntries(@ScheduleEntry.State int executionState) {
-        String query = GET_SCHEDULES_QUERY + " WHERE a." + ScheduleEntry.COLUMN_NAME_EXECUTION_STATE + " = ?";
+        String query = getSchedulesQuery + " WHERE a." + ScheduleEntry.COLUMN_NAME_EXECUTION_STATE + " = ?";
         Cursor cursor = rawQuery(query, new String[] { String.valueOf(executionState) });
 
         if (cursor == null) {
@@ -636,7 +700,7 @@ public class AutomationDataManager extends DataManager {
             states[i] = String.valueOf(executionStates[i]);
         }
 
-        String query = GET_SCHEDULES_QUERY + " WHERE a." + ScheduleEntry.COLUMN_NAME_EXECUTION_STATE + " IN ( " + repeat("?", executionStates.length, ", ") + ")";
+        String query = getSchedulesQuery + " WHERE a." + ScheduleEntry.COLUMN_NAME_EXECUTION_STATE + " IN ( " + repeat("?", executionStates.length, ", ") + ")";
         Cursor cursor = rawQuery(query, states);
 
         if (cursor == null) {
@@ -655,7 +719,7 @@ public class AutomationDataManager extends DataManager {
      */
     @NonNull
     List<ScheduleEntry> getActiveExpiredScheduleEntries() {
-        String query = GET_SCHEDULES_QUERY +
+        String query = getSchedulesQuery +
                 " WHERE a." + ScheduleEntry.COLUMN_NAME_EXECUTION_STATE + " != " + ScheduleEntry.STATE_FINISHED +
                 " AND a." + ScheduleEntry.COLUMN_NAME_END + " >= 0 AND a." + ScheduleEntry.COLUMN_NAME_END + " <= ?";
 
@@ -690,23 +754,55 @@ public class AutomationDataManager extends DataManager {
      */
     @NonNull
     List<TriggerEntry> getActiveTriggerEntries(int type, @NonNull String scheduleId) {
-        List<TriggerEntry> triggers = new ArrayList<>();
-        Cursor cursor = rawQuery(GET_ACTIVE_TRIGGERS, new String[] { String.valueOf(type), String.valueOf(System.currentTimeMillis()), scheduleId });
+        Cursor cursor = rawQuery(getActiveTriggersQuery + " AND t." + TriggerEntry.COLUMN_NAME_SCHEDULE_ID + " LIKE ?", new String[] { String.valueOf(type), String.valueOf(System.currentTimeMillis()), scheduleId });
 
         if (cursor == null) {
-            return triggers;
+            return new ArrayList<>();
         }
 
-        // create triggers
-        cursor.moveToFirst();
+        List<TriggerEntry> triggers = generateTriggers(cursor);
+        cursor.close();
+        return triggers;
+    }
 
-        while (!cursor.isAfterLast()) {
-            TriggerEntry triggerEntry = new TriggerEntry(cursor);
-            triggers.add(triggerEntry);
-            cursor.moveToNext();
+    /**
+     * Gets triggers for a given type that belong to any of the schedules.
+     *
+     * @param type The trigger type.
+     * @param scheduleIds The IDs of the schedules containing the triggers.
+     * @return THe list of {@link TriggerEntry} instances.
+     */
+    @NonNull
+    List<TriggerEntry> getActiveTriggerEntries(int type, @NonNull Collection<String> scheduleIds) {
+        if (scheduleIds.size() == 1) {
+            return getActiveTriggerEntries(type, scheduleIds.iterator().next());
         }
 
-        cursor.close();
+        final List<TriggerEntry> triggers = new ArrayList<>();
+        final String typeArg = String.valueOf(type);
+        final String timeArg = String.valueOf(System.currentTimeMillis());
+
+        // The type and time take two of the args
+        performSubSetOperations(scheduleIds, MAX_ARG_COUNT - 2, new SetOperation<String>() {
+            @Override
+            public void perform(@NonNull List<String> subset) {
+                String query = getActiveTriggersQuery + " AND t." + TriggerEntry.COLUMN_NAME_SCHEDULE_ID + " IN ( " + repeat("?", subset.size(), ", ") + ")";
+
+                String[] args = new String[subset.size() + 2];
+                args[0] = typeArg;
+                args[1] = timeArg;
+                for (int i = 0; i < subset.size(); i++) {
+                    args[i + 2] = subset.get(i);
+                }
+
+                Cursor cursor = rawQuery(query, args);
+                if (cursor != null) {
+                    triggers.addAll(generateTriggers(cursor));
+                    cursor.close();
+                }
+            }
+        });
+
         return triggers;
     }
 
@@ -721,7 +817,7 @@ public class AutomationDataManager extends DataManager {
             return -1;
         }
 
-        return DatabaseUtils.queryNumEntries(db, ScheduleEntry.TABLE_NAME);
+        return DatabaseUtils.queryNumEntries(db, scheduleTable);
     }
 
     /**
@@ -746,6 +842,25 @@ public class AutomationDataManager extends DataManager {
         return entries;
     }
 
+    /**
+     * Helper method to generate trigger entries from a a cursor.
+     *
+     * @param cursor The cursor.
+     * @return A list of trigger entries.
+     */
+    @NonNull
+    private List<TriggerEntry> generateTriggers(@NonNull Cursor cursor) {
+        cursor.moveToFirst();
+
+        List<TriggerEntry> triggers = new ArrayList<>();
+        while (!cursor.isAfterLast()) {
+            triggers.add(new TriggerEntry(cursor));
+            cursor.moveToNext();
+        }
+
+        return triggers;
+    }
+
     /**
      * Interface for operating on a subset of IDs.
      *
@@ -765,12 +880,24 @@ public class AutomationDataManager extends DataManager {
      * @param operation The operation to perform.
      */
     private static <T> void performSubSetOperations(@NonNull Collection<T> ids, @NonNull SetOperation<T> operation) {
+        performSubSetOperations(ids, AutomationDataManager.MAX_ARG_COUNT, operation);
+    }
+
+    /**
+     * Performs an operation on subsets of the IDs, with at most {@code maxCount} IDs per subset.
+     *
+     * @param ids The IDs.
+     * @param maxCount The max subset size.
+     * @param operation The operation.
+     * @param <T> The ID type.
+     */
+    private static <T> void performSubSetOperations(@NonNull Collection<T> ids, int maxCount, @NonNull SetOperation<T> operation) {
         List<T> remaining = new ArrayList<>(ids);
 
         while (!remaining.isEmpty()) {
-            if (remaining.size() > AutomationDataManager.MAX_ARG_COUNT) {
-                operation.perform(remaining.subList(0, AutomationDataManager.MAX_ARG_COUNT));
-                remaining = remaining.subList(AutomationDataManager.MAX_ARG_COUNT, remaining.size());
+            if (remaining.size() > maxCount) {
+                operation.perform(remaining.subList(0, maxCount));
+                remaining = remaining.subList(maxCount, remaining.size());
             } else {
                 operation.perform(remaining);
                 remaining.clear();
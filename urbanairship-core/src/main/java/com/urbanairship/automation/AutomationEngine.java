@@ -5,6 +5,7 @@ package com.urbanairship.automation;
 import android.os.Handler;
 import android.os.HandlerThread;
 import android.os.Looper;
+import android.os.SystemClock;
 import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -13,11 +14,9 @@ import androidx.annotation.VisibleForTesting;
 import androidx.annotation.WorkerThread;
 import android.util.SparseArray;
 
-import com.urbanairship.CancelableOperation;
 import com.urbanairship.Logger;
 import com.urbanairship.OperationScheduler;
 import com.urbanairship.PendingResult;
-import com.urbanairship.Predicate;
 import com.urbanairship.analytics.Analytics;
 import com.urbanairship.analytics.AnalyticsListener;
 import com.urbanairship.analytics.CustomEvent;
@@ -27,6 +26,8 @@ import com.urbanairship.json.JsonMap;
 import com.urbanairship.json.JsonSerializable;
 import com.urbanairship.json.JsonValue;
 import com.urbanairship.location.RegionEvent;
+import com.urbanairship.metrics.Metrics;
+import com.urbanairship.metrics.Span;
 import com.urbanairship.reactive.Function;
 import com.urbanairship.reactive.Observable;
 import com.urbanairship.reactive.Scheduler;
@@ -178,6 +179,16 @@ public class AutomationEngine<T extends Schedule> {
         }
     };
 
+    /**
+     * Max number of schedules created by the driver that are kept in memory.
+     */
+    private static final int MAX_CACHED_SCHEDULES = 100;
+
+    /**
+     * Max time trigger progress is kept in memory before it is written to the database.
+     */
+    private static final long TRIGGER_PROGRESS_CHECKPOINT_MS = 30000;
+
     private final AutomationDataManager dataManager;
     private final ActivityMonitor activityMonitor;
     private final AutomationDriver<T> driver;
@@ -195,7 +206,17 @@ public class AutomationEngine<T extends Schedule> {
 
     @VisibleForTesting
     final HandlerThread backgroundThread;
-    private final List<ScheduleOperation> pendingAlarmOperations = new ArrayList<>();
+    private AlarmQueue alarmQueue;
+    private final ScheduleCache<T> scheduleCache = new ScheduleCache<>(MAX_CACHED_SCHEDULES);
+    private final TriggerProgressAccumulator progressAccumulator = new TriggerProgressAccumulator();
+    private boolean isProgressCheckpointScheduled;
+
+    private final Runnable progressCheckpoint = new Runnable() {
+        @Override
+        public void run() {
+            checkpointTriggerProgress();
+        }
+    };
 
     private String screen;
     private String regionId;
@@ -215,6 +236,9 @@ public class AutomationEngine<T extends Schedule> {
         public void onBackground(long time) {
             AutomationEngine.this.onEventAdded(JsonValue.NULL, Trigger.LIFE_CYCLE_BACKGROUND, 1.00);
             onScheduleConditionsChanged();
+
+            // The process is more likely to be killed in the background
+            backgroundHandler.post(progressCheckpoint);
         }
     };
 
@@ -312,6 +336,7 @@ public class AutomationEngine<T extends Schedule> {
         this.backgroundThread.start();
         this.backgroundHandler = new Handler(this.backgroundThread.getLooper());
         this.backgroundScheduler = Schedulers.looper(backgroundThread.getLooper());
+        this.alarmQueue = new AlarmQueue(scheduler, backgroundThread.getLooper());
 
         activityMonitor.addApplicationListener(applicationListener);
         analytics.addAnalyticsListener(analyticsListener);
@@ -319,16 +344,11 @@ public class AutomationEngine<T extends Schedule> {
         backgroundHandler.post(new Runnable() {
             @Override
             public void run() {
-                cleanSchedules();
-                resetExecutingSchedules();
-                restoreDelayAlarms();
-                restoreIntervalAlarms();
-                prepareSchedules(dataManager.getScheduleEntries(ScheduleEntry.STATE_PREPARING_SCHEDULE));
+                recoverSchedules();
             }
         });
 
         restoreCompoundTriggers();
-        onScheduleConditionsChanged();
         onEventAdded(JsonValue.NULL, Trigger.LIFE_CYCLE_APP_INIT, 1.00);
         isStarted = true;
     }
@@ -360,7 +380,16 @@ public class AutomationEngine<T extends Schedule> {
         activityMonitor.removeApplicationListener(applicationListener);
         analytics.removeAnalyticsListener(analyticsListener);
         cancelAlarms();
-        backgroundThread.quit();
+
+        // Quit after the queued trigger updates so their progress is written before the thread stops
+        backgroundHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                checkpointTriggerProgress();
+                backgroundThread.quit();
+            }
+        });
+
         isStarted = false;
     }
 
@@ -464,6 +493,7 @@ public class AutomationEngine<T extends Schedule> {
 
                 dataManager.deleteSchedules(ids);
                 cancelScheduleAlarms(ids);
+                scheduleCache.invalidate(ids);
 
                 Logger.verbose("AutomationEngine - Cancelled schedules: %s", ids);
                 pendingResult.setResult(null);
@@ -546,6 +576,7 @@ public class AutomationEngine<T extends Schedule> {
 
                 dataManager.deleteAllSchedules();
                 cancelAlarms();
+                scheduleCache.clear();
                 Logger.verbose("AutomationEngine - Canceled all schedules.");
                 pendingResult.setResult(null);
             }
@@ -641,6 +672,7 @@ public class AutomationEngine<T extends Schedule> {
                 }
 
                 entry.applyEdits(edits);
+                scheduleCache.invalidate(Collections.singleton(scheduleId));
 
                 boolean subscribeForStateChanges = false;
                 long stateChangeTimeStamp = -1;
@@ -666,7 +698,7 @@ public class AutomationEngine<T extends Schedule> {
                 dataManager.saveSchedule(entry);
 
                 if (subscribeForStateChanges) {
-                    subscribeStateObservables(entry, stateChangeTimeStamp);
+                    subscribeStateObservables(Collections.singletonList(entry), stateChangeTimeStamp);
                 }
 
                 List<T> result = convertEntries(dataManager.getScheduleEntries(Collections.singleton(scheduleId)));
@@ -802,7 +834,10 @@ public class AutomationEngine<T extends Schedule> {
         backgroundHandler.post(new Runnable() {
             @Override
             public void run() {
-                subscribeStateObservables(dataManager.getScheduleEntries());
+                // Every schedule is checked on start, so check each state once for all of them
+                for (@Trigger.TriggerType int type : COMPOUND_TRIGGER_TYPES) {
+                    subscribeStateObservable(type, null);
+                }
             }
         });
 
@@ -823,77 +858,166 @@ public class AutomationEngine<T extends Schedule> {
     }
 
     /**
-     * Processes a list of schedule entries and subscribes for state updates to any compound triggers
+     * Checks the compound trigger states for a list of schedule entries.
      *
      * @param entries The schedule entries.
      */
     @WorkerThread
     private void subscribeStateObservables(@NonNull List<ScheduleEntry> entries) {
-        sortSchedulesByPriority(entries);
+        subscribeStateObservables(entries, -1);
+    }
+
+    /**
+     * Checks the compound trigger states for a list of schedule entries. Each state is checked once
+     * for the whole list and a single update is sent for the triggers of every entry that has a
+     * trigger of that type.
+     *
+     * @param entries The schedule entries.
+     * @param lastStateChangeTime A timestamp to filter out state triggers. Only state changes that happened
+     * after the lastStateChangeTime will update the entries' triggers.
+     */
+    @WorkerThread
+    private void subscribeStateObservables(@NonNull List<ScheduleEntry> entries, long lastStateChangeTime) {
+        for (final @Trigger.TriggerType int type : COMPOUND_TRIGGER_TYPES) {
+            if (stateChangeTimeStamps.get(type, startTime) <= lastStateChangeTime) {
+                continue;
+            }
+
+            final Set<String> scheduleIds = new HashSet<>();
+            for (ScheduleEntry entry : entries) {
+                for (TriggerEntry triggerEntry : entry.triggerEntries) {
+                    if (triggerEntry.type == type) {
+                        scheduleIds.add(entry.scheduleId);
+                        break;
+                    }
+                }
+            }
 
-        for (final ScheduleEntry scheduleEntry : entries) {
-            subscribeStateObservables(scheduleEntry, -1);
+            if (!scheduleIds.isEmpty()) {
+                subscribeStateObservable(type, scheduleIds);
+            }
         }
     }
 
     /**
-     * Subscribes a schedule entry for state updates to any compound triggers
+     * Checks a compound trigger state and sends a single update for the active triggers of that type.
      *
-     * @param entry The schedule entry.
-     * @param lastStateChangeTime A timestamp to filter out state triggers. Only state changes that happened
-     * after the lastStateChangeTime will update the entry's triggers.
+     * @param type The trigger type.
+     * @param scheduleIds The schedule IDs to update, or {@code null} to update all schedules.
      */
     @WorkerThread
-    private void subscribeStateObservables(@NonNull final ScheduleEntry entry, final long lastStateChangeTime) {
-        Observable.from(COMPOUND_TRIGGER_TYPES)
-                  .filter(new Predicate<Integer>() {
-                      @Override
-                      public boolean apply(Integer triggerType) {
-                          if (stateChangeTimeStamps.get(triggerType, startTime) <= lastStateChangeTime) {
-                              return false;
-                          }
-
-                          for (TriggerEntry triggerEntry : entry.triggerEntries) {
-                              if (triggerEntry.type == triggerType) {
-                                  return true;
-                              }
-                          }
-                          return false;
-                      }
-                  })
-                  .flatMap(new Function<Integer, Observable<TriggerUpdate>>() {
-                      @NonNull
-                      @Override
-                      public Observable<TriggerUpdate> apply(@NonNull final Integer type) {
-                          return createStateObservable(type)
-                                  .observeOn(backgroundScheduler)
-                                  .map(new Function<JsonSerializable, TriggerUpdate>() {
-                                      @NonNull
-                                      @Override
-                                      public TriggerUpdate apply(@NonNull JsonSerializable json) {
-                                          return new TriggerUpdate(dataManager.getActiveTriggerEntries(type, entry.scheduleId), json, 1.0);
-                                      }
-                                  });
-                      }
-                  })
-                  .subscribe(new Subscriber<TriggerUpdate>() {
-                      @Override
-                      public void onNext(@NonNull TriggerUpdate value) {
-                          stateObservableUpdates.onNext(value);
-                      }
-                  });
+    private void subscribeStateObservable(@Trigger.TriggerType final int type, @Nullable final Set<String> scheduleIds) {
+        createStateObservable(type)
+                .observeOn(backgroundScheduler)
+                .map(new Function<JsonSerializable, TriggerUpdate>() {
+                    @NonNull
+                    @Override
+                    public TriggerUpdate apply(@NonNull JsonSerializable json) {
+                        List<TriggerEntry> triggerEntries = scheduleIds == null
+                                ? dataManager.getActiveTriggerEntries(type)
+                                : dataManager.getActiveTriggerEntries(type, scheduleIds);
+                        return new TriggerUpdate(triggerEntries, json, 1.0);
+                    }
+                })
+                .subscribe(new Subscriber<TriggerUpdate>() {
+                    @Override
+                    public void onNext(@NonNull TriggerUpdate value) {
+                        stateObservableUpdates.onNext(value);
+                    }
+                });
     }
 
     /**
-     * Resets the schedules that were executing back to pending execution.
+     * Recovers the schedules on startup. All schedules are loaded in a single pass and grouped
+     * by state, then expired schedules are finished, finished schedules are cleaned up, executing
+     * schedules are reset, delay and interval alarms are restored and pending schedules are prepared.
+     * <p>
+     * Schedules waiting on conditions are reset to preparing, so there is no need to check schedule
+     * conditions afterwards.
+     */
+    @WorkerThread
+    private void recoverSchedules() {
+        Span span = Metrics.startSpan(Metrics.SPAN_AUTOMATION_RECOVER);
+        try {
+            recoverScheduleEntries();
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Loads, groups and recovers the schedule entries.
      */
     @WorkerThread
-    private void resetExecutingSchedules() {
-        List<ScheduleEntry> entries = dataManager.getScheduleEntries(ScheduleEntry.STATE_EXECUTING,
-                ScheduleEntry.STATE_WAITING_SCHEDULE_CONDITIONS);
+    private void recoverScheduleEntries() {
+        long startTime = SystemClock.elapsedRealtime();
+        long now = System.currentTimeMillis();
+
+        List<ScheduleEntry> entries = dataManager.getScheduleEntries();
+
+        List<ScheduleEntry> expired = new ArrayList<>();
+        List<ScheduleEntry> finished = new ArrayList<>();
+        List<ScheduleEntry> executing = new ArrayList<>();
+        List<ScheduleEntry> delayed = new ArrayList<>();
+        List<ScheduleEntry> paused = new ArrayList<>();
+        List<ScheduleEntry> preparing = new ArrayList<>();
+
+        for (ScheduleEntry entry : entries) {
+            int state = entry.getExecutionState();
+            if (state != ScheduleEntry.STATE_FINISHED && entry.getEnd() >= 0 && entry.getEnd() <= now) {
+                expired.add(entry);
+                continue;
+            }
 
+            switch (state) {
+                case ScheduleEntry.STATE_FINISHED:
+                    finished.add(entry);
+                    break;
+
+                case ScheduleEntry.STATE_EXECUTING:
+                case ScheduleEntry.STATE_WAITING_SCHEDULE_CONDITIONS:
+                    executing.add(entry);
+                    break;
+
+                case ScheduleEntry.STATE_TIME_DELAYED:
+                    delayed.add(entry);
+                    break;
+
+                case ScheduleEntry.STATE_PAUSED:
+                    paused.add(entry);
+                    break;
+
+                case ScheduleEntry.STATE_PREPARING_SCHEDULE:
+                    preparing.add(entry);
+                    break;
+
+                case ScheduleEntry.STATE_IDLE:
+                    break;
+            }
+        }
+
+        cleanSchedules(expired, finished);
+        preparing.addAll(resetExecutingSchedules(executing));
+        preparing.addAll(restoreDelayAlarms(delayed));
+        restoreIntervalAlarms(paused);
+        prepareSchedules(preparing);
+
+        Logger.debug("AutomationEngine - Recovered %s schedules in %s ms (expired: %s, finished: %s, executing: %s, delayed: %s, paused: %s, preparing: %s)",
+                entries.size(), SystemClock.elapsedRealtime() - startTime, expired.size(), finished.size(),
+                executing.size(), delayed.size(), paused.size(), preparing.size());
+    }
+
+    /**
+     * Resets the schedules that were executing back to pending execution.
+     *
+     * @param entries The executing or waiting schedule entries.
+     * @return The schedule entries that were reset.
+     */
+    @WorkerThread
+    @NonNull
+    private List<ScheduleEntry> resetExecutingSchedules(@NonNull List<ScheduleEntry> entries) {
         if (entries.isEmpty()) {
-            return;
+            return entries;
         }
 
         for (ScheduleEntry entry : entries) {
@@ -902,6 +1026,7 @@ public class AutomationEngine<T extends Schedule> {
 
         dataManager.saveSchedules(entries);
         Logger.verbose("AutomationEngine: Schedules reset state to STATE_PREPARING_SCHEDULE: %s", entries);
+        return entries;
     }
 
     /**
@@ -910,9 +1035,18 @@ public class AutomationEngine<T extends Schedule> {
      */
     @WorkerThread
     private void cleanSchedules() {
-        List<ScheduleEntry> expired = dataManager.getActiveExpiredScheduleEntries();
-        List<ScheduleEntry> finished = dataManager.getScheduleEntries(ScheduleEntry.STATE_FINISHED);
+        cleanSchedules(dataManager.getActiveExpiredScheduleEntries(), dataManager.getScheduleEntries(ScheduleEntry.STATE_FINISHED));
+    }
 
+    /**
+     * Expires the active schedules past their end date and deletes the finished schedules past the
+     * edit grace period.
+     *
+     * @param expired The active expired schedule entries.
+     * @param finished The finished schedule entries.
+     */
+    @WorkerThread
+    private void cleanSchedules(@NonNull List<ScheduleEntry> expired, @NonNull List<ScheduleEntry> finished) {
         handleExpiredEntries(expired);
 
         Set<String> schedulesToDelete = new HashSet<>();
@@ -944,12 +1078,7 @@ public class AutomationEngine<T extends Schedule> {
      */
     @WorkerThread
     private void cancelScheduleAlarms(@NonNull Collection<String> scheduleIds) {
-        for (ScheduleOperation alarmOperation : new ArrayList<>(pendingAlarmOperations)) {
-            if (scheduleIds.contains(alarmOperation.scheduleId)) {
-                alarmOperation.cancel();
-                pendingAlarmOperations.remove(alarmOperation);
-            }
-        }
+        alarmQueue.cancelSchedules(scheduleIds);
     }
 
     /**
@@ -959,12 +1088,7 @@ public class AutomationEngine<T extends Schedule> {
      */
     @WorkerThread
     private void cancelGroupAlarms(@NonNull Collection<String> groups) {
-        for (ScheduleOperation alarmOperation : new ArrayList<>(pendingAlarmOperations)) {
-            if (groups.contains(alarmOperation.group)) {
-                alarmOperation.cancel();
-                pendingAlarmOperations.remove(alarmOperation);
-            }
-        }
+        alarmQueue.cancelGroups(groups);
     }
 
     /**
@@ -972,24 +1096,24 @@ public class AutomationEngine<T extends Schedule> {
      */
     @WorkerThread
     private void cancelAlarms() {
-        for (ScheduleOperation operation : pendingAlarmOperations) {
-            operation.cancel();
-        }
-
-        pendingAlarmOperations.clear();
+        alarmQueue.cancelAll();
     }
 
     /**
      * Reschedule delays.
+     *
+     * @param scheduleEntries The time delayed schedule entries.
+     * @return The schedule entries whose delay already finished and are now preparing.
      */
     @WorkerThread
-    private void restoreDelayAlarms() {
-        List<ScheduleEntry> scheduleEntries = dataManager.getScheduleEntries(ScheduleEntry.STATE_TIME_DELAYED);
+    @NonNull
+    private List<ScheduleEntry> restoreDelayAlarms(@NonNull List<ScheduleEntry> scheduleEntries) {
         if (scheduleEntries.isEmpty()) {
-            return;
+            return Collections.emptyList();
         }
 
         List<ScheduleEntry> schedulesToUpdate = new ArrayList<>();
+        List<ScheduleEntry> finishedDelays = new ArrayList<>();
 
         for (ScheduleEntry scheduleEntry : scheduleEntries) {
             // No delay, mark it to be executed
@@ -1003,6 +1127,7 @@ public class AutomationEngine<T extends Schedule> {
             if (remainingDelay <= 0) {
                 scheduleEntry.setExecutionState(ScheduleEntry.STATE_PREPARING_SCHEDULE);
                 schedulesToUpdate.add(scheduleEntry);
+                finishedDelays.add(scheduleEntry);
                 continue;
             }
 
@@ -1017,14 +1142,16 @@ public class AutomationEngine<T extends Schedule> {
         }
 
         dataManager.saveSchedules(schedulesToUpdate);
+        return finishedDelays;
     }
 
     /**
      * Reschedule interval operations.
+     *
+     * @param scheduleEntries The paused schedule entries.
      */
     @WorkerThread
-    private void restoreIntervalAlarms() {
-        List<ScheduleEntry> scheduleEntries = dataManager.getScheduleEntries(ScheduleEntry.STATE_PAUSED);
+    private void restoreIntervalAlarms(@NonNull List<ScheduleEntry> scheduleEntries) {
         if (scheduleEntries.isEmpty()) {
             return;
         }
@@ -1104,21 +1231,30 @@ public class AutomationEngine<T extends Schedule> {
                     return;
                 }
 
-                Set<String> triggeredSchedules = new HashSet<>();
-                Set<String> cancelledSchedules = new HashSet<>();
+                Span span = Metrics.startSpan(Metrics.SPAN_AUTOMATION_TRIGGERS);
+                try {
+                    Set<String> triggeredSchedules = new HashSet<>();
+                    Set<String> cancelledSchedules = new HashSet<>();
 
-                List<TriggerEntry> triggersToUpdate = new ArrayList<>();
+                    List<TriggerEntry> triggersToUpdate = new ArrayList<>();
 
-                for (TriggerEntry trigger : triggerEntries) {
-                    if (trigger.jsonPredicate != null && !trigger.jsonPredicate.apply(json)) {
-                        continue;
-                    }
+                    for (TriggerEntry trigger : triggerEntries) {
+                        if (trigger.jsonPredicate != null && !trigger.jsonPredicate.apply(json)) {
+                            continue;
+                        }
 
-                    triggersToUpdate.add(trigger);
-                    trigger.setProgress(trigger.getProgress() + value);
+                        trigger.setProgress(progressAccumulator.getProgress(trigger) + value);
 
-                    if (trigger.getProgress() >= trigger.goal) {
+                        // Progress below the goal is kept in memory until the next checkpoint
+                        if (trigger.getProgress() < trigger.goal) {
+                            progressAccumulator.add(trigger);
+                            continue;
+                        }
+
+                        // Goal reached, reset and save the trigger right away
                         trigger.setProgress(0);
+                        progressAccumulator.remove(trigger);
+                        triggersToUpdate.add(trigger);
 
                         if (trigger.isCancellation) {
                             cancelledSchedules.add(trigger.scheduleId);
@@ -1127,21 +1263,54 @@ public class AutomationEngine<T extends Schedule> {
                             triggeredSchedules.add(trigger.scheduleId);
                         }
                     }
-                }
 
-                dataManager.saveTriggers(triggersToUpdate);
+                    dataManager.saveTriggers(triggersToUpdate);
 
-                if (!cancelledSchedules.isEmpty()) {
-                    handleCancelledSchedules(dataManager.getScheduleEntries(cancelledSchedules));
-                }
+                    if (cancelledSchedules.isEmpty() && triggeredSchedules.isEmpty()) {
+                        scheduleTriggerProgressCheckpoint();
+                        return;
+                    }
+
+                    // The schedules are loaded with their triggers, so write the pending progress first
+                    checkpointTriggerProgress();
+
+                    if (!cancelledSchedules.isEmpty()) {
+                        handleCancelledSchedules(dataManager.getScheduleEntries(cancelledSchedules));
+                    }
 
-                if (!triggeredSchedules.isEmpty()) {
-                    handleTriggeredSchedules(dataManager.getScheduleEntries(triggeredSchedules));
+                    if (!triggeredSchedules.isEmpty()) {
+                        handleTriggeredSchedules(dataManager.getScheduleEntries(triggeredSchedules));
+                    }
+                } finally {
+                    span.end();
                 }
             }
         });
     }
 
+    /**
+     * Schedules a checkpoint for the pending trigger progress if one is not already scheduled.
+     */
+    @WorkerThread
+    private void scheduleTriggerProgressCheckpoint() {
+        if (!progressAccumulator.isEmpty() && !isProgressCheckpointScheduled) {
+            isProgressCheckpointScheduled = true;
+            backgroundHandler.postDelayed(progressCheckpoint, TRIGGER_PROGRESS_CHECKPOINT_MS);
+        }
+    }
+
+    /**
+     * Writes the pending trigger progress to the database.
+     */
+    @WorkerThread
+    private void checkpointTriggerProgress() {
+        backgroundHandler.removeCallbacks(progressCheckpoint);
+        isProgressCheckpointScheduled = false;
+        if (!progressAccumulator.isEmpty()) {
+            dataManager.saveTriggerProgress(progressAccumulator.drain());
+        }
+    }
+
     /**
      * Processes a list of cancelled schedule entries.
      *
@@ -1310,7 +1479,7 @@ public class AutomationEngine<T extends Schedule> {
 
                 if (isScheduleConditionsSatisfied(scheduleEntry)) {
                     try {
-                        schedule = driver.createSchedule(scheduleEntry.scheduleId, scheduleEntry.metadata, scheduleEntry);
+                        schedule = driver.createSchedule(scheduleEntry.scheduleId, scheduleEntry.getMetadata(), scheduleEntry);
                         result = driver.onCheckExecutionReadiness(schedule);
                     } catch (ParseScheduleException e) {
                         Logger.error(e, "Unable to create schedule.");
@@ -1510,9 +1679,10 @@ public class AutomationEngine<T extends Schedule> {
      * @param delay The delay in milliseconds.
      */
     private void scheduleDelayAlarm(@NonNull final ScheduleEntry scheduleEntry, long delay) {
-        final ScheduleOperation operation = new ScheduleOperation(scheduleEntry.scheduleId, scheduleEntry.group) {
+        final String scheduleId = scheduleEntry.scheduleId;
+        alarmQueue.schedule(scheduleId, scheduleEntry.group, delay, new Runnable() {
             @Override
-            protected void onRun() {
+            public void run() {
                 ScheduleEntry scheduleEntry = dataManager.getScheduleEntry(scheduleId);
                 if (scheduleEntry != null && scheduleEntry.getExecutionState() == ScheduleEntry.STATE_TIME_DELAYED) {
 
@@ -1529,16 +1699,7 @@ public class AutomationEngine<T extends Schedule> {
                     prepareSchedules(Collections.singletonList(scheduleEntry));
                 }
             }
-        };
-
-        operation.addOnRun(new Runnable() {
-            @Override
-            public void run() {
-                pendingAlarmOperations.remove(operation);
-            }
         });
-        pendingAlarmOperations.add(operation);
-        scheduler.schedule(delay, operation);
     }
 
     /**
@@ -1549,9 +1710,10 @@ public class AutomationEngine<T extends Schedule> {
      */
     @WorkerThread
     private void scheduleIntervalAlarm(@NonNull ScheduleEntry scheduleEntry, long interval) {
-        final ScheduleOperation operation = new ScheduleOperation(scheduleEntry.scheduleId, scheduleEntry.group) {
+        final String scheduleId = scheduleEntry.scheduleId;
+        alarmQueue.schedule(scheduleId, scheduleEntry.group, interval, new Runnable() {
             @Override
-            protected void onRun() {
+            public void run() {
                 ScheduleEntry scheduleEntry = dataManager.getScheduleEntry(scheduleId);
                 if (scheduleEntry == null || scheduleEntry.getExecutionState() != ScheduleEntry.STATE_PAUSED) {
                     return;
@@ -1569,23 +1731,14 @@ public class AutomationEngine<T extends Schedule> {
                 scheduleEntry.setExecutionState(ScheduleEntry.STATE_IDLE);
                 dataManager.saveSchedule(scheduleEntry);
 
-                subscribeStateObservables(scheduleEntry, pauseStartTime);
-            }
-        };
-
-        operation.addOnRun(new Runnable() {
-            @Override
-            public void run() {
-                pendingAlarmOperations.remove(operation);
+                subscribeStateObservables(Collections.singletonList(scheduleEntry), pauseStartTime);
             }
         });
-
-        pendingAlarmOperations.add(operation);
-        scheduler.schedule(interval, operation);
     }
 
     /**
-     * Converts a list of generic entries to typed entries.
+     * Converts a list of generic entries to typed entries. Converted entries are cached until the
+     * schedule is edited, so the schedule data is only parsed again after it changes.
      *
      * @param entries The list of entries to convert.
      * @return The list of converted entries.
@@ -1594,8 +1747,16 @@ public class AutomationEngine<T extends Schedule> {
     private List<T> convertEntries(@NonNull Collection<ScheduleEntry> entries) {
         List<T> schedules = new ArrayList<>();
         for (ScheduleEntry entry : entries) {
+            T schedule = scheduleCache.get(entry);
+            if (schedule != null) {
+                schedules.add(schedule);
+                continue;
+            }
+
             try {
-                schedules.add(driver.createSchedule(entry.scheduleId, entry.metadata, entry));
+                schedule = driver.createSchedule(entry.scheduleId, entry.getMetadata(), entry);
+                scheduleCache.put(entry, schedule);
+                schedules.add(schedule);
             } catch (Exception e) {
                 Logger.error(e, "Unable to create schedule.");
                 cancel(Collections.singletonList(entry.scheduleId));
@@ -1613,8 +1774,9 @@ public class AutomationEngine<T extends Schedule> {
      */
     @MainThread
     private boolean isScheduleConditionsSatisfied(@NonNull ScheduleEntry scheduleEntry) {
-        if (scheduleEntry.screens != null && !scheduleEntry.screens.isEmpty()) {
-            if (!scheduleEntry.screens.contains(screen)) {
+        List<String> screens = scheduleEntry.getScreens();
+        if (screens != null && !screens.isEmpty()) {
+            if (!screens.contains(screen)) {
                 return false;
             }
         }
@@ -1680,19 +1842,6 @@ public class AutomationEngine<T extends Schedule> {
         notifyExpiredSchedules(entries);
     }
 
-    private class ScheduleOperation extends CancelableOperation {
-
-        final String scheduleId;
-        final String group;
-
-        ScheduleOperation(String scheduleId, String group) {
-            super(backgroundHandler.getLooper());
-            this.scheduleId = scheduleId;
-            this.group = group;
-        }
-
-    }
-
     private abstract class ScheduleRunnable<ReturnType> implements Runnable {
 
         final String scheduleId;
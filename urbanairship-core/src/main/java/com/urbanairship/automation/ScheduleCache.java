@@ -0,0 +1,103 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.automation;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of the schedules created by the {@link AutomationDriver}. Schedules are
+ * keyed by schedule ID and row ID, and must be invalidated when the schedule is edited.
+ *
+ * @param <T> The schedule type.
+ */
+class ScheduleCache<T extends Schedule> {
+
+    private final Map<String, CachedSchedule<T>> cache;
+
+    /**
+     * Default constructor.
+     *
+     * @param maxSize The max number of schedules to cache.
+     */
+    ScheduleCache(final int maxSize) {
+        this.cache = new LinkedHashMap<String, CachedSchedule<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSchedule<T>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the cached schedule for the entry.
+     *
+     * @param entry The schedule entry.
+     * @return The cached schedule, or {@code null} if the schedule is not cached or out of date.
+     */
+    @Nullable
+    T get(@NonNull ScheduleEntry entry) {
+        synchronized (cache) {
+            CachedSchedule<T> cached = cache.get(entry.scheduleId);
+            if (cached == null || entry.getRowId() == -1 || cached.rowId != entry.getRowId()) {
+                return null;
+            }
+            return cached.schedule;
+        }
+    }
+
+    /**
+     * Caches the schedule created for the entry.
+     *
+     * @param entry The schedule entry.
+     * @param schedule The schedule.
+     */
+    void put(@NonNull ScheduleEntry entry, @NonNull T schedule) {
+        if (entry.getRowId() == -1) {
+            return;
+        }
+
+        synchronized (cache) {
+            cache.put(entry.scheduleId, new CachedSchedule<>(entry.getRowId(), schedule));
+        }
+    }
+
+    /**
+     * Invalidates the cached schedules.
+     *
+     * @param scheduleIds The schedule IDs.
+     */
+    void invalidate(@NonNull Collection<String> scheduleIds) {
+        synchronized (cache) {
+            for (String scheduleId : scheduleIds) {
+                cache.remove(scheduleId);
+            }
+        }
+    }
+
+    /**
+     * Clears the cache.
+     */
+    void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private static class CachedSchedule<T> {
+
+        final long rowId;
+        final T schedule;
+
+        CachedSchedule(long rowId, @NonNull T schedule) {
+            this.rowId = rowId;
+            this.schedule = schedule;
+        }
+
+    }
+
+}
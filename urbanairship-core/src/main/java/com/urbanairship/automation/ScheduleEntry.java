@@ -88,13 +88,18 @@ class ScheduleEntry implements ScheduleInfo {
     public final String scheduleId;
     public final String group;
     public final long seconds;
-    public final List<String> screens;
     public final int appState;
     public final List<TriggerEntry> triggerEntries = new ArrayList<>();
     public final String regionId;
 
-    public JsonMap metadata;
-    private JsonSerializable data;
+    // JSON columns are decoded on first access
+    private String metadataJson;
+    private String dataJson;
+    private String screensJson;
+    private volatile JsonMap metadata;
+    private volatile JsonSerializable data;
+    private volatile List<String> screens;
+
     private int limit;
     private int priority;
     private long start;
@@ -147,16 +152,16 @@ class ScheduleEntry implements ScheduleInfo {
         }
     }
 
-    private ScheduleEntry(Cursor cursor) throws JsonException {
+    private ScheduleEntry(Cursor cursor) {
         this.id = cursor.getLong(cursor.getColumnIndex(COLUMN_NAME_ID));
-        this.metadata = JsonValue.parseString(cursor.getString(cursor.getColumnIndex(COLUMN_NAME_METADATA))).optMap();
+        this.metadataJson = cursor.getString(cursor.getColumnIndex(COLUMN_NAME_METADATA));
         this.scheduleId = cursor.getString(cursor.getColumnIndex(COLUMN_NAME_SCHEDULE_ID));
         this.count = cursor.getInt(cursor.getColumnIndex(COLUMN_NAME_COUNT));
         this.limit = cursor.getInt(cursor.getColumnIndex(COLUMN_NAME_LIMIT));
         this.priority = cursor.getInt(cursor.getColumnIndex(COLUMN_NAME_PRIORITY));
         this.group = cursor.getString(cursor.getColumnIndex(COLUMN_NAME_GROUP));
         this.editGracePeriod = cursor.getLong(cursor.getColumnIndex(COLUMN_EDIT_GRACE_PERIOD));
-        this.data = JsonValue.parseString(cursor.getString(cursor.getColumnIndex(COLUMN_NAME_DATA)));
+        this.dataJson = cursor.getString(cursor.getColumnIndex(COLUMN_NAME_DATA));
         this.end = cursor.getLong(cursor.getColumnIndex(COLUMN_NAME_END));
         this.start = cursor.getLong(cursor.getColumnIndex(COLUMN_NAME_START));
         this.executionState = cursor.getInt(cursor.getColumnIndex(COLUMN_NAME_EXECUTION_STATE));
@@ -166,10 +171,28 @@ class ScheduleEntry implements ScheduleInfo {
         this.regionId = cursor.getString(cursor.getColumnIndex(COLUMN_NAME_REGION_ID));
         this.interval = cursor.getLong(cursor.getColumnIndex(COLUMN_NAME_INTERVAL));
         this.seconds = cursor.getLong(cursor.getColumnIndex(COLUMN_NAME_SECONDS));
-        this.screens = parseScreens(JsonValue.parseString(cursor.getString(cursor.getColumnIndex(COLUMN_NAME_SCREEN))));
+        String screensColumn = cursor.getString(cursor.getColumnIndex(COLUMN_NAME_SCREEN));
+        this.screensJson = screensColumn == null ? "" : screensColumn;
     }
 
-    private List<String> parseScreens(JsonValue json) {
+    /**
+     * Parses a JSON column.
+     *
+     * @param json The column value.
+     * @return The parsed value, or {@link JsonValue#NULL} if the column is not valid JSON.
+     */
+    @NonNull
+    private JsonValue parseColumn(@Nullable String json) {
+        try {
+            return JsonValue.parseString(json);
+        } catch (JsonException e) {
+            Logger.error(e, "ScheduleEntry - Failed to parse column for schedule: %s", scheduleId);
+            return JsonValue.NULL;
+        }
+    }
+
+    @NonNull
+    private List<String> parseScreens(@NonNull JsonValue json) {
         List<String> screens = new ArrayList<>();
         if (json.isJsonList()) {
             for (JsonValue value : json.optList()) {
@@ -244,6 +267,16 @@ class ScheduleEntry implements ScheduleInfo {
         }
     }
 
+    /**
+     * Gets the row ID. Row IDs are never reused, so a deleted and re-created schedule with the
+     * same schedule ID will have a different row ID.
+     *
+     * @return The row ID, or -1 if the entry has not been saved.
+     */
+    long getRowId() {
+        return id;
+    }
+
     /**
      * Get the date of the last state change.
      *
@@ -262,11 +295,19 @@ class ScheduleEntry implements ScheduleInfo {
         this.start = edits.getStart() == null ? this.start : edits.getStart();
         this.end = edits.getEnd() == null ? this.end : edits.getEnd();
         this.limit = edits.getLimit() == null ? this.limit : edits.getLimit();
-        this.data = edits.getData() == null ? this.data : edits.getData();
         this.priority = edits.getPriority() == null ? this.priority : edits.getPriority();
         this.interval = edits.getInterval() == null ? this.interval : edits.getInterval();
         this.editGracePeriod = edits.getEditGracePeriod() == null ? this.editGracePeriod : edits.getEditGracePeriod();
-        this.metadata = edits.getMetadata() == null ? this.metadata : edits.getMetadata();
+
+        if (edits.getData() != null) {
+            this.data = edits.getData();
+            this.dataJson = null;
+        }
+
+        if (edits.getMetadata() != null) {
+            this.metadata = edits.getMetadata();
+            this.metadataJson = null;
+        }
 
         isDirty = true;
         isEdit = true;
@@ -303,15 +344,17 @@ class ScheduleEntry implements ScheduleInfo {
      * Saves the entry to the database.
      *
      * @param database Saves the entry to the database.
+     * @param scheduleTable The schedule table name.
+     * @param triggerTable The trigger table name.
      * @return {code} true if the entry was saved, otherwise {@code false}.
      */
     @WorkerThread
-    boolean save(@NonNull SQLiteDatabase database) {
+    boolean save(@NonNull SQLiteDatabase database, @NonNull String scheduleTable, @NonNull String triggerTable) {
         if (id == -1) {
             ContentValues contentValues = new ContentValues();
             contentValues.put(COLUMN_NAME_SCHEDULE_ID, scheduleId);
-            contentValues.put(COLUMN_NAME_METADATA, metadata.toString());
-            contentValues.put(COLUMN_NAME_DATA, data.toJsonValue().toString());
+            contentValues.put(COLUMN_NAME_METADATA, getMetadataJson());
+            contentValues.put(COLUMN_NAME_DATA, getDataJson());
             contentValues.put(COLUMN_NAME_LIMIT, limit);
             contentValues.put(COLUMN_NAME_PRIORITY, priority);
             contentValues.put(COLUMN_NAME_GROUP, group);
@@ -323,12 +366,12 @@ class ScheduleEntry implements ScheduleInfo {
             contentValues.put(COLUMN_NAME_DELAY_FINISH_DATE, delayFinishDate);
             contentValues.put(COLUMN_NAME_APP_STATE, appState);
             contentValues.put(COLUMN_NAME_REGION_ID, regionId);
-            contentValues.put(COLUMN_NAME_SCREEN, JsonValue.wrapOpt(screens).optList().toString());
+            contentValues.put(COLUMN_NAME_SCREEN, JsonValue.wrapOpt(getScreens()).optList().toString());
             contentValues.put(COLUMN_NAME_SECONDS, seconds);
             contentValues.put(COLUMN_EDIT_GRACE_PERIOD, editGracePeriod);
             contentValues.put(COLUMN_NAME_INTERVAL, interval);
             try {
-                id = database.insert(TABLE_NAME, null, contentValues);
+                id = database.insert(scheduleTable, null, contentValues);
                 if (id == -1) {
                     return false;
                 }
@@ -344,8 +387,8 @@ class ScheduleEntry implements ScheduleInfo {
             contentValues.put(COLUMN_NAME_DELAY_FINISH_DATE, delayFinishDate);
 
             if (isEdit) {
-                contentValues.put(COLUMN_NAME_DATA, data.toJsonValue().toString());
-                contentValues.put(COLUMN_NAME_METADATA, metadata.toString());
+                contentValues.put(COLUMN_NAME_DATA, getDataJson());
+                contentValues.put(COLUMN_NAME_METADATA, getMetadataJson());
                 contentValues.put(COLUMN_NAME_LIMIT, limit);
                 contentValues.put(COLUMN_NAME_PRIORITY, priority);
                 contentValues.put(COLUMN_NAME_START, start);
@@ -354,7 +397,7 @@ class ScheduleEntry implements ScheduleInfo {
                 contentValues.put(COLUMN_NAME_INTERVAL, interval);
             }
             try {
-                if (database.updateWithOnConflict(TABLE_NAME, contentValues, COLUMN_NAME_ID + " = ?", new String[] { String.valueOf(id) }, SQLiteDatabase.CONFLICT_REPLACE) == 0) {
+                if (database.updateWithOnConflict(scheduleTable, contentValues, COLUMN_NAME_ID + " = ?", new String[] { String.valueOf(id) }, SQLiteDatabase.CONFLICT_REPLACE) == 0) {
                     return false;
                 }
             } catch (SQLException e) {
@@ -364,7 +407,7 @@ class ScheduleEntry implements ScheduleInfo {
         }
 
         for (TriggerEntry triggerEntry : triggerEntries) {
-            if (!triggerEntry.save(database)) {
+            if (!triggerEntry.save(database, triggerTable)) {
                 return false;
             }
         }
@@ -395,12 +438,7 @@ class ScheduleEntry implements ScheduleInfo {
         while (!cursor.isAfterLast()) {
 
             if (scheduleEntry == null) {
-                try {
-                    scheduleEntry = new ScheduleEntry(cursor);
-                } catch (JsonException e) {
-                    Logger.error(e, "Failed to parse schedule entry.");
-                    return null;
-                }
+                scheduleEntry = new ScheduleEntry(cursor);
             }
 
             if (scheduleEntry.scheduleId == null || !scheduleEntry.scheduleId.equals(cursor.getString(cursor.getColumnIndex(COLUMN_NAME_SCHEDULE_ID)))) {
@@ -437,7 +475,46 @@ class ScheduleEntry implements ScheduleInfo {
     @NonNull
     @Override
     public JsonSerializable getData() {
-        return this.data;
+        if (data == null) {
+            data = parseColumn(dataJson);
+        }
+        return data;
+    }
+
+    /**
+     * Gets the schedule metadata.
+     *
+     * @return The metadata.
+     */
+    @NonNull
+    JsonMap getMetadata() {
+        if (metadata == null) {
+            metadata = parseColumn(metadataJson).optMap();
+        }
+        return metadata;
+    }
+
+    /**
+     * Gets the screens from the schedule delay.
+     *
+     * @return The screens, or {@code null} if the schedule does not have a delay.
+     */
+    @Nullable
+    List<String> getScreens() {
+        if (screens == null && screensJson != null) {
+            screens = parseScreens(parseColumn(screensJson));
+        }
+        return screens;
+    }
+
+    @NonNull
+    private String getDataJson() {
+        return data == null && dataJson != null ? dataJson : getData().toJsonValue().toString();
+    }
+
+    @NonNull
+    private String getMetadataJson() {
+        return metadata == null && metadataJson != null ? metadataJson : getMetadata().toString();
     }
 
     @Override
@@ -480,7 +557,7 @@ class ScheduleEntry implements ScheduleInfo {
         ScheduleDelay.Builder delayBuilder = ScheduleDelay.newBuilder()
                                                           .setAppState(appState)
                                                           .setRegionId(regionId)
-                                                          .setScreens(screens)
+                                                          .setScreens(getScreens())
                                                           .setSeconds(seconds);
 
         for (TriggerEntry triggerEntry : this.triggerEntries) {
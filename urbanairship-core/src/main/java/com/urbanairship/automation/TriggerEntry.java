@@ -60,7 +60,7 @@ class TriggerEntry {
     }
 
     @WorkerThread
-    boolean save(@NonNull SQLiteDatabase database) {
+    boolean save(@NonNull SQLiteDatabase database, @NonNull String table) {
         if (id == -1) {
             ContentValues value = new ContentValues();
             value.put(COLUMN_NAME_TYPE, type);
@@ -70,7 +70,7 @@ class TriggerEntry {
             value.put(COLUMN_NAME_PROGRESS, progress);
             value.put(COLUMN_NAME_IS_CANCELLATION, isCancellation ? 1 : 0);
             try {
-                id = database.insert(TABLE_NAME, null, value);
+                id = database.insert(table, null, value);
                 if (id != -1) {
                     isDirty = false;
                     return true;
@@ -84,7 +84,7 @@ class TriggerEntry {
             value.put(COLUMN_NAME_PROGRESS, progress);
 
             try {
-                if (database.updateWithOnConflict(TABLE_NAME, value, COLUMN_NAME_ID + " = ?", new String[] { String.valueOf(id) }, SQLiteDatabase.CONFLICT_REPLACE) != 0) {
+                if (database.updateWithOnConflict(table, value, COLUMN_NAME_ID + " = ?", new String[] { String.valueOf(id) }, SQLiteDatabase.CONFLICT_REPLACE) != 0) {
                     isDirty = false;
                     return true;
                 } else {
@@ -99,6 +99,15 @@ class TriggerEntry {
         return true;
     }
 
+    /**
+     * Gets the trigger's row ID.
+     *
+     * @return The row ID, or -1 if the trigger has not been saved.
+     */
+    long getId() {
+        return id;
+    }
+
     /**
      * Gets the trigger's progress.
      *
@@ -0,0 +1,73 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.automation;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds trigger progress that has not been written to the database yet. Triggers are loaded
+ * from the database for every event, so the pending progress is applied on top of the stored
+ * progress until the next checkpoint.
+ * <p>
+ * Not thread safe. Only accessed from the automation thread.
+ */
+class TriggerProgressAccumulator {
+
+    private final Map<Long, TriggerEntry> pending = new HashMap<>();
+
+    /**
+     * Gets the current progress of a trigger.
+     *
+     * @param triggerEntry The trigger entry loaded from the database.
+     * @return The pending progress if there is any, otherwise the stored progress.
+     */
+    double getProgress(@NonNull TriggerEntry triggerEntry) {
+        TriggerEntry pendingEntry = pending.get(triggerEntry.getId());
+        return pendingEntry == null ? triggerEntry.getProgress() : pendingEntry.getProgress();
+    }
+
+    /**
+     * Records the trigger's progress until the next checkpoint.
+     *
+     * @param triggerEntry The trigger entry.
+     */
+    void add(@NonNull TriggerEntry triggerEntry) {
+        pending.put(triggerEntry.getId(), triggerEntry);
+    }
+
+    /**
+     * Removes any pending progress for the trigger.
+     *
+     * @param triggerEntry The trigger entry.
+     */
+    void remove(@NonNull TriggerEntry triggerEntry) {
+        pending.remove(triggerEntry.getId());
+    }
+
+    /**
+     * Checks if there is any pending progress.
+     *
+     * @return {@code true} if there is no pending progress, otherwise {@code false}.
+     */
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Removes and returns the triggers with pending progress.
+     *
+     * @return The trigger entries.
+     */
+    @NonNull
+    List<TriggerEntry> drain() {
+        List<TriggerEntry> entries = new ArrayList<>(pending.values());
+        pending.clear();
+        return entries;
+    }
+
+}
@@ -814,6 +814,7 @@ public class AirshipChannel extends AirshipComponent {
         JobInfo jobInfo = JobInfo.newBuilder()
                                  .setAction(ACTION_UPDATE_CHANNEL_REGISTRATION)
                                  .setId(JobInfo.CHANNEL_UPDATE_REGISTRATION)
+                                 .setPriority(JobInfo.PRIORITY_HIGH)
                                  .setNetworkAccessRequired(true)
                                  .setAirshipComponent(AirshipChannel.class)
                                  .build();
@@ -11,6 +11,8 @@ import android.util.Base64;
 import com.urbanairship.Logger;
 import com.urbanairship.UAirship;
 import com.urbanairship.locale.LocaleManager;
+import com.urbanairship.metrics.Metrics;
+import com.urbanairship.metrics.Span;
 import com.urbanairship.util.ConnectionUtils;
 import com.urbanairship.util.UAStringUtil;
 
@@ -158,6 +160,25 @@ public class Request {
      */
     @Nullable
     public Response execute() {
+        Span span = Metrics.startSpan(Metrics.SPAN_REQUEST_EXECUTE);
+        try {
+            Response response = performRequest();
+            if (response == null) {
+                Metrics.count(Metrics.COUNT_REQUEST_FAILED);
+            }
+            return response;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Performs the request.
+     *
+     * @return The request response, or {@code null} if the request failed.
+     */
+    @Nullable
+    private Response performRequest() {
         HttpURLConnection conn = null;
 
         try {
@@ -55,6 +55,9 @@ public interface InAppMessageAdapter {
 
     /**
      * Called to prepare the message to be displayed.
+     * <p>
+     * Schedules are prepared concurrently, but adapters for the same message type are prepared
+     * one at a time.
      *
      * @param context The application context.
      * @param assets Any assets that were prepared for the message.
@@ -2,9 +2,14 @@
 
 package com.urbanairship.iam;
 
+import android.content.BroadcastReceiver;
 import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 
 import androidx.annotation.IntRange;
 import androidx.annotation.MainThread;
@@ -39,11 +44,17 @@ import com.urbanairship.iam.tags.TagGroupManager;
 import com.urbanairship.iam.tags.TagGroupResult;
 import com.urbanairship.iam.tags.TagGroupUtils;
 import com.urbanairship.json.JsonMap;
+import com.urbanairship.metrics.Metrics;
+import com.urbanairship.metrics.Span;
 import com.urbanairship.channel.TagGroupRegistrar;
 import com.urbanairship.remotedata.RemoteData;
+import com.urbanairship.util.JitteredRetryPolicy;
+import com.urbanairship.util.Network;
+import com.urbanairship.util.RetryBudget;
 import com.urbanairship.util.RetryingExecutor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -54,6 +65,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * In-app messaging manager.
@@ -80,11 +92,30 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
      */
     private static final String DISPLAY_INTERVAL_KEY = "com.urbanairship.iam.displayinterval";
 
+    /**
+     * Prepare retry backoff settings.
+     */
+    private static final long RETRY_BASE_BACKOFF_MS = 30000; // 30 seconds
+    private static final long RETRY_MAX_BACKOFF_MS = 300000; // 5 minutes
+
+    /**
+     * Prepare retry budget. Allows a burst of retries that then refills one retry every 10 seconds.
+     */
+    private static final int RETRY_BUDGET_CAPACITY = 20;
+    private static final long RETRY_BUDGET_REFILL_MS = 10000; // 10 seconds
+
+    /**
+     * Max number of prepare steps that run at the same time across all schedules.
+     */
+    private static final int PREPARE_CONCURRENCY = 4;
+
     // State
     private final Map<String, AdapterWrapper> adapterWrappers = new ConcurrentHashMap<>();
+    private final Map<String, Object> adapterPrepareLocks = new HashMap<>();
     private final InAppRemoteDataObserver remoteDataSubscriber;
 
     private final RetryingExecutor executor;
+    private final RetryingExecutor prepareExecutor;
     private final ActionRunRequestFactory actionRunRequestFactory;
     private final RemoteData remoteData;
     private final Analytics analytics;
@@ -101,6 +132,16 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
     private final Handler backgroundHandler;
     private final AssetManager assetManager;
 
+    private final BroadcastReceiver connectivityReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            if (Network.isConnected()) {
+                executor.retryPendingOperations();
+                prepareExecutor.retryPendingOperations();
+            }
+        }
+    };
+
     @Nullable
     private InAppMessageExtender messageExtender;
 
@@ -140,7 +181,11 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
         this.mainHandler = new Handler(Looper.getMainLooper());
         this.backgroundHandler = new Handler(AirshipLoopers.getBackgroundLooper());
 
-        this.executor = new RetryingExecutor(this.mainHandler, AirshipExecutors.newSerialExecutor());
+        RetryBudget retryBudget = new RetryBudget(RETRY_BUDGET_CAPACITY, RETRY_BUDGET_REFILL_MS);
+        this.executor = new RetryingExecutor(this.mainHandler, AirshipExecutors.newSerialExecutor(),
+                new JitteredRetryPolicy(RETRY_BASE_BACKOFF_MS, RETRY_MAX_BACKOFF_MS), retryBudget);
+        this.prepareExecutor = new RetryingExecutor(this.mainHandler, AirshipExecutors.newBoundedExecutor(PREPARE_CONCURRENCY),
+                new JitteredRetryPolicy(RETRY_BASE_BACKOFF_MS, RETRY_MAX_BACKOFF_MS), retryBudget);
         this.driver = new InAppMessageDriver();
         this.automationEngine = new AutomationEngine.Builder<InAppMessageSchedule>()
                 .setAnalytics(analytics)
@@ -180,6 +225,7 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
         this.mainHandler = new Handler(Looper.getMainLooper());
         this.backgroundHandler = new Handler(AirshipLoopers.getBackgroundLooper());
         this.executor = executor;
+        this.prepareExecutor = executor;
         this.actionRunRequestFactory = actionRunRequestFactory;
         this.tagGroupManager = tagGroupManager;
         this.assetManager = assetManager;
@@ -193,6 +239,7 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
     protected void init() {
         super.init();
         executor.setPaused(true);
+        prepareExecutor.setPaused(true);
 
         this.automationEngine.setScheduleListener(new AutomationEngine.ScheduleListener<InAppMessageSchedule>() {
             @Override
@@ -249,10 +296,11 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
             @WorkerThread
             @Override
             public void onPrepareSchedule(final @NonNull InAppMessageSchedule schedule) {
+                final long startTime = SystemClock.elapsedRealtime();
                 executor.execute(new Runnable() {
                     @Override
                     public void run() {
-                        InAppMessageManager.this.prepareSchedule(schedule);
+                        InAppMessageManager.this.prepareSchedule(schedule, startTime);
                     }
                 });
 
@@ -312,6 +360,13 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
     public void onAirshipReady(@NonNull UAirship airship) {
         super.onAirshipReady(airship);
         executor.setPaused(false);
+        prepareExecutor.setPaused(false);
+
+        try {
+            getContext().registerReceiver(connectivityReceiver, new IntentFilter(ConnectivityManager.CONNECTIVITY_ACTION));
+        } catch (Exception e) {
+            Logger.error(e, "InAppMessageManager - Unable to register connectivity receiver.");
+        }
         remoteDataSubscriber.subscribe(remoteData, backgroundHandler.getLooper(), this);
         automationEngine.checkPendingSchedules();
     }
@@ -321,6 +376,12 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
         super.tearDown();
         remoteDataSubscriber.cancel();
         automationEngine.stop();
+
+        try {
+            getContext().unregisterReceiver(connectivityReceiver);
+        } catch (Exception e) {
+            Logger.debug(e, "InAppMessageManager - Connectivity receiver not registered.");
+        }
     }
 
     @Override
@@ -570,11 +631,13 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
     }
 
     /**
-     * Prepares a schedule to be displayed.
+     * Prepares a schedule to be displayed. The audience check and the assets are prepared
+     * concurrently on the prepare executor, then the adapter is prepared once both finish.
      *
      * @param schedule The schedule.
+     * @param startTime The time the schedule was triggered in {@link SystemClock#elapsedRealtime()}.
      */
-    private void prepareSchedule(final @NonNull InAppMessageSchedule schedule) {
+    private void prepareSchedule(final @NonNull InAppMessageSchedule schedule, long startTime) {
         final AdapterWrapper adapter = createAdapterWrapper(schedule);
         if (adapter == null) {
             // Failed
@@ -582,8 +645,10 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
             return;
         }
 
+        final PreparePipeline pipeline = new PreparePipeline(schedule, startTime);
+
         // Audience checks
-        PrepareScheduleOperation checkAudience = new PrepareScheduleOperation(schedule) {
+        PrepareScheduleOperation checkAudience = new PrepareScheduleOperation("audience", pipeline) {
             @Override
             public int onPrepare() {
                 InAppMessage message = adapter.message;
@@ -619,13 +684,17 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
                         result = AutomationDriver.PREPARE_RESULT_PENALIZE;
                         break;
                 }
-                driver.schedulePrepared(schedule.getId(), result);
+
+                if (pipeline.finish(result) && pipeline.assetsPrepared) {
+                    // Assets were prepared concurrently for a message that will not display
+                    assetManager.onDisplayFinished(schedule);
+                }
                 return RetryingExecutor.RESULT_CANCEL;
             }
         };
 
         // Prepare Assets
-        PrepareScheduleOperation prepareAssets = new PrepareScheduleOperation(schedule) {
+        PrepareScheduleOperation prepareAssets = new PrepareScheduleOperation("assets", pipeline) {
             @Override
             public int onPrepare() {
                 int result = assetManager.onPrepare(schedule, adapter.message);
@@ -633,6 +702,12 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
                 switch (result) {
                     case AssetManager.PREPARE_RESULT_OK:
                         Logger.debug("InAppMessageManager - Assets prepared for schedule %s message %s", schedule.getId(), adapter.message.getId());
+                        pipeline.assetsPrepared = true;
+                        if (pipeline.isFinished()) {
+                            // The audience check missed while the assets were preparing
+                            assetManager.onDisplayFinished(schedule);
+                            return RetryingExecutor.RESULT_CANCEL;
+                        }
                         return RetryingExecutor.RESULT_FINISHED;
 
                     case AssetManager.PREPARE_RESULT_RETRY:
@@ -643,17 +718,22 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
                     default:
                         Logger.debug("InAppMessageManager - Assets failed to prepare. Cancelling display for schedule %s message %s", schedule.getId(), adapter.message.getId());
                         assetManager.onDisplayFinished(schedule);
-                        driver.schedulePrepared(schedule.getId(), AutomationDriver.PREPARE_RESULT_CANCEL);
+                        pipeline.finish(AutomationDriver.PREPARE_RESULT_CANCEL);
                         return RetryingExecutor.RESULT_CANCEL;
                 }
             }
         };
 
         // Prepare Adapter
-        PrepareScheduleOperation prepareAdapter = new PrepareScheduleOperation(schedule) {
+        PrepareScheduleOperation prepareAdapter = new PrepareScheduleOperation("adapter", pipeline) {
             @Override
             public int onPrepare() {
-                int result = adapter.prepare(getContext(), assetManager.getAssets(schedule.getId()));
+                int result;
+
+                // Adapters of a type may share state through their factory
+                synchronized (getAdapterPrepareLock(adapter.message.getType())) {
+                    result = adapter.prepare(getContext(), assetManager.getAssets(schedule.getId()));
+                }
 
                 switch (result) {
                     case InAppMessageAdapter.OK:
@@ -661,7 +741,7 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
 
                         // Store the adapter
                         adapterWrappers.put(schedule.getId(), adapter);
-                        driver.schedulePrepared(schedule.getId(), AutomationDriver.PREPARE_RESULT_CONTINUE);
+                        pipeline.finish(AutomationDriver.PREPARE_RESULT_CONTINUE);
                         return RetryingExecutor.RESULT_FINISHED;
 
                     case InAppMessageAdapter.RETRY:
@@ -671,14 +751,32 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
                     case InAppMessageAdapter.CANCEL:
                     default:
                         Logger.debug("InAppMessageManager - Adapter failed to prepare. Cancelling display for schedule %s message %s", schedule.getId(), adapter.message.getId());
-                        driver.schedulePrepared(schedule.getId(), AutomationDriver.PREPARE_RESULT_CANCEL);
+                        pipeline.finish(AutomationDriver.PREPARE_RESULT_CANCEL);
                         return RetryingExecutor.RESULT_CANCEL;
                 }
             }
         };
 
         // Execute the operations
-        executor.execute(checkAudience, prepareAssets, prepareAdapter);
+        pipeline.operationStatistics = prepareExecutor.executeParallel(Arrays.asList(checkAudience, prepareAssets), prepareAdapter);
+    }
+
+    /**
+     * Gets the lock that keeps adapter prepares for a message type serial.
+     *
+     * @param type The message type.
+     * @return The lock.
+     */
+    @NonNull
+    private Object getAdapterPrepareLock(@NonNull String type) {
+        synchronized (adapterPrepareLocks) {
+            Object lock = adapterPrepareLocks.get(type);
+            if (lock == null) {
+                lock = new Object();
+                adapterPrepareLocks.put(type, lock);
+            }
+            return lock;
+        }
     }
 
     /**
@@ -917,20 +1015,87 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
         return !remoteData.isMetadataCurrent(schedule.getMetadata());
     }
 
+    /**
+     * State of a schedule's prepare steps. The prepare result is reported to the driver once, by
+     * whichever step finishes the schedule first.
+     */
+    private class PreparePipeline {
+
+        private final InAppMessageSchedule schedule;
+        private final long startTime;
+        private final AtomicBoolean isFinished = new AtomicBoolean(false);
+        private volatile boolean assetsPrepared = false;
+        private volatile List<RetryingExecutor.OperationStatistics> operationStatistics;
+
+        PreparePipeline(@NonNull InAppMessageSchedule schedule, long startTime) {
+            this.schedule = schedule;
+            this.startTime = startTime;
+        }
+
+        boolean isFinished() {
+            return isFinished.get();
+        }
+
+        /**
+         * Finishes the pipeline without reporting a result.
+         *
+         * @return {@code true} if this call finished the pipeline, {@code false} if it was already finished.
+         */
+        boolean finish() {
+            if (!isFinished.compareAndSet(false, true)) {
+                return false;
+            }
+
+            Metrics.histogram(Metrics.HISTOGRAM_IAM_PREPARE_TIME, SystemClock.elapsedRealtime() - startTime);
+            if (operationStatistics != null) {
+                Logger.verbose("InAppMessageManager - Prepare finished for schedule %s: %s", schedule.getId(), operationStatistics);
+            }
+            return true;
+        }
+
+        /**
+         * Finishes the pipeline and reports the prepare result to the driver.
+         *
+         * @param result The prepare result.
+         * @return {@code true} if this call finished the pipeline, {@code false} if it was already finished.
+         */
+        boolean finish(@AutomationDriver.PrepareResult int result) {
+            if (!finish()) {
+                return false;
+            }
+
+            driver.schedulePrepared(schedule.getId(), result);
+            return true;
+        }
+
+    }
+
     /**
      * Operation to prepare a schedule.
      */
     private abstract class PrepareScheduleOperation implements RetryingExecutor.Operation {
 
+        private final String spanName;
+        private final PreparePipeline pipeline;
         private final InAppMessageSchedule schedule;
 
-        PrepareScheduleOperation(@NonNull InAppMessageSchedule schedule) {
-            this.schedule = schedule;
+        PrepareScheduleOperation(@NonNull String step, @NonNull PreparePipeline pipeline) {
+            this.spanName = Metrics.SPAN_IAM_PREPARE_PREFIX + step;
+            this.pipeline = pipeline;
+            this.schedule = pipeline.schedule;
         }
 
         @Override
         public int run() {
+            if (pipeline.isFinished()) {
+                return RetryingExecutor.RESULT_CANCEL;
+            }
+
             if (isScheduleInvalid(schedule)) {
+                if (!pipeline.finish()) {
+                    return RetryingExecutor.RESULT_CANCEL;
+                }
+
                 // Posted on the background handler to avoid race conditions if the remote data
                 // were to update at the same time as checking the last metadata.
                 backgroundHandler.post(new Runnable() {
@@ -954,7 +1119,12 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
                 return RetryingExecutor.RESULT_CANCEL;
             }
 
-            return onPrepare();
+            Span span = Metrics.startSpan(spanName);
+            try {
+                return onPrepare();
+            } finally {
+                span.end();
+            }
         }
 
         @RetryingExecutor.Result
@@ -3,23 +3,37 @@
 package com.urbanairship.iam.assets;
 
 import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.webkit.MimeTypeMap;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.urbanairship.Logger;
+import com.urbanairship.UAirship;
 import com.urbanairship.iam.InAppMessage;
 import com.urbanairship.iam.InAppMessageSchedule;
 import com.urbanairship.iam.MediaInfo;
 import com.urbanairship.iam.banner.BannerDisplayContent;
 import com.urbanairship.iam.fullscreen.FullScreenDisplayContent;
+import com.urbanairship.iam.html.HtmlDisplayContent;
 import com.urbanairship.iam.modal.ModalDisplayContent;
+import com.urbanairship.js.Whitelist;
 import com.urbanairship.json.JsonMap;
 import com.urbanairship.util.FileUtils;
 import com.urbanairship.util.UAHttpStatusUtil;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Default {@link PrepareAssetsDelegate} for Airship message types.
@@ -38,6 +52,39 @@ public class AirshipPrepareAssetsDelegate implements PrepareAssetsDelegate {
     @NonNull
     public static final String IMAGE_HEIGHT_CACHE_KEY = "height";
 
+    /**
+     * Cache key for the mime type of HTML documents and their subresources.
+     */
+    @NonNull
+    public static final String MIME_TYPE_CACHE_KEY = "mime_type";
+
+    /**
+     * Cache key for the charset of HTML documents and their subresources. Only set when the
+     * response declares one.
+     */
+    @NonNull
+    public static final String CHARSET_CACHE_KEY = "charset";
+
+    /**
+     * Max number of subresources cached for an HTML document.
+     */
+    private static final int MAX_HTML_SUBRESOURCES = 20;
+
+    /**
+     * Matches the {@code src} of scripts and images and the {@code href} of stylesheet links.
+     */
+    private static final Pattern SUBRESOURCE_PATTERN = Pattern.compile(
+            "<(?:script|img)\\b[^>]*?\\bsrc\\s*=\\s*[\"']([^\"']+)[\"']" +
+                    "|<link\\b(?=[^>]*?\\brel\\s*=\\s*[\"']?stylesheet[\"'\\s/>])[^>]*?\\bhref\\s*=\\s*[\"']([^\"']+)[\"']",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Matches the charset parameter of a Content-Type header.
+     */
+    private static final Pattern CHARSET_PATTERN = Pattern.compile(";\\s*charset\\s*=\\s*[\"']?([^\"';\\s]+)", Pattern.CASE_INSENSITIVE);
+
+    private static final String DEFAULT_CHARSET = "UTF-8";
+
     /**
      * {@inheritDoc}
      */
@@ -52,6 +99,11 @@ public class AirshipPrepareAssetsDelegate implements PrepareAssetsDelegate {
     @Override
     @AssetManager.PrepareResult
     public int onPrepare(@NonNull InAppMessageSchedule schedule, @NonNull InAppMessage message, @NonNull Assets assets) {
+        if (InAppMessage.TYPE_HTML.equals(message.getType())) {
+            prepareHtml(message, assets);
+            return AssetManager.PREPARE_RESULT_OK;
+        }
+
         MediaInfo mediaInfo = getMediaInfo(message);
         if (mediaInfo == null || !MediaInfo.TYPE_IMAGE.equals(mediaInfo.getType()) || assets.file(mediaInfo.getUrl()).exists()) {
             return AssetManager.PREPARE_RESULT_OK;
@@ -102,6 +154,190 @@ public class AirshipPrepareAssetsDelegate implements PrepareAssetsDelegate {
         return result;
     }
 
+    /**
+     * Caches the HTML document and its subresources. Failures are not fatal, anything that is not
+     * cached is loaded from the network at display time.
+     *
+     * @param message The HTML message.
+     * @param assets The assets.
+     */
+    private void prepareHtml(@NonNull InAppMessage message, @NonNull Assets assets) {
+        HtmlDisplayContent displayContent = message.getDisplayContent();
+        if (displayContent == null) {
+            return;
+        }
+
+        String url = displayContent.getUrl();
+        Uri uri = Uri.parse(url);
+        if (!"https".equalsIgnoreCase(uri.getScheme()) && !"http".equalsIgnoreCase(uri.getScheme())) {
+            return;
+        }
+
+        if (!UAirship.shared().getWhitelist().isWhitelisted(url, Whitelist.SCOPE_OPEN_URL)) {
+            return;
+        }
+
+        if (assets.file(url).exists() && !assets.getMetadata(url).isNull()) {
+            return;
+        }
+
+        try {
+            FileUtils.DownloadResult result = cacheHtml(assets, url);
+            if (!result.isSuccess) {
+                Logger.debug("Unable to cache HTML message %s, status: %s", url, result.statusCode);
+            }
+        } catch (IOException e) {
+            Logger.debug(e, "Unable to cache HTML message: %s", url);
+        }
+    }
+
+    /**
+     * Helper method that caches an HTML document and the scripts, stylesheets and images it
+     * references in the assets. The mime type and charset of each response are stored in the URL's
+     * metadata. The mime type is only guessed from the URL when the response does not declare one.
+     *
+     * @param assets The assets.
+     * @param url The document URL.
+     * @return The document download result.
+     * @throws IOException If the URL is invalid.
+     */
+    @NonNull
+    protected FileUtils.DownloadResult cacheHtml(@NonNull Assets assets, @NonNull String url) throws IOException {
+        URL documentUrl = new URL(url);
+        File file = assets.file(url);
+        FileUtils.DownloadResult result = FileUtils.downloadFile(documentUrl, file);
+        if (!result.isSuccess) {
+            return result;
+        }
+
+        String charset = parseCharset(result.contentType);
+        String html = readFile(file, charset == null ? DEFAULT_CHARSET : charset);
+
+        int count = 0;
+        for (String resource : parseSubresources(html)) {
+            if (count >= MAX_HTML_SUBRESOURCES) {
+                break;
+            }
+
+            URL resourceUrl;
+            try {
+                resourceUrl = new URL(documentUrl, resource);
+            } catch (MalformedURLException e) {
+                continue;
+            }
+
+            String protocol = resourceUrl.getProtocol();
+            String key = resourceUrl.toString();
+            if ((!"https".equals(protocol) && !"http".equals(protocol)) || !assets.getMetadata(key).isNull()) {
+                continue;
+            }
+
+            count++;
+            try {
+                FileUtils.DownloadResult resourceResult = FileUtils.downloadFile(resourceUrl, assets.file(key));
+                if (resourceResult.isSuccess) {
+                    String mimeType = parseMimeType(resourceResult.contentType);
+                    if (mimeType == null) {
+                        mimeType = MimeTypeMap.getSingleton().getMimeTypeFromExtension(MimeTypeMap.getFileExtensionFromUrl(key));
+                    }
+
+                    assets.setMetadata(key, JsonMap.newBuilder()
+                                                   .put(MIME_TYPE_CACHE_KEY, mimeType == null ? "application/octet-stream" : mimeType)
+                                                   .putOpt(CHARSET_CACHE_KEY, parseCharset(resourceResult.contentType))
+                                                   .build());
+                }
+            } catch (IOException e) {
+                Logger.debug(e, "Unable to cache HTML subresource: %s", key);
+            }
+        }
+
+        // Set last, the document is only served once its subresources are cached
+        String mimeType = parseMimeType(result.contentType);
+        assets.setMetadata(url, JsonMap.newBuilder()
+                                       .put(MIME_TYPE_CACHE_KEY, mimeType == null ? "text/html" : mimeType)
+                                       .putOpt(CHARSET_CACHE_KEY, charset)
+                                       .build());
+
+        return result;
+    }
+
+    /**
+     * Finds the scripts, stylesheets and images referenced by an HTML document.
+     *
+     * @param html The HTML document.
+     * @return The referenced URLs as written in the document.
+     */
+    @NonNull
+    static Set<String> parseSubresources(@NonNull String html) {
+        Set<String> resources = new LinkedHashSet<>();
+        Matcher matcher = SUBRESOURCE_PATTERN.matcher(html);
+        while (matcher.find()) {
+            String resource = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            if (resource != null && !resource.trim().isEmpty() && !resource.startsWith("data:")) {
+                resources.add(resource.trim());
+            }
+        }
+        return resources;
+    }
+
+    /**
+     * Parses the mime type from a Content-Type header.
+     *
+     * @param contentType The Content-Type header.
+     * @return The lower case mime type, or {@code null} if not available.
+     */
+    @Nullable
+    static String parseMimeType(@Nullable String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+
+        int index = contentType.indexOf(';');
+        String mimeType = (index == -1 ? contentType : contentType.substring(0, index)).trim();
+        return mimeType.isEmpty() ? null : mimeType.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses the charset from a Content-Type header.
+     *
+     * @param contentType The Content-Type header.
+     * @return The charset, or {@code null} if the header does not declare a supported charset.
+     */
+    @Nullable
+    static String parseCharset(@Nullable String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+
+        Matcher matcher = CHARSET_PATTERN.matcher(contentType);
+        if (!matcher.find()) {
+            return null;
+        }
+
+        String charset = matcher.group(1);
+        try {
+            return Charset.isSupported(charset) ? charset : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @NonNull
+    private static String readFile(@NonNull File file, @NonNull String charset) throws IOException {
+        InputStreamReader reader = new InputStreamReader(new FileInputStream(file), Charset.forName(charset));
+        try {
+            StringBuilder builder = new StringBuilder();
+            char[] buffer = new char[4096];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                builder.append(buffer, 0, read);
+            }
+            return builder.toString();
+        } finally {
+            reader.close();
+        }
+    }
+
     /**
      * Helper method that parses the media info from an {@link InAppMessage}
      *
@@ -52,6 +52,8 @@ public class AssetManager {
     @NonNull
     private final AssetCache assetCache;
 
+    private final Object delegateLock = new Object();
+
 
     /**
      * Default constructor. Applications should not create their own, instead use the asset manager
@@ -72,7 +74,7 @@ public class AssetManager {
 
     /**
      * Sets the prepare assets delegate. The delegate is used to populate an {@link Assets} instance
-     * for a schedule.
+     * for a schedule. Custom delegates are called for one schedule at a time.
      * <p>
      * To preserve Airship default behavior, extend {@link AirshipPrepareAssetsDelegate}
      * and call through to the super's method.
@@ -129,12 +131,20 @@ public class AssetManager {
     @PrepareResult
     public int onPrepare(@NonNull InAppMessageSchedule schedule, @NonNull InAppMessage message) {
         PrepareAssetsDelegate assetsDelegate = this.assetsDelegate;
-        if (assetsDelegate != null) {
-            Assets assets = assetCache.getAssets(schedule.getId());
+        if (assetsDelegate == null) {
+            return PREPARE_RESULT_OK;
+        }
+
+        Assets assets = assetCache.getAssets(schedule.getId());
+
+        // Schedules prepare concurrently, only the default delegate is known to be thread safe
+        if (assetsDelegate.getClass() == AirshipPrepareAssetsDelegate.class) {
             return assetsDelegate.onPrepare(schedule, message, assets);
         }
 
-        return PREPARE_RESULT_OK;
+        synchronized (delegateLock) {
+            return assetsDelegate.onPrepare(schedule, message, assets);
+        }
     }
 
     /**
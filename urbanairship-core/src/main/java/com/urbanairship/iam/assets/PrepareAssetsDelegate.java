@@ -14,6 +14,10 @@ public interface PrepareAssetsDelegate {
 
     /**
      * Called to prepare assets for the in-app message before the message is displayed.
+     * <p>
+     * Schedules are prepared concurrently, but a custom delegate set with
+     * {@link AssetManager#setPrepareAssetDelegate(PrepareAssetsDelegate)} is only called for one
+     * schedule at a time.
      *
      * @param schedule The schedule.
      * @param message The message. This might be different then schedule's message if the message
@@ -21,6 +21,7 @@ import com.urbanairship.iam.InAppActivityMonitor;
 import com.urbanairship.iam.InAppMessage;
 import com.urbanairship.iam.MediaDisplayAdapter;
 import com.urbanairship.iam.ResolutionInfo;
+import com.urbanairship.iam.assets.Assets;
 import com.urbanairship.util.ManifestUtils;
 
 import java.lang.ref.WeakReference;
@@ -32,6 +33,7 @@ import androidx.annotation.CallSuper;
 import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
 import androidx.core.view.ViewCompat;
 
 /**
@@ -47,6 +49,7 @@ public class BannerAdapter extends MediaDisplayAdapter {
 
     private final BannerDisplayContent displayContent;
     private final static Map<Class, Integer> cachedContainerIds = new HashMap<>();
+    private final static Map<Class, Boolean> cachedCustomViewClasses = new HashMap<>();
     private final Predicate<Activity> activityPredicate = new Predicate<Activity>() {
         @Override
         public boolean apply(Activity activity) {
@@ -83,6 +86,7 @@ public class BannerAdapter extends MediaDisplayAdapter {
     private WeakReference<Activity> lastActivity;
     private WeakReference<BannerView> currentView;
     private DisplayHandler displayHandler;
+    private volatile BannerView preparedView;
 
     /**
      * Default constructor.
@@ -112,6 +116,17 @@ public class BannerAdapter extends MediaDisplayAdapter {
         return new BannerAdapter(message, displayContent);
     }
 
+    @Override
+    @PrepareResult
+    public int onPrepare(@NonNull Context context, @NonNull Assets assets) {
+        int result = super.onPrepare(context, assets);
+        if (result == OK && !hasCustomView()) {
+            preparedView = onPrepareView(context);
+        }
+
+        return result;
+    }
+
     @MainThread
     @Override
     @CallSuper
@@ -135,6 +150,13 @@ public class BannerAdapter extends MediaDisplayAdapter {
         display(context);
     }
 
+    @Override
+    @CallSuper
+    public void onFinish(@NonNull Context context) {
+        super.onFinish(context);
+        preparedView = null;
+    }
+
     /**
      * Called when the banner is finished displaying.
      *
@@ -147,14 +169,48 @@ public class BannerAdapter extends MediaDisplayAdapter {
     }
 
     /**
-     * Inflates the banner view.
+     * Called while the message is prepared to create and inflate the banner view off the main
+     * thread, so the first display only has to attach and animate it. Return {@code null} to
+     * inflate the view when it is displayed instead.
+     * <p>
+     * Not called if {@link #onCreateView(Activity, ViewGroup)} is overridden, since the custom
+     * view may need to be created on the main thread.
+     *
+     * @param context The application context.
+     * @return The inflated banner view, or {@code null}.
+     */
+    @WorkerThread
+    @Nullable
+    protected BannerView onPrepareView(@NonNull Context context) {
+        try {
+            BannerView view = new BannerView(context.getApplicationContext(), displayContent, getAssets());
+            view.preInflate();
+            return view;
+        } catch (Exception e) {
+            Logger.debug(e, "BannerAdapter - Unable to inflate the banner ahead of display.");
+            return null;
+        }
+    }
+
+    /**
+     * Inflates the banner view. The default implementation uses the view from
+     * {@link #onPrepareView(Context)} for the first display.
+     * <p>
+     * Overriding this method disables inflating the banner ahead of display.
      *
      * @param activity The activity.
      * @param viewGroup The container view.
      * @return The banner view.
      */
     @NonNull
+    @MainThread
     protected BannerView onCreateView(@NonNull Activity activity, @NonNull ViewGroup viewGroup) {
+        BannerView view = preparedView;
+        if (view != null) {
+            preparedView = null;
+            return view;
+        }
+
         return new BannerView(activity.getApplicationContext(), displayContent, getAssets());
     }
 
@@ -292,6 +348,34 @@ public class BannerAdapter extends MediaDisplayAdapter {
         }
     }
 
+    /**
+     * Checks if a subclass overrides {@link #onCreateView(Activity, ViewGroup)}.
+     *
+     * @return {@code true} if the banner view is created by a subclass, otherwise {@code false}.
+     */
+    private boolean hasCustomView() {
+        synchronized (cachedCustomViewClasses) {
+            Boolean cached = cachedCustomViewClasses.get(getClass());
+            if (cached != null) {
+                return cached;
+            }
+
+            boolean hasCustomView = false;
+            for (Class<?> c = getClass(); c != BannerAdapter.class && c != null; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("onCreateView", Activity.class, ViewGroup.class);
+                    hasCustomView = true;
+                    break;
+                } catch (NoSuchMethodException e) {
+                    // Not declared on this class
+                }
+            }
+
+            cachedCustomViewClasses.put(getClass(), hasCustomView);
+            return hasCustomView;
+        }
+    }
+
     @MainThread
     private void onActivityResumed(@NonNull Activity activity) {
         BannerView currentView = getCurrentView();
@@ -148,7 +148,7 @@ public class BannerView extends FrameLayout implements InAppButtonLayout.ButtonC
     }
 
     /**
-     * Called to inflate and attach the in-app message view.
+     * Called to inflate the in-app message view.
      *
      * @param inflater The inflater.
      * @return The view.
@@ -248,6 +248,18 @@ public class BannerView extends FrameLayout implements InAppButtonLayout.ButtonC
     }
 
 
+    /**
+     * Inflates the banner's content ahead of display, before the view is attached. Only the default
+     * {@link BannerView} is inflated from a background thread, subclasses may depend on the main
+     * thread in {@link #onCreateView(LayoutInflater, ViewGroup)} and are inflated once the view
+     * becomes visible.
+     */
+    void preInflate() {
+        if (subView == null && getClass() == BannerView.class) {
+            subView = onCreateView(LayoutInflater.from(getContext()), this);
+        }
+    }
+
     /**
      * Resumes the banner's timer.
      */
@@ -326,6 +338,9 @@ public class BannerView extends FrameLayout implements InAppButtonLayout.ButtonC
         if (visibility == VISIBLE && !isDismissed) {
             if (subView == null) {
                 subView = onCreateView(LayoutInflater.from(getContext()), this);
+            }
+
+            if (subView.getParent() == null) {
                 addView(subView);
                 if (animationIn != 0) {
                     Animator animator = AnimatorInflater.loadAnimator(getContext(), animationIn);
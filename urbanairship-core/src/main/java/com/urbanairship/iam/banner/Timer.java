@@ -3,6 +3,7 @@
 package com.urbanairship.iam.banner;
 
 import android.os.Handler;
+import android.os.Looper;
 import android.os.SystemClock;
 
 /**
@@ -16,7 +17,7 @@ public abstract class Timer {
 
     private long elapsedTimeMs;
 
-    private final Handler handler = new Handler();
+    private final Handler handler = new Handler(Looper.getMainLooper());
     private final Runnable trigger = new Runnable() {
         @Override
         public void run() {
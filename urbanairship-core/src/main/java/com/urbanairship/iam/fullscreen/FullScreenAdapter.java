@@ -9,12 +9,16 @@ import androidx.annotation.NonNull;
 import com.urbanairship.iam.DisplayHandler;
 import com.urbanairship.iam.InAppMessage;
 import com.urbanairship.iam.MediaDisplayAdapter;
+import com.urbanairship.iam.assets.Assets;
+import com.urbanairship.iam.view.InAppViewUtils;
 
 /**
  * Full screen adapter.
  */
 public class FullScreenAdapter extends MediaDisplayAdapter {
 
+    private final FullScreenDisplayContent displayContent;
+
     /**
      * Default constructor.
      *
@@ -23,6 +27,7 @@ public class FullScreenAdapter extends MediaDisplayAdapter {
      */
     protected FullScreenAdapter(@NonNull InAppMessage message, @NonNull FullScreenDisplayContent displayContent) {
         super(message, displayContent.getMedia());
+        this.displayContent = displayContent;
     }
 
     /**
@@ -41,6 +46,23 @@ public class FullScreenAdapter extends MediaDisplayAdapter {
         return new FullScreenAdapter(message, displayContent);
     }
 
+    @Override
+    @PrepareResult
+    public int onPrepare(@NonNull Context context, @NonNull Assets assets) {
+        int result = super.onPrepare(context, assets);
+        if (result == OK) {
+            // The activity inflates the views, so only warm the font and drawable caches
+            InAppViewUtils.prepareTextInfo(context, displayContent.getHeading());
+            InAppViewUtils.prepareTextInfo(context, displayContent.getBody());
+            InAppViewUtils.prepareButtonInfos(context, displayContent.getButtons());
+            if (displayContent.getFooter() != null) {
+                InAppViewUtils.prepareTextInfo(context, displayContent.getFooter().getLabel());
+            }
+        }
+
+        return result;
+    }
+
     @Override
     public void onDisplay(@NonNull Context context, @NonNull DisplayHandler displayHandler) {
         Intent intent = new Intent(context, FullScreenActivity.class)
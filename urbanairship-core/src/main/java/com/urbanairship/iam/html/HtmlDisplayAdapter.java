@@ -23,6 +23,7 @@ public class HtmlDisplayAdapter extends ForegroundDisplayAdapter {
 
     private final InAppMessage message;
     private final HtmlDisplayContent displayContent;
+    private Assets assets;
 
     /**
      * Default constructor.
@@ -58,6 +59,7 @@ public class HtmlDisplayAdapter extends ForegroundDisplayAdapter {
             return InAppMessageAdapter.CANCEL;
         }
 
+        this.assets = assets;
         return InAppMessageAdapter.OK;
     }
 
@@ -75,7 +77,8 @@ public class HtmlDisplayAdapter extends ForegroundDisplayAdapter {
         Intent intent = new Intent(context, HtmlActivity.class)
                 .setFlags(Intent.FLAG_ACTIVITY_NEW_TASK)
                 .putExtra(HtmlActivity.DISPLAY_HANDLER_EXTRA_KEY, displayHandler)
-                .putExtra(HtmlActivity.IN_APP_MESSAGE_KEY, message);
+                .putExtra(HtmlActivity.IN_APP_MESSAGE_KEY, message)
+                .putExtra(HtmlActivity.IN_APP_ASSETS, assets);
 
         context.startActivity(intent);
     }
@@ -2,21 +2,32 @@
 
 package com.urbanairship.iam.html;
 
+import android.annotation.SuppressLint;
 import android.net.Uri;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
 import android.webkit.WebView;
 
 import com.urbanairship.Logger;
 import com.urbanairship.actions.ActionRunRequestFactory;
+import com.urbanairship.iam.assets.AirshipPrepareAssetsDelegate;
+import com.urbanairship.iam.assets.Assets;
 import com.urbanairship.json.JsonException;
+import com.urbanairship.json.JsonMap;
 import com.urbanairship.json.JsonValue;
 import com.urbanairship.widget.UAWebViewClient;
 
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+
 /**
  * A version of the {@link UAWebViewClient} for HTML in-app messages, which adds a command
- * for dismissing the message with resolution info represented as URL-encoded JSON.
+ * for dismissing the message with resolution info represented as URL-encoded JSON. Documents and
+ * subresources cached in the message {@link Assets} during prepare are served from disk.
  */
 @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
 public abstract class HtmlWebViewClient extends UAWebViewClient {
@@ -27,11 +38,24 @@ public abstract class HtmlWebViewClient extends UAWebViewClient {
     @NonNull
     public static final String DISMISS_COMMAND = "dismiss";
 
+    private final Assets assets;
+
     /**
      * Default constructor.
      */
     public HtmlWebViewClient() {
+        this((Assets) null);
+    }
+
+    /**
+     * Constructs an HtmlWebViewClient that serves the document and subresources cached in the
+     * message assets.
+     *
+     * @param assets The message assets.
+     */
+    public HtmlWebViewClient(@Nullable Assets assets) {
         super();
+        this.assets = assets;
     }
 
     /**
@@ -41,6 +65,58 @@ public abstract class HtmlWebViewClient extends UAWebViewClient {
      */
     protected HtmlWebViewClient(ActionRunRequestFactory actionRunRequestFactory) {
         super(actionRunRequestFactory);
+        this.assets = null;
+    }
+
+    @Override
+    public WebResourceResponse shouldInterceptRequest(WebView webView, String url) {
+        WebResourceResponse response = getCachedResponse(url);
+        if (response != null) {
+            return response;
+        }
+
+        return super.shouldInterceptRequest(webView, url);
+    }
+
+    @Override
+    @SuppressLint("NewApi")
+    public WebResourceResponse shouldInterceptRequest(WebView webView, WebResourceRequest request) {
+        if ("GET".equals(request.getMethod())) {
+            WebResourceResponse response = getCachedResponse(request.getUrl().toString());
+            if (response != null) {
+                return response;
+            }
+        }
+
+        return super.shouldInterceptRequest(webView, request);
+    }
+
+    /**
+     * Gets the response for a URL cached during prepare.
+     *
+     * @param url The URL.
+     * @return The cached response, or {@code null} if the URL is not cached.
+     */
+    @Nullable
+    private WebResourceResponse getCachedResponse(@Nullable String url) {
+        if (assets == null || url == null) {
+            return null;
+        }
+
+        JsonMap metadata = assets.getMetadata(url).optMap();
+        String mimeType = metadata.opt(AirshipPrepareAssetsDelegate.MIME_TYPE_CACHE_KEY).getString();
+        if (mimeType == null) {
+            return null;
+        }
+
+        try {
+            InputStream inputStream = new FileInputStream(assets.file(url));
+            String charset = metadata.opt(AirshipPrepareAssetsDelegate.CHARSET_CACHE_KEY).getString();
+            return new WebResourceResponse(mimeType, charset, inputStream);
+        } catch (FileNotFoundException e) {
+            Logger.debug(e, "HtmlWebViewClient - Cached file missing for: %s", url);
+            return null;
+        }
     }
 
     /**
@@ -16,6 +16,7 @@ import androidx.annotation.DrawableRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
+import androidx.annotation.WorkerThread;
 import androidx.core.content.ContextCompat;
 import androidx.core.graphics.ColorUtils;
 import androidx.core.graphics.drawable.DrawableCompat;
@@ -183,6 +184,45 @@ public class InAppViewUtils {
         textView.setPaintFlags(paintFlags);
     }
 
+    /**
+     * Loads the fonts and drawable used by the text info so they are cached before the text info
+     * is applied on the main thread.
+     *
+     * @param context The application context.
+     * @param textInfo The text info.
+     */
+    @WorkerThread
+    public static void prepareTextInfo(@NonNull Context context, @Nullable TextInfo textInfo) {
+        if (textInfo == null) {
+            return;
+        }
+
+        getTypeFace(context, textInfo.getFontFamilies());
+
+        @DrawableRes int drawableId = textInfo.getDrawable(context);
+        if (drawableId != 0) {
+            try {
+                ContextCompat.getDrawable(context, drawableId);
+            } catch (Resources.NotFoundException e) {
+                Logger.debug("Drawable " + drawableId + " no longer exists.");
+            }
+        }
+    }
+
+    /**
+     * Loads the fonts and drawables used by the button labels so they are cached before the
+     * buttons are applied on the main thread.
+     *
+     * @param context The application context.
+     * @param buttons The button infos.
+     */
+    @WorkerThread
+    public static void prepareButtonInfos(@NonNull Context context, @NonNull List<ButtonInfo> buttons) {
+        for (ButtonInfo buttonInfo : buttons) {
+            prepareTextInfo(context, buttonInfo.getLabel());
+        }
+    }
+
     /**
      * Span that removes underline.
      */
@@ -18,6 +18,9 @@ import androidx.annotation.WorkerThread;
 import com.urbanairship.Logger;
 import com.urbanairship.util.AirshipHandlerThread;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Airship Service.
  *
@@ -36,6 +39,11 @@ public class AirshipService extends Service {
      */
     static final String EXTRA_JOB_INFO_BUNDLE = "EXTRA_JOB_INFO_BUNDLE";
 
+    /**
+     * JobInfo bundle list extra for starting several jobs with a single intent.
+     */
+    static final String EXTRA_JOB_INFO_BUNDLES = "EXTRA_JOB_INFO_BUNDLES";
+
     static final String EXTRA_RESCHEDULE_EXTRAS = "EXTRA_RESCHEDULE_EXTRAS";
 
     private static final int MSG_INTENT_RECEIVED = 1;
@@ -106,38 +114,58 @@ public class AirshipService extends Service {
     private void onHandleIntent(@Nullable final Intent intent, int startId) {
         this.lastStartId = startId;
 
-        final Message msg = handler.obtainMessage();
-        msg.what = MSG_INTENT_JOB_FINISHED;
-        msg.arg1 = startId;
-        msg.obj = intent;
+        List<JobInfo> jobs = new ArrayList<>();
+        if (intent != null && ACTION_RUN_JOB.equals(intent.getAction())) {
+            if (intent.getBundleExtra(EXTRA_JOB_INFO_BUNDLE) != null) {
+                JobInfo jobInfo = JobInfo.fromBundle(intent.getBundleExtra(EXTRA_JOB_INFO_BUNDLE));
+                if (jobInfo != null) {
+                    jobs.add(jobInfo);
+                }
+            }
 
-        if (intent == null || !ACTION_RUN_JOB.equals(intent.getAction()) || intent.getBundleExtra(EXTRA_JOB_INFO_BUNDLE) == null) {
-            handler.sendMessage(msg);
-            return;
+            ArrayList<Bundle> bundles = intent.getParcelableArrayListExtra(EXTRA_JOB_INFO_BUNDLES);
+            if (bundles != null) {
+                for (Bundle bundle : bundles) {
+                    JobInfo jobInfo = JobInfo.fromBundle(bundle);
+                    if (jobInfo != null) {
+                        jobs.add(jobInfo);
+                    }
+                }
+            }
         }
 
-        final JobInfo jobInfo = JobInfo.fromBundle(intent.getBundleExtra(EXTRA_JOB_INFO_BUNDLE));
-        if (jobInfo == null) {
+        if (jobs.isEmpty()) {
+            final Message msg = handler.obtainMessage();
+            msg.what = MSG_INTENT_JOB_FINISHED;
+            msg.arg1 = startId;
+            msg.obj = intent;
             handler.sendMessage(msg);
             return;
         }
 
-        runningJobs++;
-
-        Job job = Job.newBuilder(jobInfo)
-                     .setCallback(new Job.Callback() {
-                         @Override
-                         public void onFinish(@NonNull Job job, @JobInfo.JobResult int result) {
-                             handler.sendMessage(msg);
-                             if (result == JobInfo.JOB_RETRY) {
-                                 JobDispatcher.shared(getApplicationContext()).reschedule(jobInfo, intent.getBundleExtra(EXTRA_RESCHEDULE_EXTRAS));
+        for (final JobInfo jobInfo : jobs) {
+            final Message msg = handler.obtainMessage();
+            msg.what = MSG_INTENT_JOB_FINISHED;
+            msg.arg1 = startId;
+            msg.obj = intent;
+
+            runningJobs++;
+
+            Job job = Job.newBuilder(jobInfo)
+                         .setCallback(new Job.Callback() {
+                             @Override
+                             public void onFinish(@NonNull Job job, @JobInfo.JobResult int result) {
+                                 handler.sendMessage(msg);
+                                 if (result == JobInfo.JOB_RETRY) {
+                                     JobDispatcher.shared(getApplicationContext()).reschedule(jobInfo, intent.getBundleExtra(EXTRA_RESCHEDULE_EXTRAS));
+                                 }
                              }
-                         }
-                     })
-                     .build();
+                         })
+                         .build();
 
-        Logger.verbose("AirshipService - Running job: %s", jobInfo);
-        Job.EXECUTOR.execute(job);
+            Logger.verbose("AirshipService - Running job: %s", jobInfo);
+            job.dispatch();
+        }
     }
 
     /**
@@ -183,4 +211,23 @@ public class AirshipService extends Service {
         return intent;
     }
 
+    /**
+     * Creates a service intent that runs several jobs.
+     *
+     * @param context The application context.
+     * @param jobs The jobs to run.
+     * @return A service intent.
+     */
+    @NonNull
+    static Intent createIntent(@NonNull Context context, @NonNull List<JobInfo> jobs) {
+        ArrayList<Bundle> bundles = new ArrayList<>();
+        for (JobInfo jobInfo : jobs) {
+            bundles.add(jobInfo.toBundle());
+        }
+
+        return new Intent(context, AirshipService.class)
+                .setAction(AirshipService.ACTION_RUN_JOB)
+                .putParcelableArrayListExtra(AirshipService.EXTRA_JOB_INFO_BUNDLES, bundles);
+    }
+
 }
@@ -36,7 +36,7 @@ public class AndroidJobService extends JobService {
 
         Logger.verbose("AndroidJobService - Running job: %s", jobInfo);
 
-        Job.EXECUTOR.execute(job);
+        job.dispatch();
 
         return true;
     }
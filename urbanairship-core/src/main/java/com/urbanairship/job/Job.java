@@ -5,9 +5,10 @@ import androidx.annotation.RestrictTo;
 import androidx.annotation.WorkerThread;
 
 import com.urbanairship.AirshipComponent;
-import com.urbanairship.AirshipExecutors;
 import com.urbanairship.Logger;
 import com.urbanairship.UAirship;
+import com.urbanairship.metrics.Metrics;
+import com.urbanairship.metrics.Span;
 import com.urbanairship.util.UAStringUtil;
 
 import java.util.concurrent.Executor;
@@ -20,8 +21,6 @@ import java.util.concurrent.Executor;
 @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
 class Job implements Runnable {
 
-    static final Executor EXECUTOR = AirshipExecutors.newSerialExecutor();
-
     private static final long AIRSHIP_WAIT_TIME_MS = 5000; // 5 seconds.
 
     /**
@@ -84,17 +83,38 @@ class Job implements Runnable {
             return;
         }
 
-        component.getJobExecutor(jobInfo).execute(new Runnable() {
+        Runnable runnable = new Runnable() {
             @Override
             public void run() {
-                int result = component.onPerformJob(airship, jobInfo);
+                int result;
+                Span span = Metrics.startSpan(Metrics.SPAN_JOB_PREFIX + jobInfo.getAction());
+                try {
+                    result = component.onPerformJob(airship, jobInfo);
+                } finally {
+                    span.end();
+                }
+
                 Logger.verbose("Job - Finished: %s with result: %s", jobInfo, result);
 
                 if (callback != null) {
                     callback.onFinish(Job.this, result);
                 }
             }
-        });
+        };
+
+        Executor executor = component.getJobExecutor(jobInfo);
+        if (executor instanceof JobLane) {
+            ((JobLane) executor).execute(runnable, jobInfo.getPriority());
+        } else {
+            executor.execute(runnable);
+        }
+    }
+
+    /**
+     * Dispatches the job on the {@link JobRuntime} dispatch lane.
+     */
+    void dispatch() {
+        JobRuntime.shared().getDispatchLane().execute(this, jobInfo.getPriority());
     }
 
     /**
@@ -109,13 +129,7 @@ class Job implements Runnable {
             return null;
         }
 
-        for (final AirshipComponent component : airship.getComponents()) {
-            if (component.getClass().getName().equals(componentClassName)) {
-                return component;
-            }
-        }
-
-        return null;
+        return airship.getComponent(componentClassName);
     }
 
     /**
@@ -10,21 +10,39 @@ import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 import androidx.annotation.VisibleForTesting;
 
+import com.urbanairship.AirshipLoopers;
 import com.urbanairship.Logger;
 import com.urbanairship.UAirship;
 import com.urbanairship.app.ActivityMonitor;
 import com.urbanairship.app.GlobalActivityMonitor;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.util.Clock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Dispatches jobs. When a job is dispatched with a delay or specifies that it requires network activity,
  * it will be scheduled using either the AlarmManager or GcmNetworkManager. When a job is finally performed,
  * it will call {@link com.urbanairship.AirshipComponent#onPerformJob(UAirship, JobInfo)}
  * for the component the job specifies.
+ * <p>
+ * Jobs with an explicit ID that are dispatched within a short window are coalesced by job ID,
+ * action and constraints before they are handed to the scheduler. Jobs that can run immediately are only held
+ * back when a matching job was just dispatched, and are started with a single service intent.
  *
  * @hide
  */
@@ -41,6 +59,11 @@ public class JobDispatcher {
      */
     private static final int DEFAULT_JOB_ID_START = 3000000;
 
+    /**
+     * Default window in milliseconds that dispatched jobs are coalesced.
+     */
+    private static final long DEFAULT_COALESCE_WINDOW_MS = 100;
+
     private final Context context;
 
     @SuppressLint("StaticFieldLeak")
@@ -48,6 +71,20 @@ public class JobDispatcher {
 
     private final SchedulerFactory schedulerFactory;
     private final ActivityMonitor activityMonitor;
+    private final Clock clock;
+    private final long coalesceWindowMs;
+    private final Handler handler;
+
+    private final Map<String, PendingJob> pendingJobs = new LinkedHashMap<>();
+    private final Map<String, Long> recentJobs = new HashMap<>();
+    private boolean isFlushScheduled = false;
+
+    private final Runnable flushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
 
     private Scheduler scheduler;
     private boolean isUsingFallbackScheduler = false;
@@ -73,41 +110,175 @@ public class JobDispatcher {
     }
 
     private JobDispatcher(@NonNull Context context) {
-        this(context, new DefaultSchedulerFactory(), GlobalActivityMonitor.shared(context));
+        this(context, new DefaultSchedulerFactory(), GlobalActivityMonitor.shared(context),
+                Clock.DEFAULT_CLOCK, AirshipLoopers.getBackgroundLooper(), DEFAULT_COALESCE_WINDOW_MS);
     }
 
     @VisibleForTesting
     JobDispatcher(@NonNull Context context, SchedulerFactory schedulerFactory, ActivityMonitor activityMonitor) {
+        this(context, schedulerFactory, activityMonitor, Clock.DEFAULT_CLOCK, null, 0);
+    }
+
+    @VisibleForTesting
+    JobDispatcher(@NonNull Context context, SchedulerFactory schedulerFactory, ActivityMonitor activityMonitor,
+                  @NonNull Clock clock, @Nullable Looper looper, long coalesceWindowMs) {
         this.context = context.getApplicationContext();
         this.schedulerFactory = schedulerFactory;
         this.activityMonitor = activityMonitor;
+        this.clock = clock;
+        this.handler = looper == null ? null : new Handler(looper);
+        this.coalesceWindowMs = looper == null ? 0 : coalesceWindowMs;
     }
 
     /**
      * Dispatches a jobInfo to be performed immediately.
+     * <p>
+     * If a job with the same ID, action and constraints is already pending, the two jobs are merged
+     * into a single job with combined extras and the earliest deadline. Jobs without an ID are never
+     * merged.
      *
      * @param jobInfo The jobInfo.
      */
     public void dispatch(@NonNull JobInfo jobInfo) {
-        try {
+        if (coalesceWindowMs <= 0 || jobInfo.getId() == JobInfo.NO_ID) {
+            dispatchJobs(Collections.singletonList(jobInfo));
+            return;
+        }
 
-            if (requiresScheduling(jobInfo)) {
-                getScheduler().schedule(context, jobInfo, getScheduleId(jobInfo.getId()));
+        long now = clock.currentTimeMillis();
+        long deadline = now + jobInfo.getInitialDelay();
+        String key = getCoalesceKey(jobInfo);
+
+        synchronized (pendingJobs) {
+            PendingJob pending = pendingJobs.get(key);
+            if (pending != null) {
+                Logger.verbose("JobDispatcher - Coalescing jobInfo: %s", jobInfo);
+                pending.merge(jobInfo, deadline);
                 return;
             }
 
-            // Otherwise start the service directly
-            try {
+            // Jobs that can run now are only held back if a matching job was just dispatched
+            Long lastDispatch = recentJobs.get(key);
+            boolean isRecent = lastDispatch != null && now - lastDispatch < coalesceWindowMs;
+            if (!isRecent && !requiresScheduling(jobInfo)) {
+                pruneRecentJobs(now);
+                recentJobs.put(key, now);
+            } else {
+                pendingJobs.put(key, new PendingJob(jobInfo, deadline));
+                if (!isFlushScheduled) {
+                    isFlushScheduled = true;
+                    handler.postDelayed(flushRunnable, coalesceWindowMs);
+                }
+                return;
+            }
+        }
+
+        dispatchJobs(Collections.singletonList(jobInfo));
+    }
+
+    /**
+     * Gets the key jobs are coalesced by. Jobs with different constraints are kept separate so a
+     * job never waits on a constraint it did not ask for.
+     *
+     * @param jobInfo The job info.
+     * @return The coalesce key.
+     */
+    @NonNull
+    private static String getCoalesceKey(@NonNull JobInfo jobInfo) {
+        return jobInfo.getId() + ":" + jobInfo.getAction() + ":" + jobInfo.isNetworkAccessRequired() + ":" + jobInfo.isPersistent();
+    }
+
+    /**
+     * Dispatches all pending jobs.
+     */
+    private void flush() {
+        List<JobInfo> jobs = new ArrayList<>();
+        long now = clock.currentTimeMillis();
+
+        synchronized (pendingJobs) {
+            isFlushScheduled = false;
+            pruneRecentJobs(now);
+            for (Map.Entry<String, PendingJob> entry : pendingJobs.entrySet()) {
+                jobs.add(entry.getValue().build(now));
+                recentJobs.put(entry.getKey(), now);
+            }
+            pendingJobs.clear();
+        }
+
+        dispatchJobs(jobs);
+    }
+
+    /**
+     * Removes the jobs that were dispatched before the coalesce window.
+     *
+     * @param now The current time in milliseconds.
+     */
+    private void pruneRecentJobs(long now) {
+        Iterator<Long> iterator = recentJobs.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next() >= coalesceWindowMs) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Schedules the jobs that require scheduling and starts the rest with a single service intent.
+     *
+     * @param jobs The jobs.
+     */
+    private void dispatchJobs(@NonNull List<JobInfo> jobs) {
+        List<JobInfo> immediateJobs = new ArrayList<>();
+
+        for (JobInfo jobInfo : jobs) {
+            if (requiresScheduling(jobInfo)) {
+                schedule(jobInfo);
+            } else {
+                immediateJobs.add(jobInfo);
+            }
+        }
+
+        if (immediateJobs.isEmpty()) {
+            return;
+        }
+
+        // Otherwise start the service directly
+        try {
+            for (JobInfo jobInfo : immediateJobs) {
                 getScheduler().cancel(context, jobInfo.getId());
-                context.startService(AirshipService.createIntent(context, jobInfo, null));
-            } catch (SecurityException | IllegalStateException ex) {
-                getScheduler().schedule(context, jobInfo, getScheduleId(jobInfo.getId()));
+            }
+
+            if (immediateJobs.size() == 1) {
+                context.startService(AirshipService.createIntent(context, immediateJobs.get(0), null));
+            } else {
+                context.startService(AirshipService.createIntent(context, immediateJobs));
+            }
+        } catch (SecurityException | IllegalStateException ex) {
+            for (JobInfo jobInfo : immediateJobs) {
+                schedule(jobInfo);
             }
+        } catch (SchedulerException e) {
+            Logger.error(e, "Scheduler failed to cancel jobs");
+
+            if (useFallbackScheduler()) {
+                dispatchJobs(immediateJobs);
+            }
+        }
+    }
+
+    /**
+     * Schedules a job with the scheduler.
+     *
+     * @param jobInfo The jobInfo.
+     */
+    private void schedule(@NonNull JobInfo jobInfo) {
+        try {
+            getScheduler().schedule(context, jobInfo, getScheduleId(jobInfo.getId()));
         } catch (SchedulerException e) {
             Logger.error(e, "Scheduler failed to schedule jobInfo");
 
             if (useFallbackScheduler()) {
-                dispatch(jobInfo);
+                schedule(jobInfo);
             }
         }
     }
@@ -136,6 +307,15 @@ public class JobDispatcher {
      * @param jobId The job's ID.
      */
     public void cancel(int jobId) {
+        synchronized (pendingJobs) {
+            Iterator<PendingJob> iterator = pendingJobs.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().jobInfo.getId() == jobId) {
+                    iterator.remove();
+                }
+            }
+        }
+
         try {
             getScheduler().cancel(context, getScheduleId(jobId));
         } catch (SchedulerException e) {
@@ -224,6 +404,82 @@ public class JobDispatcher {
         return jobId + jobIdStart;
     }
 
+    /**
+     * A job waiting to be dispatched.
+     */
+    private static class PendingJob {
+
+        JobInfo jobInfo;
+        long deadline;
+
+        PendingJob(@NonNull JobInfo jobInfo, long deadline) {
+            this.jobInfo = jobInfo;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Merges another job with the same constraints into the pending job. Extras from the new
+         * job override existing extras and the earliest deadline is kept.
+         *
+         * @param other The other job.
+         * @param otherDeadline The other job's deadline.
+         */
+        void merge(@NonNull JobInfo other, long otherDeadline) {
+            JsonMap extras = JsonMap.newBuilder()
+                                    .putAll(jobInfo.getExtras())
+                                    .putAll(other.getExtras())
+                                    .build();
+
+            JobInfo.Builder builder = JobInfo.newBuilder()
+                                             .setAction(jobInfo.getAction())
+                                             .setAirshipComponent(jobInfo.getAirshipComponentName())
+                                             .setExtras(extras)
+                                             .setInitialDelay(jobInfo.getInitialDelay(), TimeUnit.MILLISECONDS)
+                                             .setNetworkAccessRequired(jobInfo.isNetworkAccessRequired())
+                                             .setPersistent(jobInfo.isPersistent());
+
+            //noinspection WrongConstant
+            builder.setId(jobInfo.getId());
+
+            //noinspection WrongConstant
+            builder.setPriority(Math.max(jobInfo.getPriority(), other.getPriority()));
+
+            this.jobInfo = builder.build();
+            this.deadline = Math.min(deadline, otherDeadline);
+        }
+
+        /**
+         * Builds the job with the initial delay adjusted to the deadline.
+         *
+         * @param now The current time in milliseconds.
+         * @return The job info.
+         */
+        @NonNull
+        JobInfo build(long now) {
+            long delay = Math.max(0, deadline - now);
+            if (delay == jobInfo.getInitialDelay()) {
+                return jobInfo;
+            }
+
+            JobInfo.Builder builder = JobInfo.newBuilder()
+                                             .setAction(jobInfo.getAction())
+                                             .setAirshipComponent(jobInfo.getAirshipComponentName())
+                                             .setExtras(jobInfo.getExtras())
+                                             .setInitialDelay(delay, TimeUnit.MILLISECONDS)
+                                             .setNetworkAccessRequired(jobInfo.isNetworkAccessRequired())
+                                             .setPersistent(jobInfo.isPersistent());
+
+            //noinspection WrongConstant
+            builder.setId(jobInfo.getId());
+
+            //noinspection WrongConstant
+            builder.setPriority(jobInfo.getPriority());
+
+            return builder.build();
+        }
+
+    }
+
     /**
      * Scheduler factory.
      */
@@ -66,6 +66,7 @@ public class JobInfo {
     private static final String EXTRA_JOB_ID = "EXTRA_JOB_ID";
     private static final String EXTRA_IS_NETWORK_ACCESS_REQUIRED = "EXTRA_IS_NETWORK_ACCESS_REQUIRED";
     private static final String EXTRA_PERSISTENT = "EXTRA_PERSISTENT";
+    private static final String EXTRA_PRIORITY = "EXTRA_PRIORITY";
 
     // ID generation
     private static final String SHARED_PREFERENCES_FILE = "com.urbanairship.job.ids";
@@ -84,6 +85,7 @@ public class JobInfo {
     private final long initialDelay;
     private final boolean persistent;
     private final int id;
+    private final int priority;
 
     @IntDef({ JOB_FINISHED, JOB_RETRY })
     @Retention(SOURCE)
@@ -99,6 +101,30 @@ public class JobInfo {
      */
     public static final int JOB_RETRY = 1;
 
+    @IntDef({ PRIORITY_LOW, PRIORITY_NORMAL, PRIORITY_HIGH })
+    @Retention(SOURCE)
+    public @interface Priority {}
+
+    /**
+     * Low priority. Runs after any queued normal or high priority jobs.
+     */
+    public static final int PRIORITY_LOW = -1;
+
+    /**
+     * Normal priority.
+     */
+    public static final int PRIORITY_NORMAL = 0;
+
+    /**
+     * High priority. Runs before any queued normal or low priority jobs.
+     */
+    public static final int PRIORITY_HIGH = 1;
+
+    /**
+     * ID of jobs that were not given an ID.
+     */
+    static final int NO_ID = -1;
+
     /**
      * Default constructor.
      *
@@ -112,6 +138,7 @@ public class JobInfo {
         this.initialDelay = builder.initialDelay;
         this.persistent = builder.persistent;
         this.id = builder.jobId;
+        this.priority = builder.priority;
     }
 
     @VisibleForTesting
@@ -144,6 +171,16 @@ public class JobInfo {
         return id;
     }
 
+    /**
+     * The job's priority.
+     *
+     * @return The job's priority.
+     */
+    @Priority
+    public int getPriority() {
+        return priority;
+    }
+
     /**
      * If network access is required for the job.
      *
@@ -206,6 +243,7 @@ public class JobInfo {
         bundle.putBoolean(EXTRA_IS_NETWORK_ACCESS_REQUIRED, isNetworkAccessRequired);
         bundle.putLong(EXTRA_INITIAL_DELAY, initialDelay);
         bundle.putBoolean(EXTRA_PERSISTENT, persistent);
+        bundle.putInt(EXTRA_PRIORITY, priority);
         return bundle;
     }
 
@@ -225,6 +263,7 @@ public class JobInfo {
         bundle.putBoolean(EXTRA_IS_NETWORK_ACCESS_REQUIRED, isNetworkAccessRequired);
         bundle.putLong(EXTRA_INITIAL_DELAY, initialDelay);
         bundle.putBoolean(EXTRA_PERSISTENT, persistent);
+        bundle.putInt(EXTRA_PRIORITY, priority);
         return bundle;
     }
 
@@ -252,6 +291,9 @@ public class JobInfo {
             //noinspection WrongConstant
             builder.setId(bundle.getInt(EXTRA_JOB_ID, 0));
 
+            //noinspection WrongConstant
+            builder.setPriority(bundle.getInt(EXTRA_PRIORITY, PRIORITY_NORMAL));
+
             return builder.build();
 
         } catch (IllegalArgumentException | JsonException e) {
@@ -286,6 +328,9 @@ public class JobInfo {
             //noinspection WrongConstant
             builder.setId(persistableBundle.getInt(EXTRA_JOB_ID, 0));
 
+            //noinspection WrongConstant
+            builder.setPriority(persistableBundle.getInt(EXTRA_PRIORITY, PRIORITY_NORMAL));
+
             return builder.build();
         } catch (Exception e) {
             Logger.error(e, "Failed to parse job from bundle.");
@@ -305,6 +350,7 @@ public class JobInfo {
                 ", isNetworkAccessRequired=" + isNetworkAccessRequired +
                 ", initialDelay=" + initialDelay +
                 ", persistent=" + persistent +
+                ", priority=" + priority +
                 '}';
     }
 
@@ -330,7 +376,8 @@ public class JobInfo {
         private long initialDelay;
         private boolean persistent;
         private JsonMap extras;
-        private int jobId = -1;
+        private int jobId = NO_ID;
+        private int priority = PRIORITY_NORMAL;
 
         private Builder() {
         }
@@ -433,6 +480,18 @@ public class JobInfo {
             return this;
         }
 
+        /**
+         * Sets the job's priority. Higher priority jobs are run first when queued.
+         *
+         * @param priority The job's priority.
+         * @return The job builder.
+         */
+        @NonNull
+        public Builder setPriority(@Priority int priority) {
+            this.priority = priority;
+            return this;
+        }
+
         /**
          * Sets the {@link AirshipComponent} that will receive the job.
          *
@@ -0,0 +1,244 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.job;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import com.urbanairship.util.Clock;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * Named executor lane that runs jobs on a shared executor with a bounded number of concurrent
+ * runnables. Queued runnables are ordered by priority, then by submission order.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class JobLane implements Executor {
+
+    private final String name;
+    private final int maxConcurrency;
+    private final Executor executor;
+    private final Clock clock;
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private long sequence = 0;
+    private int running = 0;
+
+    private long completedCount = 0;
+    private long totalLatencyMs = 0;
+    private long maxLatencyMs = 0;
+
+    /**
+     * Default constructor.
+     *
+     * @param name The lane name.
+     * @param maxConcurrency The max number of runnables that can run at the same time.
+     * @param executor The executor that performs the runnables.
+     */
+    public JobLane(@NonNull String name, int maxConcurrency, @NonNull Executor executor) {
+        this(name, maxConcurrency, executor, Clock.DEFAULT_CLOCK);
+    }
+
+    JobLane(@NonNull String name, int maxConcurrency, @NonNull Executor executor, @NonNull Clock clock) {
+        this.name = name;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the lane name.
+     *
+     * @return The lane name.
+     */
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the max number of runnables that can run at the same time.
+     *
+     * @return The max concurrency.
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public void execute(@Nullable Runnable runnable) {
+        execute(runnable, JobInfo.PRIORITY_NORMAL);
+    }
+
+    /**
+     * Executes a runnable with the given priority. Higher priorities run first.
+     *
+     * @param runnable The runnable.
+     * @param priority The priority.
+     */
+    public void execute(@Nullable Runnable runnable, int priority) {
+        if (runnable == null) {
+            return;
+        }
+
+        synchronized (queue) {
+            queue.offer(new Entry(runnable, priority, sequence++, clock.currentTimeMillis()));
+        }
+
+        next();
+    }
+
+    /**
+     * Gets the number of runnables waiting to run.
+     *
+     * @return The queue depth.
+     */
+    public int getQueueDepth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * Gets the number of runnables currently running.
+     *
+     * @return The running count.
+     */
+    public int getRunningCount() {
+        synchronized (queue) {
+            return running;
+        }
+    }
+
+    /**
+     * Gets the number of runnables that have finished.
+     *
+     * @return The completed count.
+     */
+    public long getCompletedCount() {
+        synchronized (queue) {
+            return completedCount;
+        }
+    }
+
+    /**
+     * Gets the average time in milliseconds a runnable waited in the queue before running.
+     *
+     * @return The average queue latency in milliseconds.
+     */
+    public long getAverageLatencyMs() {
+        synchronized (queue) {
+            return completedCount == 0 ? 0 : totalLatencyMs / completedCount;
+        }
+    }
+
+    /**
+     * Gets the longest time in milliseconds a runnable waited in the queue before running.
+     *
+     * @return The max queue latency in milliseconds.
+     */
+    public long getMaxLatencyMs() {
+        synchronized (queue) {
+            return maxLatencyMs;
+        }
+    }
+
+    private void next() {
+        final Entry entry;
+        final long latency;
+
+        synchronized (queue) {
+            if (running >= maxConcurrency) {
+                return;
+            }
+
+            entry = queue.poll();
+            if (entry == null) {
+                return;
+            }
+
+            running++;
+            latency = clock.currentTimeMillis() - entry.queuedTime;
+        }
+
+        Runnable wrapped = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    entry.runnable.run();
+                } finally {
+                    synchronized (queue) {
+                        running--;
+                        completedCount++;
+                        totalLatencyMs += latency;
+                        maxLatencyMs = Math.max(maxLatencyMs, latency);
+                    }
+                    next();
+                }
+            }
+        };
+
+        try {
+            executor.execute(wrapped);
+        } catch (RuntimeException e) {
+            synchronized (queue) {
+                running--;
+            }
+            throw e;
+        }
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        synchronized (queue) {
+            return "JobLane{" +
+                    "name='" + name + '\'' +
+                    ", maxConcurrency=" + maxConcurrency +
+                    ", queueDepth=" + queue.size() +
+                    ", running=" + running +
+                    ", completed=" + completedCount +
+                    ", averageLatencyMs=" + (completedCount == 0 ? 0 : totalLatencyMs / completedCount) +
+                    ", maxLatencyMs=" + maxLatencyMs +
+                    '}';
+        }
+    }
+
+    /**
+     * Queued runnable.
+     */
+    private static class Entry implements Comparable<Entry> {
+
+        final Runnable runnable;
+        final int priority;
+        final long sequence;
+        final long queuedTime;
+
+        Entry(@NonNull Runnable runnable, int priority, long sequence, long queuedTime) {
+            this.runnable = runnable;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.queuedTime = queuedTime;
+        }
+
+        @Override
+        public int compareTo(@NonNull Entry other) {
+            if (priority != other.priority) {
+                return priority > other.priority ? -1 : 1;
+            }
+
+            if (sequence == other.sequence) {
+                return 0;
+            }
+
+            return sequence < other.sequence ? -1 : 1;
+        }
+
+    }
+
+}
@@ -0,0 +1,107 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.job;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+import androidx.annotation.VisibleForTesting;
+
+import com.urbanairship.AirshipComponent;
+import com.urbanairship.AirshipExecutors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Job runtime. Jobs are first resolved on the serial dispatch lane, then performed on a lane
+ * owned by the job's {@link AirshipComponent}, so a slow job in one component does not hold
+ * up jobs for the other components.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class JobRuntime {
+
+    /**
+     * Dispatch lane name.
+     */
+    @NonNull
+    public static final String DISPATCH_LANE = "dispatch";
+
+    /**
+     * Jobs are resolved one at a time, in submission order within a priority, since callers
+     * rely on jobs dispatched back to back being handed to their components in order.
+     */
+    private static final int DISPATCH_CONCURRENCY = 1;
+
+    private static final JobRuntime instance = new JobRuntime(AirshipExecutors.THREAD_POOL_EXECUTOR);
+
+    private final Executor executor;
+    private final JobLane dispatchLane;
+    private final Map<String, JobLane> componentLanes = new HashMap<>();
+
+    @VisibleForTesting
+    JobRuntime(@NonNull Executor executor) {
+        this.executor = executor;
+        this.dispatchLane = new JobLane(DISPATCH_LANE, DISPATCH_CONCURRENCY, executor);
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return The job runtime.
+     */
+    @NonNull
+    public static JobRuntime shared() {
+        return instance;
+    }
+
+    /**
+     * Gets the lane used to resolve jobs.
+     *
+     * @return The dispatch lane.
+     */
+    @NonNull
+    JobLane getDispatchLane() {
+        return dispatchLane;
+    }
+
+    /**
+     * Gets the lane for the component. The lane is created on first access with the
+     * component's {@link AirshipComponent#getJobConcurrency()}.
+     *
+     * @param component The component.
+     * @return The component's lane.
+     */
+    @NonNull
+    public JobLane getComponentLane(@NonNull AirshipComponent component) {
+        String name = component.getClass().getName();
+        synchronized (componentLanes) {
+            JobLane lane = componentLanes.get(name);
+            if (lane == null) {
+                lane = new JobLane(name, component.getJobConcurrency(), executor);
+                componentLanes.put(name, lane);
+            }
+            return lane;
+        }
+    }
+
+    /**
+     * Gets all the lanes. Useful for reading queue depth and latency metrics.
+     *
+     * @return The list of lanes.
+     */
+    @NonNull
+    public List<JobLane> getLanes() {
+        List<JobLane> lanes = new ArrayList<>();
+        lanes.add(dispatchLane);
+        synchronized (componentLanes) {
+            lanes.addAll(componentLanes.values());
+        }
+        return lanes;
+    }
+
+}
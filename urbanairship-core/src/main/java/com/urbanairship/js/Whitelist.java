@@ -14,12 +14,20 @@ import com.urbanairship.util.UAStringUtil;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 /**
  * Defines a set of URL patterns to match a URL.
+ * <p>
+ * Entries are compiled into a host suffix trie with exact scheme lookups, so only the
+ * entries that can match a URL's host have their scheme and path checked. The compiled
+ * entries are replaced on write, so URL checks do not lock against entry changes.
  */
 public class Whitelist {
 
@@ -77,6 +85,11 @@ public class Whitelist {
      */
     private static final Pattern VALID_PATTERN = Pattern.compile(PATTERN_REGEX, Pattern.CASE_INSENSITIVE);
 
+    /**
+     * Max number of recent URL matches that are cached.
+     */
+    private static final int MATCH_CACHE_SIZE = 64;
+
     /**
      * Interface that defines a callback that can be used to reject whitelisting of a URL.
      */
@@ -97,6 +110,7 @@ public class Whitelist {
     private OnWhitelistCallback whitelistCallback;
 
     private final List<Entry> entries = new ArrayList<>();
+    private volatile CompiledEntries compiledEntries = new CompiledEntries(Collections.<Entry>emptyList());
     private boolean isOpenUrlWhitelistingEnabled = true;
 
     /**
@@ -174,20 +188,24 @@ public class Whitelist {
         String host = uri.getEncodedAuthority();
         String path = uri.getPath();
 
-        Pattern schemePattern;
-        if (UAStringUtil.isEmpty(scheme) || scheme.equals("*")) {
-            schemePattern = null;
-        } else {
-            schemePattern = Pattern.compile(escapeRegEx(scheme, false));
+        String exactScheme = null;
+        Pattern schemePattern = null;
+        if (!UAStringUtil.isEmpty(scheme) && !scheme.equals("*")) {
+            if (scheme.contains("*")) {
+                schemePattern = Pattern.compile(escapeRegEx(scheme, false));
+            } else {
+                exactScheme = scheme;
+            }
         }
 
-        Pattern hostPattern;
-        if (UAStringUtil.isEmpty(host) || host.equals("*")) {
-            hostPattern = null;
-        } else if (host.startsWith("*.")) {
-            hostPattern = Pattern.compile("(.*\\.)?" + escapeRegEx(host.substring(2), true));
-        } else {
-            hostPattern = Pattern.compile(escapeRegEx(host, true));
+        String exactHost = null;
+        String hostSuffix = null;
+        if (!UAStringUtil.isEmpty(host) && !host.equals("*")) {
+            if (host.startsWith("*.")) {
+                hostSuffix = host.substring(2);
+            } else {
+                exactHost = host;
+            }
         }
 
         Pattern pathPattern;
@@ -197,19 +215,19 @@ public class Whitelist {
             pathPattern = Pattern.compile(escapeRegEx(path, false));
         }
 
-        addEntry(new UriPattern(schemePattern, hostPattern, pathPattern), scope);
+        addEntry(new Entry(exactScheme, schemePattern, exactHost, hostSuffix, pathPattern, scope));
         return true;
     }
 
     /**
-     * Adds an entry.
+     * Adds an entry and recompiles the entries.
      *
-     * @param pattern The pattern.
-     * @param scope The scope.
+     * @param entry The entry.
      */
-    private void addEntry(@NonNull UriPattern pattern, @Scope int scope) {
+    private void addEntry(@NonNull Entry entry) {
         synchronized (entries) {
-            entries.add(new Entry(pattern, scope));
+            entries.add(entry);
+            compiledEntries = new CompiledEntries(entries);
         }
     }
 
@@ -240,17 +258,7 @@ public class Whitelist {
         if (scope == SCOPE_OPEN_URL && !isOpenUrlWhitelistingEnabled) {
             match = true;
         } else {
-            Uri uri = Uri.parse(url);
-            int matchedScope = 0;
-
-            synchronized (entries) {
-                for (Entry entry : entries) {
-                    if (entry.pattern.matches(uri)) {
-                        matchedScope |= entry.scope;
-                    }
-                }
-            }
-
+            int matchedScope = compiledEntries.getMatchedScope(url);
             match = ((matchedScope & scope) == scope);
         }
 
@@ -332,83 +340,209 @@ public class Whitelist {
     }
 
     /**
-     * Helper class that does the actual matching using the scheme and host patterns.
+     * Whitelist entry.
      */
-    private class UriPattern {
+    private static class Entry {
 
-        private final Pattern scheme;
-        private final Pattern host;
+        private final String scheme;
+        private final Pattern schemePattern;
+        private final String host;
+        private final String hostSuffix;
         private final Pattern path;
+        private final int scope;
 
         /**
-         * Creates a new UriPattern.
+         * Creates a new entry.
          *
-         * @param scheme The pattern to use for scheme matching.
-         * @param host The pattern to use for host matching.
-         * @param path THe pattern to use for path matching.
+         * @param scheme The exact scheme, or null if the scheme is a pattern or matches any scheme.
+         * @param schemePattern The scheme pattern, or null if the scheme is exact or matches any scheme.
+         * @param host The exact host, or null if the host is a wild card.
+         * @param hostSuffix The host suffix for `*.` hosts.
+         * @param path The pattern to use for path matching, or null to match any path.
+         * @param scope The scope.
          */
-        UriPattern(@Nullable Pattern scheme, @Nullable Pattern host, @Nullable Pattern path) {
+        Entry(@Nullable String scheme, @Nullable Pattern schemePattern, @Nullable String host,
+              @Nullable String hostSuffix, @Nullable Pattern path, @Scope int scope) {
             this.scheme = scheme;
+            this.schemePattern = schemePattern;
             this.host = host;
+            this.hostSuffix = hostSuffix;
             this.path = path;
+            this.scope = scope;
         }
 
         /**
-         * Checks if a uri matches the pattern.
+         * Checks if a uri matches the entry's scheme and path. The host is matched by the trie.
          *
          * @param uri The uri to match.
          * @return <code>true</code> if the uri matches, otherwise <code>false</code>.
          */
-        boolean matches(@NonNull Uri uri) {
-            if (scheme != null && (uri.getScheme() == null || !scheme.matcher(uri.getScheme()).matches())) {
-                return false;
-            }
-
-            if (host != null && (uri.getHost() == null || !host.matcher(uri.getHost()).matches())) {
+        boolean matchesSchemeAndPath(@NonNull Uri uri) {
+            if (schemePattern != null && (uri.getScheme() == null || !schemePattern.matcher(uri.getScheme()).matches())) {
                 return false;
             }
 
             return path == null || (uri.getPath() != null && path.matcher(uri.getPath()).matches());
         }
 
-        @Override
-        public boolean equals(@Nullable Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
+    }
+
+    /**
+     * Entries grouped by exact scheme.
+     */
+    private static class EntryGroup {
+
+        private final Map<String, List<Entry>> schemeEntries = new HashMap<>();
+        private final List<Entry> anySchemeEntries = new ArrayList<>();
+
+        void add(@NonNull Entry entry) {
+            if (entry.scheme == null) {
+                anySchemeEntries.add(entry);
+                return;
             }
 
-            UriPattern that = (UriPattern) o;
+            List<Entry> list = schemeEntries.get(entry.scheme);
+            if (list == null) {
+                list = new ArrayList<>();
+                schemeEntries.put(entry.scheme, list);
+            }
+            list.add(entry);
+        }
 
-            if (scheme != null ? !scheme.equals(that.scheme) : that.scheme != null) {
-                return false;
+        int match(@NonNull Uri uri, int matchedScope) {
+            if (uri.getScheme() != null) {
+                List<Entry> list = schemeEntries.get(uri.getScheme());
+                if (list != null) {
+                    matchedScope = match(list, uri, matchedScope);
+                }
             }
-            if (host != null ? !host.equals(that.host) : that.host != null) {
-                return false;
+
+            return match(anySchemeEntries, uri, matchedScope);
+        }
+
+        private static int match(@NonNull List<Entry> list, @NonNull Uri uri, int matchedScope) {
+            for (Entry entry : list) {
+                if ((matchedScope & entry.scope) == entry.scope) {
+                    continue;
+                }
+
+                if (entry.matchesSchemeAndPath(uri)) {
+                    matchedScope |= entry.scope;
+                }
             }
-            return path != null ? path.equals(that.path) : that.path == null;
+            return matchedScope;
         }
 
-        @Override
-        public int hashCode() {
-            int result = scheme != null ? scheme.hashCode() : 0;
-            result = 31 * result + (host != null ? host.hashCode() : 0);
-            result = 31 * result + (path != null ? path.hashCode() : 0);
-            return result;
+    }
+
+    /**
+     * Host trie node. Children are keyed by host label, starting from the last label.
+     */
+    private static class HostNode {
+
+        private final Map<String, HostNode> children = new HashMap<>();
+        private EntryGroup exactEntries;
+        private EntryGroup suffixEntries;
+
+        @NonNull
+        HostNode child(@NonNull String label) {
+            HostNode node = children.get(label);
+            if (node == null) {
+                node = new HostNode();
+                children.put(label, node);
+            }
+            return node;
         }
 
     }
 
-    private static class Entry {
+    /**
+     * Immutable compiled entries with a small cache of recent URL matches.
+     */
+    private static class CompiledEntries {
 
-        private final int scope;
-        private final UriPattern pattern;
+        private final EntryGroup anyHostEntries = new EntryGroup();
+        private final HostNode root = new HostNode();
 
-        private Entry(UriPattern pattern, @Scope int scope) {
-            this.scope = scope;
-            this.pattern = pattern;
+        private final Map<String, Integer> matchCache = new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > MATCH_CACHE_SIZE;
+            }
+        };
+
+        CompiledEntries(@NonNull List<Entry> entries) {
+            for (Entry entry : entries) {
+                if (entry.host != null) {
+                    HostNode node = findOrCreateNode(entry.host);
+                    if (node.exactEntries == null) {
+                        node.exactEntries = new EntryGroup();
+                    }
+                    node.exactEntries.add(entry);
+                } else if (entry.hostSuffix != null) {
+                    HostNode node = findOrCreateNode(entry.hostSuffix);
+                    if (node.suffixEntries == null) {
+                        node.suffixEntries = new EntryGroup();
+                    }
+                    node.suffixEntries.add(entry);
+                } else {
+                    anyHostEntries.add(entry);
+                }
+            }
+        }
+
+        /**
+         * Gets the combined scope of all the entries that match the URL.
+         *
+         * @param url The URL.
+         * @return The matched scope.
+         */
+        int getMatchedScope(@NonNull String url) {
+            synchronized (matchCache) {
+                Integer cached = matchCache.get(url);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+
+            Uri uri = Uri.parse(url);
+            int matchedScope = anyHostEntries.match(uri, 0);
+
+            String host = uri.getHost();
+            if (host != null) {
+                String[] labels = host.split("\\.", -1);
+                HostNode node = root;
+                for (int i = labels.length - 1; i >= 0 && node != null; i--) {
+                    node = node.children.get(labels[i]);
+                    if (node == null) {
+                        break;
+                    }
+
+                    if (node.suffixEntries != null) {
+                        matchedScope = node.suffixEntries.match(uri, matchedScope);
+                    }
+
+                    if (i == 0 && node.exactEntries != null) {
+                        matchedScope = node.exactEntries.match(uri, matchedScope);
+                    }
+                }
+            }
+
+            synchronized (matchCache) {
+                matchCache.put(url, matchedScope);
+            }
+
+            return matchedScope;
+        }
+
+        @NonNull
+        private HostNode findOrCreateNode(@NonNull String host) {
+            String[] labels = host.split("\\.", -1);
+            HostNode node = root;
+            for (int i = labels.length - 1; i >= 0; i--) {
+                node = node.child(labels[i]);
+            }
+            return node;
         }
 
     }
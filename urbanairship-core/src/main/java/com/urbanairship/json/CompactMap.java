@@ -0,0 +1,198 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.json;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable open-addressed map used by {@link JsonMap}. Keys and values are stored in two arrays
+ * with linear probing, so there is no entry object per mapping. Keys are shared with {@link JsonKeys}.
+ */
+final class CompactMap extends AbstractMap<String, JsonValue> {
+
+    static final CompactMap EMPTY = new CompactMap(null);
+
+    private final String[] keys;
+    private final JsonValue[] values;
+    private int size;
+    private Set<Map.Entry<String, JsonValue>> entrySet;
+
+    /**
+     * Default constructor.
+     *
+     * @param map The map to copy.
+     */
+    CompactMap(@Nullable Map<String, JsonValue> map) {
+        this(map == null ? 0 : map.size());
+
+        if (map != null) {
+            for (Map.Entry<String, JsonValue> entry : map.entrySet()) {
+                if (entry.getKey() != null) {
+                    add(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates an empty map that can hold the expected number of entries. The map must be filled
+     * with {@link #add(String, JsonValue)} before it is shared.
+     *
+     * @param expectedSize The expected number of entries.
+     */
+    CompactMap(int expectedSize) {
+        int capacity = tableSize(expectedSize);
+        this.keys = new String[capacity];
+        this.values = new JsonValue[capacity];
+    }
+
+    /**
+     * Adds an entry while the map is being built.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @throws IllegalStateException If the map is full.
+     */
+    void add(@NonNull String key, @Nullable JsonValue value) {
+        int index = indexOf(key);
+        if (index < 0) {
+            if (size * 2 >= keys.length) {
+                throw new IllegalStateException("CompactMap is full.");
+            }
+
+            index = -(index + 1);
+            keys[index] = JsonKeys.intern(key);
+            size++;
+        }
+        values[index] = value;
+    }
+
+    /**
+     * Smallest power of two that keeps the table at most half full.
+     */
+    private static int tableSize(int count) {
+        int capacity = 2;
+        while (capacity < count * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Finds the slot of the key.
+     *
+     * @param key The key.
+     * @return The index of the key, or {@code -(insertion index + 1)} if the key is not in the map.
+     */
+    private int indexOf(@NonNull Object key) {
+        int hash = key.hashCode();
+        int mask = keys.length - 1;
+        int index = (hash ^ (hash >>> 16)) & mask;
+
+        while (true) {
+            String current = keys[index];
+            if (current == null) {
+                return -(index + 1);
+            }
+
+            if (current == key || current.equals(key)) {
+                return index;
+            }
+
+            index = (index + 1) & mask;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return key instanceof String && indexOf(key) >= 0;
+    }
+
+    @Nullable
+    @Override
+    public JsonValue get(@Nullable Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @NonNull
+    @Override
+    public Set<Map.Entry<String, JsonValue>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<String, JsonValue>>() {
+                @NonNull
+                @Override
+                public Iterator<Map.Entry<String, JsonValue>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Iterates the occupied slots.
+     */
+    private class EntryIterator implements Iterator<Map.Entry<String, JsonValue>> {
+
+        private int index = advance(0);
+
+        private int advance(int from) {
+            int i = from;
+            while (i < keys.length && keys[i] == null) {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < keys.length;
+        }
+
+        @Override
+        public Map.Entry<String, JsonValue> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            Map.Entry<String, JsonValue> entry = new AbstractMap.SimpleImmutableEntry<>(keys[index], values[index]);
+            index = advance(index + 1);
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
@@ -0,0 +1,357 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.json;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding for {@link JsonValue}.
+ * <p>
+ * The encoding starts with a header and a table of every map key in the value, so each key is
+ * written and decoded only once no matter how many maps use it. Numbers keep their type
+ * (int, long or double) instead of being converted to text and parsed back.
+ * <pre>
+ * value := header keyCount key* node
+ * node  := NULL | TRUE | FALSE | INT varint | LONG varint | DOUBLE 8 bytes
+ *        | STRING length bytes | MAP count (keyIndex node)* | LIST count node*
+ * </pre>
+ * Integers are zigzag encoded varints and strings are UTF-8.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class JsonBinary {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final byte MAGIC = 'J';
+    private static final byte VERSION = 1;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_TRUE = 1;
+    private static final byte TYPE_FALSE = 2;
+    private static final byte TYPE_INT = 3;
+    private static final byte TYPE_LONG = 4;
+    private static final byte TYPE_DOUBLE = 5;
+    private static final byte TYPE_STRING = 6;
+    private static final byte TYPE_MAP = 7;
+    private static final byte TYPE_LIST = 8;
+
+    private JsonBinary() {
+    }
+
+    /**
+     * Encodes the value.
+     *
+     * @param value The value.
+     * @return The encoded bytes.
+     */
+    @NonNull
+    public static byte[] encode(@NonNull JsonValue value) {
+        Map<String, Integer> keys = new LinkedHashMap<>();
+        collectKeys(value, keys);
+
+        Writer writer = new Writer(256);
+        writer.writeByte(MAGIC);
+        writer.writeByte(VERSION);
+        writer.writeVarint(keys.size());
+        for (String key : keys.keySet()) {
+            writer.writeString(key);
+        }
+
+        writeNode(writer, value, keys);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes a value.
+     *
+     * @param bytes The encoded bytes.
+     * @return The decoded value.
+     * @throws JsonException If the bytes are not a valid encoding.
+     */
+    @NonNull
+    public static JsonValue decode(@NonNull byte[] bytes) throws JsonException {
+        Reader reader = new Reader(bytes);
+
+        try {
+            if (reader.readByte() != MAGIC || reader.readByte() != VERSION) {
+                throw new JsonException("Invalid JSON binary header.");
+            }
+
+            int keyCount = reader.readVarint();
+            String[] keys = new String[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                keys[i] = reader.readString();
+            }
+
+            JsonValue value = readNode(reader, keys);
+            if (reader.position != bytes.length) {
+                throw new JsonException("Unexpected trailing bytes in JSON binary.");
+            }
+
+            return value;
+        } catch (IndexOutOfBoundsException e) {
+            throw new JsonException("Truncated JSON binary.", e);
+        }
+    }
+
+    /**
+     * Checks if the bytes start with the binary header.
+     *
+     * @param bytes The bytes.
+     * @return {@code true} if the bytes are a binary encoded value, otherwise {@code false}.
+     */
+    public static boolean isEncoded(@NonNull byte[] bytes) {
+        return bytes.length >= 2 && bytes[0] == MAGIC && bytes[1] == VERSION;
+    }
+
+    private static void collectKeys(@NonNull JsonValue value, @NonNull Map<String, Integer> keys) {
+        if (value.isJsonMap()) {
+            for (Map.Entry<String, JsonValue> entry : value.optMap()) {
+                if (!keys.containsKey(entry.getKey())) {
+                    keys.put(entry.getKey(), keys.size());
+                }
+                collectKeys(entry.getValue(), keys);
+            }
+        } else if (value.isJsonList()) {
+            for (JsonValue child : value.optList()) {
+                collectKeys(child, keys);
+            }
+        }
+    }
+
+    private static void writeNode(@NonNull Writer writer, @NonNull JsonValue value, @NonNull Map<String, Integer> keys) {
+        Object raw = value.getValue();
+
+        if (raw == null) {
+            writer.writeByte(TYPE_NULL);
+        } else if (raw instanceof Boolean) {
+            writer.writeByte((Boolean) raw ? TYPE_TRUE : TYPE_FALSE);
+        } else if (raw instanceof Integer) {
+            writer.writeByte(TYPE_INT);
+            writer.writeVarlong(zigzag((Integer) raw));
+        } else if (raw instanceof Long) {
+            writer.writeByte(TYPE_LONG);
+            writer.writeVarlong(zigzag((Long) raw));
+        } else if (raw instanceof Number) {
+            writer.writeByte(TYPE_DOUBLE);
+            writer.writeLong(Double.doubleToLongBits(((Number) raw).doubleValue()));
+        } else if (raw instanceof String) {
+            writer.writeByte(TYPE_STRING);
+            writer.writeString((String) raw);
+        } else if (raw instanceof JsonMap) {
+            JsonMap map = (JsonMap) raw;
+            writer.writeByte(TYPE_MAP);
+            writer.writeVarint(map.size());
+            for (Map.Entry<String, JsonValue> entry : map) {
+                writer.writeVarint(keys.get(entry.getKey()));
+                writeNode(writer, entry.getValue(), keys);
+            }
+        } else if (raw instanceof JsonList) {
+            JsonList list = (JsonList) raw;
+            writer.writeByte(TYPE_LIST);
+            writer.writeVarint(list.size());
+            for (JsonValue child : list) {
+                writeNode(writer, child, keys);
+            }
+        } else {
+            writer.writeByte(TYPE_STRING);
+            writer.writeString(String.valueOf(raw));
+        }
+    }
+
+    @NonNull
+    private static JsonValue readNode(@NonNull Reader reader, @NonNull String[] keys) throws JsonException {
+        byte type = reader.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return JsonValue.NULL;
+
+            case TYPE_TRUE:
+                return JsonValue.wrap(true);
+
+            case TYPE_FALSE:
+                return JsonValue.wrap(false);
+
+            case TYPE_INT:
+                return JsonValue.wrap((int) unzigzag(reader.readVarlong()));
+
+            case TYPE_LONG:
+                return JsonValue.wrap(unzigzag(reader.readVarlong()));
+
+            case TYPE_DOUBLE:
+                return JsonValue.wrap(Double.longBitsToDouble(reader.readLong()));
+
+            case TYPE_STRING:
+                return JsonValue.wrap(reader.readString());
+
+            case TYPE_MAP:
+                int size = reader.readVarint();
+                if (size > reader.remaining()) {
+                    throw new IndexOutOfBoundsException();
+                }
+
+                CompactMap map = new CompactMap(size);
+                for (int i = 0; i < size; i++) {
+                    int keyIndex = reader.readVarint();
+                    if (keyIndex < 0 || keyIndex >= keys.length) {
+                        throw new JsonException("Invalid key index in JSON binary: " + keyIndex);
+                    }
+                    map.add(keys[keyIndex], readNode(reader, keys));
+                }
+                return new JsonMap(map).toJsonValue();
+
+            case TYPE_LIST:
+                int count = reader.readVarint();
+                List<JsonValue> list = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    list.add(readNode(reader, keys));
+                }
+                return new JsonList(list).toJsonValue();
+
+            default:
+                throw new JsonException("Invalid type in JSON binary: " + type);
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Growable byte buffer.
+     */
+    private static class Writer {
+
+        private byte[] buffer;
+        private int position;
+
+        Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarint(int value) {
+            writeVarlong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarlong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeString(@NonNull String value) {
+            byte[] bytes = value.getBytes(UTF_8);
+            writeVarint(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void ensureCapacity(int count) {
+            if (position + count > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + count));
+            }
+        }
+
+        @NonNull
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+    }
+
+    /**
+     * Byte array reader.
+     */
+    private static class Reader {
+
+        private final byte[] buffer;
+        private int position;
+
+        Reader(@NonNull byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        int remaining() {
+            return buffer.length - position;
+        }
+
+        byte readByte() {
+            if (position >= buffer.length) {
+                throw new IndexOutOfBoundsException();
+            }
+            return buffer[position++];
+        }
+
+        int readVarint() throws JsonException {
+            long value = readVarlong();
+            if (value > Integer.MAX_VALUE) {
+                throw new JsonException("Invalid length in JSON binary: " + value);
+            }
+            return (int) value;
+        }
+
+        long readVarlong() throws JsonException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new JsonException("Malformed varint in JSON binary.");
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (readByte() & 0xFF);
+            }
+            return value;
+        }
+
+        @NonNull
+        String readString() throws JsonException {
+            int length = readVarint();
+            if (length > buffer.length - position) {
+                throw new IndexOutOfBoundsException();
+            }
+
+            String value = new String(buffer, position, length, UTF_8);
+            position += length;
+            return value;
+        }
+
+    }
+
+}
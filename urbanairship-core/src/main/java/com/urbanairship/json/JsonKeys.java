@@ -0,0 +1,65 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.json;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared instances of the map keys that repeat across Airship payloads. Parsed maps use the
+ * shared instance instead of keeping their own copy of the key.
+ */
+final class JsonKeys {
+
+    private static final String[] KEYS = {
+            // Common
+            "type", "id", "name", "value", "key", "url", "extras", "actions", "source", "version",
+            "timestamp", "created", "last_modified", "payload", "metadata", "data",
+
+            // Automation
+            "message", "audience", "campaigns", "triggers", "goal", "predicate", "limit", "priority",
+            "start", "end", "delay", "edit_grace_period", "interval", "group", "screen", "screens",
+            "region", "region_id", "app_state", "seconds", "cancellation_triggers",
+
+            // In-app display content
+            "display", "display_type", "display_behavior", "reporting_enabled", "heading", "body",
+            "media", "footer", "buttons", "button_layout", "template", "placement", "duration",
+            "background_color", "dismiss_button_color", "border_radius", "allow_fullscreen_display",
+            "label", "text", "color", "size", "alignment", "style", "font_family", "behavior",
+            "description", "width", "height", "aspect_lock",
+
+            // Predicates and matchers
+            "and", "or", "not", "equals", "at_least", "at_most", "is_present", "array_contains",
+            "index", "scope", "value_matcher", "ignore_case",
+
+            // Inbox
+            "message_id", "message_url", "message_body_url", "message_read_url", "title",
+            "content_type", "unread", "message_sent", "message_expiry", "icons", "list_icon"
+    };
+
+    private static final Map<String, String> INTERNED = new HashMap<>();
+
+    static {
+        for (String key : KEYS) {
+            INTERNED.put(key, key);
+        }
+    }
+
+    private JsonKeys() {
+    }
+
+    /**
+     * Gets the shared instance of the key.
+     *
+     * @param key The key.
+     * @return The shared instance, or the key if it is not a known key.
+     */
+    @NonNull
+    static String intern(@NonNull String key) {
+        String interned = INTERNED.get(key);
+        return interned == null ? key : interned;
+    }
+
+}
@@ -33,7 +33,16 @@ public class JsonMap implements Iterable<Map.Entry<String, JsonValue>>, JsonSeri
      * @param map A map of strings to JsonValues.
      */
     public JsonMap(@Nullable Map<String, JsonValue> map) {
-        this.map = map == null ? new HashMap<String, JsonValue>() : new HashMap<>(map);
+        this.map = map == null || map.isEmpty() ? CompactMap.EMPTY : new CompactMap(map);
+    }
+
+    /**
+     * Creates a JsonMap that uses the compact map directly.
+     *
+     * @param map The filled compact map.
+     */
+    JsonMap(@NonNull CompactMap map) {
+        this.map = map;
     }
 
     /**
@@ -40,6 +40,15 @@ public class JsonValue implements Parcelable, JsonSerializable {
     @NonNull
     public final static JsonValue NULL = new JsonValue(null);
 
+    // Shared instances for values that repeat across payloads
+    private static final JsonValue TRUE = new JsonValue(Boolean.TRUE);
+    private static final JsonValue FALSE = new JsonValue(Boolean.FALSE);
+    private static final int SMALL_INT_MIN = -128;
+    private static final int SMALL_INT_MAX = 1024;
+    // Parcel.writeString starts with the length or -1, so the marker can't be a JSON string parcel
+    private static final int PARCEL_BINARY_MARKER = -2;
+    private static final JsonValue[] SMALL_INTS = new JsonValue[SMALL_INT_MAX - SMALL_INT_MIN + 1];
+
     private final Object value;
 
     /**
@@ -620,10 +629,16 @@ public class JsonValue implements Parcelable, JsonSerializable {
             return (JsonValue) object;
         }
 
+        if (object instanceof Boolean) {
+            return (Boolean) object ? TRUE : FALSE;
+        }
+
+        if (object instanceof Integer) {
+            return wrapInteger((Integer) object);
+        }
+
         if (object instanceof JsonMap ||
                 object instanceof JsonList ||
-                object instanceof Boolean ||
-                object instanceof Integer ||
                 object instanceof Long ||
                 object instanceof String) {
             return new JsonValue(object);
@@ -634,7 +649,7 @@ public class JsonValue implements Parcelable, JsonSerializable {
         }
 
         if (object instanceof Byte || object instanceof Short) {
-            return new JsonValue(((Number) object).intValue());
+            return wrapInteger(((Number) object).intValue());
         }
 
         if (object instanceof Character) {
@@ -684,6 +699,27 @@ public class JsonValue implements Parcelable, JsonSerializable {
         throw new JsonException("Illegal object: " + object);
     }
 
+    /**
+     * Wraps an integer, using the shared instance for small values.
+     *
+     * @param value The value.
+     * @return The wrapped integer.
+     */
+    @NonNull
+    private static JsonValue wrapInteger(int value) {
+        if (value < SMALL_INT_MIN || value > SMALL_INT_MAX) {
+            return new JsonValue(value);
+        }
+
+        int index = value - SMALL_INT_MIN;
+        JsonValue jsonValue = SMALL_INTS[index];
+        if (jsonValue == null) {
+            jsonValue = new JsonValue(value);
+            SMALL_INTS[index] = jsonValue;
+        }
+        return jsonValue;
+    }
+
     /**
      * Helper method to wrap an array.
      *
@@ -776,14 +812,14 @@ public class JsonValue implements Parcelable, JsonSerializable {
      * @throws JsonException If the collection contains an unwrappable object.
      */
     private static JsonValue wrapJSONObject(@NonNull JSONObject jsonObject) throws JsonException {
-        Map<String, JsonValue> jsonValueMap = new HashMap<>();
+        CompactMap jsonValueMap = new CompactMap(jsonObject.length());
 
         Iterator iterator = jsonObject.keys();
         while (iterator.hasNext()) {
             String key = (String) iterator.next();
 
             if (!jsonObject.isNull(key)) {
-                jsonValueMap.put(key, wrap(jsonObject.opt(key)));
+                jsonValueMap.add(key, wrap(jsonObject.opt(key)));
             }
         }
 
@@ -796,9 +832,15 @@ public class JsonValue implements Parcelable, JsonSerializable {
         return 0;
     }
 
+    /**
+     * Writes the value using the {@link JsonBinary} encoding, so the value does not have to be
+     * converted to a JSON string and parsed again on the other side. The bytes are preceded by
+     * {@link #PARCEL_BINARY_MARKER} so parcels written as a JSON string can still be read.
+     */
     @Override
     public void writeToParcel(@NonNull Parcel dest, int flags) {
-        dest.writeString(this.toString());
+        dest.writeInt(PARCEL_BINARY_MARKER);
+        dest.writeByteArray(JsonBinary.encode(this));
     }
 
     /**
@@ -813,7 +855,15 @@ public class JsonValue implements Parcelable, JsonSerializable {
         @Override
         public JsonValue createFromParcel(@NonNull Parcel in) {
             try {
-                return JsonValue.parseString(in.readString());
+                int position = in.dataPosition();
+                if (in.readInt() != PARCEL_BINARY_MARKER) {
+                    // Written as a JSON string
+                    in.setDataPosition(position);
+                    return JsonValue.parseString(in.readString());
+                }
+
+                byte[] bytes = in.createByteArray();
+                return bytes == null ? JsonValue.NULL : JsonBinary.decode(bytes);
             } catch (JsonException e) {
                 Logger.error(e, "JsonValue - Unable to create JsonValue from parcel.");
                 return JsonValue.NULL;
@@ -0,0 +1,188 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.metrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+/**
+ * Records SDK performance metrics. Metrics are dropped unless a {@link MetricsSink} is set with
+ * {@link com.urbanairship.AirshipConfigOptions.Builder#setMetricsSink(MetricsSink)}, and system
+ * trace sections are only emitted when tracing is enabled with
+ * {@link com.urbanairship.AirshipConfigOptions.Builder#setTracingEnabled(boolean)}.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class Metrics {
+
+    /**
+     * Time spent executing an HTTP request.
+     */
+    @NonNull
+    public static final String SPAN_REQUEST_EXECUTE = "ua.request.execute";
+
+    /**
+     * Time spent running a database query.
+     */
+    @NonNull
+    public static final String SPAN_DATABASE_QUERY = "ua.database.query";
+
+    /**
+     * Time spent opening a store's database the first time, including creating, upgrading or
+     * migrating its tables.
+     */
+    @NonNull
+    public static final String SPAN_DATABASE_OPEN = "ua.database.open";
+
+    /**
+     * Time spent evaluating automation triggers for an event.
+     */
+    @NonNull
+    public static final String SPAN_AUTOMATION_TRIGGERS = "ua.automation.triggers";
+
+    /**
+     * Time spent recovering automation schedules on startup.
+     */
+    @NonNull
+    public static final String SPAN_AUTOMATION_RECOVER = "ua.automation.recover";
+
+    /**
+     * Time spent uploading analytic events.
+     */
+    @NonNull
+    public static final String SPAN_EVENT_UPLOAD = "ua.analytics.upload";
+
+    /**
+     * Time spent refreshing remote data.
+     */
+    @NonNull
+    public static final String SPAN_REMOTE_DATA_REFRESH = "ua.remotedata.refresh";
+
+    /**
+     * Time spent building and injecting the Javascript bridge into a web view.
+     */
+    @NonNull
+    public static final String SPAN_JS_BRIDGE_INJECT = "ua.webview.bridge.inject";
+
+    /**
+     * Prefix for the in-app message prepare steps.
+     */
+    @NonNull
+    public static final String SPAN_IAM_PREPARE_PREFIX = "ua.iam.prepare.";
+
+    /**
+     * Prefix for the time spent running a job, followed by the job action.
+     */
+    @NonNull
+    public static final String SPAN_JOB_PREFIX = "ua.job.";
+
+    /**
+     * Number of failed HTTP requests.
+     */
+    @NonNull
+    public static final String COUNT_REQUEST_FAILED = "ua.request.failed";
+
+    /**
+     * Number of events in each upload batch.
+     */
+    @NonNull
+    public static final String HISTOGRAM_EVENT_BATCH_SIZE = "ua.analytics.batch_size";
+
+    /**
+     * Time in milliseconds from an in-app message schedule triggering to its prepare result,
+     * including retries.
+     */
+    @NonNull
+    public static final String HISTOGRAM_IAM_PREPARE_TIME = "ua.iam.prepare_time";
+
+    private static volatile MetricsSink sink;
+    private static volatile boolean isTracingEnabled;
+
+    /**
+     * Private, unused constructor
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Sets the metrics sink.
+     *
+     * @param metricsSink The sink, or {@code null} to drop metrics.
+     */
+    public static void setSink(@Nullable MetricsSink metricsSink) {
+        sink = metricsSink;
+    }
+
+    /**
+     * Enables or disables system trace sections around spans.
+     *
+     * @param enabled {@code true} to emit trace sections, otherwise {@code false}.
+     */
+    public static void setTracingEnabled(boolean enabled) {
+        isTracingEnabled = enabled;
+    }
+
+    /**
+     * Checks if metrics are being recorded.
+     *
+     * @return {@code true} if a sink is set, otherwise {@code false}.
+     */
+    public static boolean isEnabled() {
+        return sink != null;
+    }
+
+    /**
+     * Increments a counter by one.
+     *
+     * @param name The metric name.
+     */
+    public static void count(@NonNull String name) {
+        count(name, 1);
+    }
+
+    /**
+     * Increments a counter.
+     *
+     * @param name The metric name.
+     * @param delta The amount to add.
+     */
+    public static void count(@NonNull String name, long delta) {
+        MetricsSink metricsSink = sink;
+        if (metricsSink != null) {
+            metricsSink.onCount(name, delta);
+        }
+    }
+
+    /**
+     * Records a histogram value.
+     *
+     * @param name The metric name.
+     * @param value The value.
+     */
+    public static void histogram(@NonNull String name, double value) {
+        MetricsSink metricsSink = sink;
+        if (metricsSink != null) {
+            metricsSink.onHistogram(name, value);
+        }
+    }
+
+    /**
+     * Starts a span. The span must be ended on the same thread, usually in a finally block.
+     *
+     * @param name The span name.
+     * @return The span.
+     */
+    @NonNull
+    public static Span startSpan(@NonNull String name) {
+        MetricsSink metricsSink = sink;
+        boolean tracing = isTracingEnabled;
+        if (metricsSink == null && !tracing) {
+            return Span.NO_OP;
+        }
+
+        return new Span(name, metricsSink, tracing);
+    }
+
+}
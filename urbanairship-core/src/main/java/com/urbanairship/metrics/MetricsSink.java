@@ -0,0 +1,40 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.metrics;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Receives the SDK performance metrics. Set with
+ * {@link com.urbanairship.AirshipConfigOptions.Builder#setMetricsSink(MetricsSink)}.
+ * <p>
+ * Callbacks are made on the thread that recorded the metric, often an SDK background thread,
+ * and should return quickly.
+ */
+public interface MetricsSink {
+
+    /**
+     * Called when a counter is incremented.
+     *
+     * @param name The metric name.
+     * @param delta The amount to add.
+     */
+    void onCount(@NonNull String name, long delta);
+
+    /**
+     * Called when a value is recorded for a histogram.
+     *
+     * @param name The metric name.
+     * @param value The value.
+     */
+    void onHistogram(@NonNull String name, double value);
+
+    /**
+     * Called when a span ends.
+     *
+     * @param name The span name.
+     * @param durationNanos The duration of the span in nanoseconds.
+     */
+    void onSpan(@NonNull String name, long durationNanos);
+
+}
@@ -0,0 +1,68 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.metrics;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+import androidx.core.os.TraceCompat;
+
+/**
+ * A timed section of work. Spans must be ended on the thread that started them.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class Span {
+
+    /**
+     * Span returned when metrics and tracing are disabled.
+     */
+    static final Span NO_OP = new Span(null, null, false);
+
+    private final String name;
+    private final MetricsSink sink;
+    private final boolean isTracing;
+    private final long startNanos;
+    private boolean isEnded;
+
+    Span(@Nullable String name, @Nullable MetricsSink sink, boolean isTracing) {
+        this.name = name;
+        this.sink = sink;
+        this.isTracing = isTracing;
+        this.startNanos = sink == null ? 0 : System.nanoTime();
+
+        if (isTracing) {
+            TraceCompat.beginSection(name);
+        }
+    }
+
+    /**
+     * Ends the span. Calling end more than once has no effect.
+     */
+    public void end() {
+        if (this == NO_OP || isEnded) {
+            return;
+        }
+
+        isEnded = true;
+
+        if (isTracing) {
+            TraceCompat.endSection();
+        }
+
+        if (sink != null) {
+            sink.onSpan(name, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Gets the span name.
+     *
+     * @return The span name, or {@code null} for the no-op span.
+     */
+    @Nullable
+    public String getName() {
+        return name;
+    }
+
+}
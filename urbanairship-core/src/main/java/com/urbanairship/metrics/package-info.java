@@ -0,0 +1,7 @@
+/* Copyright Airship and Contributors */
+
+/**
+ * Airship performance metrics.
+ */
+
+package com.urbanairship.metrics;
@@ -9,4 +9,11 @@ import androidx.annotation.RestrictTo;
 @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
 public interface AccengageModuleLoader extends ModuleLoader {
     AccengageNotificationHandler getAccengageNotificationHandler();
+
+    /**
+     * Checks if the module components can be initialized on first use instead of during takeOff.
+     *
+     * @return {@code true} if the init can be deferred, otherwise {@code false}.
+     */
+    boolean isInitDeferrable();
 }
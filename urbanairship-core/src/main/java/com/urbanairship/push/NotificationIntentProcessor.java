@@ -146,6 +146,11 @@ class NotificationIntentProcessor {
 
         runNotificationResponseActions(completionHandler);
 
+        // Accengage is initialized on first use, load it so its listener receives the response
+        if (notificationInfo.getMessage().isAccengagePush()) {
+            airship.getAccengageNotificationHandler();
+        }
+
         for (InternalNotificationListener internalNotificationListener : airship.getPushManager().getInternalNotificationListeners()) {
             internalNotificationListener.onNotificationResponse(notificationInfo, actionButtonInfo);
         }
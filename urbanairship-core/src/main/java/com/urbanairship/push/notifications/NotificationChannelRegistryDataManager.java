@@ -50,7 +50,7 @@ public class NotificationChannelRegistryDataManager extends DataManager {
      * @param dbName The database name.
      */
     public NotificationChannelRegistryDataManager(@NonNull Context context, @NonNull String appKey, @NonNull String dbName) {
-        super(context, appKey, dbName, DATABASE_VERSION);
+        super(context, appKey, dbName, DATABASE_VERSION, true);
     }
 
     @Override
@@ -7,10 +7,14 @@ import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
 import com.urbanairship.Predicate;
+import com.urbanairship.ResultCallback;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -178,7 +182,8 @@ public class Observable<T> {
     }
 
     /**
-     * Maps values in an Observable stream to new values
+     * Maps values in an Observable stream to new values. Consecutive map and filter operators are
+     * fused into a single observer.
      *
      * @param func The map function
      * @param <R> The type under observation of the result Observable.
@@ -186,32 +191,29 @@ public class Observable<T> {
      */
     @NonNull
     public <R> Observable<R> map(@NonNull final Function<T, R> func) {
-        return flatMap(new Function<T, Observable<R>>() {
-            @NonNull
+        return FusedObservable.create(this, new Stage<T, R>() {
+            @Nullable
             @Override
-            public Observable<R> apply(@NonNull T value) {
-                return just(func.apply(value));
+            public R apply(@NonNull T value) {
+                return func.apply(value);
             }
         });
     }
 
     /**
      * Filters values out of an Observable stream that do not pass the provided predicate.
+     * Consecutive map and filter operators are fused into a single observer.
      *
      * @param pred The predicate.
      * @return A filtered Observable.
      */
     @NonNull
     public Observable<T> filter(@NonNull final Predicate<T> pred) {
-        return flatMap(new Function<T, Observable<T>>() {
-            @NonNull
+        return FusedObservable.create(this, new Stage<T, T>() {
+            @Nullable
             @Override
-            public Observable<T> apply(@NonNull T value) {
-                if (pred.apply(value)) {
-                    return just(value);
-                } else {
-                    return empty();
-                }
+            public T apply(@NonNull T value) {
+                return pred.apply(value) ? value : null;
             }
         });
     }
@@ -277,7 +279,9 @@ public class Observable<T> {
     }
 
     /**
-     * Transforms an Observable stream to deliver its callbacks on the supplied scheduler.
+     * Transforms an Observable stream to deliver its callbacks on the supplied scheduler. Values
+     * are queued and drained by a single scheduled runnable, so a burst of values only schedules
+     * once.
      *
      * @param scheduler The scheduler.
      * @return A transformed Observable whose callbacks are delivered on the supplied scheduler.
@@ -289,46 +293,293 @@ public class Observable<T> {
             @Override
             public Subscription apply(@NonNull final Observer<T> observer) {
                 final SerialSubscription subscription = new SerialSubscription();
+                final ObserveOnObserver<T> observeOnObserver = new ObserveOnObserver<>(observer, scheduler, subscription, 0, null);
+                subscription.setSubscription(subscribe(observeOnObserver));
+                return subscription;
+            }
+        });
+    }
+
+    /**
+     * Transforms an Observable stream to deliver its callbacks on the supplied scheduler, keeping at
+     * most {@code capacity} undelivered values. When a value arrives and the queue is full, the
+     * oldest queued value is dropped.
+     *
+     * @param scheduler The scheduler.
+     * @param capacity The max number of undelivered values.
+     * @param onDrop Optional callback for dropped values. Called on the thread that sent the new value.
+     * @return A transformed Observable.
+     */
+    @NonNull
+    public Observable<T> onBackpressureBuffer(@NonNull final Scheduler scheduler, final int capacity, @Nullable final ResultCallback<T> onDrop) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+
+        return create(new Function<Observer<T>, Subscription>() {
+            @NonNull
+            @Override
+            public Subscription apply(@NonNull final Observer<T> observer) {
+                final SerialSubscription subscription = new SerialSubscription();
+                subscription.setSubscription(subscribe(new ObserveOnObserver<>(observer, scheduler, subscription, capacity, onDrop)));
+                return subscription;
+            }
+        });
+    }
+
+    /**
+     * Collects values into lists. A list is emitted once it has {@code count} values.
+     *
+     * @param count The max number of values in each list.
+     * @return A transformed Observable.
+     */
+    @NonNull
+    public Observable<List<T>> buffer(int count) {
+        return buffer(0, count, null);
+    }
+
+    /**
+     * Collects values into lists. A list is emitted once it has {@code count} values or once
+     * {@code timeMs} has passed since its first value, whichever happens first. Any buffered values
+     * are emitted before completion.
+     *
+     * @param timeMs The max time in milliseconds a value is buffered, or {@code 0} for no limit.
+     * @param count The max number of values in each list, or {@code 0} for no limit.
+     * @param scheduler The scheduler for the time limit. Required if {@code timeMs} is set.
+     * @return A transformed Observable.
+     */
+    @NonNull
+    public Observable<List<T>> buffer(final long timeMs, final int count, @Nullable final Scheduler scheduler) {
+        if (timeMs <= 0 && count <= 0) {
+            throw new IllegalArgumentException("Buffer requires a time or count limit");
+        }
+
+        if (timeMs > 0 && scheduler == null) {
+            throw new IllegalArgumentException("Buffer requires a scheduler for the time limit");
+        }
+
+        return create(new Function<Observer<List<T>>, Subscription>() {
+            @NonNull
+            @Override
+            public Subscription apply(@NonNull final Observer<List<T>> observer) {
+                return subscribeTimed(new TimedObserver<T, List<T>>(observer, scheduler) {
+                    private List<T> buffer;
 
-                subscription.setSubscription(subscribe(new Observer<T>() {
                     @Override
-                    public void onNext(@NonNull final T value) {
-                        scheduler.schedule(new Runnable() {
-                            @Override
-                            public void run() {
-                                if (!subscription.isCancelled()) {
-                                    observer.onNext(value);
-                                }
+                    void onValue(@NonNull T value) {
+                        if (buffer == null) {
+                            buffer = new ArrayList<>();
+                            if (timeMs > 0) {
+                                startTimer(timeMs);
                             }
-                        });
+                        }
+
+                        buffer.add(value);
+                        if (count > 0 && buffer.size() >= count) {
+                            flush();
+                        }
                     }
 
                     @Override
-                    public void onCompleted() {
-                        scheduler.schedule(new Runnable() {
-                            @Override
-                            public void run() {
-                                if (!subscription.isCancelled()) {
-                                    observer.onCompleted();
-                                }
-                            }
-                        });
+                    void onTimer() {
+                        flush();
                     }
 
                     @Override
-                    public void onError(@NonNull final Exception e) {
-                        scheduler.schedule(new Runnable() {
-                            @Override
-                            public void run() {
-                                if (!subscription.isCancelled()) {
-                                    observer.onError(e);
-                                }
+                    void onFinish() {
+                        flush();
+                    }
+
+                    private void flush() {
+                        cancelTimer();
+                        if (buffer != null) {
+                            List<T> values = buffer;
+                            buffer = null;
+                            observer.onNext(values);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Splits values into windows. Each window is emitted as an Observable before its first value,
+     * and completes once it has {@code count} values or once {@code timeMs} has passed since it
+     * opened, whichever happens first. Windows are not replayed, so they must be subscribed to
+     * when they are emitted.
+     *
+     * @param timeMs The max time in milliseconds a window is open, or {@code 0} for no limit.
+     * @param count The max number of values in each window, or {@code 0} for no limit.
+     * @param scheduler The scheduler for the time limit. Required if {@code timeMs} is set.
+     * @return A transformed Observable.
+     */
+    @NonNull
+    public Observable<Observable<T>> window(final long timeMs, final int count, @Nullable final Scheduler scheduler) {
+        if (timeMs <= 0 && count <= 0) {
+            throw new IllegalArgumentException("Window requires a time or count limit");
+        }
+
+        if (timeMs > 0 && scheduler == null) {
+            throw new IllegalArgumentException("Window requires a scheduler for the time limit");
+        }
+
+        return create(new Function<Observer<Observable<T>>, Subscription>() {
+            @NonNull
+            @Override
+            public Subscription apply(@NonNull final Observer<Observable<T>> observer) {
+                return subscribeTimed(new TimedObserver<T, Observable<T>>(observer, scheduler) {
+                    private Subject<T> window;
+                    private int windowCount;
+
+                    @Override
+                    void onValue(@NonNull T value) {
+                        if (window == null) {
+                            window = Subject.create();
+                            windowCount = 0;
+                            observer.onNext(window);
+                            if (timeMs > 0) {
+                                startTimer(timeMs);
                             }
-                        });
+                        }
+
+                        window.onNext(value);
+                        windowCount++;
+                        if (count > 0 && windowCount >= count) {
+                            close();
+                        }
                     }
-                }));
 
-                return subscription;
+                    @Override
+                    void onTimer() {
+                        close();
+                    }
+
+                    @Override
+                    void onFinish() {
+                        close();
+                    }
+
+                    @Override
+                    void onFailure(@NonNull Exception e) {
+                        cancelTimer();
+                        if (window != null) {
+                            window.onError(e);
+                            window = null;
+                        }
+                    }
+
+                    private void close() {
+                        cancelTimer();
+                        if (window != null) {
+                            window.onCompleted();
+                            window = null;
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Emits a value only after {@code timeMs} has passed without another value. The pending value
+     * is emitted before completion.
+     *
+     * @param timeMs The quiet time in milliseconds.
+     * @param scheduler The scheduler.
+     * @return A transformed Observable.
+     */
+    @NonNull
+    public Observable<T> debounce(final long timeMs, @NonNull final Scheduler scheduler) {
+        return create(new Function<Observer<T>, Subscription>() {
+            @NonNull
+            @Override
+            public Subscription apply(@NonNull final Observer<T> observer) {
+                return subscribeTimed(new TimedObserver<T, T>(observer, scheduler) {
+                    private T latest;
+
+                    @Override
+                    void onValue(@NonNull T value) {
+                        latest = value;
+                        startTimer(timeMs);
+                    }
+
+                    @Override
+                    void onTimer() {
+                        emitLatest();
+                    }
+
+                    @Override
+                    void onFinish() {
+                        cancelTimer();
+                        emitLatest();
+                    }
+
+                    private void emitLatest() {
+                        if (latest != null) {
+                            T value = latest;
+                            latest = null;
+                            observer.onNext(value);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Emits the first value immediately, then at most one value every {@code timeMs}, choosing the
+     * latest value received during each interval. The pending value is emitted before completion.
+     *
+     * @param timeMs The interval in milliseconds.
+     * @param scheduler The scheduler.
+     * @return A transformed Observable.
+     */
+    @NonNull
+    public Observable<T> throttleLatest(final long timeMs, @NonNull final Scheduler scheduler) {
+        return create(new Function<Observer<T>, Subscription>() {
+            @NonNull
+            @Override
+            public Subscription apply(@NonNull final Observer<T> observer) {
+                return subscribeTimed(new TimedObserver<T, T>(observer, scheduler) {
+                    private T latest;
+                    private boolean isThrottling;
+
+                    @Override
+                    void onValue(@NonNull T value) {
+                        if (isThrottling) {
+                            latest = value;
+                            return;
+                        }
+
+                        isThrottling = true;
+                        startTimer(timeMs);
+                        observer.onNext(value);
+                    }
+
+                    @Override
+                    void onTimer() {
+                        if (latest == null) {
+                            isThrottling = false;
+                            return;
+                        }
+
+                        T value = latest;
+                        latest = null;
+                        startTimer(timeMs);
+                        observer.onNext(value);
+                    }
+
+                    @Override
+                    void onFinish() {
+                        cancelTimer();
+                        if (latest != null) {
+                            T value = latest;
+                            latest = null;
+                            observer.onNext(value);
+                        }
+                    }
+                });
             }
         });
     }
@@ -606,6 +857,25 @@ public class Observable<T> {
         });
     }
 
+    /**
+     * Subscribes a timed observer and returns a subscription that also cancels its timer.
+     *
+     * @param timedObserver The timed observer.
+     * @return The subscription.
+     */
+    @NonNull
+    private Subscription subscribeTimed(@NonNull final TimedObserver<T, ?> timedObserver) {
+        CompoundSubscription subscription = new CompoundSubscription();
+        subscription.add(Subscription.create(new Runnable() {
+            @Override
+            public void run() {
+                timedObserver.cancel();
+            }
+        }));
+        subscription.add(subscribe(timedObserver));
+        return subscription;
+    }
+
     /**
      * Bind operator for Observables
      *
@@ -664,6 +934,335 @@ public class Observable<T> {
         });
     }
 
+    /**
+     * Observable that applies a chain of map and filter operators with a single observer. A
+     * {@code null} result from the fused stage drops the value.
+     *
+     * @param <S> The type of the source Observable.
+     * @param <T> The type under observation.
+     */
+    private static class FusedObservable<S, T> extends Observable<T> {
+
+        private final Observable<S> source;
+        private final Stage<S, T> stage;
+
+        private FusedObservable(@NonNull Observable<S> source, @NonNull Stage<S, T> stage) {
+            this.source = source;
+            this.stage = stage;
+        }
+
+        /**
+         * Creates a fused Observable, composing the stage with the source's if the source is
+         * also fused.
+         *
+         * @param source The source Observable.
+         * @param stage The stage.
+         * @param <S> The source type.
+         * @param <T> The result type.
+         * @return The fused Observable.
+         */
+        @NonNull
+        static <S, T> Observable<T> create(@NonNull Observable<S> source, @NonNull Stage<S, T> stage) {
+            if (source instanceof FusedObservable) {
+                return ((FusedObservable<?, S>) source).andThen(stage);
+            }
+
+            return new FusedObservable<>(source, stage);
+        }
+
+        @NonNull
+        private <R> Observable<R> andThen(@NonNull final Stage<T, R> next) {
+            final Stage<S, T> first = stage;
+            return new FusedObservable<>(source, new Stage<S, R>() {
+                @Nullable
+                @Override
+                public R apply(@NonNull S value) {
+                    T result = first.apply(value);
+                    return result == null ? null : next.apply(result);
+                }
+            });
+        }
+
+        @NonNull
+        @Override
+        public Subscription subscribe(@NonNull final Observer<T> observer) {
+            final SerialSubscription subscription = new SerialSubscription();
+
+            subscription.setSubscription(source.subscribe(new Observer<S>() {
+                @Override
+                public void onNext(@NonNull S value) {
+                    if (subscription.isCancelled()) {
+                        return;
+                    }
+
+                    T result = stage.apply(value);
+                    if (result != null) {
+                        observer.onNext(result);
+                    }
+                }
+
+                @Override
+                public void onCompleted() {
+                    observer.onCompleted();
+                }
+
+                @Override
+                public void onError(@NonNull Exception e) {
+                    observer.onError(e);
+                }
+            }));
+
+            return subscription;
+        }
+
+    }
+
+    /**
+     * A fused map or filter step.
+     *
+     * @param <S> The source type.
+     * @param <T> The result type.
+     */
+    private interface Stage<S, T> {
+
+        /**
+         * Applies the step.
+         *
+         * @param value The source value.
+         * @return The result, or {@code null} to drop the value.
+         */
+        @Nullable
+        T apply(@NonNull S value);
+
+    }
+
+    /**
+     * Base observer for the time based operators. Callbacks are serialized on the observer and
+     * timers are started and cancelled while holding its lock.
+     *
+     * @param <T> The source type.
+     * @param <R> The downstream type.
+     */
+    private abstract static class TimedObserver<T, R> implements Observer<T> {
+
+        final Observer<R> observer;
+        private final Scheduler scheduler;
+        private Subscription timer;
+        private int timerId;
+        private boolean isDone;
+
+        TimedObserver(@NonNull Observer<R> observer, @Nullable Scheduler scheduler) {
+            this.observer = observer;
+            this.scheduler = scheduler;
+        }
+
+        /**
+         * Called with each value.
+         *
+         * @param value The value.
+         */
+        abstract void onValue(@NonNull T value);
+
+        /**
+         * Called when the timer fires.
+         */
+        abstract void onTimer();
+
+        /**
+         * Called before the downstream observer is completed.
+         */
+        abstract void onFinish();
+
+        /**
+         * Called before the downstream observer receives an error.
+         *
+         * @param e The error.
+         */
+        void onFailure(@NonNull Exception e) {
+            cancelTimer();
+        }
+
+        /**
+         * Starts the timer, replacing any running timer.
+         *
+         * @param delayMs The delay in milliseconds.
+         */
+        void startTimer(long delayMs) {
+            cancelTimer();
+
+            final int id = ++timerId;
+            timer = scheduler.schedule(delayMs, new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (TimedObserver.this) {
+                        if (isDone || id != timerId) {
+                            return;
+                        }
+
+                        timer = null;
+                        onTimer();
+                    }
+                }
+            });
+        }
+
+        /**
+         * Cancels the timer.
+         */
+        void cancelTimer() {
+            timerId++;
+            if (timer != null) {
+                timer.cancel();
+                timer = null;
+            }
+        }
+
+        synchronized void cancel() {
+            isDone = true;
+            cancelTimer();
+        }
+
+        @Override
+        public synchronized void onNext(@NonNull T value) {
+            if (!isDone) {
+                onValue(value);
+            }
+        }
+
+        @Override
+        public synchronized void onCompleted() {
+            if (isDone) {
+                return;
+            }
+
+            onFinish();
+            isDone = true;
+            observer.onCompleted();
+        }
+
+        @Override
+        public synchronized void onError(@NonNull Exception e) {
+            if (isDone) {
+                return;
+            }
+
+            onFailure(e);
+            isDone = true;
+            observer.onError(e);
+        }
+
+    }
+
+    /**
+     * Observer for {@link #observeOn(Scheduler)} that queues values and drains them on the scheduler.
+     *
+     * @param <T> The type under observation.
+     */
+    private static class ObserveOnObserver<T> implements Observer<T>, Runnable {
+
+        private final Observer<T> observer;
+        private final Scheduler scheduler;
+        private final Subscription subscription;
+        private final int capacity;
+        private final ResultCallback<T> onDrop;
+        private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private volatile boolean isDone;
+        private volatile Exception error;
+        private boolean isTerminated;
+
+        /**
+         * Default constructor.
+         *
+         * @param observer The downstream observer.
+         * @param scheduler The scheduler.
+         * @param subscription The subscription.
+         * @param capacity The max number of queued values, or {@code 0} for no limit.
+         * @param onDrop Called with the oldest value when it is dropped to stay within the capacity.
+         */
+        ObserveOnObserver(@NonNull Observer<T> observer, @NonNull Scheduler scheduler, @NonNull Subscription subscription,
+                          int capacity, @Nullable ResultCallback<T> onDrop) {
+            this.observer = observer;
+            this.scheduler = scheduler;
+            this.subscription = subscription;
+            this.capacity = capacity;
+            this.onDrop = onDrop;
+        }
+
+        @Override
+        public void onNext(@NonNull T value) {
+            if (subscription.isCancelled()) {
+                return;
+            }
+
+            queue.offer(value);
+            if (size.incrementAndGet() > capacity && capacity > 0) {
+                T dropped = queue.poll();
+                if (dropped != null) {
+                    size.decrementAndGet();
+                    if (onDrop != null) {
+                        onDrop.onResult(dropped);
+                    }
+                }
+            }
+
+            drain();
+        }
+
+        @Override
+        public void onCompleted() {
+            isDone = true;
+            drain();
+        }
+
+        @Override
+        public void onError(@NonNull Exception e) {
+            error = e;
+            isDone = true;
+            drain();
+        }
+
+        private void drain() {
+            if (pending.getAndIncrement() == 0) {
+                scheduler.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            while (true) {
+                T value;
+                while ((value = queue.poll()) != null) {
+                    size.decrementAndGet();
+                    if (subscription.isCancelled()) {
+                        queue.clear();
+                        return;
+                    }
+                    observer.onNext(value);
+                }
+
+                if (isDone && !isTerminated && !subscription.isCancelled()) {
+                    isTerminated = true;
+                    Exception e = error;
+                    if (e != null) {
+                        observer.onError(e);
+                    } else {
+                        observer.onCompleted();
+                    }
+                }
+
+                missed = pending.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+    }
+
     /**
      * Generic value holder class.
      *
@@ -5,8 +5,14 @@ package com.urbanairship.reactive;
 import android.os.Handler;
 import android.os.Looper;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
+import com.urbanairship.AirshipExecutors;
+import com.urbanairship.AirshipLoopers;
+
+import java.util.concurrent.Executor;
+
 /**
  * Scheduler implementations
  *
@@ -16,15 +22,27 @@ import androidx.annotation.RestrictTo;
 public class Schedulers {
 
     private static LooperScheduler main;
+    private static LooperScheduler background;
+    private static ExecutorScheduler io;
 
     /**
-     * Creates a Scheduler that targets the provided looper at scheduler time.
+     * Gets the Scheduler that targets the provided looper at scheduler time. The main and SDK
+     * background looper schedulers are shared, other loopers get a new scheduler so they are not
+     * kept alive by a cache.
      *
      * @param looper The looper to schedule on.
      * @return A Scheduler.
      */
     @NonNull
     public static LooperScheduler looper(@NonNull Looper looper) {
+        if (looper == Looper.getMainLooper()) {
+            return main();
+        }
+
+        if (looper == AirshipLoopers.getBackgroundLooper()) {
+            return background();
+        }
+
         return new LooperScheduler(looper);
     }
 
@@ -34,20 +52,50 @@ public class Schedulers {
      * @return A Scheduler.
      */
     @NonNull
-    public static LooperScheduler main() {
+    public static synchronized LooperScheduler main() {
         if (main == null) {
-            main = looper(Looper.getMainLooper());
+            main = new LooperScheduler(Looper.getMainLooper());
         }
 
         return main;
     }
 
+    /**
+     * Gets the scheduler that targets the shared SDK background looper. Runnables are executed
+     * serially.
+     *
+     * @return A Scheduler.
+     */
+    @NonNull
+    public static synchronized LooperScheduler background() {
+        if (background == null) {
+            background = new LooperScheduler(AirshipLoopers.getBackgroundLooper());
+        }
+
+        return background;
+    }
+
+    /**
+     * Gets the scheduler backed by the shared {@link AirshipExecutors#THREAD_POOL_EXECUTOR}, for
+     * blocking work such as disk or network access. Runnables may run concurrently.
+     *
+     * @return A Scheduler.
+     */
+    @NonNull
+    public static synchronized ExecutorScheduler io() {
+        if (io == null) {
+            io = new ExecutorScheduler(AirshipExecutors.THREAD_POOL_EXECUTOR);
+        }
+
+        return io;
+    }
+
     /**
      * Scheduler that targets a specific RunLoop at schedule time.
      */
     public static class LooperScheduler implements Scheduler {
 
-        private final Looper looper;
+        private final Handler handler;
 
         /**
          * Run loop Scheduler constructor.
@@ -55,39 +103,108 @@ public class Schedulers {
          * @param looper The looper to scheduler on.
          */
         public LooperScheduler(@NonNull Looper looper) {
-            this.looper = looper;
+            this.handler = new Handler(looper);
         }
 
         @NonNull
         public Subscription schedule(@NonNull final Runnable runnable) {
-            final Subscription subscription = Subscription.empty();
+            ScheduledRunnable scheduled = new ScheduledRunnable(runnable, handler);
+            handler.post(scheduled);
+            return scheduled;
+        }
 
-            new Handler(looper).post(new Runnable() {
-                @Override
-                public void run() {
-                    if (!subscription.isCancelled()) {
-                        runnable.run();
-                    }
-                }
-            });
+        @NonNull
+        public Subscription schedule(long delayTimeMs, @NonNull final Runnable runnable) {
+            ScheduledRunnable scheduled = new ScheduledRunnable(runnable, handler);
+            handler.postDelayed(scheduled, delayTimeMs);
+            return scheduled;
+        }
+
+    }
+
+    /**
+     * Scheduler that runs on an executor. Delayed runnables are timed on the shared SDK background
+     * looper and then handed to the executor.
+     */
+    public static class ExecutorScheduler implements Scheduler {
+
+        private final Executor executor;
 
-            return subscription;
+        /**
+         * Executor Scheduler constructor.
+         *
+         * @param executor The executor to schedule on.
+         */
+        public ExecutorScheduler(@NonNull Executor executor) {
+            this.executor = executor;
         }
 
         @NonNull
-        public Subscription schedule(long delayTimeMs, @NonNull final Runnable runnable) {
-            final Subscription subscription = Subscription.empty();
+        @Override
+        public Subscription schedule(@NonNull Runnable runnable) {
+            ScheduledRunnable scheduled = new ScheduledRunnable(runnable, null);
+            executor.execute(scheduled);
+            return scheduled;
+        }
 
-            new Handler(looper).postDelayed(new Runnable() {
+        @NonNull
+        @Override
+        public Subscription schedule(long delayTimeMs, @NonNull Runnable runnable) {
+            final ScheduledRunnable scheduled = new ScheduledRunnable(runnable, null);
+            Handler timer = background().handler;
+            ScheduledRunnable delay = new ScheduledRunnable(new Runnable() {
                 @Override
                 public void run() {
-                    if (!subscription.isCancelled()) {
-                        runnable.run();
+                    if (!scheduled.isCancelled()) {
+                        executor.execute(scheduled);
                     }
                 }
-            }, delayTimeMs);
+            }, timer);
+
+            scheduled.setOnCancel(delay);
+            timer.postDelayed(delay, delayTimeMs);
+            return scheduled;
+        }
+
+    }
+
+    /**
+     * A scheduled runnable that is also its own subscription. Cancelling it removes it from the
+     * handler so cancelled runnables do not hold on to the looper queue.
+     */
+    private static class ScheduledRunnable extends Subscription implements Runnable {
+
+        private final Runnable runnable;
+        private final Handler handler;
+        private Subscription onCancel;
+
+        ScheduledRunnable(@NonNull Runnable runnable, @Nullable Handler handler) {
+            this.runnable = runnable;
+            this.handler = handler;
+        }
+
+        synchronized void setOnCancel(@NonNull Subscription onCancel) {
+            this.onCancel = onCancel;
+        }
+
+        @Override
+        public void run() {
+            if (!isCancelled()) {
+                runnable.run();
+            }
+        }
+
+        @Override
+        public synchronized void cancel() {
+            super.cancel();
+
+            if (handler != null) {
+                handler.removeCallbacks(this);
+            }
 
-            return subscription;
+            if (onCancel != null) {
+                onCancel.cancel();
+            }
         }
 
     }
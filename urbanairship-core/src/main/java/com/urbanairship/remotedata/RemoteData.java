@@ -5,7 +5,7 @@ package com.urbanairship.remotedata;
 import android.content.Context;
 import android.content.pm.PackageInfo;
 import android.os.Handler;
-import android.os.HandlerThread;
+import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
@@ -14,6 +14,7 @@ import androidx.annotation.WorkerThread;
 
 import com.urbanairship.AirshipComponent;
 import com.urbanairship.AirshipConfigOptions;
+import com.urbanairship.AirshipLoopers;
 import com.urbanairship.Logger;
 import com.urbanairship.PreferenceDataStore;
 import com.urbanairship.UAirship;
@@ -30,7 +31,6 @@ import com.urbanairship.reactive.Observable;
 import com.urbanairship.reactive.Schedulers;
 import com.urbanairship.reactive.Subject;
 import com.urbanairship.reactive.Supplier;
-import com.urbanairship.util.AirshipHandlerThread;
 import com.urbanairship.util.UAStringUtil;
 
 import java.util.Arrays;
@@ -84,7 +84,7 @@ public class RemoteData extends AirshipComponent {
     private final LocaleManager localeManager;
     private RemoteDataJobHandler jobHandler;
     private final PreferenceDataStore preferenceDataStore;
-    private Handler backgroundHandler;
+    private final Handler backgroundHandler;
     private final ActivityMonitor activityMonitor;
 
     private final ApplicationListener applicationListener = new SimpleApplicationListener() {
@@ -100,7 +100,7 @@ public class RemoteData extends AirshipComponent {
 
     @VisibleForTesting
     final
-    HandlerThread backgroundThread;
+    Looper backgroundLooper;
 
     @VisibleForTesting
     final
@@ -137,7 +137,8 @@ public class RemoteData extends AirshipComponent {
         this.jobDispatcher = dispatcher;
         this.dataStore = new RemoteDataStore(context, configOptions.appKey, DATABASE_NAME);
         this.preferenceDataStore = preferenceDataStore;
-        this.backgroundThread = new AirshipHandlerThread("remote data store");
+        this.backgroundLooper = AirshipLoopers.getBackgroundLooper();
+        this.backgroundHandler = new Handler(backgroundLooper);
         this.payloadUpdates = Subject.create();
         this.activityMonitor = activityMonitor;
         this.localeManager = localeManager;
@@ -146,8 +147,6 @@ public class RemoteData extends AirshipComponent {
     @Override
     protected void init() {
         super.init();
-        backgroundThread.start();
-        backgroundHandler = new Handler(this.backgroundThread.getLooper());
         activityMonitor.addApplicationListener(applicationListener);
 
         localeManager.addListener(new LocaleChangedListener() {
@@ -167,7 +166,7 @@ public class RemoteData extends AirshipComponent {
     @Override
     protected void tearDown() {
         activityMonitor.removeApplicationListener(applicationListener);
-        backgroundThread.quit();
+        backgroundHandler.removeCallbacksAndMessages(null);
     }
 
     @WorkerThread
@@ -385,7 +384,7 @@ public class RemoteData extends AirshipComponent {
             @Override
             public Observable<Set<RemoteDataPayload>> apply() {
                 return Observable.just(dataStore.getPayloads(types))
-                                 .subscribeOn(Schedulers.looper(backgroundHandler.getLooper()));
+                                 .subscribeOn(Schedulers.looper(backgroundLooper));
             }
         });
     }
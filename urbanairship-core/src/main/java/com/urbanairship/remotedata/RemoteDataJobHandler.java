@@ -15,6 +15,8 @@ import com.urbanairship.json.JsonException;
 import com.urbanairship.json.JsonMap;
 import com.urbanairship.json.JsonValue;
 import com.urbanairship.locale.LocaleManager;
+import com.urbanairship.metrics.Metrics;
+import com.urbanairship.metrics.Span;
 import com.urbanairship.util.UAStringUtil;
 
 import java.util.Locale;
@@ -71,7 +73,12 @@ public class RemoteDataJobHandler {
     protected int performJob(@NonNull JobInfo jobInfo) {
         switch (jobInfo.getAction()) {
             case ACTION_REFRESH:
-                return onRefresh();
+                Span span = Metrics.startSpan(Metrics.SPAN_REMOTE_DATA_REFRESH);
+                try {
+                    return onRefresh();
+                } finally {
+                    span.end();
+                }
         }
 
         return JobInfo.JOB_FINISHED;
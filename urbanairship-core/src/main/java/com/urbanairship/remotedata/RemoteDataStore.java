@@ -59,7 +59,7 @@ public class RemoteDataStore extends DataManager {
      * @param dbName The database name.
      */
     public RemoteDataStore(@NonNull Context context, @NonNull String appKey, @NonNull String dbName) {
-        super(context, appKey, dbName, DATABASE_VERSION);
+        super(context, appKey, dbName, DATABASE_VERSION, true);
     }
 
     @Override
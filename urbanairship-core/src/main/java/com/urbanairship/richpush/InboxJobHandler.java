@@ -18,6 +18,7 @@ import com.urbanairship.json.JsonMap;
 import com.urbanairship.json.JsonValue;
 import com.urbanairship.util.UAStringUtil;
 
+import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -81,15 +82,18 @@ class InboxJobHandler {
     private final RequestFactory requestFactory;
     private final PreferenceDataStore dataStore;
     private final UAirship airship;
+    private final MessageBodyCache bodyCache;
 
     InboxJobHandler(Context context, @NonNull UAirship airship, PreferenceDataStore dataStore) {
-        this(airship, dataStore, RequestFactory.DEFAULT_REQUEST_FACTORY, new RichPushResolver(context));
+        this(airship, dataStore, RequestFactory.DEFAULT_REQUEST_FACTORY, new RichPushResolver(context),
+                airship.getInbox().getMessageBodyCache());
     }
 
     @VisibleForTesting
     InboxJobHandler(UAirship airship, PreferenceDataStore dataStore,
-                    RequestFactory requestFactory, RichPushResolver resolver) {
+                    RequestFactory requestFactory, RichPushResolver resolver, MessageBodyCache bodyCache) {
         this.dataStore = dataStore;
+        this.bodyCache = bodyCache;
         this.requestFactory = requestFactory;
         this.resolver = resolver;
         this.airship = airship;
@@ -135,6 +139,7 @@ class InboxJobHandler {
             airship.getInbox().onUpdateMessagesFinished(success);
             this.syncReadMessageState();
             this.syncDeletedMessageState();
+            this.prefetchMessageBodies();
         }
     }
 
@@ -269,6 +274,59 @@ class InboxJobHandler {
         resolver.deleteMessages(deletedMessageIds);
     }
 
+    /**
+     * Downloads the bodies of the inbox messages, newest first, until the cache budget is reached.
+     * Bodies of deleted or expired messages are removed, and bodies of older messages are evicted
+     * to make room for newer ones.
+     */
+    private void prefetchMessageBodies() {
+        List<RichPushMessage> messages = airship.getInbox().getMessages();
+
+        Set<String> messageIds = new HashSet<>();
+        for (RichPushMessage message : messages) {
+            messageIds.add(message.getMessageId());
+        }
+        bodyCache.retainAll(messageIds);
+
+        for (RichPushMessage message : messages) {
+            if (bodyCache.contains(message.getMessageId()) || bodyCache.isRefused(message.getMessageId())) {
+                continue;
+            }
+
+            // Messages are sorted newest first, so no remaining body would fit either
+            if (!bodyCache.hasSpace(message.getSentDateMS())) {
+                Logger.debug("InboxJobHandler - Message body cache is full.");
+                return;
+            }
+
+            URL bodyUrl;
+            try {
+                bodyUrl = new URL(message.getMessageBodyUrl());
+            } catch (MalformedURLException e) {
+                Logger.error(e, "InboxJobHandler - Invalid message body URL: %s", message.getMessageBodyUrl());
+                continue;
+            }
+
+            Response response = requestFactory.createRequest("GET", bodyUrl)
+                                              .setCredentials(user.getId(), user.getPassword())
+                                              .setHeader(CHANNEL_ID_HEADER, airship.getChannel().getId())
+                                              .execute();
+
+            if (response == null || response.getStatus() != HttpURLConnection.HTTP_OK || response.getResponseBody() == null) {
+                Logger.debug("InboxJobHandler - Unable to prefetch body for message %s: %s", message.getMessageId(), response);
+                continue;
+            }
+
+            try {
+                if (!bodyCache.put(message.getMessageId(), message.getSentDateMS(), response.getResponseBody())) {
+                    Logger.debug("InboxJobHandler - Body for message %s does not fit the cache.", message.getMessageId());
+                }
+            } catch (IOException e) {
+                Logger.error(e, "InboxJobHandler - Unable to store body for message %s", message.getMessageId());
+            }
+        }
+    }
+
     /**
      * Synchronizes local deleted message state with the server.
      */
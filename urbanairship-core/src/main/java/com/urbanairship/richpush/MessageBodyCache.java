@@ -0,0 +1,333 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.richpush;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
+
+import com.urbanairship.Logger;
+import com.urbanairship.util.UAStringUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Disk store for prefetched message bodies. Bodies are stored as UTF-8 HTML, one file per message,
+ * and the store is kept within a size budget. Each file's modified time is set to the message sent
+ * date, and the bodies of the oldest messages are evicted first when the budget is reached.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class MessageBodyCache {
+
+    /**
+     * Mime type of the stored bodies.
+     */
+    @NonNull
+    public static final String MIME_TYPE = "text/html";
+
+    /**
+     * Encoding of the stored bodies.
+     */
+    @NonNull
+    public static final String ENCODING = "UTF-8";
+
+    /**
+     * Cache directory name.
+     */
+    static final String DIRECTORY_NAME = "com.urbanairship.richpush.bodies";
+
+    /**
+     * Default disk budget.
+     */
+    static final long DEFAULT_MAX_SIZE = 5 * 1024 * 1024; // 5 MB
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final Comparator<File> OLDEST_FIRST = new Comparator<File>() {
+        @Override
+        public int compare(@NonNull File lh, @NonNull File rh) {
+            long lhModified = lh.lastModified();
+            long rhModified = rh.lastModified();
+            return lhModified < rhModified ? -1 : (lhModified == rhModified ? 0 : 1);
+        }
+    };
+
+    private final File directory;
+    private final long maxSize;
+    private final Set<String> refusedMessageIds = new HashSet<>();
+
+    /**
+     * Default constructor.
+     *
+     * @param directory The directory for the bodies.
+     */
+    MessageBodyCache(@NonNull File directory) {
+        this(directory, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a cache with a custom budget.
+     *
+     * @param directory The directory for the bodies.
+     * @param maxSize The max size in bytes.
+     */
+    @VisibleForTesting
+    MessageBodyCache(@NonNull File directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Checks if the message body is stored.
+     *
+     * @param messageId The message ID.
+     * @return {@code true} if the body is stored, otherwise {@code false}.
+     */
+    public synchronized boolean contains(@NonNull String messageId) {
+        return getFile(messageId).exists();
+    }
+
+    /**
+     * Checks if the message body was refused because it did not fit the budget. Refusals are
+     * forgotten once a body is removed.
+     *
+     * @param messageId The message ID.
+     * @return {@code true} if the body was refused, otherwise {@code false}.
+     */
+    public synchronized boolean isRefused(@NonNull String messageId) {
+        return refusedMessageIds.contains(messageId);
+    }
+
+    /**
+     * Opens the stored message body.
+     *
+     * @param messageId The message ID.
+     * @return The body stream, or {@code null} if the body is not stored.
+     */
+    @Nullable
+    public synchronized InputStream open(@NonNull String messageId) {
+        File file = getFile(messageId);
+        if (!file.exists()) {
+            return null;
+        }
+
+        try {
+            return new FileInputStream(file);
+        } catch (FileNotFoundException e) {
+            Logger.debug(e, "MessageBodyCache - Unable to open body for message: %s", messageId);
+            return null;
+        }
+    }
+
+    /**
+     * Checks if a body for a message sent at the given date could be stored, either because the
+     * store is under budget or because it holds bodies of older messages that can be evicted.
+     *
+     * @param sentDate The message sent date in milliseconds.
+     * @return {@code true} if there is space for the body, otherwise {@code false}.
+     */
+    @WorkerThread
+    public synchronized boolean hasSpace(long sentDate) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return true;
+        }
+
+        long size = 0;
+        for (File file : files) {
+            if (file.lastModified() < sentDate) {
+                return true;
+            }
+            size += file.length();
+        }
+
+        return size < maxSize;
+    }
+
+    /**
+     * Stores a message body. If the body does not fit the budget, bodies of messages sent before
+     * this one are evicted, oldest first. Bodies of newer messages are never evicted.
+     *
+     * @param messageId The message ID.
+     * @param sentDate The message sent date in milliseconds.
+     * @param body The message body.
+     * @return {@code true} if the body was stored, {@code false} if it does not fit the budget.
+     * @throws IOException If the body failed to write.
+     */
+    @WorkerThread
+    public synchronized boolean put(@NonNull String messageId, long sentDate, @NonNull String body) throws IOException {
+        byte[] bytes = body.getBytes(Charset.forName(ENCODING));
+        if (!evict(bytes.length, sentDate)) {
+            refusedMessageIds.add(messageId);
+            return false;
+        }
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory: " + directory);
+        }
+
+        File file = getFile(messageId);
+        File tempFile = new File(directory, file.getName() + TEMP_SUFFIX);
+
+        FileOutputStream output = null;
+        try {
+            output = new FileOutputStream(tempFile);
+            output.write(bytes);
+            output.close();
+            output = null;
+
+            if (!tempFile.renameTo(file)) {
+                throw new IOException("Unable to rename body file for message: " + messageId);
+            }
+
+            if (!file.setLastModified(Math.max(0, sentDate))) {
+                Logger.debug("MessageBodyCache - Unable to set the sent date for message: %s", messageId);
+            }
+
+            return true;
+        } finally {
+            if (output != null) {
+                try {
+                    output.close();
+                } catch (IOException e) {
+                    Logger.debug(e, "MessageBodyCache - Failed to close body file.");
+                }
+            }
+
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * Evicts the bodies of messages sent before the given date, oldest first, until a body of the
+     * given length fits the budget. Nothing is evicted if it would not make enough room.
+     *
+     * @param length The body length in bytes.
+     * @param sentDate The message sent date in milliseconds.
+     * @return {@code true} if the body fits the budget, otherwise {@code false}.
+     */
+    private boolean evict(long length, long sentDate) {
+        if (length > maxSize) {
+            return false;
+        }
+
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return true;
+        }
+
+        long size = 0;
+        long evictableSize = 0;
+        List<File> evictable = new ArrayList<>();
+        for (File file : files) {
+            size += file.length();
+            if (file.lastModified() < sentDate) {
+                evictable.add(file);
+                evictableSize += file.length();
+            }
+        }
+
+        if (size + length <= maxSize) {
+            return true;
+        }
+
+        if (size - evictableSize + length > maxSize) {
+            return false;
+        }
+
+        Collections.sort(evictable, OLDEST_FIRST);
+        for (File file : evictable) {
+            long fileLength = file.length();
+            if (file.delete()) {
+                size -= fileLength;
+            }
+
+            if (size + length <= maxSize) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes the stored bodies.
+     *
+     * @param messageIds The message IDs.
+     */
+    public synchronized void remove(@NonNull Collection<String> messageIds) {
+        for (String messageId : messageIds) {
+            if (getFile(messageId).delete()) {
+                refusedMessageIds.clear();
+            }
+        }
+    }
+
+    /**
+     * Removes every stored body that is not in the collection.
+     *
+     * @param messageIds The message IDs to keep.
+     */
+    @WorkerThread
+    public synchronized void retainAll(@NonNull Collection<String> messageIds) {
+        refusedMessageIds.retainAll(messageIds);
+
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        Set<String> names = new HashSet<>();
+        for (String messageId : messageIds) {
+            names.add(getFile(messageId).getName());
+        }
+
+        for (File file : files) {
+            if (!names.contains(file.getName()) && file.delete()) {
+                refusedMessageIds.clear();
+            }
+        }
+    }
+
+    /**
+     * Gets the size of the stored bodies.
+     *
+     * @return The size in bytes.
+     */
+    synchronized long getSize() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return 0;
+        }
+
+        long size = 0;
+        for (File file : files) {
+            size += file.length();
+        }
+        return size;
+    }
+
+    @NonNull
+    private File getFile(@NonNull String messageId) {
+        String name = UAStringUtil.sha256(messageId);
+        return new File(directory, name == null ? messageId : name);
+    }
+
+}
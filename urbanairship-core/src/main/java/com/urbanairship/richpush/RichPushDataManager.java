@@ -25,7 +25,7 @@ public class RichPushDataManager extends DataManager {
     private static final int DATABASE_VERSION = 3;
 
     public RichPushDataManager(@NonNull Context context, @NonNull String appKey) {
-        super(context, appKey, DATABASE_NAME, DATABASE_VERSION);
+        super(context, appKey, DATABASE_NAME, DATABASE_VERSION, true);
     }
 
     @Override
@@ -32,6 +32,7 @@ import com.urbanairship.json.JsonMap;
 import com.urbanairship.messagecenter.MessageCenter;
 import com.urbanairship.util.UAStringUtil;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -144,6 +145,7 @@ public class RichPushInbox extends AirshipComponent {
     private final ApplicationListener listener;
     private final ActivityMonitor activityMonitor;
     private final AirshipChannel airshipChannel;
+    private final MessageBodyCache messageBodyCache;
 
     private boolean isFetchingMessages = false;
     private InboxJobHandler inboxJobHandler;
@@ -180,6 +182,7 @@ public class RichPushInbox extends AirshipComponent {
         this.executor = executor;
         this.jobDispatcher = jobDispatcher;
         this.airshipChannel = airshipChannel;
+        this.messageBodyCache = new MessageBodyCache(new File(context.getCacheDir(), MessageBodyCache.DIRECTORY_NAME));
         this.listener = new ApplicationListener() {
             @Override
             public void onForeground(long time) {
@@ -272,6 +275,18 @@ public class RichPushInbox extends AirshipComponent {
         activityMonitor.removeApplicationListener(listener);
     }
 
+    /**
+     * Returns the prefetched message bodies.
+     *
+     * @return The message body cache.
+     * @hide
+     */
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    @NonNull
+    public MessageBodyCache getMessageBodyCache() {
+        return messageBodyCache;
+    }
+
     /**
      * Returns the {@link RichPushUser}.
      *
@@ -665,6 +680,7 @@ public class RichPushInbox extends AirshipComponent {
             @Override
             public void run() {
                 richPushResolver.markMessagesDeleted(messageIds);
+                messageBodyCache.remove(messageIds);
             }
         });
 
@@ -0,0 +1,343 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.util;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.os.Build;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+import androidx.annotation.VisibleForTesting;
+
+import com.urbanairship.Logger;
+import com.urbanairship.metrics.Metrics;
+import com.urbanairship.metrics.Span;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single database that hosts the tables of several {@link DataManager} stores.
+ * <p>
+ * Each store keeps its own schema version in the {@code store_versions} table and is created,
+ * upgraded or migrated from its standalone database file the first time it is opened. The
+ * migration deletes the standalone files, so once a store has moved into the database it keeps
+ * using it even if the database is disabled later, see {@link #exists(Context, String)}. Stores that
+ * share table names with other stores keep their tables under a prefix, see
+ * {@link DataManager#getTableName(String)}.
+ * <p>
+ * The first open of each store is recorded as a {@link Metrics#SPAN_DATABASE_OPEN} span, the same as
+ * stores in their own database file, so the cold start time of both setups can be compared.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class AirshipDatabase {
+
+    private static final String DATABASE_NAME = "ua_airship.db";
+    private static final String DATABASE_DIRECTORY_NAME = "com.urbanairship.databases";
+    private static final int DATABASE_VERSION = 1;
+
+    private static final String STORE_VERSIONS_TABLE = "store_versions";
+    private static final String COLUMN_STORE_NAME = "name";
+    private static final String COLUMN_STORE_VERSION = "version";
+
+    private static final String LEGACY_ALIAS = "legacy";
+
+    private static volatile boolean isEnabled = false;
+    private static final Map<String, AirshipDatabase> instances = new HashMap<>();
+
+    private final SQLiteOpenHelper openHelper;
+    private final Set<String> attachedStores = new HashSet<>();
+
+    /**
+     * Enables or disables the consolidated database for stores created after this call.
+     *
+     * @param enabled {@code true} to enable, otherwise {@code false}.
+     */
+    public static void setEnabled(boolean enabled) {
+        isEnabled = enabled;
+    }
+
+    /**
+     * Checks if the consolidated database is enabled.
+     *
+     * @return {@code true} if enabled, otherwise {@code false}.
+     */
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Checks if the shared database for the app key has been created on this device.
+     *
+     * @param context The application context.
+     * @param appKey The app key.
+     * @return {@code true} if the database exists, otherwise {@code false}.
+     */
+    public static boolean exists(@NonNull Context context, @NonNull String appKey) {
+        return new File(getDatabasePath(context, appKey)).exists();
+    }
+
+    /**
+     * Gets the shared database for the app key.
+     *
+     * @param context The application context.
+     * @param appKey The app key.
+     * @return The shared database.
+     */
+    @NonNull
+    public static AirshipDatabase shared(@NonNull Context context, @NonNull String appKey) {
+        synchronized (instances) {
+            AirshipDatabase database = instances.get(appKey);
+            if (database == null) {
+                database = new AirshipDatabase(context.getApplicationContext(), getDatabasePath(context, appKey));
+                instances.put(appKey, database);
+            }
+            return database;
+        }
+    }
+
+    /**
+     * Closes and clears the shared databases.
+     */
+    @VisibleForTesting
+    static void clearInstances() {
+        synchronized (instances) {
+            for (AirshipDatabase database : instances.values()) {
+                database.openHelper.close();
+            }
+            instances.clear();
+        }
+    }
+
+    @VisibleForTesting
+    AirshipDatabase(@NonNull Context context, @Nullable String path) {
+        this.openHelper = new SQLiteOpenHelper(context, path, null, DATABASE_VERSION) {
+            @Override
+            public void onCreate(@NonNull SQLiteDatabase db) {
+                db.execSQL("CREATE TABLE IF NOT EXISTS " + STORE_VERSIONS_TABLE + " ("
+                        + COLUMN_STORE_NAME + " TEXT PRIMARY KEY, "
+                        + COLUMN_STORE_VERSION + " INTEGER);");
+            }
+
+            @Override
+            public void onUpgrade(@NonNull SQLiteDatabase db, int oldVersion, int newVersion) {
+            }
+        };
+    }
+
+    /**
+     * Opens the database and makes sure the store's tables are ready. The first time a store is
+     * opened its {@link DataManager#onConfigure(SQLiteDatabase)} and
+     * {@link DataManager#onOpen(SQLiteDatabase)} hooks are called on the shared connection.
+     *
+     * @param store The store.
+     * @return The database, or {@code null} if the database failed to open.
+     */
+    @Nullable
+    SQLiteDatabase open(@NonNull DataManager store) {
+        synchronized (attachedStores) {
+            if (attachedStores.contains(store.getStoreName())) {
+                return getDatabase();
+            }
+
+            Span span = Metrics.startSpan(Metrics.SPAN_DATABASE_OPEN);
+            try {
+                SQLiteDatabase db = getDatabase();
+                if (db == null) {
+                    return null;
+                }
+
+                store.onConfigure(db);
+                attach(db, store);
+                store.onOpen(db);
+                attachedStores.add(store.getStoreName());
+                return db;
+            } catch (Exception e) {
+                Logger.error(e, "AirshipDatabase - Failed to attach store %s", store.getStoreName());
+                return null;
+            } finally {
+                span.end();
+            }
+        }
+    }
+
+    @Nullable
+    private SQLiteDatabase getDatabase() {
+        try {
+            return openHelper.getWritableDatabase();
+        } catch (SQLiteException e) {
+            Logger.error(e, "AirshipDatabase - Failed to open database.");
+            return null;
+        }
+    }
+
+    /**
+     * Creates, upgrades or migrates the store's tables.
+     *
+     * @param db The database.
+     * @param store The store.
+     */
+    private void attach(@NonNull SQLiteDatabase db, @NonNull DataManager store) {
+        long start = SystemClock.elapsedRealtime();
+        int currentVersion = getStoreVersion(db, store.getStoreName());
+        int version = store.getVersion();
+
+        if (currentVersion == version) {
+            return;
+        }
+
+        File legacyFile = null;
+        if (currentVersion == -1) {
+            legacyFile = store.prepareLegacyDatabase();
+        }
+
+        if (legacyFile != null) {
+            db.execSQL("ATTACH DATABASE ? AS " + LEGACY_ALIAS, new Object[] { legacyFile.getAbsolutePath() });
+        }
+
+        db.beginTransaction();
+        try {
+            if (currentVersion == -1) {
+                store.onCreate(db);
+                if (legacyFile != null) {
+                    copyLegacyTables(db, store);
+                }
+            } else if (currentVersion < version) {
+                store.onUpgrade(db, currentVersion, version);
+            } else {
+                store.onDowngrade(db, currentVersion, version);
+            }
+
+            ContentValues values = new ContentValues();
+            values.put(COLUMN_STORE_NAME, store.getStoreName());
+            values.put(COLUMN_STORE_VERSION, version);
+            db.replaceOrThrow(STORE_VERSIONS_TABLE, null, values);
+
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+
+            if (legacyFile != null) {
+                db.execSQL("DETACH DATABASE " + LEGACY_ALIAS);
+            }
+        }
+
+        if (legacyFile != null) {
+            deleteDatabaseFiles(legacyFile);
+            Logger.debug("AirshipDatabase - Migrated store %s in %s ms", store.getStoreName(), SystemClock.elapsedRealtime() - start);
+        } else {
+            Logger.debug("AirshipDatabase - Attached store %s in %s ms", store.getStoreName(), SystemClock.elapsedRealtime() - start);
+        }
+    }
+
+    /**
+     * Copies the rows of every table in the attached legacy database into the matching table.
+     *
+     * @param db The database.
+     * @param store The store.
+     */
+    private void copyLegacyTables(@NonNull SQLiteDatabase db, @NonNull DataManager store) {
+        Map<String, String> legacyTables = new HashMap<>();
+        Cursor cursor = db.rawQuery("SELECT name FROM " + LEGACY_ALIAS + ".sqlite_master WHERE type = 'table' "
+                + "AND name NOT LIKE 'sqlite_%' AND name != 'android_metadata'", null);
+        try {
+            while (cursor.moveToNext()) {
+                String legacyTable = cursor.getString(0);
+                legacyTables.put(store.getTableName(legacyTable), legacyTable);
+            }
+        } finally {
+            cursor.close();
+        }
+
+        // Copy in creation order so tables are filled before the tables that reference them
+        List<String> tables = new ArrayList<>();
+        cursor = db.rawQuery("SELECT name FROM main.sqlite_master WHERE type = 'table' ORDER BY rowid", null);
+        try {
+            while (cursor.moveToNext()) {
+                String table = cursor.getString(0);
+                if (legacyTables.containsKey(table)) {
+                    tables.add(table);
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+
+        for (String table : tables) {
+            String legacyTable = legacyTables.get(table);
+            Set<String> columns = getColumns(db, "main", table);
+            columns.retainAll(getColumns(db, LEGACY_ALIAS, legacyTable));
+            if (columns.isEmpty()) {
+                Logger.debug("AirshipDatabase - Skipping legacy table %s", legacyTable);
+                continue;
+            }
+
+            String columnList = UAStringUtil.join(new ArrayList<>(columns), ", ");
+            db.execSQL("INSERT OR REPLACE INTO main." + table + " (" + columnList + ") SELECT "
+                    + columnList + " FROM " + LEGACY_ALIAS + "." + legacyTable);
+        }
+    }
+
+    @NonNull
+    private static Set<String> getColumns(@NonNull SQLiteDatabase db, @NonNull String schema, @NonNull String table) {
+        Set<String> columns = new HashSet<>();
+        Cursor cursor = db.rawQuery("PRAGMA " + schema + ".table_info(" + table + ")", null);
+        try {
+            int nameIndex = cursor.getColumnIndex("name");
+            while (cursor.moveToNext()) {
+                columns.add(cursor.getString(nameIndex));
+            }
+        } finally {
+            cursor.close();
+        }
+        return columns;
+    }
+
+    private static int getStoreVersion(@NonNull SQLiteDatabase db, @NonNull String name) {
+        Cursor cursor = db.query(STORE_VERSIONS_TABLE, new String[] { COLUMN_STORE_VERSION },
+                COLUMN_STORE_NAME + " = ?", new String[] { name }, null, null, null);
+        try {
+            return cursor.moveToFirst() ? cursor.getInt(0) : -1;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static void deleteDatabaseFiles(@NonNull File file) {
+        String[] suffixes = { "", "-journal", "-shm", "-wal" };
+        for (String suffix : suffixes) {
+            File target = new File(file.getAbsolutePath() + suffix);
+            if (target.exists() && !target.delete()) {
+                Logger.error("AirshipDatabase - Failed to delete legacy database file: %s", target);
+            }
+        }
+    }
+
+    @NonNull
+    private static String getDatabasePath(@NonNull Context context, @NonNull String appKey) {
+        String name = appKey + "_" + DATABASE_NAME;
+        if (Build.VERSION.SDK_INT >= 21) {
+            File directory = new File(context.getNoBackupFilesDir(), DATABASE_DIRECTORY_NAME);
+            if (!directory.exists() && !directory.mkdirs()) {
+                Logger.error("Failed to create UA no backup directory.");
+            }
+            return new File(directory, name).getAbsolutePath();
+        }
+
+        return context.getDatabasePath(name).getAbsolutePath();
+    }
+
+}
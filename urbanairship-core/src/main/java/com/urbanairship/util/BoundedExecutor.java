@@ -0,0 +1,82 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+/**
+ * Executor that runs at most a fixed number of {@link Runnable} concurrently on another executor.
+ * Runnables start in the order they were submitted.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class BoundedExecutor implements Executor {
+
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final ArrayDeque<Runnable> runnables = new ArrayDeque<>();
+    private int running = 0;
+
+    /**
+     * Default constructor.
+     *
+     * @param executor The executor that performs the runnables.
+     * @param maxConcurrency The max number of runnables that run at the same time.
+     */
+    public BoundedExecutor(@NonNull Executor executor, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be at least 1.");
+        }
+
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void execute(@Nullable final Runnable runnable) {
+        if (runnable == null) {
+            return;
+        }
+
+        Runnable wrapped = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    runnable.run();
+                } finally {
+                    synchronized (runnables) {
+                        running--;
+                    }
+                    next();
+                }
+            }
+        };
+
+        synchronized (runnables) {
+            runnables.offer(wrapped);
+        }
+
+        next();
+    }
+
+    private void next() {
+        synchronized (runnables) {
+            while (running < maxConcurrency) {
+                Runnable next = runnables.pollFirst();
+                if (next == null) {
+                    return;
+                }
+
+                running++;
+                executor.execute(next);
+            }
+        }
+    }
+
+}
@@ -17,6 +17,8 @@ import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
 import com.urbanairship.Logger;
+import com.urbanairship.metrics.Metrics;
+import com.urbanairship.metrics.Span;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -25,6 +27,9 @@ import java.util.List;
 
 /**
  * An abstract class to manage a SQLiteDatabase.
+ * <p>
+ * Stores that support consolidated storage keep their tables in the shared {@link AirshipDatabase}
+ * when it is enabled, instead of in their own database file.
  *
  * @hide
  */
@@ -34,7 +39,15 @@ public abstract class DataManager {
     private static final String DATABASE_DIRECTORY_NAME = "com.urbanairship.databases";
 
     private static final int MAX_ATTEMPTS = 3;
+    private final Context context;
+    private final String appKey;
+    private final String name;
+    private final int version;
+    private final String tablePrefix;
+    private final AirshipDatabase airshipDatabase;
     private final SQLiteOpenHelper openHelper;
+    private volatile boolean isOpened = false;
+    private volatile boolean isPreparingLegacyDatabase = false;
 
     /**
      * Default Constructor for DataManager
@@ -45,9 +58,68 @@ public abstract class DataManager {
      * @param version The version of the database
      */
     public DataManager(@NonNull Context context, @NonNull String appKey, @NonNull String name, int version) {
-        name = migrateDatabase(context, appKey, name);
+        this(context, appKey, name, version, false);
+    }
+
+    /**
+     * Constructor for DataManager
+     *
+     * @param context The context used for opening and creating databases
+     * @param appKey The application key. Used to prefix the database file.
+     * @param name The name of the database
+     * @param version The version of the database
+     * @param supportsConsolidatedStorage {@code true} if the store's table names are unique across the
+     * SDK and can be hosted in the {@link AirshipDatabase}.
+     */
+    public DataManager(@NonNull Context context, @NonNull String appKey, @NonNull String name, int version,
+                       boolean supportsConsolidatedStorage) {
+        this(context, appKey, name, version, supportsConsolidatedStorage, "");
+    }
+
+    /**
+     * Constructor for a DataManager whose table names are shared with other stores. The store can be
+     * hosted in the {@link AirshipDatabase}, where its tables are prefixed to keep them apart.
+     *
+     * @param context The context used for opening and creating databases
+     * @param appKey The application key. Used to prefix the database file.
+     * @param name The name of the database
+     * @param version The version of the database
+     * @param tablePrefix The prefix of the store's tables in the {@link AirshipDatabase}.
+     * @see #getTableName(String)
+     */
+    public DataManager(@NonNull Context context, @NonNull String appKey, @NonNull String name, int version,
+                       @NonNull String tablePrefix) {
+        this(context, appKey, name, version, true, tablePrefix);
+    }
 
-        openHelper = new SQLiteOpenHelper(context, name, null, version) {
+    private DataManager(@NonNull Context context, @NonNull String appKey, @NonNull String name, int version,
+                        boolean supportsConsolidatedStorage, @NonNull String tablePrefix) {
+        this.context = context;
+        this.appKey = appKey;
+        this.name = name;
+        this.version = version;
+        this.tablePrefix = tablePrefix;
+
+        // Stores are never moved back out of the consolidated database, since the migration
+        // removed their own database files.
+        if (supportsConsolidatedStorage && (AirshipDatabase.isEnabled() || AirshipDatabase.exists(context, appKey))) {
+            this.airshipDatabase = AirshipDatabase.shared(context, appKey);
+            this.openHelper = null;
+        } else {
+            this.airshipDatabase = null;
+            this.openHelper = createOpenHelper(migrateDatabase(context, appKey, name));
+        }
+    }
+
+    /**
+     * Creates the open helper for the store's own database file.
+     *
+     * @param path The database path.
+     * @return The open helper.
+     */
+    @NonNull
+    private SQLiteOpenHelper createOpenHelper(@NonNull String path) {
+        return new SQLiteOpenHelper(context, path, null, version) {
 
             @Override
             public void onCreate(@NonNull SQLiteDatabase db) {
@@ -81,6 +153,67 @@ public abstract class DataManager {
         };
     }
 
+    /**
+     * The store name.
+     *
+     * @return The store name.
+     */
+    @NonNull
+    String getStoreName() {
+        return name;
+    }
+
+    /**
+     * The store version.
+     *
+     * @return The store version.
+     */
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * Upgrades the store's own database file if it exists so it can be migrated into
+     * the {@link AirshipDatabase}.
+     *
+     * @return The database file, or {@code null} if the store does not have its own database file.
+     */
+    @Nullable
+    File prepareLegacyDatabase() {
+        File file = new File(migrateDatabase(context, appKey, name));
+        if (!file.exists()) {
+            return null;
+        }
+
+        // The store's own database file uses the table names without the prefix
+        isPreparingLegacyDatabase = true;
+        SQLiteOpenHelper legacyHelper = createOpenHelper(file.getAbsolutePath());
+        try {
+            legacyHelper.getWritableDatabase();
+        } finally {
+            legacyHelper.close();
+            isPreparingLegacyDatabase = false;
+        }
+
+        return file;
+    }
+
+    /**
+     * Gets the name of one of the store's tables in the database that is being used. Stores
+     * created with a table prefix get the prefixed name while hosted in the {@link AirshipDatabase}.
+     *
+     * @param table The table name.
+     * @return The table name in the database.
+     */
+    @NonNull
+    protected String getTableName(@NonNull String table) {
+        if (airshipDatabase == null || isPreparingLegacyDatabase) {
+            return table;
+        }
+
+        return tablePrefix + table;
+    }
+
     /**
      * Called when the database connection is opened.
      *
@@ -112,19 +245,11 @@ public abstract class DataManager {
      */
     @Nullable
     protected SQLiteDatabase getWritableDatabase() {
-        for (int i = 0; i < MAX_ATTEMPTS; i++) {
-            try {
-                return openHelper.getWritableDatabase();
-            } catch (SQLiteException e) {
-
-                // It's very bad for the app if the DB cannot be opened, so it's worth
-                // a sleep to wait for a lock to go away.
-                SystemClock.sleep(100);
-                Logger.error(e, "DataManager - Error opening writable database. Retrying...");
-            }
+        if (airshipDatabase != null) {
+            return airshipDatabase.open(this);
         }
 
-        return null;
+        return openDatabase(true);
     }
 
     /**
@@ -134,15 +259,40 @@ public abstract class DataManager {
      */
     @Nullable
     protected SQLiteDatabase getReadableDatabase() {
-        for (int i = 0; i < MAX_ATTEMPTS; i++) {
-            try {
-                return openHelper.getReadableDatabase();
-            } catch (SQLiteException e) {
+        if (airshipDatabase != null) {
+            return airshipDatabase.open(this);
+        }
+
+        return openDatabase(false);
+    }
 
-                // It's very bad for the app if the DB cannot be opened, so it's worth
-                // a sleep to wait for a lock to go away.
-                SystemClock.sleep(100);
-                Logger.error(e, "DataManager - Error opening readable database. Retrying...");
+    /**
+     * Opens the store's own database file. The first open is recorded as a
+     * {@link Metrics#SPAN_DATABASE_OPEN} span.
+     *
+     * @param writable {@code true} to open a writable database, {@code false} for a readable one.
+     * @return The database, or {@code null} if it failed to open.
+     */
+    @Nullable
+    private SQLiteDatabase openDatabase(boolean writable) {
+        Span span = isOpened ? null : Metrics.startSpan(Metrics.SPAN_DATABASE_OPEN);
+        try {
+            for (int i = 0; i < MAX_ATTEMPTS; i++) {
+                try {
+                    SQLiteDatabase db = writable ? openHelper.getWritableDatabase() : openHelper.getReadableDatabase();
+                    isOpened = true;
+                    return db;
+                } catch (SQLiteException e) {
+
+                    // It's very bad for the app if the DB cannot be opened, so it's worth
+                    // a sleep to wait for a lock to go away.
+                    SystemClock.sleep(100);
+                    Logger.error(e, "DataManager - Error opening %s database. Retrying...", writable ? "writable" : "readable");
+                }
+            }
+        } finally {
+            if (span != null) {
+                span.end();
             }
         }
 
@@ -307,13 +457,18 @@ public abstract class DataManager {
             return null;
         }
 
-        for (int i = 0; i < MAX_ATTEMPTS; i++) {
-            try {
-                return db.query(table, columns, selection,
-                        selectionArgs, null, null, sortOrder, limit);
-            } catch (SQLException e) {
-                Logger.error(e, "Query Failed");
+        Span span = Metrics.startSpan(Metrics.SPAN_DATABASE_QUERY);
+        try {
+            for (int i = 0; i < MAX_ATTEMPTS; i++) {
+                try {
+                    return fillWindow(db.query(table, columns, selection,
+                            selectionArgs, null, null, sortOrder, limit));
+                } catch (SQLException e) {
+                    Logger.error(e, "Query Failed");
+                }
             }
+        } finally {
+            span.end();
         }
 
         return null;
@@ -333,21 +488,49 @@ public abstract class DataManager {
             return null;
         }
 
-        for (int i = 0; i < 3; i++) {
-            try {
-                return db.rawQuery(query, selectionArgs);
-            } catch (SQLException e) {
-                Logger.error(e, "Query failed");
+        Span span = Metrics.startSpan(Metrics.SPAN_DATABASE_QUERY);
+        try {
+            for (int i = 0; i < 3; i++) {
+                try {
+                    return fillWindow(db.rawQuery(query, selectionArgs));
+                } catch (SQLException e) {
+                    Logger.error(e, "Query failed");
+                }
             }
+        } finally {
+            span.end();
         }
 
         return null;
     }
 
     /**
-     * Closes the connection to the database
+     * Runs the query by filling the cursor's first window. Cursors are lazy, so without this the
+     * query span would only time the cursor creation. The count is cached by the cursor.
+     *
+     * @param cursor The cursor.
+     * @return The cursor.
+     */
+    @NonNull
+    private static Cursor fillWindow(@NonNull Cursor cursor) {
+        try {
+            cursor.getCount();
+            return cursor;
+        } catch (SQLException e) {
+            cursor.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the connection to the database. Stores in the {@link AirshipDatabase} share
+     * its connection, so it is left open.
      */
     public void close() {
+        if (openHelper == null) {
+            return;
+        }
+
         try {
             openHelper.close();
         } catch (Exception ex) {
@@ -0,0 +1,39 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.util;
+
+import androidx.annotation.RestrictTo;
+
+/**
+ * Retry policy that doubles the backoff after each retry, up to a max backoff.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class ExponentialRetryPolicy implements RetryPolicy {
+
+    private final long initialBackoff;
+    private final long maxBackoff;
+
+    /**
+     * Default constructor.
+     *
+     * @param initialBackoff The initial backoff in milliseconds.
+     * @param maxBackoff The max backoff in milliseconds.
+     */
+    public ExponentialRetryPolicy(long initialBackoff, long maxBackoff) {
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Override
+    public long getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    @Override
+    public long getNextBackoff(long previousBackoff) {
+        return Math.min(previousBackoff * 2, maxBackoff);
+    }
+
+}
@@ -68,9 +68,20 @@ public abstract class FileUtils {
          */
         public final boolean isSuccess;
 
+        /**
+         * The response Content-Type header if available.
+         */
+        @Nullable
+        public final String contentType;
+
         DownloadResult(boolean isSuccess, int statusCode) {
+            this(isSuccess, statusCode, null);
+        }
+
+        DownloadResult(boolean isSuccess, int statusCode, @Nullable String contentType) {
             this.isSuccess = isSuccess;
             this.statusCode = statusCode;
+            this.contentType = contentType;
         }
 
     }
@@ -122,7 +133,7 @@ public abstract class FileUtils {
                 outputStream.close();
                 inputStream.close();
 
-                return new DownloadResult(true, statusCode);
+                return new DownloadResult(true, statusCode, conn.getContentType());
             }
 
             return new DownloadResult(false, statusCode);
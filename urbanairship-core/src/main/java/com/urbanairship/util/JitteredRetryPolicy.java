@@ -0,0 +1,63 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.Random;
+
+/**
+ * Retry policy that uses decorrelated jitter. Each backoff is picked at random between the base
+ * backoff and three times the previous backoff, capped at the max backoff, so operations that
+ * fail at the same time do not retry in lockstep.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class JitteredRetryPolicy implements RetryPolicy {
+
+    private final long baseBackoff;
+    private final long maxBackoff;
+    private final Random random;
+
+    /**
+     * Default constructor.
+     *
+     * @param baseBackoff The base backoff in milliseconds.
+     * @param maxBackoff The max backoff in milliseconds.
+     */
+    public JitteredRetryPolicy(long baseBackoff, long maxBackoff) {
+        this(baseBackoff, maxBackoff, new Random());
+    }
+
+    @VisibleForTesting
+    JitteredRetryPolicy(long baseBackoff, long maxBackoff, @NonNull Random random) {
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        this.random = random;
+    }
+
+    @Override
+    public long getInitialBackoff() {
+        return randomBetween(baseBackoff, baseBackoff * 3);
+    }
+
+    @Override
+    public long getNextBackoff(long previousBackoff) {
+        return randomBetween(baseBackoff, Math.max(baseBackoff, previousBackoff * 3));
+    }
+
+    private long randomBetween(long min, long max) {
+        long bounded = Math.min(max, maxBackoff);
+        if (bounded <= min) {
+            return Math.min(min, maxBackoff);
+        }
+
+        synchronized (random) {
+            return min + (long) (random.nextDouble() * (bounded - min));
+        }
+    }
+
+}
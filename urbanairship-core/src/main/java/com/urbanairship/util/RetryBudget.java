@@ -0,0 +1,87 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+
+/**
+ * Token bucket shared by retrying operations. Each retry consumes a token and tokens refill
+ * at a fixed rate, which bounds the number of retries that can happen in a burst.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class RetryBudget {
+
+    private final int capacity;
+    private final long refillIntervalMs;
+    private final Clock clock;
+
+    private double tokens;
+    private long lastRefillTime;
+
+    /**
+     * Default constructor.
+     *
+     * @param capacity The max number of tokens.
+     * @param refillIntervalMs The time in milliseconds to refill a single token.
+     */
+    public RetryBudget(int capacity, long refillIntervalMs) {
+        this(capacity, refillIntervalMs, Clock.DEFAULT_CLOCK);
+    }
+
+    /**
+     * Constructor with a clock.
+     *
+     * @param capacity The max number of tokens.
+     * @param refillIntervalMs The time in milliseconds to refill a single token.
+     * @param clock The clock.
+     */
+    public RetryBudget(int capacity, long refillIntervalMs, @NonNull Clock clock) {
+        this.capacity = Math.max(1, capacity);
+        this.refillIntervalMs = Math.max(1, refillIntervalMs);
+        this.clock = clock;
+        this.tokens = this.capacity;
+        this.lastRefillTime = clock.currentTimeMillis();
+    }
+
+    /**
+     * Tries to acquire a token.
+     *
+     * @return {@code true} if a token was acquired, otherwise {@code false}.
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the time until the next token is available.
+     *
+     * @return The time in milliseconds until a token is available, or 0 if one is available now.
+     */
+    public synchronized long getTimeUntilAvailable() {
+        refill();
+        if (tokens >= 1) {
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) * refillIntervalMs);
+    }
+
+    private void refill() {
+        long now = clock.currentTimeMillis();
+        long elapsed = now - lastRefillTime;
+        if (elapsed <= 0) {
+            return;
+        }
+
+        tokens = Math.min(capacity, tokens + (double) elapsed / refillIntervalMs);
+        lastRefillTime = now;
+    }
+
+}
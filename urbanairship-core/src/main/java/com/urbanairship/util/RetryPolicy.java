@@ -0,0 +1,30 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.util;
+
+import androidx.annotation.RestrictTo;
+
+/**
+ * Policy used by the {@link RetryingExecutor} to compute retry backoffs.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public interface RetryPolicy {
+
+    /**
+     * Gets the backoff before the first retry.
+     *
+     * @return The initial backoff in milliseconds.
+     */
+    long getInitialBackoff();
+
+    /**
+     * Gets the backoff before the next retry.
+     *
+     * @param previousBackoff The previous backoff in milliseconds.
+     * @return The next backoff in milliseconds.
+     */
+    long getNextBackoff(long previousBackoff);
+
+}
@@ -6,18 +6,29 @@ import android.os.Handler;
 import android.os.SystemClock;
 import androidx.annotation.IntDef;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Executor that supports retrying operations when
  * using {@link #execute(Operation)} to submit operations.
+ * <p>
+ * Retry backoffs are computed by a {@link RetryPolicy}. An optional {@link RetryBudget} can be
+ * shared between operations to bound retry bursts, and retries waiting out their backoff can
+ * be run early with {@link #retryPendingOperations()}, for example when the network returns.
+ * <p>
+ * Executor wide totals are available with {@link #getStatistics()}, and each submitted operation
+ * returns its own {@link OperationStatistics}.
  *
  * @hide
  */
@@ -58,9 +69,13 @@ public class RetryingExecutor implements Executor {
 
     private final Handler scheduler;
     private final Executor executor;
+    private final RetryPolicy retryPolicy;
+    private final RetryBudget retryBudget;
 
     private boolean isPaused = false;
     private final List<Runnable> pendingRunnables = new ArrayList<>();
+    private final Set<RetryRunnable> scheduledRetries = new LinkedHashSet<>();
+    private final Statistics statistics = new Statistics();
 
     /**
      * Default constructor.
@@ -69,8 +84,23 @@ public class RetryingExecutor implements Executor {
      * @param executor The executor that performs the operations.
      */
     public RetryingExecutor(@NonNull Handler scheduler, @NonNull Executor executor) {
+        this(scheduler, executor, new ExponentialRetryPolicy(INITIAL_BACKOFF_MILLIS, MAX_BACKOFF_MILLIS), null);
+    }
+
+    /**
+     * Creates a retrying executor with a retry policy and an optional retry budget.
+     *
+     * @param scheduler A handler used to schedule retries.
+     * @param executor The executor that performs the operations.
+     * @param retryPolicy The retry policy.
+     * @param retryBudget Optional retry budget shared by all operations.
+     */
+    public RetryingExecutor(@NonNull Handler scheduler, @NonNull Executor executor,
+                            @NonNull RetryPolicy retryPolicy, @Nullable RetryBudget retryBudget) {
         this.scheduler = scheduler;
         this.executor = executor;
+        this.retryPolicy = retryPolicy;
+        this.retryBudget = retryBudget;
     }
 
     /**
@@ -93,27 +123,77 @@ public class RetryingExecutor implements Executor {
      * Executes a single operation.
      *
      * @param operation The operation to execute.
+     * @return The operation's statistics.
      */
-    public void execute(@NonNull Operation operation) {
-        execute(operation, INITIAL_BACKOFF_MILLIS);
+    @NonNull
+    public OperationStatistics execute(@NonNull Operation operation) {
+        OperationStatistics operationStatistics = new OperationStatistics();
+        execute(operation, operationStatistics);
+        return operationStatistics;
     }
 
     /**
      * Executes a list of operations in order.
      *
      * @param operations The operations to execute.
+     * @return The statistics of the chained operations.
      */
-    public void execute(@NonNull Operation... operations) {
-        execute(new ChainedOperations(Arrays.asList(operations)));
+    @NonNull
+    public OperationStatistics execute(@NonNull Operation... operations) {
+        return execute(new ChainedOperations(Arrays.asList(operations)));
+    }
+
+    /**
+     * Executes a group of operations concurrently, each retrying on its own. Once every operation
+     * in the group has finished, the {@code then} operations are executed in order. If any
+     * operation in the group cancels, pending retries in the group and the {@code then} operations
+     * are skipped.
+     *
+     * @param operations The operations to execute concurrently.
+     * @param then The operations to execute in order after the group finishes.
+     * @return The statistics of each operation in the group, in order, followed by the statistics
+     * of the {@code then} operations.
+     */
+    @NonNull
+    public List<OperationStatistics> executeParallel(@NonNull List<? extends Operation> operations, @NonNull Operation... then) {
+        ParallelGroup group = new ParallelGroup(operations.size(), new ChainedOperations(Arrays.asList(then)));
+        List<OperationStatistics> groupStatistics = new ArrayList<>(operations.size() + 1);
+
+        for (Operation operation : operations) {
+            groupStatistics.add(execute(new ParallelOperation(group, operation)));
+        }
+        groupStatistics.add(group.thenStatistics);
+
+        if (operations.isEmpty()) {
+            execute(group.then, group.thenStatistics);
+        }
+
+        return groupStatistics;
+    }
+
+    /**
+     * Helper method that counts and executes a new operation.
+     *
+     * @param operation The operation.
+     * @param operationStatistics The operation's statistics.
+     */
+    private void execute(@NonNull Operation operation, @NonNull OperationStatistics operationStatistics) {
+        synchronized (statistics) {
+            statistics.operations++;
+        }
+        execute(operation, operationStatistics, retryPolicy.getInitialBackoff(), 1);
     }
 
     /**
      * Helper method that handles executing an operation.
      *
      * @param operation The operation.
+     * @param operationStatistics The operation's statistics.
      * @param backOff The next backOff if retrying the operation.
+     * @param attempt The attempt number.
      */
-    private void execute(final @NonNull Operation operation, final long backOff) {
+    private void execute(final @NonNull Operation operation, final @NonNull OperationStatistics operationStatistics,
+                         final long backOff, final int attempt) {
         final Runnable executeRunnable = new Runnable() {
             @Override
             public void run() {
@@ -125,21 +205,86 @@ public class RetryingExecutor implements Executor {
                 }
 
                 int result = operation.run();
-                if (result == RESULT_RETRY) {
-                    scheduler.postAtTime(new Runnable() {
-                        @Override
-                        public void run() {
-                            execute(operation, Math.min(backOff * 2, MAX_BACKOFF_MILLIS));
-                        }
-                    }, executor, SystemClock.uptimeMillis() + backOff);
+
+                synchronized (statistics) {
+                    statistics.attempts++;
+                    statistics.maxAttempts = Math.max(statistics.maxAttempts, attempt);
+                    switch (result) {
+                        case RESULT_RETRY:
+                            statistics.retries++;
+                            break;
+                        case RESULT_CANCEL:
+                            statistics.cancelled++;
+                            break;
+                    }
                 }
 
+                operationStatistics.onAttempt(result);
+
+                if (result == RESULT_RETRY) {
+                    scheduleRetry(operation, operationStatistics, backOff, attempt);
+                }
             }
         };
 
         executor.execute(executeRunnable);
     }
 
+    /**
+     * Schedules a retry for the operation after the backoff. If a retry budget is set and
+     * it is exhausted, the retry is delayed until a token is available.
+     *
+     * @param operation The operation.
+     * @param operationStatistics The operation's statistics.
+     * @param backOff The backoff.
+     * @param attempt The attempt number that needs to be retried.
+     */
+    private void scheduleRetry(@NonNull Operation operation, @NonNull OperationStatistics operationStatistics, long backOff, int attempt) {
+        RetryRunnable retryRunnable = new RetryRunnable(operation, operationStatistics, backOff, attempt);
+
+        synchronized (scheduledRetries) {
+            scheduledRetries.add(retryRunnable);
+        }
+
+        scheduler.postAtTime(retryRunnable, executor, SystemClock.uptimeMillis() + backOff);
+    }
+
+    /**
+     * Runs all the operations that are waiting on a retry backoff now, for example when the
+     * network connection returns. Retries are still subject to the retry budget.
+     */
+    public void retryPendingOperations() {
+        List<RetryRunnable> retries;
+        synchronized (scheduledRetries) {
+            if (scheduledRetries.isEmpty()) {
+                return;
+            }
+            retries = new ArrayList<>(scheduledRetries);
+        }
+
+        synchronized (statistics) {
+            statistics.resumed += retries.size();
+        }
+
+        for (RetryRunnable retry : retries) {
+            retry.operationStatistics.onResumed();
+            scheduler.removeCallbacks(retry, executor);
+            scheduler.post(retry);
+        }
+    }
+
+    /**
+     * Gets a snapshot of the executor's statistics.
+     *
+     * @return The statistics.
+     */
+    @NonNull
+    public Statistics getStatistics() {
+        synchronized (statistics) {
+            return new Statistics(statistics);
+        }
+    }
+
     /**
      * Pauses/resumes the executor. When paused, the scheduler will continue to run, but
      * operations/runnables will not execute until resumed.
@@ -165,6 +310,247 @@ public class RetryingExecutor implements Executor {
         }
     }
 
+    /**
+     * Retrying executor statistics.
+     */
+    public static class Statistics {
+
+        private long operations;
+        private long attempts;
+        private long retries;
+        private long cancelled;
+        private long throttled;
+        private long resumed;
+        private int maxAttempts;
+
+        private Statistics() {
+        }
+
+        private Statistics(@NonNull Statistics other) {
+            this.operations = other.operations;
+            this.attempts = other.attempts;
+            this.retries = other.retries;
+            this.cancelled = other.cancelled;
+            this.throttled = other.throttled;
+            this.resumed = other.resumed;
+            this.maxAttempts = other.maxAttempts;
+        }
+
+        /**
+         * The number of operations submitted.
+         *
+         * @return The operation count.
+         */
+        public long getOperationCount() {
+            return operations;
+        }
+
+        /**
+         * The number of times an operation was run, including retries.
+         *
+         * @return The attempt count.
+         */
+        public long getAttemptCount() {
+            return attempts;
+        }
+
+        /**
+         * The number of times an operation requested a retry.
+         *
+         * @return The retry count.
+         */
+        public long getRetryCount() {
+            return retries;
+        }
+
+        /**
+         * The number of times an operation cancelled.
+         *
+         * @return The cancel count.
+         */
+        public long getCancelCount() {
+            return cancelled;
+        }
+
+        /**
+         * The number of retries delayed by the retry budget.
+         *
+         * @return The throttled count.
+         */
+        public long getThrottledCount() {
+            return throttled;
+        }
+
+        /**
+         * The number of retries run early by {@link #retryPendingOperations()}.
+         *
+         * @return The resumed count.
+         */
+        public long getResumedCount() {
+            return resumed;
+        }
+
+        /**
+         * The most attempts a single operation took.
+         *
+         * @return The max attempts.
+         */
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "Statistics{" +
+                    "operations=" + operations +
+                    ", attempts=" + attempts +
+                    ", retries=" + retries +
+                    ", cancelled=" + cancelled +
+                    ", throttled=" + throttled +
+                    ", resumed=" + resumed +
+                    ", maxAttempts=" + maxAttempts +
+                    '}';
+        }
+
+    }
+
+    /**
+     * Statistics of a single submitted operation. The values update as the operation runs.
+     */
+    public static class OperationStatistics {
+
+        private int attempts;
+        private int retries;
+        private int throttled;
+        private int resumed;
+        private int lastResult = -1;
+
+        private OperationStatistics() {
+        }
+
+        private synchronized void onAttempt(@Result int result) {
+            attempts++;
+            lastResult = result;
+            if (result == RESULT_RETRY) {
+                retries++;
+            }
+        }
+
+        private synchronized void onThrottled() {
+            throttled++;
+        }
+
+        private synchronized void onResumed() {
+            resumed++;
+        }
+
+        /**
+         * The number of times the operation was run, including retries.
+         *
+         * @return The attempt count.
+         */
+        public synchronized int getAttemptCount() {
+            return attempts;
+        }
+
+        /**
+         * The number of times the operation requested a retry.
+         *
+         * @return The retry count.
+         */
+        public synchronized int getRetryCount() {
+            return retries;
+        }
+
+        /**
+         * The number of times a retry of the operation was delayed by the retry budget.
+         *
+         * @return The throttled count.
+         */
+        public synchronized int getThrottledCount() {
+            return throttled;
+        }
+
+        /**
+         * The number of times a retry of the operation was run early by
+         * {@link #retryPendingOperations()}.
+         *
+         * @return The resumed count.
+         */
+        public synchronized int getResumedCount() {
+            return resumed;
+        }
+
+        /**
+         * Checks if the operation finished or cancelled.
+         *
+         * @return {@code true} if the operation is done, {@code false} if it has not run yet or is
+         * waiting on a retry.
+         */
+        public synchronized boolean isDone() {
+            return lastResult == RESULT_FINISHED || lastResult == RESULT_CANCEL;
+        }
+
+        @NonNull
+        @Override
+        public synchronized String toString() {
+            return "OperationStatistics{" +
+                    "attempts=" + attempts +
+                    ", retries=" + retries +
+                    ", throttled=" + throttled +
+                    ", resumed=" + resumed +
+                    ", lastResult=" + lastResult +
+                    '}';
+        }
+
+    }
+
+    /**
+     * Runs a retry of an operation once its backoff passes. If a retry budget is set and it is
+     * exhausted, the retry is delayed until a token is available.
+     */
+    private class RetryRunnable implements Runnable {
+
+        private final Operation operation;
+        private final OperationStatistics operationStatistics;
+        private final long backOff;
+        private final int attempt;
+
+        RetryRunnable(@NonNull Operation operation, @NonNull OperationStatistics operationStatistics, long backOff, int attempt) {
+            this.operation = operation;
+            this.operationStatistics = operationStatistics;
+            this.backOff = backOff;
+            this.attempt = attempt;
+        }
+
+        @Override
+        public void run() {
+            synchronized (scheduledRetries) {
+                if (!scheduledRetries.remove(this)) {
+                    return;
+                }
+            }
+
+            if (retryBudget != null && !retryBudget.tryAcquire()) {
+                synchronized (statistics) {
+                    statistics.throttled++;
+                }
+                operationStatistics.onThrottled();
+
+                synchronized (scheduledRetries) {
+                    scheduledRetries.add(this);
+                }
+
+                scheduler.postAtTime(this, executor, SystemClock.uptimeMillis() + retryBudget.getTimeUntilAvailable());
+                return;
+            }
+
+            execute(operation, operationStatistics, retryPolicy.getNextBackoff(backOff), attempt + 1);
+        }
+
+    }
+
     /**
      * Operation that is able to be retried.
      */
@@ -180,6 +566,63 @@ public class RetryingExecutor implements Executor {
 
     }
 
+    /**
+     * Shared state of a group of operations started by {@link #executeParallel(List, Operation...)}.
+     */
+    private static class ParallelGroup {
+
+        private final AtomicInteger remaining;
+        private final Operation then;
+        private final OperationStatistics thenStatistics = new OperationStatistics();
+        private volatile boolean isCancelled = false;
+
+        ParallelGroup(int size, @NonNull Operation then) {
+            this.remaining = new AtomicInteger(size);
+            this.then = then;
+        }
+
+    }
+
+    /**
+     * Operation in a parallel group. The last operation in the group to finish executes the
+     * group's {@code then} operations.
+     */
+    private class ParallelOperation implements Operation {
+
+        private final ParallelGroup group;
+        private final Operation operation;
+
+        ParallelOperation(@NonNull ParallelGroup group, @NonNull Operation operation) {
+            this.group = group;
+            this.operation = operation;
+        }
+
+        @Override
+        public int run() {
+            if (group.isCancelled) {
+                return RESULT_CANCEL;
+            }
+
+            int result = operation.run();
+
+            switch (result) {
+                case RESULT_RETRY:
+                    return RESULT_RETRY;
+                case RESULT_CANCEL:
+                    group.isCancelled = true;
+                    return RESULT_CANCEL;
+                case RESULT_FINISHED:
+                default:
+                    // Cancelled operations never count down, so reaching zero means all finished
+                    if (group.remaining.decrementAndGet() == 0) {
+                        execute(group.then, group.thenStatistics);
+                    }
+                    return RESULT_FINISHED;
+            }
+        }
+
+    }
+
     /**
      * Operation that runs a list of operations in order. If any of the operations
      * cancels, the rest of the operations will be cancelled.
@@ -208,7 +651,7 @@ public class RetryingExecutor implements Executor {
                 case RESULT_FINISHED:
                 default:
                     operations.remove(0);
-                    execute(this);
+                    execute(this, retryPolicy.getInitialBackoff(), 1);
                     return RESULT_FINISHED;
             }
         }
@@ -0,0 +1,66 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.widget;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.webkit.JavascriptInterface;
+
+import java.lang.ref.WeakReference;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+/**
+ * Javascript interface that lets the native bridge run a batch of actions in a single call instead
+ * of navigating to a {@code uairship://} URL per action. Batches are handed to the web view's
+ * {@link UAWebViewClient} on the main thread, which applies the same whitelist checks as the URL
+ * commands.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class ActionBridge {
+
+    /**
+     * Name of the interface in Javascript.
+     */
+    static final String INTERFACE_NAME = "_UAirshipActionBridge";
+
+    private final WeakReference<UAWebView> webViewReference;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Default constructor.
+     *
+     * @param webView The web view.
+     */
+    ActionBridge(@NonNull UAWebView webView) {
+        this.webViewReference = new WeakReference<>(webView);
+    }
+
+    /**
+     * Runs a batch of actions. Called from Javascript on a background thread.
+     *
+     * @param batch JSON encoded list of actions, each with a {@code name}, a {@code value}, and an
+     * optional {@code callback} key.
+     */
+    @JavascriptInterface
+    public void runActions(@Nullable final String batch) {
+        if (batch == null) {
+            return;
+        }
+
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                UAWebView webView = webViewReference.get();
+                if (webView != null) {
+                    webView.onActionBatch(batch);
+                }
+            }
+        });
+    }
+
+}
@@ -0,0 +1,189 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.widget;
+
+import android.content.Context;
+import android.os.Build;
+
+import com.urbanairship.AirshipExecutors;
+import com.urbanairship.Logger;
+import com.urbanairship.R;
+import com.urbanairship.richpush.RichPushMessage;
+
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+import androidx.annotation.WorkerThread;
+
+/**
+ * Builds the Javascript injected into web views. The static native bridge is read from resources
+ * once and kept in memory, and the per-message prelude is built from precomputed segments.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class NativeBridge {
+
+    /*
+     * The native bridge will prototype _UAirship, so inject any additional
+     * functionality under _UAirship and the final UAirship object will have
+     * access to it.
+     */
+    private static final String PRELUDE_HEAD = "var _UAirship = {};"
+            + "_UAirship.getDeviceModel = function(){return " + quote(Build.MODEL) + ";};";
+
+    private static final String GETTER_PREFIX = "_UAirship.";
+    private static final String GETTER_INFIX = " = function(){return ";
+    private static final String GETTER_SUFFIX = ";};";
+
+    private static final ThreadLocal<SimpleDateFormat> dateFormatter = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSSZ", Locale.US);
+            format.setTimeZone(TimeZone.getTimeZone("UTC"));
+            return format;
+        }
+    };
+
+    private static final Object lock = new Object();
+    private static volatile String script;
+
+    private NativeBridge() {}
+
+    /**
+     * Reads the native bridge in the background so it is ready before the first web view loads.
+     *
+     * @param context The application context.
+     */
+    public static void preload(@NonNull Context context) {
+        if (script != null) {
+            return;
+        }
+
+        final Context applicationContext = context.getApplicationContext();
+        AirshipExecutors.THREAD_POOL_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                load(applicationContext);
+            }
+        });
+    }
+
+    /**
+     * Gets the native bridge if it has been loaded.
+     *
+     * @return The native bridge, or {@code null} if it has not been loaded yet.
+     */
+    @Nullable
+    static String getCachedScript() {
+        return script;
+    }
+
+    /**
+     * Gets the native bridge, reading it from resources if it has not been loaded yet.
+     *
+     * @param context The context.
+     * @return The native bridge, or {@code null} if it failed to load.
+     */
+    @Nullable
+    @WorkerThread
+    static String load(@NonNull Context context) {
+        String cached = script;
+        if (cached != null) {
+            return cached;
+        }
+
+        synchronized (lock) {
+            if (script == null) {
+                try {
+                    script = readNativeBridge(context);
+                } catch (IOException e) {
+                    Logger.error(e, "Failed to read native bridge.");
+                }
+            }
+            return script;
+        }
+    }
+
+    /**
+     * Creates the prelude that defines the {@code _UAirship} getters.
+     *
+     * @param message The message, or {@code null} if the web view is not displaying a message.
+     * @param userId The user ID.
+     * @param channelId The channel ID.
+     * @param appKey The app key.
+     * @param namedUser The named user ID.
+     * @return The prelude.
+     */
+    @NonNull
+    static String createPrelude(@Nullable RichPushMessage message, @Nullable String userId,
+                                @Nullable String channelId, @Nullable String appKey,
+                                @Nullable String namedUser) {
+        StringBuilder sb = new StringBuilder(512).append(PRELUDE_HEAD);
+
+        appendGetter(sb, "getMessageId", quote(message != null ? message.getMessageId() : null));
+        appendGetter(sb, "getMessageTitle", quote(message != null ? message.getTitle() : null));
+        appendGetter(sb, "getMessageSentDate", quote(message != null ? dateFormatter.get().format(message.getSentDate()) : null));
+        appendGetter(sb, "getMessageSentDateMS", String.valueOf(message != null ? message.getSentDateMS() : -1));
+        appendGetter(sb, "getUserId", quote(userId));
+        appendGetter(sb, "getChannelId", quote(channelId));
+        appendGetter(sb, "getAppKey", quote(appKey));
+        appendGetter(sb, "getNamedUser", quote(namedUser));
+
+        return sb.toString();
+    }
+
+    private static void appendGetter(@NonNull StringBuilder sb, @NonNull String functionName, @NonNull String value) {
+        sb.append(GETTER_PREFIX)
+          .append(functionName)
+          .append(GETTER_INFIX)
+          .append(value)
+          .append(GETTER_SUFFIX);
+    }
+
+    @NonNull
+    private static String quote(@Nullable String value) {
+        return value == null ? "null" : JSONObject.quote(value);
+    }
+
+    /**
+     * Helper method to read the native bridge from resources.
+     *
+     * @param context The context.
+     * @return The native bridge.
+     * @throws IOException if output steam read or write operations fail.
+     */
+    @NonNull
+    private static String readNativeBridge(@NonNull Context context) throws IOException {
+        InputStream input = context.getResources().openRawResource(R.raw.ua_native_bridge);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try {
+            byte[] buffer = new byte[1024];
+            int length;
+
+            while ((length = input.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+
+            return outputStream.toString();
+        } finally {
+            try {
+                input.close();
+                outputStream.close();
+            } catch (Exception e) {
+                Logger.debug(e, "Failed to close streams");
+            }
+        }
+    }
+
+}
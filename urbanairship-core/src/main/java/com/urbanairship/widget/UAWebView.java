@@ -139,6 +139,11 @@ public class UAWebView extends WebView {
             }
         }
 
+        // @JavascriptInterface only limits the exposed methods on 17+, older versions use the URL commands
+        if (Build.VERSION.SDK_INT >= 17) {
+            addJavascriptInterface(new ActionBridge(this), ActionBridge.INTERFACE_NAME);
+        }
+
         initializeView();
         populateCustomJavascriptInterfaces();
     }
@@ -245,6 +250,19 @@ public class UAWebView extends WebView {
         super.setWebViewClient(webViewClient);
     }
 
+    /**
+     * Called by the {@link ActionBridge} on the main thread to run a batch of actions.
+     *
+     * @param batch The JSON encoded actions.
+     */
+    void onActionBatch(@NonNull String batch) {
+        if (webViewClient instanceof UAWebViewClient) {
+            ((UAWebViewClient) webViewClient).runActionBatch(this, batch);
+        } else {
+            Logger.debug("UAWebView - Ignoring action batch, web view client is not a UAWebViewClient.");
+        }
+    }
+
     /**
      * Called right before data or a URL is passed to the web view to be loaded.
      */
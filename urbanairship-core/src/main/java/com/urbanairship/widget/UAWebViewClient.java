@@ -9,7 +9,6 @@ import android.net.Uri;
 import android.os.AsyncTask;
 import android.os.Build;
 import android.os.Bundle;
-import android.text.TextUtils;
 import android.view.KeyEvent;
 import android.webkit.HttpAuthHandler;
 import android.webkit.WebResourceRequest;
@@ -28,24 +27,29 @@ import com.urbanairship.actions.ActionRunRequestFactory;
 import com.urbanairship.actions.ActionValue;
 import com.urbanairship.js.Whitelist;
 import com.urbanairship.json.JsonException;
+import com.urbanairship.json.JsonList;
+import com.urbanairship.json.JsonMap;
 import com.urbanairship.json.JsonValue;
+import com.urbanairship.metrics.Metrics;
+import com.urbanairship.metrics.Span;
+import com.urbanairship.richpush.MessageBodyCache;
+import com.urbanairship.richpush.RichPushInbox;
 import com.urbanairship.richpush.RichPushMessage;
 import com.urbanairship.util.UriUtils;
 
 import org.json.JSONObject;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.ref.WeakReference;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.TimeZone;
+import java.util.Set;
 import java.util.WeakHashMap;
 
 import androidx.annotation.CallSuper;
@@ -120,6 +124,13 @@ public class UAWebViewClient extends WebViewClient {
      */
     private static final String RUN_ACTIONS_COMMAND_CALLBACK = "run-action-cb";
 
+    /**
+     * Action batch keys.
+     */
+    private static final String BATCH_NAME_KEY = "name";
+    private static final String BATCH_VALUE_KEY = "value";
+    private static final String BATCH_CALLBACK_KEY = "callback";
+
     /**
      * Close command to handle close method in the Javascript Interface.
      */
@@ -130,11 +141,10 @@ public class UAWebViewClient extends WebViewClient {
     private ActionCompletionCallback actionCompletionCallback;
     private final ActionRunRequestFactory actionRunRequestFactory;
 
-    private static SimpleDateFormat dateFormatter;
-    private static String nativeBridge;
     private boolean faviconEnabled = false;
 
     private final Map<WebView, InjectJsBridgeTask> injectJsBridgeTaskMap = new WeakHashMap<>();
+    private final Set<WebView> injectedWebViews = Collections.newSetFromMap(new WeakHashMap<WebView, Boolean>());
 
     /**
      * Default constructor.
@@ -204,6 +214,11 @@ public class UAWebViewClient extends WebViewClient {
     @CallSuper
     @Override
     public WebResourceResponse shouldInterceptRequest(WebView webView, String url) {
+        WebResourceResponse messageBody = getCachedMessageBody(url);
+        if (messageBody != null) {
+            return messageBody;
+        }
+
         if (faviconEnabled) {
             return null;
         }
@@ -226,6 +241,13 @@ public class UAWebViewClient extends WebViewClient {
     @Override
     @SuppressLint("NewApi")
     public WebResourceResponse shouldInterceptRequest(WebView webView, WebResourceRequest request) {
+        if (request.isForMainFrame() && "GET".equals(request.getMethod())) {
+            WebResourceResponse messageBody = getCachedMessageBody(request.getUrl().toString());
+            if (messageBody != null) {
+                return messageBody;
+            }
+        }
+
         if (faviconEnabled) {
             return null;
         }
@@ -240,6 +262,33 @@ public class UAWebViewClient extends WebViewClient {
         return null;
     }
 
+    /**
+     * Gets the prefetched body if the url is an inbox message body.
+     *
+     * @param url The url being loaded.
+     * @return The message body response, or {@code null} if the body is not cached.
+     */
+    @Nullable
+    private WebResourceResponse getCachedMessageBody(@Nullable String url) {
+        if (url == null || !UAirship.isFlying()) {
+            return null;
+        }
+
+        RichPushInbox inbox = UAirship.shared().getInbox();
+        RichPushMessage message = inbox.getMessageByUrl(url);
+        if (message == null) {
+            return null;
+        }
+
+        InputStream body = inbox.getMessageBodyCache().open(message.getMessageId());
+        if (body == null) {
+            return null;
+        }
+
+        Logger.verbose("UAWebViewClient - Loading message %s from cache.", message.getMessageId());
+        return new WebResourceResponse(MessageBodyCache.MIME_TYPE, MessageBodyCache.ENCODING, body);
+    }
+
     @CallSuper
     @Override
     public void onLoadResource(@NonNull WebView webView, @Nullable String url) {
@@ -376,6 +425,89 @@ public class UAWebViewClient extends WebViewClient {
             return;
         }
 
+        runAction(webView, name, actionValue, new ActionResultCallback() {
+            @Override
+            public void onResult(@Nullable String error, @NonNull ActionValue result) {
+                triggerCallback(webView, error, result, callbackKey);
+            }
+        });
+    }
+
+    /**
+     * Runs a batch of actions from the {@link ActionBridge} and calls back into the JavaScript
+     * layer with all of the results at once.
+     *
+     * @param webView The web view.
+     * @param batch JSON encoded list of actions, each with a {@code name}, a {@code value}, and an
+     * optional {@code callback} key.
+     */
+    void runActionBatch(@NonNull final WebView webView, @NonNull String batch) {
+        if (!isWhiteListed(webView.getUrl())) {
+            Logger.debug("UAWebViewClient - %s is not a white listed URL. Ignoring action batch.", webView.getUrl());
+            return;
+        }
+
+        JsonList actions;
+        try {
+            actions = JsonValue.parseString(batch).optList();
+        } catch (JsonException e) {
+            Logger.error(e, "Unable to parse action batch: %s", batch);
+            return;
+        }
+
+        Logger.info("Running action batch with %s actions.", actions.size());
+
+        final int count = actions.size();
+        final String[] results = new String[count];
+        final int[] remaining = { count };
+
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            JsonMap action = actions.get(i).optMap();
+            String name = action.opt(BATCH_NAME_KEY).getString();
+            final String callbackKey = action.opt(BATCH_CALLBACK_KEY).getString();
+
+            ActionResultCallback resultCallback = new ActionResultCallback() {
+                @Override
+                public void onResult(@Nullable String error, @NonNull ActionValue result) {
+                    if (callbackKey != null) {
+                        results[index] = createFinishAction(error, result, callbackKey);
+                    }
+
+                    remaining[0]--;
+                    if (remaining[0] == 0) {
+                        StringBuilder script = new StringBuilder();
+                        for (String finishAction : results) {
+                            if (finishAction != null) {
+                                script.append(finishAction);
+                            }
+                        }
+
+                        if (script.length() > 0) {
+                            evaluateJavascript(webView, script.toString());
+                        }
+                    }
+                }
+            };
+
+            if (name == null) {
+                resultCallback.onResult("Missing action name", new ActionValue());
+                continue;
+            }
+
+            runAction(webView, name, new ActionValue(action.opt(BATCH_VALUE_KEY)), resultCallback);
+        }
+    }
+
+    /**
+     * Runs a single action by name.
+     *
+     * @param webView The web view.
+     * @param name The name of the action to run.
+     * @param actionValue The action value.
+     * @param resultCallback Called on the main thread with the error message and result value.
+     */
+    private void runAction(@NonNull WebView webView, @NonNull final String name, @NonNull ActionValue actionValue, @NonNull final ActionResultCallback resultCallback) {
         // Create metadata
         Bundle metadata = new Bundle();
         RichPushMessage message = getMessage(webView);
@@ -410,7 +542,7 @@ public class UAWebViewClient extends WebViewClient {
                                                }
                                        }
 
-                                       triggerCallback(webView, errorMessage, result.getValue(), callbackKey);
+                                       resultCallback.onResult(errorMessage, result.getValue());
 
                                        synchronized (this) {
                                            if (actionCompletionCallback != null) {
@@ -429,8 +561,20 @@ public class UAWebViewClient extends WebViewClient {
      * @param resultValue The actions value of the result.
      * @param callbackKey The key for the callback function in JavaScript.
      */
-    @SuppressLint("NewAPI")
     private void triggerCallback(@NonNull final WebView webView, @Nullable String error, @NonNull ActionValue resultValue, @Nullable String callbackKey) {
+        evaluateJavascript(webView, createFinishAction(error, resultValue, callbackKey));
+    }
+
+    /**
+     * Creates the javascript call for UAirship.finishAction(error, value, callback).
+     *
+     * @param error The error message or null if no error.
+     * @param resultValue The actions value of the result.
+     * @param callbackKey The key for the callback function in JavaScript.
+     * @return The javascript call.
+     */
+    @NonNull
+    private static String createFinishAction(@Nullable String error, @NonNull ActionValue resultValue, @Nullable String callbackKey) {
         // Create the callback string
         String callbackString = String.format("'%s'", callbackKey);
 
@@ -445,14 +589,22 @@ public class UAWebViewClient extends WebViewClient {
         // Create the result value
         String resultValueString = resultValue.toString();
 
-        // Create the javascript call for UAirship.finishAction(error, value, callback)
-        final String finishAction = String.format(Locale.US, "UAirship.finishAction(%s, %s, %s);",
+        return String.format(Locale.US, "UAirship.finishAction(%s, %s, %s);",
                 errorString, resultValueString, callbackString);
+    }
 
+    /**
+     * Evaluates javascript in the web view.
+     *
+     * @param webView The web view.
+     * @param script The script.
+     */
+    @SuppressLint("NewAPI")
+    private static void evaluateJavascript(@NonNull WebView webView, @NonNull String script) {
         if (Build.VERSION.SDK_INT >= 19) {
-            webView.evaluateJavascript(finishAction, null);
+            webView.evaluateJavascript(script, null);
         } else {
-            webView.loadUrl("javascript:" + finishAction);
+            webView.loadUrl("javascript:" + script);
         }
     }
 
@@ -501,6 +653,13 @@ public class UAWebViewClient extends WebViewClient {
         return decodedActions;
     }
 
+    @CallSuper
+    @Override
+    public void onPageCommitVisible(@NonNull WebView view, @Nullable String url) {
+        // Called before onPageFinished on API 23+, without waiting on the page's subresources
+        injectJsBridge(view, url);
+    }
+
     @CallSuper
     @Override
     public void onPageFinished(@Nullable final WebView view, @Nullable String url) {
@@ -508,28 +667,53 @@ public class UAWebViewClient extends WebViewClient {
             return;
         }
 
-        if (!isWhiteListed(url)) {
-            Logger.debug("UAWebViewClient - %s is not a white listed URL. Airship Javascript interface will not be accessible.", url);
-            return;
-        }
-
-        Logger.info("Loading Airship Javascript interface.");
-
-        RichPushMessage message = getMessage(view);
-        InjectJsBridgeTask task = new InjectJsBridgeTask(view.getContext(), view, message);
-        injectJsBridgeTaskMap.put(view, task);
-        task.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        injectJsBridge(view, url);
     }
 
     @CallSuper
     @Override
     public void onPageStarted(@NonNull WebView view, @Nullable String url, @Nullable Bitmap favicon) {
+        injectedWebViews.remove(view);
         InjectJsBridgeTask task = injectJsBridgeTaskMap.remove(view);
         if (task != null) {
             task.cancel(true);
         }
     }
 
+    /**
+     * Injects the Javascript bridge once per page load. The bridge is evaluated immediately if it
+     * is already loaded, otherwise it is read in the background first.
+     *
+     * @param view The web view.
+     * @param url The page URL.
+     */
+    private void injectJsBridge(@NonNull WebView view, @Nullable String url) {
+        if (injectedWebViews.contains(view)) {
+            return;
+        }
+
+        if (!isWhiteListed(url)) {
+            Logger.debug("UAWebViewClient - %s is not a white listed URL. Airship Javascript interface will not be accessible.", url);
+            return;
+        }
+
+        Logger.info("Loading Airship Javascript interface.");
+        injectedWebViews.add(view);
+
+        Span span = Metrics.startSpan(Metrics.SPAN_JS_BRIDGE_INJECT);
+        String prelude = createPrelude(getMessage(view));
+        String nativeBridge = NativeBridge.getCachedScript();
+        if (nativeBridge != null) {
+            evaluateJavascript(view, prelude + nativeBridge);
+            span.end();
+            return;
+        }
+
+        InjectJsBridgeTask task = new InjectJsBridgeTask(view.getContext(), view, prelude, span);
+        injectJsBridgeTaskMap.put(view, task);
+        task.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+    }
+
     /**
      * Checks if the URL is white listed.
      *
@@ -570,13 +754,20 @@ public class UAWebViewClient extends WebViewClient {
         authRequestCredentials.remove(expectedAuthHost);
     }
 
-    private String createGetter(@NonNull String functionName, @Nullable String value) {
-        value = (value == null) ? "null" : JSONObject.quote(value);
-        return String.format(Locale.US, "_UAirship.%s = function(){return %s;};", functionName, value);
-    }
-
-    private String createGetter(@NonNull String functionName, long value) {
-        return String.format(Locale.US, "_UAirship.%s = function(){return %d;};", functionName, value);
+    /**
+     * Creates the prelude that defines the {@code _UAirship} getters.
+     *
+     * @param message The message, or {@code null} if the web view is not displaying a message.
+     * @return The prelude.
+     */
+    @NonNull
+    private String createPrelude(@Nullable RichPushMessage message) {
+        UAirship airship = UAirship.shared();
+        return NativeBridge.createPrelude(message,
+                airship.getInbox().getUser().getId(),
+                airship.getChannel().getId(),
+                airship.getAirshipConfigOptions().appKey,
+                airship.getNamedUser().getId());
     }
 
     /**
@@ -591,6 +782,15 @@ public class UAWebViewClient extends WebViewClient {
         return UAirship.shared().getInbox().getMessageByUrl(webView.getUrl());
     }
 
+    /**
+     * Receives the result of an action run from the web view.
+     */
+    private interface ActionResultCallback {
+
+        void onResult(@Nullable String error, @NonNull ActionValue result);
+
+    }
+
     /**
      * Credentials model class.
      */
@@ -607,7 +807,7 @@ public class UAWebViewClient extends WebViewClient {
     }
 
     /**
-     * Async task to inject the Javascript bridge.
+     * Async task to read the native bridge and inject it with the prelude.
      */
     @SuppressLint("StaticFieldLeak")
     private class InjectJsBridgeTask extends AsyncTask<Void, Void, String> {
@@ -615,62 +815,31 @@ public class UAWebViewClient extends WebViewClient {
         @NonNull
         private final WeakReference<WebView> webViewWeakReference;
         private final Context context;
+        private final String prelude;
+        private final Span span;
 
-        @Nullable
-        private final RichPushMessage message;
-
-        private InjectJsBridgeTask(Context context, WebView webView, @Nullable RichPushMessage message) {
+        private InjectJsBridgeTask(@NonNull Context context, @NonNull WebView webView, @NonNull String prelude, @NonNull Span span) {
             this.context = context.getApplicationContext();
             this.webViewWeakReference = new WeakReference<>(webView);
-            this.message = message;
+            this.prelude = prelude;
+            this.span = span;
         }
 
         @Nullable
         @Override
         protected String doInBackground(Void... params) {
-            final WebView webView = webViewWeakReference.get();
-            if (webView == null) {
+            if (webViewWeakReference.get() == null) {
                 return null;
             }
 
-            if (dateFormatter == null) {
-                dateFormatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSSZ", Locale.US);
-                dateFormatter.setTimeZone(TimeZone.getTimeZone("UTC"));
-            }
-
-            /*
-             * The native bridge will prototype _UAirship, so inject any additional
-             * functionality under _UAirship and the final UAirship object will have
-             * access to it.
-             */
-            StringBuilder sb = new StringBuilder().append("var _UAirship = {};");
-
-            // Getters
-            sb.append(createGetter("getDeviceModel", Build.MODEL))
-              .append(createGetter("getMessageId", (message != null) ? message.getMessageId() : null))
-              .append(createGetter("getMessageTitle", (message != null) ? message.getTitle() : null))
-              .append(createGetter("getMessageSentDate", (message != null) ? dateFormatter.format(message.getSentDate()) : null))
-              .append(createGetter("getMessageSentDateMS", (message != null) ? message.getSentDateMS() : -1))
-              .append(createGetter("getUserId", UAirship.shared().getInbox().getUser().getId()))
-              .append(createGetter("getChannelId", UAirship.shared().getChannel().getId()))
-              .append(createGetter("getAppKey", UAirship.shared().getAirshipConfigOptions().appKey))
-              .append(createGetter("getNamedUser", UAirship.shared().getNamedUser().getId()));
-
-            if (TextUtils.isEmpty(nativeBridge)) {
-                try {
-                    nativeBridge = readNativeBridge();
-                } catch (IOException e) {
-                    Logger.error("Failed to read native bridge.");
-                }
-            }
-
-            sb.append(nativeBridge);
-
-            return sb.toString();
+            String nativeBridge = NativeBridge.load(context);
+            return nativeBridge == null ? null : prelude + nativeBridge;
         }
 
         @Override
-        protected void onPostExecute(String jsBridge) {
+        protected void onPostExecute(@Nullable String jsBridge) {
+            span.end();
+
             WebView webView = webViewWeakReference.get();
             if (webView == null) {
                 return;
@@ -678,40 +847,14 @@ public class UAWebViewClient extends WebViewClient {
 
             injectJsBridgeTaskMap.remove(webView);
 
-            if (Build.VERSION.SDK_INT >= 19) {
-                webView.evaluateJavascript(jsBridge, null);
-            } else {
-                webView.loadUrl("javascript:" + jsBridge);
+            if (jsBridge != null) {
+                evaluateJavascript(webView, jsBridge);
             }
         }
 
-        /**
-         * Helper method to read the native bridge from resources.
-         *
-         * @return The native bridge.
-         * @throws IOException if output steam read or write operations fail.
-         */
-        private String readNativeBridge() throws IOException {
-            InputStream input = context.getResources().openRawResource(R.raw.ua_native_bridge);
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
-            try {
-                byte[] buffer = new byte[1024];
-                int length;
-
-                while ((length = input.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, length);
-                }
-
-                return outputStream.toString();
-            } finally {
-                try {
-                    input.close();
-                    outputStream.close();
-                } catch (Exception e) {
-                    Logger.debug(e, "Failed to close streams");
-                }
-            }
+        @Override
+        protected void onCancelled(@Nullable String jsBridge) {
+            span.end();
         }
 
     }
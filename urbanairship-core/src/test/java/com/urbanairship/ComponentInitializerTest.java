@@ -0,0 +1,307 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+public class ComponentInitializerTest extends BaseTestCase {
+
+    private List<String> initialized;
+    private ComponentInitializer initializer;
+
+    @Before
+    public void setup() {
+        initialized = new CopyOnWriteArrayList<>();
+
+        Executor executor = new Executor() {
+            @Override
+            public void execute(@NonNull Runnable runnable) {
+                runnable.run();
+            }
+        };
+
+        initializer = new ComponentInitializer(executor, 2);
+    }
+
+    /**
+     * Test components are initialized after their dependencies.
+     */
+    @Test
+    public void testDependencyOrder() {
+        TestComponent channel = new TestComponent("channel");
+        TestComponent analytics = new TestComponent("analytics");
+        TestComponent remoteData = new TestComponent("remoteData");
+        TestComponent inApp = new TestComponent("inApp");
+
+        initializer.add(channel, ComponentInitializer.INIT_EAGER);
+        initializer.add(analytics, ComponentInitializer.INIT_EAGER, channel);
+        initializer.add(remoteData, ComponentInitializer.INIT_EAGER);
+        initializer.add(inApp, ComponentInitializer.INIT_EAGER, analytics, remoteData);
+
+        initializer.initialize();
+
+        assertEquals(4, initialized.size());
+        assertTrue(initialized.indexOf("channel") < initialized.indexOf("analytics"));
+        assertTrue(initialized.indexOf("analytics") < initialized.indexOf("inApp"));
+        assertTrue(initialized.indexOf("remoteData") < initialized.indexOf("inApp"));
+    }
+
+    /**
+     * Test parallel init on a thread pool.
+     */
+    @Test
+    public void testParallel() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        initializer = new ComponentInitializer(executor, 4);
+
+        TestComponent root = new TestComponent("root");
+        initializer.add(root, ComponentInitializer.INIT_EAGER);
+        for (int i = 0; i < 10; i++) {
+            initializer.add(new TestComponent("child" + i), ComponentInitializer.INIT_EAGER, root);
+        }
+
+        initializer.initialize();
+        executor.shutdown();
+
+        assertEquals(11, initialized.size());
+        assertEquals("root", initialized.get(0));
+    }
+
+    /**
+     * Test deferred components wait for first use or idle.
+     */
+    @Test
+    public void testDeferred() {
+        TestComponent inbox = new TestComponent("inbox");
+        TestComponent messageCenter = new TestComponent("messageCenter");
+        TestComponent location = new TestComponent("location");
+
+        initializer.add(inbox, ComponentInitializer.INIT_EAGER);
+        initializer.add(messageCenter, ComponentInitializer.INIT_IDLE, inbox);
+        initializer.add(location, ComponentInitializer.INIT_IDLE);
+
+        initializer.initialize();
+        assertEquals(Collections.singletonList("inbox"), initialized);
+        assertFalse(initializer.isInitialized(messageCenter));
+
+        initializer.ensureInitialized(messageCenter);
+        assertEquals(Arrays.asList("inbox", "messageCenter"), initialized);
+
+        // Only initialized once
+        initializer.ensureInitialized(messageCenter);
+        initializer.initializeDeferred();
+        assertEquals(Arrays.asList("inbox", "messageCenter", "location"), initialized);
+    }
+
+    /**
+     * Test on demand components are not initialized by idle.
+     */
+    @Test
+    public void testOnDemand() {
+        TestComponent channel = new TestComponent("channel");
+        TestComponent accengage = new TestComponent("accengage");
+
+        initializer.add(channel, ComponentInitializer.INIT_EAGER);
+        initializer.addAfterAll(accengage, ComponentInitializer.INIT_ON_DEMAND);
+
+        initializer.initialize();
+        initializer.initializeDeferred();
+        assertEquals(Collections.singletonList("channel"), initialized);
+
+        initializer.ensureInitialized(accengage);
+        assertEquals(Arrays.asList("channel", "accengage"), initialized);
+    }
+
+    /**
+     * Test airship ready is dispatched once the component is initialized and airship is ready.
+     */
+    @Test
+    public void testDispatchAirshipReady() {
+        final List<String> ready = new CopyOnWriteArrayList<>();
+        TestComponent channel = new TestComponent("channel") {
+            @Override
+            protected void onAirshipReady(@NonNull UAirship airship) {
+                ready.add("channel");
+            }
+        };
+
+        TestComponent debug = new TestComponent("debug") {
+            @Override
+            protected void onAirshipReady(@NonNull UAirship airship) {
+                ready.add("debug");
+            }
+        };
+
+        initializer.add(channel, ComponentInitializer.INIT_EAGER);
+        initializer.add(debug, ComponentInitializer.INIT_ON_DEMAND);
+        initializer.initialize();
+
+        // Not ready until dispatched
+        assertTrue(ready.isEmpty());
+
+        initializer.dispatchAirshipReady(mock(UAirship.class));
+        assertEquals(Collections.singletonList("channel"), ready);
+
+        // Late init is notified right away, only once
+        initializer.ensureInitialized(debug);
+        initializer.dispatchAirshipReady(mock(UAirship.class));
+        assertEquals(Arrays.asList("channel", "debug"), ready);
+    }
+
+    /**
+     * Test canceling stops idle init.
+     */
+    @Test
+    public void testCancel() {
+        TestComponent location = new TestComponent("location");
+        initializer.add(location, ComponentInitializer.INIT_IDLE);
+        initializer.initialize();
+
+        initializer.cancel();
+        initializer.initializeDeferred();
+        assertTrue(initialized.isEmpty());
+    }
+
+    /**
+     * Test init failures are thrown from initialize.
+     */
+    @Test
+    public void testFailure() {
+        TestComponent channel = new TestComponent("channel") {
+            @Override
+            protected void init() {
+                throw new IllegalStateException("failed");
+            }
+        };
+
+        initializer.add(channel, ComponentInitializer.INIT_EAGER);
+        initializer.add(new TestComponent("push"), ComponentInitializer.INIT_EAGER, channel);
+
+        try {
+            initializer.initialize();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("failed", e.getMessage());
+        }
+
+        assertTrue(initialized.isEmpty());
+    }
+
+    /**
+     * Test init threads are marked so shared does not block on takeOff.
+     */
+    @Test
+    public void testInitThread() {
+        final List<Boolean> isInitThread = new CopyOnWriteArrayList<>();
+        initializer.add(new TestComponent("channel") {
+            @Override
+            protected void init() {
+                isInitThread.add(ComponentInitializer.isInitThread());
+            }
+        }, ComponentInitializer.INIT_EAGER);
+
+        initializer.initialize();
+        assertEquals(Collections.singletonList(true), isInitThread);
+        assertFalse(ComponentInitializer.isInitThread());
+    }
+
+    /**
+     * Test deferred components that reach each other from onAirshipReady on different threads
+     * do not deadlock.
+     */
+    @Test
+    public void testDeferredReadyReachEachOther() throws InterruptedException {
+        final CountDownLatch storageReady = new CountDownLatch(1);
+        final CountDownLatch proceed = new CountDownLatch(1);
+        final List<String> ready = new CopyOnWriteArrayList<>();
+        final TestComponent[] inbox = new TestComponent[1];
+
+        final TestComponent storage = new TestComponent("storage") {
+            @Override
+            protected void onAirshipReady(@NonNull UAirship airship) {
+                storageReady.countDown();
+                try {
+                    proceed.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                initializer.ensureInitialized(inbox[0]);
+                ready.add("storage");
+            }
+        };
+
+        inbox[0] = new TestComponent("inbox") {
+            @Override
+            protected void onAirshipReady(@NonNull UAirship airship) {
+                initializer.ensureInitialized(storage);
+                ready.add("inbox");
+            }
+        };
+
+        initializer.add(storage, ComponentInitializer.INIT_ON_DEMAND);
+        initializer.add(inbox[0], ComponentInitializer.INIT_ON_DEMAND, storage);
+        initializer.dispatchAirshipReady(mock(UAirship.class));
+
+        Thread storageThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                initializer.ensureInitialized(storage);
+            }
+        });
+        storageThread.start();
+        assertTrue(storageReady.await(5, TimeUnit.SECONDS));
+
+        // Init the inbox while the storage is still in onAirshipReady
+        Thread inboxThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                initializer.ensureInitialized(inbox[0]);
+            }
+        });
+        inboxThread.start();
+        inboxThread.join(TimeUnit.SECONDS.toMillis(5));
+        proceed.countDown();
+        storageThread.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertFalse(inboxThread.isAlive());
+        assertFalse(storageThread.isAlive());
+        assertEquals(Arrays.asList("storage", "inbox"), initialized);
+        assertTrue(ready.containsAll(Arrays.asList("storage", "inbox")));
+    }
+
+    private class TestComponent extends AirshipComponent {
+
+        private final String name;
+
+        TestComponent(@NonNull String name) {
+            super(TestApplication.getApplication(), TestApplication.getApplication().preferenceDataStore);
+            this.name = name;
+        }
+
+        @Override
+        protected void init() {
+            initialized.add(name);
+        }
+
+    }
+
+}
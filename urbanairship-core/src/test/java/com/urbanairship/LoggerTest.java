@@ -7,6 +7,8 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 public class LoggerTest extends BaseTestCase {
 
@@ -14,21 +16,22 @@ public class LoggerTest extends BaseTestCase {
      * Test the logger listener.
      */
     @Test
-    public void testListener() {
+    public void testListener() throws InterruptedException {
 
         final String errorMessage = "This is a test";
         final Throwable error = new IllegalArgumentException("Oh no");
         final ArrayList<String> called = new ArrayList<>();
+        final ArrayList<Integer> priorities = new ArrayList<>();
+        final ArrayList<Throwable> throwables = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
 
         LoggerListener myListener = new LoggerListener() {
             @Override
             public void onLog(int priority, @Nullable Throwable throwable, @Nullable String message) {
-
-                Assert.assertEquals(priority, Log.ERROR);
-                Assert.assertEquals(error, throwable);
-                Assert.assertEquals(errorMessage, message);
-
+                priorities.add(priority);
+                throwables.add(throwable);
                 called.add(message);
+                latch.countDown();
             }
         };
 
@@ -36,8 +39,13 @@ public class LoggerTest extends BaseTestCase {
 
         Logger.error(error, errorMessage);
 
+        // Listeners are called on a background thread
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+
         Assert.assertEquals(called.size(), 1);
         Assert.assertEquals(called.get(0), errorMessage);
+        Assert.assertEquals(Log.ERROR, (int) priorities.get(0));
+        Assert.assertEquals(error, throwables.get(0));
 
         Logger.removeListener(myListener);
     }
@@ -0,0 +1,207 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.robolectric.shadows.ShadowLog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LoggingCoreTest extends BaseTestCase {
+
+    private List<Runnable> pendingRunnables;
+    private List<String> messages;
+    private TestClock clock;
+    private LoggingCore loggingCore;
+
+    @Before
+    public void setup() {
+        pendingRunnables = new ArrayList<>();
+        messages = new ArrayList<>();
+        clock = new TestClock();
+
+        Executor executor = new Executor() {
+            @Override
+            public void execute(@NonNull Runnable runnable) {
+                pendingRunnables.add(runnable);
+            }
+        };
+
+        loggingCore = new LoggingCore(Log.VERBOSE, "test", executor, clock);
+        loggingCore.setDefaultLoggerEnabled(false);
+        loggingCore.addListener(new LoggerListener() {
+            @Override
+            public void onLog(int priority, @Nullable Throwable throwable, @Nullable String message) {
+                messages.add(message);
+            }
+        });
+    }
+
+    /**
+     * Test records are delivered in order by a single dispatch.
+     */
+    @Test
+    public void testBatchedDispatch() {
+        loggingCore.log(Log.ERROR, null, "one %s", 1);
+        loggingCore.log(Log.ERROR, null, "two %s", 2);
+        loggingCore.log(Log.ERROR, null, "three");
+
+        // Listeners are not called on the logging thread
+        assertTrue(messages.isEmpty());
+        assertEquals(1, pendingRunnables.size());
+
+        runPending();
+        assertEquals(Arrays.asList("one 1", "two 2", "three"), messages);
+    }
+
+    /**
+     * Test the args are copied on the logging thread and the message is formatted when the
+     * listeners consume it.
+     */
+    @Test
+    public void testFormatOnExecutor() {
+        final List<String> formatted = new ArrayList<>();
+        Object arg = new Object() {
+            @Override
+            public String toString() {
+                formatted.add("arg");
+                return "arg";
+            }
+        };
+
+        StringBuilder builder = new StringBuilder("before");
+        loggingCore.log(Log.DEBUG, null, "debug %s %s %d %.1f", arg, builder, 5, 1.5);
+        assertEquals(1, formatted.size());
+        builder.append(" after");
+
+        runPending();
+        assertEquals(1, formatted.size());
+        assertEquals(Arrays.asList("debug arg before 5 1.5"), messages);
+    }
+
+    /**
+     * Test rate limited records are not formatted.
+     */
+    @Test
+    public void testRateLimitedNotFormatted() {
+        final List<String> formatted = new ArrayList<>();
+        Object arg = new Object() {
+            @Override
+            public String toString() {
+                formatted.add("arg");
+                return "arg";
+            }
+        };
+
+        for (int i = 0; i < LoggingCore.RATE_LIMIT_COUNT * 2; i++) {
+            loggingCore.log(Log.VERBOSE, null, "verbose %s", arg);
+        }
+
+        runPending();
+        assertEquals(LoggingCore.RATE_LIMIT_COUNT, formatted.size());
+        assertEquals(LoggingCore.RATE_LIMIT_COUNT, messages.size());
+    }
+
+    /**
+     * Test an invalid format is delivered unformatted.
+     */
+    @Test
+    public void testInvalidFormat() {
+        loggingCore.log(Log.ERROR, null, "count %d", "one");
+        runPending();
+        assertEquals(Arrays.asList("count %d"), messages);
+    }
+
+    /**
+     * Test a failing listener does not stop delivery.
+     */
+    @Test
+    public void testListenerException() {
+        loggingCore.addListener(new LoggerListener() {
+            @Override
+            public void onLog(int priority, @Nullable Throwable throwable, @Nullable String message) {
+                throw new IllegalStateException("failed");
+            }
+        });
+
+        loggingCore.log(Log.ERROR, null, "one");
+        loggingCore.log(Log.ERROR, null, "two");
+        runPending();
+        assertEquals(Arrays.asList("one", "two"), messages);
+
+        // Dispatch is scheduled again for new records
+        loggingCore.log(Log.ERROR, null, "three");
+        assertEquals(1, pendingRunnables.size());
+        runPending();
+        assertEquals(Arrays.asList("one", "two", "three"), messages);
+    }
+
+    /**
+     * Test records past the queue limit are dropped and reported.
+     */
+    @Test
+    public void testDropsWhenFull() {
+        for (int i = 0; i < LoggingCore.MAX_PENDING_RECORDS + 10; i++) {
+            loggingCore.log(Log.ERROR, null, "message %s", i);
+        }
+
+        runPending();
+        assertEquals(LoggingCore.MAX_PENDING_RECORDS + 1, messages.size());
+        assertEquals("Dropped 10 log messages.", messages.get(0));
+        assertEquals("message 0", messages.get(1));
+    }
+
+    /**
+     * Test verbose messages from a single call site are rate limited.
+     */
+    @Test
+    public void testRateLimit() {
+        for (int i = 0; i < LoggingCore.RATE_LIMIT_COUNT * 2; i++) {
+            loggingCore.log(Log.VERBOSE, null, "verbose %s", i);
+            loggingCore.log(Log.ERROR, null, "error %s", i);
+        }
+
+        runPending();
+        assertEquals(LoggingCore.RATE_LIMIT_COUNT * 3, messages.size());
+
+        // Next window
+        messages.clear();
+        clock.currentTimeMillis += 1000;
+        loggingCore.log(Log.VERBOSE, null, "verbose %s", 0);
+        runPending();
+        assertEquals(Arrays.asList("verbose 0"), messages);
+    }
+
+    /**
+     * Test the rate limit does not apply to the default logger.
+     */
+    @Test
+    public void testRateLimitSkipsDefaultLogger() {
+        loggingCore.setDefaultLoggerEnabled(true);
+        for (int i = 0; i < LoggingCore.RATE_LIMIT_COUNT * 2; i++) {
+            loggingCore.log(Log.VERBOSE, null, "verbose %s", i);
+        }
+
+        runPending();
+        assertEquals(LoggingCore.RATE_LIMIT_COUNT, messages.size());
+        assertEquals(LoggingCore.RATE_LIMIT_COUNT * 2, ShadowLog.getLogsForTag("test").size());
+    }
+
+    private void runPending() {
+        while (!pendingRunnables.isEmpty()) {
+            pendingRunnables.remove(0).run();
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.automation;
+
+import android.os.Looper;
+import androidx.annotation.NonNull;
+
+import com.urbanairship.BaseTestCase;
+import com.urbanairship.CancelableOperation;
+import com.urbanairship.OperationScheduler;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.robolectric.Shadows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AlarmQueueTest extends BaseTestCase {
+
+    private List<CancelableOperation> operations;
+    private List<Long> delays;
+    private List<String> fired;
+    private AlarmQueue alarmQueue;
+
+    @Before
+    public void setup() {
+        operations = new ArrayList<>();
+        delays = new ArrayList<>();
+        fired = new ArrayList<>();
+
+        OperationScheduler scheduler = new OperationScheduler() {
+            @Override
+            public void schedule(long delay, @NonNull CancelableOperation operation) {
+                delays.add(delay);
+                operations.add(operation);
+            }
+        };
+
+        alarmQueue = new AlarmQueue(scheduler, Looper.getMainLooper());
+    }
+
+    @Test
+    public void testSingleOperation() {
+        schedule("foo", "group", 3000);
+        schedule("bar", "group", 5000);
+        schedule("baz", "group", 4000);
+
+        // Later deadlines do not schedule another operation
+        assertEquals(1, operations.size());
+        assertEquals(3000, (long) delays.get(0));
+        assertEquals(3, alarmQueue.size());
+
+        // Earlier deadline replaces the operation
+        schedule("qux", null, 1000);
+        assertEquals(2, operations.size());
+        assertTrue(operations.get(0).isCancelled());
+        assertEquals(1000, (long) delays.get(1));
+    }
+
+    @Test
+    public void testFireInOrder() {
+        schedule("foo", null, 3000);
+        schedule("bar", null, 1000);
+        schedule("baz", null, 2000);
+
+        runLastOperation();
+        assertEquals(Collections.singletonList("bar"), fired);
+
+        runLastOperation();
+        runLastOperation();
+        assertEquals(Arrays.asList("bar", "baz", "foo"), fired);
+        assertEquals(0, alarmQueue.size());
+    }
+
+    @Test
+    public void testCancelGroups() {
+        schedule("foo", "group", 1000);
+        schedule("bar", "group", 2000);
+        schedule("baz", "other", 3000);
+
+        alarmQueue.cancelGroups(Collections.singleton("group"));
+        assertEquals(1, alarmQueue.size());
+
+        runLastOperation();
+        assertEquals(Collections.singletonList("baz"), fired);
+    }
+
+    @Test
+    public void testCancelSchedules() {
+        schedule("foo", "group", 1000);
+        schedule("bar", "group", 2000);
+
+        alarmQueue.cancelSchedules(Arrays.asList("foo", "bar"));
+        assertEquals(0, alarmQueue.size());
+        assertTrue(operations.get(operations.size() - 1).isCancelled());
+    }
+
+    private void schedule(@NonNull final String scheduleId, String group, long delay) {
+        alarmQueue.schedule(scheduleId, group, delay, new Runnable() {
+            @Override
+            public void run() {
+                fired.add(scheduleId);
+            }
+        });
+    }
+
+    private void runLastOperation() {
+        operations.get(operations.size() - 1).run();
+        Shadows.shadowOf(Looper.getMainLooper()).runToEndOfTasks();
+    }
+
+}
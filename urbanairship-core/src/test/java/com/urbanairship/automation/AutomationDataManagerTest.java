@@ -17,8 +17,10 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class AutomationDataManagerTest extends BaseTestCase {
 
@@ -189,6 +191,23 @@ public class AutomationDataManagerTest extends BaseTestCase {
         assertEquals(1, retrieved.size());
     }
 
+    @Test
+    public void testGetTriggersForSchedules() throws Exception {
+        List<ScheduleEntry> schedules = createSchedules(20);
+        dataManager.saveSchedules(schedules);
+
+        Set<String> scheduleIds = new HashSet<>();
+        scheduleIds.add(schedules.get(0).scheduleId);
+        scheduleIds.add(schedules.get(5).scheduleId);
+        scheduleIds.add(schedules.get(10).scheduleId);
+
+        List<TriggerEntry> retrieved = dataManager.getActiveTriggerEntries(Trigger.LIFE_CYCLE_FOREGROUND, scheduleIds);
+        assertEquals(3, retrieved.size());
+        for (TriggerEntry triggerEntry : retrieved) {
+            assertTrue(scheduleIds.contains(triggerEntry.scheduleId));
+        }
+    }
+
     @Test
     public void testBulkInsertSchedules() throws Exception {
         Trigger firstTrigger = Triggers.newForegroundTriggerBuilder()
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -37,7 +38,9 @@ import java.util.concurrent.TimeUnit;
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNotSame;
 import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
 import static junit.framework.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -109,7 +112,7 @@ public class AutomationEngineTest extends BaseTestCase {
 
         ScheduleEntry entry = automationDataManager.getScheduleEntry(pendingResult.get().getId());
         assertNotNull(entry);
-        assertEquals(metadata, entry.metadata);
+        assertEquals(metadata, entry.getMetadata());
     }
 
     @Test
@@ -147,6 +150,61 @@ public class AutomationEngineTest extends BaseTestCase {
         });
     }
 
+    @Test
+    public void testCustomEventProgressCheckpoint() throws Exception {
+        ActionScheduleInfo scheduleInfo = ActionScheduleInfo.newBuilder()
+                                                            .addTrigger(Triggers.newCustomEventTriggerBuilder()
+                                                                                .setCountGoal(3)
+                                                                                .setEventName("purchase")
+                                                                                .build())
+                                                            .addAction("test_action", JsonValue.wrap("action_value"))
+                                                            .build();
+
+        ActionSchedule schedule = schedule(scheduleInfo);
+
+        CustomEvent.newBuilder("purchase").build().track();
+        CustomEvent.newBuilder("purchase").build().track();
+        runLooperTasks();
+
+        // Progress is written by the checkpoint
+        List<TriggerEntry> triggers = automationDataManager.getActiveTriggerEntries(Trigger.CUSTOM_EVENT_COUNT, schedule.getId());
+        assertEquals(1, triggers.size());
+        assertEquals(2.0, triggers.get(0).getProgress(), 0.0);
+        assertEquals(ScheduleEntry.STATE_IDLE, automationDataManager.getScheduleEntry(schedule.getId()).getExecutionState());
+
+        CustomEvent.newBuilder("purchase").build().track();
+        runLooperTasks();
+
+        assertEquals(ScheduleEntry.STATE_PREPARING_SCHEDULE, automationDataManager.getScheduleEntry(schedule.getId()).getExecutionState());
+    }
+
+    @Test
+    public void testStopSavesTriggerProgress() throws Exception {
+        ActionScheduleInfo scheduleInfo = ActionScheduleInfo.newBuilder()
+                                                            .addTrigger(Triggers.newCustomEventTriggerBuilder()
+                                                                                .setCountGoal(3)
+                                                                                .setEventName("purchase")
+                                                                                .build())
+                                                            .addAction("test_action", JsonValue.wrap("action_value"))
+                                                            .build();
+
+        ActionSchedule schedule = schedule(scheduleInfo);
+
+        CustomEvent.newBuilder("purchase").build().track();
+        CustomEvent.newBuilder("purchase").build().track();
+        runDueLooperTasks();
+
+        // Checkpoint is still pending
+        List<TriggerEntry> triggers = automationDataManager.getActiveTriggerEntries(Trigger.CUSTOM_EVENT_COUNT, schedule.getId());
+        assertEquals(0.0, triggers.get(0).getProgress(), 0.0);
+
+        automationEngine.stop();
+        runDueLooperTasks();
+
+        triggers = automationDataManager.getActiveTriggerEntries(Trigger.CUSTOM_EVENT_COUNT, schedule.getId());
+        assertEquals(2.0, triggers.get(0).getProgress(), 0.0);
+    }
+
     @Test
     public void testEnterRegionEvent() throws Exception {
         Trigger trigger = Triggers.newEnterRegionTriggerBuilder()
@@ -573,6 +631,26 @@ public class AutomationEngineTest extends BaseTestCase {
         assertEquals("COOL", updated.getInfo().getActions().get("another_action").getString());
     }
 
+    @Test
+    public void testCachedSchedules() throws Exception {
+        ActionSchedule schedule = schedule(scheduleInfo);
+
+        PendingResult<ActionSchedule> first = automationEngine.getSchedule(schedule.getId());
+        PendingResult<ActionSchedule> second = automationEngine.getSchedule(schedule.getId());
+        runLooperTasks();
+
+        // Same schedule instance until the schedule is edited
+        assertSame(first.get(), second.get());
+
+        Future<ActionSchedule> edited = automationEngine.editSchedule(schedule.getId(), ActionScheduleEdits.newBuilder().setLimit(5).build());
+        PendingResult<ActionSchedule> third = automationEngine.getSchedule(schedule.getId());
+        runLooperTasks();
+
+        assertNotSame(first.get(), third.get());
+        assertEquals(5, third.get().getInfo().getLimit());
+        assertSame(edited.get(), third.get());
+    }
+
     @Test
     public void testEditScheduleEndZero() throws Exception {
         final ActionScheduleInfo scheduleInfo = ActionScheduleInfo.newBuilder()
@@ -666,6 +744,49 @@ public class AutomationEngineTest extends BaseTestCase {
         automationEngine.checkPendingSchedules();
     }
 
+    @Test
+    public void testRecoverSchedulesOnStart() {
+        automationEngine.stop();
+
+        ScheduleEntry executing = new ScheduleEntry("executing", scheduleInfo, JsonMap.EMPTY_MAP);
+        executing.setExecutionState(ScheduleEntry.STATE_EXECUTING);
+        automationDataManager.saveSchedule(executing);
+
+        ActionScheduleInfo expiredInfo = ActionScheduleInfo.newBuilder()
+                                                           .addTrigger(Triggers.newAppInitTriggerBuilder().setGoal(2).build())
+                                                           .addAction("test_action", JsonValue.wrap("action_value"))
+                                                           .setEnd(System.currentTimeMillis() - 1000)
+                                                           .build();
+        ScheduleEntry expired = new ScheduleEntry("expired", expiredInfo, JsonMap.EMPTY_MAP);
+        automationDataManager.saveSchedule(expired);
+
+        driver = new TestActionScheduleDriver();
+        automationEngine = new AutomationEngine.Builder<ActionSchedule>()
+                .setAnalytics(UAirship.shared().getAnalytics())
+                .setDataManager(automationDataManager)
+                .setActivityMonitor(activityMonitor)
+                .setDriver(driver)
+                .setOperationScheduler(new OperationScheduler() {
+                    @Override
+                    public void schedule(long delay, @NonNull CancelableOperation operation) {
+                        operation.getHandler().postDelayed(operation, delay);
+                    }
+                })
+                .setScheduleLimit(100)
+                .build();
+
+        automationEngine.start();
+        runLooperTasks();
+
+        // Executing schedule should be reset and prepared again
+        assertEquals(ScheduleEntry.STATE_PREPARING_SCHEDULE, automationDataManager.getScheduleEntry("executing").getExecutionState());
+        assertTrue(driver.prepareCallbackMap.containsKey("executing"));
+
+        // Expired schedule should be finished
+        assertEquals(ScheduleEntry.STATE_FINISHED, automationDataManager.getScheduleEntry("expired").getExecutionState());
+        assertFalse(driver.prepareCallbackMap.containsKey("expired"));
+    }
+
     @Test
     public void testCancelPrepareResult() throws ExecutionException, InterruptedException {
         ActionSchedule schedule = schedule(scheduleInfo);
@@ -904,6 +1025,19 @@ public class AutomationEngineTest extends BaseTestCase {
         while (mainLooper.getScheduler().areAnyRunnable() || automationLooper.getScheduler().areAnyRunnable());
     }
 
+    /**
+     * Helper method to run the looper tasks that are due without advancing the clock.
+     */
+    private void runDueLooperTasks() {
+        ShadowLooper mainLooper = Shadows.shadowOf(Looper.getMainLooper());
+        ShadowLooper automationLooper = Shadows.shadowOf(automationEngine.backgroundThread.getLooper());
+
+        for (int i = 0; i < 3; i++) {
+            mainLooper.idle();
+            automationLooper.idle();
+        }
+    }
+
     private void advanceAutomationLooperScheduler(long millis) {
         ShadowLooper automationLooper = Shadows.shadowOf(automationEngine.backgroundThread.getLooper());
         automationLooper.getScheduler().advanceBy(millis, TimeUnit.MILLISECONDS);
@@ -0,0 +1,82 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.automation;
+
+import com.urbanairship.BaseTestCase;
+import com.urbanairship.TestApplication;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.json.JsonValue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TriggerProgressAccumulatorTest extends BaseTestCase {
+
+    private AutomationDataManager dataManager;
+    private TriggerProgressAccumulator accumulator;
+
+    @Before
+    public void setUp() {
+        dataManager = new AutomationDataManager(TestApplication.getApplication(), "appKey", "TriggerProgressAccumulatorTest");
+        accumulator = new TriggerProgressAccumulator();
+
+        ActionScheduleInfo info = ActionScheduleInfo.newBuilder()
+                                                    .addAction("test_action", JsonValue.wrap("action_value"))
+                                                    .addTrigger(Triggers.newCustomEventTriggerBuilder()
+                                                                        .setCountGoal(100)
+                                                                        .setEventName("purchase")
+                                                                        .build())
+                                                    .setStart(System.currentTimeMillis() - 1000)
+                                                    .build();
+
+        dataManager.saveSchedules(Collections.singletonList(new ScheduleEntry("schedule", info, JsonMap.EMPTY_MAP)));
+    }
+
+    @After
+    public void tearDown() {
+        dataManager.close();
+    }
+
+    @Test
+    public void testPendingProgress() {
+        TriggerEntry trigger = dataManager.getActiveTriggerEntries(Trigger.CUSTOM_EVENT_COUNT).get(0);
+        trigger.setProgress(accumulator.getProgress(trigger) + 1);
+        accumulator.add(trigger);
+
+        // Reload the trigger like the engine does for every event
+        trigger = dataManager.getActiveTriggerEntries(Trigger.CUSTOM_EVENT_COUNT).get(0);
+        assertEquals(0.0, trigger.getProgress(), 0.0);
+        assertEquals(1.0, accumulator.getProgress(trigger), 0.0);
+
+        trigger.setProgress(accumulator.getProgress(trigger) + 1);
+        accumulator.add(trigger);
+
+        List<TriggerEntry> pending = accumulator.drain();
+        assertTrue(accumulator.isEmpty());
+        dataManager.saveTriggerProgress(pending);
+
+        trigger = dataManager.getActiveTriggerEntries(Trigger.CUSTOM_EVENT_COUNT).get(0);
+        assertEquals(2.0, trigger.getProgress(), 0.0);
+        assertEquals(2.0, accumulator.getProgress(trigger), 0.0);
+    }
+
+    @Test
+    public void testSaveProgressSkipsRemovedTriggers() {
+        TriggerEntry trigger = dataManager.getActiveTriggerEntries(Trigger.CUSTOM_EVENT_COUNT).get(0);
+        trigger.setProgress(5);
+        accumulator.add(trigger);
+
+        dataManager.deleteSchedule("schedule");
+        dataManager.saveTriggerProgress(accumulator.drain());
+
+        assertTrue(dataManager.getActiveTriggerEntries(Trigger.CUSTOM_EVENT_COUNT).isEmpty());
+    }
+
+}
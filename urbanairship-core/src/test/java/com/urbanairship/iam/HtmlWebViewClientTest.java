@@ -5,6 +5,7 @@ package com.urbanairship.iam;
 import android.net.Uri;
 import androidx.annotation.NonNull;
 import android.view.View;
+import android.webkit.WebResourceResponse;
 import android.webkit.WebView;
 
 import com.urbanairship.BaseTestCase;
@@ -17,7 +18,10 @@ import com.urbanairship.actions.ActionRunRequestFactory;
 import com.urbanairship.actions.ActionValue;
 import com.urbanairship.actions.ActionValueException;
 import com.urbanairship.actions.StubbedActionRunRequest;
+import com.urbanairship.iam.assets.AirshipPrepareAssetsDelegate;
+import com.urbanairship.iam.assets.Assets;
 import com.urbanairship.iam.html.HtmlWebViewClient;
+import com.urbanairship.json.JsonMap;
 import com.urbanairship.json.JsonValue;
 import com.urbanairship.widget.UAWebViewClient;
 
@@ -27,8 +31,14 @@ import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
 import static junit.framework.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -72,6 +82,50 @@ public class HtmlWebViewClientTest extends BaseTestCase {
         };
     }
 
+    /**
+     * Test cached documents and subresources are served from the assets.
+     */
+    @Test
+    public void testServesCachedAssets() throws IOException {
+        File file = new File(TestApplication.getApplication().getCacheDir(), "cached.css");
+        FileOutputStream outputStream = new FileOutputStream(file);
+        outputStream.write("body {}".getBytes());
+        outputStream.close();
+
+        Assets assets = mock(Assets.class);
+        when(assets.getMetadata(any(String.class))).thenReturn(JsonValue.NULL);
+        when(assets.getMetadata("http://test-client/style.css")).thenReturn(JsonMap.newBuilder()
+                                                                                 .put(AirshipPrepareAssetsDelegate.MIME_TYPE_CACHE_KEY, "text/css")
+                                                                                 .put(AirshipPrepareAssetsDelegate.CHARSET_CACHE_KEY, "ISO-8859-1")
+                                                                                 .build()
+                                                                                 .toJsonValue());
+        when(assets.file("http://test-client/style.css")).thenReturn(file);
+        when(assets.getMetadata("http://test-client/app.js")).thenReturn(JsonMap.newBuilder()
+                                                                              .put(AirshipPrepareAssetsDelegate.MIME_TYPE_CACHE_KEY, "application/javascript")
+                                                                              .build()
+                                                                              .toJsonValue());
+        when(assets.file("http://test-client/app.js")).thenReturn(file);
+
+        HtmlWebViewClient cachedClient = new HtmlWebViewClient(assets) {
+            @Override
+            public void onMessageDismissed(@NonNull JsonValue argument) {
+            }
+        };
+
+        WebResourceResponse response = cachedClient.shouldInterceptRequest(webView, "http://test-client/style.css");
+        assertNotNull(response);
+        assertEquals("text/css", response.getMimeType());
+        assertEquals("ISO-8859-1", response.getEncoding());
+
+        // No charset saved
+        response = cachedClient.shouldInterceptRequest(webView, "http://test-client/app.js");
+        assertNotNull(response);
+        assertEquals("application/javascript", response.getMimeType());
+        assertNull(response.getEncoding());
+
+        assertNull(cachedClient.shouldInterceptRequest(webView, "http://test-client/other.js"));
+    }
+
     /**
      * Test that the special case of the dismiss command calls onMessageDismissed
      */
@@ -590,6 +590,46 @@ public class InAppMessageManagerTest extends BaseTestCase {
         verify(mockDriver).schedulePrepared(schedule.getId(), AutomationDriver.PREPARE_RESULT_CONTINUE);
     }
 
+    @Test
+    public void testTagGroupRetryDoesNotBlockAssets() {
+        when(mockAdapter.onPrepare(any(Context.class), any(Assets.class))).thenReturn(InAppMessageAdapter.OK);
+
+        Map<String, Set<String>> tagGroups = new HashMap<>();
+        tagGroups.put("expected group", tagSet("expected tag"));
+
+        Audience audience = Audience.newBuilder()
+                                    .setTagSelector(TagSelector.tag("expected tag", "expected group"))
+                                    .build();
+
+        InAppMessageScheduleInfo info = InAppMessageScheduleInfo.newBuilder()
+                                                                .addTrigger(Triggers.newAppInitTriggerBuilder().setGoal(1).build())
+                                                                .setMessage(InAppMessage.newBuilder()
+                                                                                        .setDisplayContent(new CustomDisplayContent(JsonValue.NULL))
+                                                                                        .setId("message id")
+                                                                                        .setAudience(audience)
+                                                                                        .build())
+                                                                .build();
+
+        schedule = new InAppMessageSchedule("schedule id", JsonMap.EMPTY_MAP, info);
+
+        when(mockTagManager.getTags(tagGroups)).thenReturn(new TagGroupResult(false, null));
+
+        // Prepare the schedule
+        driverListener.onPrepareSchedule(schedule);
+
+        // Assets are prepared while the tag lookup waits to retry
+        verify(mockAssetManager, times(1)).onPrepare(schedule, schedule.getInfo().getInAppMessage());
+        verify(mockAdapter, never()).onPrepare(any(Context.class), any(Assets.class));
+
+        when(mockTagManager.getTags(tagGroups)).thenReturn(new TagGroupResult(true, tagGroups));
+        Shadows.shadowOf(Looper.getMainLooper()).runToEndOfTasks();
+
+        // Only the tag lookup is retried
+        verify(mockAssetManager, times(1)).onPrepare(schedule, schedule.getInfo().getInAppMessage());
+        verify(mockAdapter, times(1)).onPrepare(any(Context.class), any(Assets.class));
+        verify(mockDriver).schedulePrepared(schedule.getId(), AutomationDriver.PREPARE_RESULT_CONTINUE);
+    }
+
     @Test
     public void testMessageExtending() {
         manager.setMessageExtender(new InAppMessageExtender() {
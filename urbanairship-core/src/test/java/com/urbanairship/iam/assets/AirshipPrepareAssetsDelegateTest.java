@@ -0,0 +1,64 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.iam.assets;
+
+import com.urbanairship.BaseTestCase;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+
+public class AirshipPrepareAssetsDelegateTest extends BaseTestCase {
+
+    /**
+     * Test parsing the scripts, stylesheets and images from an HTML document.
+     */
+    @Test
+    public void testParseSubresources() {
+        String html = "<html><head>" +
+                "<link rel=\"stylesheet\" href=\"style.css\">" +
+                "<link href='theme.css' REL=stylesheet>" +
+                "<link rel=\"icon\" href=\"favicon.ico\">" +
+                "<link rel=\"preconnect\" href=\"https://fonts.example.com\">" +
+                "<SCRIPT type='text/javascript' src='https://cdn.example.com/app.js'></SCRIPT>" +
+                "</head><body>" +
+                "<img class=\"hero\" src=\"/images/hero.png\"/>" +
+                "<img src=\"data:image/png;base64,AAAA\"/>" +
+                "<img src=\"style.css\"/>" +
+                "<a href=\"https://example.com\">link</a>" +
+                "</body></html>";
+
+        assertEquals(new HashSet<>(Arrays.asList("style.css", "theme.css", "https://cdn.example.com/app.js", "/images/hero.png")),
+                AirshipPrepareAssetsDelegate.parseSubresources(html));
+    }
+
+    /**
+     * Test a document without subresources.
+     */
+    @Test
+    public void testParseNoSubresources() {
+        assertEquals(Collections.<String>emptySet(), AirshipPrepareAssetsDelegate.parseSubresources("<html><body>Hi</body></html>"));
+    }
+
+    /**
+     * Test parsing the mime type and charset from a Content-Type header.
+     */
+    @Test
+    public void testParseContentType() {
+        assertEquals("text/css", AirshipPrepareAssetsDelegate.parseMimeType("Text/CSS; charset=\"ISO-8859-1\""));
+        assertEquals("ISO-8859-1", AirshipPrepareAssetsDelegate.parseCharset("Text/CSS; charset=\"ISO-8859-1\""));
+
+        assertEquals("image/png", AirshipPrepareAssetsDelegate.parseMimeType("image/png"));
+        assertNull(AirshipPrepareAssetsDelegate.parseCharset("image/png"));
+
+        assertNull(AirshipPrepareAssetsDelegate.parseCharset("text/html; charset=not-a-charset"));
+        assertNull(AirshipPrepareAssetsDelegate.parseMimeType(null));
+        assertNull(AirshipPrepareAssetsDelegate.parseCharset(null));
+    }
+
+}
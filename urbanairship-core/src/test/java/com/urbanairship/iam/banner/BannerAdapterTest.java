@@ -0,0 +1,139 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.iam.banner;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import com.urbanairship.BaseTestCase;
+import com.urbanairship.TestApplication;
+import com.urbanairship.iam.InAppMessage;
+import com.urbanairship.iam.InAppMessageAdapter;
+import com.urbanairship.iam.TextInfo;
+import com.urbanairship.iam.assets.Assets;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.robolectric.Robolectric;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link BannerAdapter} tests.
+ */
+public class BannerAdapterTest extends BaseTestCase {
+
+    private InAppMessage message;
+    private BannerDisplayContent displayContent;
+    private Activity activity;
+    private ViewGroup container;
+
+    @Before
+    public void setup() {
+        displayContent = BannerDisplayContent.newBuilder()
+                                             .setBody(TextInfo.newBuilder()
+                                                              .setText("oh hi")
+                                                              .build())
+                                             .build();
+
+        message = InAppMessage.newBuilder()
+                              .setDisplayContent(displayContent)
+                              .setId("id")
+                              .build();
+
+        activity = Robolectric.buildActivity(Activity.class).create().get();
+        container = new FrameLayout(activity);
+    }
+
+    /**
+     * Test the view inflated during prepare is used for the first display.
+     */
+    @Test
+    public void testPreparedViewReused() {
+        TestBannerAdapter adapter = new TestBannerAdapter(message, displayContent);
+        assertEquals(InAppMessageAdapter.OK, adapter.onPrepare(TestApplication.getApplication(), mock(Assets.class)));
+        assertNotNull(adapter.preparedView);
+
+        assertSame(adapter.preparedView, adapter.onCreateView(activity, container));
+
+        // Later displays inflate a new view
+        assertNotSame(adapter.preparedView, adapter.onCreateView(activity, container));
+    }
+
+    /**
+     * Test the prepared view is dropped when the adapter finishes.
+     */
+    @Test
+    public void testPreparedViewDroppedOnFinish() {
+        TestBannerAdapter adapter = new TestBannerAdapter(message, displayContent);
+        adapter.onPrepare(TestApplication.getApplication(), mock(Assets.class));
+        assertNotNull(adapter.preparedView);
+
+        adapter.onFinish(TestApplication.getApplication());
+        assertNotSame(adapter.preparedView, adapter.onCreateView(activity, container));
+    }
+
+    /**
+     * Test a failed pre-inflation falls back to inflating on display.
+     */
+    @Test
+    public void testFailedPrepareViewFallsBack() {
+        Context context = mock(Context.class);
+        when(context.getApplicationContext()).thenThrow(new IllegalStateException("failed"));
+
+        TestBannerAdapter adapter = new TestBannerAdapter(message, displayContent);
+        assertEquals(InAppMessageAdapter.OK, adapter.onPrepare(context, mock(Assets.class)));
+        assertEquals(1, adapter.prepareCount);
+        assertNull(adapter.preparedView);
+
+        assertNotNull(adapter.onCreateView(activity, container));
+    }
+
+    /**
+     * Test adapters with a custom view are not inflated ahead of display.
+     */
+    @Test
+    public void testCustomViewSkipsPrepare() {
+        TestBannerAdapter adapter = new TestBannerAdapter(message, displayContent) {
+            @NonNull
+            @Override
+            protected BannerView onCreateView(@NonNull Activity activity, @NonNull ViewGroup viewGroup) {
+                return new BannerView(activity, displayContent, getAssets());
+            }
+        };
+
+        assertEquals(InAppMessageAdapter.OK, adapter.onPrepare(TestApplication.getApplication(), mock(Assets.class)));
+        assertEquals(0, adapter.prepareCount);
+    }
+
+    private static class TestBannerAdapter extends BannerAdapter {
+
+        private BannerView preparedView;
+        private int prepareCount;
+
+        TestBannerAdapter(@NonNull InAppMessage message, @NonNull BannerDisplayContent displayContent) {
+            super(message, displayContent);
+        }
+
+        @Nullable
+        @Override
+        protected BannerView onPrepareView(@NonNull Context context) {
+            prepareCount++;
+            preparedView = super.onPrepareView(context);
+            return preparedView;
+        }
+
+    }
+
+}
@@ -5,21 +5,33 @@ package com.urbanairship.job;
 import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Looper;
 import androidx.annotation.NonNull;
 
 import com.urbanairship.BaseTestCase;
 import com.urbanairship.TestActivityMonitor;
 import com.urbanairship.TestApplication;
+import com.urbanairship.TestClock;
 import com.urbanairship.json.JsonMap;
 import com.urbanairship.push.PushManager;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.robolectric.RuntimeEnvironment;
 
+import java.util.concurrent.TimeUnit;
+
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.robolectric.Shadows.shadowOf;
 
@@ -126,4 +138,175 @@ public class JobDispatcherTest extends BaseTestCase {
         verify(mockFallbackScheduler).cancel(context, 3000007);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testCoalesceJobs() throws SchedulerException {
+        TestClock clock = new TestClock();
+        dispatcher = createCoalescingDispatcher(clock);
+
+        JobInfo first = JobInfo.newBuilder()
+                               .setAction("test_action")
+                               .setId(JobInfo.CHANNEL_UPDATE_TAG_GROUPS)
+                               .setAirshipComponent(PushManager.class)
+                               .setInitialDelay(10, TimeUnit.SECONDS)
+                               .setExtras(JsonMap.newBuilder()
+                                                 .put("first", "value")
+                                                 .put("shared", "first")
+                                                 .build())
+                               .build();
+
+        JobInfo second = JobInfo.newBuilder()
+                                .setAction("test_action")
+                                .setId(JobInfo.CHANNEL_UPDATE_TAG_GROUPS)
+                                .setAirshipComponent(PushManager.class)
+                                .setInitialDelay(1, TimeUnit.SECONDS)
+                                .setExtras(JsonMap.newBuilder()
+                                                  .put("second", "value")
+                                                  .put("shared", "second")
+                                                  .build())
+                                .build();
+
+        dispatcher.dispatch(first);
+        dispatcher.dispatch(second);
+
+        verify(mockScheduler, never()).schedule(any(Context.class), any(JobInfo.class), anyInt());
+
+        shadowOf(Looper.getMainLooper()).runToEndOfTasks();
+
+        ArgumentCaptor<JobInfo> captor = ArgumentCaptor.forClass(JobInfo.class);
+        verify(mockScheduler, times(1)).schedule(eq(context), captor.capture(), eq(3000006));
+
+        JobInfo merged = captor.getValue();
+        assertEquals("test_action", merged.getAction());
+        assertEquals(1000, merged.getInitialDelay());
+        assertEquals(false, merged.isNetworkAccessRequired());
+        assertEquals(JsonMap.newBuilder()
+                            .put("first", "value")
+                            .put("second", "value")
+                            .put("shared", "second")
+                            .build(), merged.getExtras());
+    }
+
+    @Test
+    public void testJobsWithDifferentConstraintsNotCoalesced() throws SchedulerException {
+        dispatcher = createCoalescingDispatcher(new TestClock());
+
+        JobInfo first = JobInfo.newBuilder()
+                               .setAction("test_action")
+                               .setId(JobInfo.CHANNEL_UPDATE_TAG_GROUPS)
+                               .setAirshipComponent(PushManager.class)
+                               .setInitialDelay(1, TimeUnit.SECONDS)
+                               .build();
+
+        JobInfo second = JobInfo.newBuilder()
+                                .setAction("test_action")
+                                .setId(JobInfo.CHANNEL_UPDATE_TAG_GROUPS)
+                                .setAirshipComponent(PushManager.class)
+                                .setInitialDelay(1, TimeUnit.SECONDS)
+                                .setNetworkAccessRequired(true)
+                                .build();
+
+        dispatcher.dispatch(first);
+        dispatcher.dispatch(second);
+        shadowOf(Looper.getMainLooper()).runToEndOfTasks();
+
+        ArgumentCaptor<JobInfo> captor = ArgumentCaptor.forClass(JobInfo.class);
+        verify(mockScheduler, times(2)).schedule(eq(context), captor.capture(), eq(3000006));
+        assertEquals(false, captor.getAllValues().get(0).isNetworkAccessRequired());
+        assertEquals(true, captor.getAllValues().get(1).isNetworkAccessRequired());
+    }
+
+    @Test
+    public void testCancelPendingJob() throws SchedulerException {
+        dispatcher = createCoalescingDispatcher(new TestClock());
+
+        dispatcher.dispatch(jobInfo);
+        dispatcher.cancel(jobInfo.getId());
+
+        shadowOf(Looper.getMainLooper()).runToEndOfTasks();
+
+        verify(mockScheduler, never()).schedule(any(Context.class), any(JobInfo.class), anyInt());
+    }
+
+    @Test
+    public void testImmediateJobsNotDelayed() {
+        dispatcher = createCoalescingDispatcher(new TestClock());
+        activityMonitor.startActivity();
+
+        JobInfo other = JobInfo.newBuilder()
+                               .setAction("other_action")
+                               .setId(JobInfo.CHANNEL_UPDATE_REGISTRATION)
+                               .setAirshipComponent(PushManager.class)
+                               .build();
+
+        dispatcher.dispatch(jobInfo);
+        dispatcher.dispatch(other);
+
+        // Started without waiting for the coalesce window
+        Intent intent = shadowOf(RuntimeEnvironment.application).getNextStartedService();
+        assertEquals("test_action", JobInfo.fromBundle(intent.getBundleExtra(AirshipService.EXTRA_JOB_INFO_BUNDLE)).getAction());
+
+        intent = shadowOf(RuntimeEnvironment.application).getNextStartedService();
+        assertEquals("other_action", JobInfo.fromBundle(intent.getBundleExtra(AirshipService.EXTRA_JOB_INFO_BUNDLE)).getAction());
+
+        assertNull(shadowOf(RuntimeEnvironment.application).getNextStartedService());
+    }
+
+    @Test
+    public void testCoalesceRepeatedImmediateJobs() {
+        dispatcher = createCoalescingDispatcher(new TestClock());
+        activityMonitor.startActivity();
+
+        dispatcher.dispatch(jobInfo);
+        dispatcher.dispatch(jobInfo);
+        dispatcher.dispatch(jobInfo);
+
+        // The first job starts right away
+        assertNotNull(shadowOf(RuntimeEnvironment.application).getNextStartedService());
+        assertNull(shadowOf(RuntimeEnvironment.application).getNextStartedService());
+
+        // The repeats are merged and started after the window
+        shadowOf(Looper.getMainLooper()).runToEndOfTasks();
+        assertNotNull(shadowOf(RuntimeEnvironment.application).getNextStartedService());
+        assertNull(shadowOf(RuntimeEnvironment.application).getNextStartedService());
+    }
+
+    @Test
+    public void testJobsWithoutIdNotCoalesced() throws SchedulerException {
+        dispatcher = createCoalescingDispatcher(new TestClock());
+
+        JobInfo first = JobInfo.newBuilder()
+                               .setAction("test_action")
+                               .setAirshipComponent(PushManager.class)
+                               .setExtras(JsonMap.newBuilder().put("first", "value").build())
+                               .build();
+
+        JobInfo second = JobInfo.newBuilder()
+                                .setAction("test_action")
+                                .setAirshipComponent(PushManager.class)
+                                .setExtras(JsonMap.newBuilder().put("second", "value").build())
+                                .build();
+
+        dispatcher.dispatch(first);
+        dispatcher.dispatch(second);
+
+        verify(mockScheduler).schedule(context, first, 2999999);
+        verify(mockScheduler).schedule(context, second, 2999999);
+    }
+
+    private JobDispatcher createCoalescingDispatcher(TestClock clock) {
+        return new JobDispatcher(TestApplication.getApplication(), new JobDispatcher.SchedulerFactory() {
+            @NonNull
+            @Override
+            public Scheduler createScheduler(Context context) {
+                return mockScheduler;
+            }
+
+            @NonNull
+            @Override
+            public Scheduler createFallbackScheduler(Context context) {
+                return mockFallbackScheduler;
+            }
+        }, activityMonitor, clock, Looper.getMainLooper(), 100);
+    }
+
+}
@@ -0,0 +1,120 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.job;
+
+import com.urbanairship.BaseTestCase;
+import com.urbanairship.TestClock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+
+public class JobLaneTest extends BaseTestCase {
+
+    private List<Runnable> pending;
+    private TestClock clock;
+    private JobLane lane;
+
+    @Before
+    public void setup() {
+        pending = new ArrayList<>();
+        clock = new TestClock();
+
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable runnable) {
+                pending.add(runnable);
+            }
+        };
+
+        lane = new JobLane("test", 2, executor, clock);
+    }
+
+    @Test
+    public void testMaxConcurrency() {
+        for (int i = 0; i < 5; i++) {
+            lane.execute(new Runnable() {
+                @Override
+                public void run() {}
+            });
+        }
+
+        assertEquals(2, pending.size());
+        assertEquals(2, lane.getRunningCount());
+        assertEquals(3, lane.getQueueDepth());
+
+        pending.remove(0).run();
+
+        assertEquals(2, pending.size());
+        assertEquals(2, lane.getQueueDepth());
+        assertEquals(1, lane.getCompletedCount());
+    }
+
+    @Test
+    public void testPriorityOrder() {
+        final List<Integer> actual = new ArrayList<>();
+
+        // Fill the lane
+        lane.execute(new Runnable() {
+            @Override
+            public void run() {}
+        });
+        lane.execute(new Runnable() {
+            @Override
+            public void run() {}
+        });
+
+        int[] priorities = { JobInfo.PRIORITY_LOW, JobInfo.PRIORITY_NORMAL, JobInfo.PRIORITY_HIGH, JobInfo.PRIORITY_NORMAL };
+        for (int i = 0; i < priorities.length; i++) {
+            final int index = i;
+            lane.execute(new Runnable() {
+                @Override
+                public void run() {
+                    actual.add(index);
+                }
+            }, priorities[i]);
+        }
+
+        while (!pending.isEmpty()) {
+            pending.remove(0).run();
+        }
+
+        assertEquals(Arrays.asList(2, 1, 3, 0), actual);
+    }
+
+    @Test
+    public void testLatencyMetrics() {
+        lane = new JobLane("test", 1, new Executor() {
+            @Override
+            public void execute(Runnable runnable) {
+                pending.add(runnable);
+            }
+        }, clock);
+
+        clock.currentTimeMillis = 0;
+        lane.execute(new Runnable() {
+            @Override
+            public void run() {}
+        });
+        lane.execute(new Runnable() {
+            @Override
+            public void run() {}
+        });
+
+        clock.currentTimeMillis = 100;
+        pending.remove(0).run();
+        pending.remove(0).run();
+
+        assertEquals(2, lane.getCompletedCount());
+        assertEquals(50, lane.getAverageLatencyMs());
+        assertEquals(100, lane.getMaxLatencyMs());
+        assertEquals(0, lane.getQueueDepth());
+    }
+
+}
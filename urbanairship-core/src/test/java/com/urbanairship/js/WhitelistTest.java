@@ -449,6 +449,32 @@ public class WhitelistTest extends BaseTestCase {
 
     }
 
-}
+    /**
+     * Test cached URL matches are updated when new entries are added.
+     */
+    @Test
+    public void testAddEntryAfterMatch() {
+        assertFalse(whitelist.isWhitelisted("https://what.urbanairship.com/index.html", Whitelist.SCOPE_ALL));
+        assertFalse(whitelist.isWhitelisted("https://what.urbanairship.com/index.html", Whitelist.SCOPE_ALL));
 
+        whitelist.addEntry("https://*.urbanairship.com");
+        assertTrue(whitelist.isWhitelisted("https://what.urbanairship.com/index.html", Whitelist.SCOPE_ALL));
+    }
 
+    /**
+     * Test exact hosts and host suffixes that share labels.
+     */
+    @Test
+    public void testSharedHostLabels() {
+        whitelist.addEntry("https://urbanairship.com", Whitelist.SCOPE_JAVASCRIPT_INTERFACE);
+        whitelist.addEntry("https://*.www.urbanairship.com", Whitelist.SCOPE_OPEN_URL);
+
+        assertTrue(whitelist.isWhitelisted("https://urbanairship.com", Whitelist.SCOPE_JAVASCRIPT_INTERFACE));
+        assertFalse(whitelist.isWhitelisted("https://urbanairship.com", Whitelist.SCOPE_OPEN_URL));
+
+        assertTrue(whitelist.isWhitelisted("https://cool.www.urbanairship.com", Whitelist.SCOPE_OPEN_URL));
+        assertFalse(whitelist.isWhitelisted("https://cool.www.urbanairship.com", Whitelist.SCOPE_JAVASCRIPT_INTERFACE));
+        assertFalse(whitelist.isWhitelisted("https://cool.urbanairship.com", Whitelist.SCOPE_OPEN_URL));
+    }
+
+}
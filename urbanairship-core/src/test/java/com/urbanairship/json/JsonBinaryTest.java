@@ -0,0 +1,105 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.json;
+
+import com.urbanairship.BaseTestCase;
+
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JsonBinaryTest extends BaseTestCase {
+
+    @Test
+    public void testRoundTrip() throws JsonException {
+        JsonValue value = JsonMap.newBuilder()
+                                 .put("string", "value ✓")
+                                 .put("int", 42)
+                                 .put("negative", -7)
+                                 .put("long", Long.MAX_VALUE)
+                                 .put("double", 1.5)
+                                 .put("boolean", true)
+                                 .put("map", JsonMap.newBuilder().put("nested", false).build())
+                                 .put("list", JsonValue.wrapOpt(Arrays.asList("a", 1, 2.25)))
+                                 .build()
+                                 .toJsonValue();
+
+        assertEquals(value, JsonBinary.decode(JsonBinary.encode(value)));
+    }
+
+    @Test
+    public void testPrimitives() throws JsonException {
+        assertEquals(JsonValue.NULL, JsonBinary.decode(JsonBinary.encode(JsonValue.NULL)));
+        assertEquals(JsonValue.wrap("cool"), JsonBinary.decode(JsonBinary.encode(JsonValue.wrap("cool"))));
+        assertEquals(JsonValue.wrap(Integer.MIN_VALUE), JsonBinary.decode(JsonBinary.encode(JsonValue.wrap(Integer.MIN_VALUE))));
+    }
+
+    /**
+     * Test number types are kept instead of being narrowed by the string path.
+     */
+    @Test
+    public void testNumberTypes() throws JsonException {
+        JsonValue decoded = JsonBinary.decode(JsonBinary.encode(JsonValue.wrap(5L)));
+        assertTrue(decoded.isLong());
+        assertEquals(5L, decoded.getLong(0));
+
+        decoded = JsonBinary.decode(JsonBinary.encode(JsonValue.wrap(5.0)));
+        assertTrue(decoded.isDouble());
+    }
+
+    /**
+     * Test repeated keys are only written once.
+     */
+    @Test
+    public void testSmallerThanString() {
+        List<JsonValue> buttons = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            buttons.add(JsonMap.newBuilder()
+                               .put("id", "button_" + i)
+                               .put("behavior", "dismiss")
+                               .put("border_radius", 2)
+                               .put("background_color", "#FFFFFFFF")
+                               .put("label", JsonMap.newBuilder()
+                                                    .put("text", "Button " + i)
+                                                    .put("color", "#FF000000")
+                                                    .put("size", 14)
+                                                    .build())
+                               .build()
+                               .toJsonValue());
+        }
+
+        JsonValue value = JsonMap.newBuilder()
+                                 .put("buttons", new JsonList(buttons))
+                                 .build()
+                                 .toJsonValue();
+
+        byte[] binary = JsonBinary.encode(value);
+        byte[] string = value.toString().getBytes(Charset.forName("UTF-8"));
+        assertTrue(binary.length < string.length);
+    }
+
+    @Test
+    public void testIsEncoded() {
+        assertTrue(JsonBinary.isEncoded(JsonBinary.encode(JsonValue.wrap("cool"))));
+        assertFalse(JsonBinary.isEncoded("{}".getBytes(Charset.forName("UTF-8"))));
+    }
+
+    @Test(expected = JsonException.class)
+    public void testTruncated() throws JsonException {
+        byte[] bytes = JsonBinary.encode(JsonMap.newBuilder().put("key", "value").build().toJsonValue());
+        JsonBinary.decode(Arrays.copyOf(bytes, bytes.length - 2));
+    }
+
+    @Test(expected = JsonException.class)
+    public void testInvalidHeader() throws JsonException {
+        JsonBinary.decode("{}".getBytes(Charset.forName("UTF-8")));
+    }
+
+}
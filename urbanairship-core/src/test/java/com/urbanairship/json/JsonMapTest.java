@@ -15,7 +15,9 @@ import java.util.Map;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
 import static junit.framework.Assert.assertTrue;
 
 public class JsonMapTest extends BaseTestCase {
@@ -102,4 +104,44 @@ public class JsonMapTest extends BaseTestCase {
         assertEquals("c", jsonMap.get("list").getList().getList().get(4).getString());
     }
 
+    /**
+     * Test the map keeps every entry when the keys collide and fill the table.
+     */
+    @Test
+    public void testManyEntries() {
+        Map<String, JsonValue> expected = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            expected.put("key" + i, JsonValue.wrap(i));
+        }
+
+        JsonMap map = new JsonMap(expected);
+        assertEquals(500, map.size());
+        assertEquals(expected, map.getMap());
+        assertEquals(new JsonMap(new HashMap<>(expected)), map);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertFalse(map.containsKey("key500"));
+        assertNull(map.get("key500"));
+    }
+
+    /**
+     * Test common keys share the same instance after parsing.
+     */
+    @Test
+    public void testSharedKeys() throws JsonException {
+        JsonMap first = JsonValue.parseString("{\"type\": \"banner\"}").optMap();
+        JsonMap second = JsonValue.parseString("{\"type\": \"modal\"}").optMap();
+
+        assertSame(first.keySet().iterator().next(), second.keySet().iterator().next());
+    }
+
+    /**
+     * Test booleans and small ints share wrapped instances.
+     */
+    @Test
+    public void testSharedValues() {
+        assertSame(JsonValue.wrap(true), JsonValue.wrap(true));
+        assertSame(JsonValue.wrap(100), JsonValue.wrap(100));
+        assertEquals(JsonValue.wrap(100000), JsonValue.wrap(100000));
+    }
+
 }
@@ -374,6 +374,20 @@ public class JsonValueTest extends BaseTestCase {
         assertEquals(jsonValue, fromParcel);
     }
 
+    /**
+     * Test reading a JsonValue from a parcel written as a JSON string.
+     */
+    @Test
+    public void testParcelableJsonString() throws JsonException {
+        JsonValue jsonValue = JsonValue.wrap(primitiveMap);
+
+        Parcel parcel = Parcel.obtain();
+        parcel.writeString(jsonValue.toString());
+        parcel.setDataPosition(0);
+
+        assertEquals(jsonValue, JsonValue.CREATOR.createFromParcel(parcel));
+    }
+
     /**
      * Test isNull is true for null values.
      */
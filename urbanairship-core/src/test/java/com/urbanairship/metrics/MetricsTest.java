@@ -0,0 +1,100 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.metrics;
+
+import androidx.annotation.NonNull;
+
+import com.urbanairship.BaseTestCase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsTest extends BaseTestCase {
+
+    private List<String> recorded;
+
+    @Before
+    public void setup() {
+        recorded = new ArrayList<>();
+    }
+
+    @After
+    public void tearDown() {
+        Metrics.setSink(null);
+        Metrics.setTracingEnabled(false);
+    }
+
+    /**
+     * Test metrics are dropped by default.
+     */
+    @Test
+    public void testDisabledByDefault() {
+        assertFalse(Metrics.isEnabled());
+        assertSame(Span.NO_OP, Metrics.startSpan("span"));
+
+        // No-op span can be ended
+        Metrics.startSpan("span").end();
+        Metrics.count("count");
+    }
+
+    /**
+     * Test counters, histograms and spans are sent to the sink.
+     */
+    @Test
+    public void testSink() {
+        Metrics.setSink(new MetricsSink() {
+            @Override
+            public void onCount(@NonNull String name, long delta) {
+                recorded.add(name + ":" + delta);
+            }
+
+            @Override
+            public void onHistogram(@NonNull String name, double value) {
+                recorded.add(name + ":" + value);
+            }
+
+            @Override
+            public void onSpan(@NonNull String name, long durationNanos) {
+                assertTrue(durationNanos >= 0);
+                recorded.add(name);
+            }
+        });
+
+        assertTrue(Metrics.isEnabled());
+
+        Metrics.count("count");
+        Metrics.count("count", 5);
+        Metrics.histogram("histogram", 1.5);
+
+        Span span = Metrics.startSpan("span");
+        span.end();
+
+        // Ending twice only reports once
+        span.end();
+
+        assertEquals(Arrays.asList("count:1", "count:5", "histogram:1.5", "span"), recorded);
+    }
+
+    /**
+     * Test tracing creates spans without a sink.
+     */
+    @Test
+    public void testTracingWithoutSink() {
+        Metrics.setTracingEnabled(true);
+
+        Span span = Metrics.startSpan("span");
+        assertEquals("span", span.getName());
+        span.end();
+    }
+
+}
@@ -5,10 +5,12 @@ package com.urbanairship.reactive;
 import android.os.HandlerThread;
 import android.os.Looper;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.util.Pair;
 
 import com.urbanairship.BaseTestCase;
 import com.urbanairship.Predicate;
+import com.urbanairship.ResultCallback;
 
 import junit.framework.Assert;
 
@@ -16,10 +18,12 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.robolectric.Shadows;
+import org.robolectric.shadows.ShadowLooper;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class ObservableTest extends BaseTestCase {
 
@@ -195,6 +199,173 @@ public class ObservableTest extends BaseTestCase {
         validateObservable(backgroundThree, backgroundThread.getLooper(), Arrays.asList(3), 1, 1, 0);
     }
 
+    @Test
+    public void testMapFilterChain() throws Exception {
+        Observable<Integer> obs = Observable.from(Arrays.asList(1, 2, 3, 4, 5, 6));
+
+        Observable<String> chained = obs.filter(new Predicate<Integer>() {
+            @Override
+            public boolean apply(Integer value) {
+                return value % 2 == 0;
+            }
+        }).map(new Function<Integer, Integer>() {
+            @NonNull
+            @Override
+            public Integer apply(@NonNull Integer value) {
+                return value * 10;
+            }
+        }).filter(new Predicate<Integer>() {
+            @Override
+            public boolean apply(Integer value) {
+                return value > 20;
+            }
+        }).map(new Function<Integer, String>() {
+            @NonNull
+            @Override
+            public String apply(@NonNull Integer value) {
+                return value.toString();
+            }
+        });
+
+        validateObservable(chained, Arrays.asList("40", "60"), 2, 1, 0);
+    }
+
+    @Test
+    public void testObserveOnSchedulesBurstOnce() throws Exception {
+        final List<Runnable> scheduled = new ArrayList<>();
+        Scheduler scheduler = new Scheduler() {
+            @NonNull
+            @Override
+            public Subscription schedule(@NonNull Runnable runnable) {
+                scheduled.add(runnable);
+                return Subscription.empty();
+            }
+
+            @NonNull
+            @Override
+            public Subscription schedule(long delayTimeMs, @NonNull Runnable runnable) {
+                return schedule(runnable);
+            }
+        };
+
+        subscribeObservable(Observable.from(Arrays.asList(1, 2, 3)).observeOn(scheduler));
+
+        Assert.assertEquals(1, scheduled.size());
+        Assert.assertEquals(0, nexts.intValue());
+
+        scheduled.get(0).run();
+        performAsserts(null, null, Arrays.asList(1, 2, 3), 3, 1, 0);
+    }
+
+    @Test
+    public void testBufferCount() throws Exception {
+        Observable<List<Integer>> buffered = Observable.from(Arrays.asList(1, 2, 3, 4, 5)).buffer(2);
+
+        List<List<Integer>> expected = Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5));
+        validateObservable(buffered, expected, 3, 1, 0);
+    }
+
+    @Test
+    public void testBufferTime() throws Exception {
+        ShadowLooper mainLooper = Shadows.shadowOf(Looper.getMainLooper());
+        mainLooper.pause();
+
+        Subject<Integer> subject = Subject.create();
+        subscribeObservable(subject.buffer(100, 10, Schedulers.main()));
+
+        subject.onNext(1);
+        subject.onNext(2);
+        mainLooper.getScheduler().advanceBy(50, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(values.isEmpty());
+
+        mainLooper.getScheduler().advanceBy(50, TimeUnit.MILLISECONDS);
+        subject.onNext(3);
+        subject.onCompleted();
+
+        performAsserts(null, null, Arrays.<List<Integer>>asList(Arrays.asList(1, 2), Arrays.asList(3)), 2, 1, 0);
+    }
+
+    @Test
+    public void testWindow() throws Exception {
+        final List<List<Integer>> windows = new ArrayList<>();
+        Observable.from(Arrays.asList(1, 2, 3)).window(0, 2, null).subscribe(new Subscriber<Observable<Integer>>() {
+            @Override
+            public void onNext(@NonNull Observable<Integer> window) {
+                final List<Integer> windowValues = new ArrayList<>();
+                windows.add(windowValues);
+                window.subscribe(new Subscriber<Integer>() {
+                    @Override
+                    public void onNext(@NonNull Integer value) {
+                        windowValues.add(value);
+                    }
+                });
+            }
+        });
+
+        Assert.assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3)), windows);
+    }
+
+    @Test
+    public void testDebounce() throws Exception {
+        ShadowLooper mainLooper = Shadows.shadowOf(Looper.getMainLooper());
+        mainLooper.pause();
+
+        Subject<Integer> subject = Subject.create();
+        subscribeObservable(subject.debounce(100, Schedulers.main()));
+
+        subject.onNext(1);
+        mainLooper.getScheduler().advanceBy(50, TimeUnit.MILLISECONDS);
+        subject.onNext(2);
+        mainLooper.getScheduler().advanceBy(50, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(values.isEmpty());
+
+        mainLooper.getScheduler().advanceBy(50, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(Arrays.<Object>asList(2), values);
+
+        subject.onNext(3);
+        subject.onCompleted();
+        performAsserts(null, null, Arrays.asList(2, 3), 2, 1, 0);
+    }
+
+    @Test
+    public void testThrottleLatest() throws Exception {
+        ShadowLooper mainLooper = Shadows.shadowOf(Looper.getMainLooper());
+        mainLooper.pause();
+
+        Subject<Integer> subject = Subject.create();
+        subscribeObservable(subject.throttleLatest(100, Schedulers.main()));
+
+        subject.onNext(1);
+        subject.onNext(2);
+        subject.onNext(3);
+        Assert.assertEquals(Arrays.<Object>asList(1), values);
+
+        mainLooper.getScheduler().advanceBy(100, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(Arrays.<Object>asList(1, 3), values);
+
+        mainLooper.getScheduler().advanceBy(100, TimeUnit.MILLISECONDS);
+        subject.onNext(4);
+        performAsserts(null, null, Arrays.asList(1, 3, 4), 3, 0, 0);
+    }
+
+    @Test
+    public void testOnBackpressureBuffer() throws Exception {
+        ShadowLooper mainLooper = Shadows.shadowOf(Looper.getMainLooper());
+        mainLooper.pause();
+
+        final List<Integer> dropped = new ArrayList<>();
+        Observable<Integer> bounded = Observable.from(Arrays.asList(1, 2, 3, 4))
+                                                .onBackpressureBuffer(Schedulers.main(), 2, new ResultCallback<Integer>() {
+                                                    @Override
+                                                    public void onResult(@Nullable Integer result) {
+                                                        dropped.add(result);
+                                                    }
+                                                });
+
+        validateObservable(bounded, Looper.getMainLooper(), Arrays.asList(3, 4), 2, 1, 0);
+        Assert.assertEquals(Arrays.asList(1, 2), dropped);
+    }
+
     @Test
     public void testDefer() throws Exception {
         final ArrayList<Integer> ints = new ArrayList<>(Arrays.asList(1, 2, 3));
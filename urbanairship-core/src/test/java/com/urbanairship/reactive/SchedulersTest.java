@@ -0,0 +1,70 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.reactive;
+
+import android.os.HandlerThread;
+import android.os.Looper;
+
+import com.urbanairship.AirshipLoopers;
+import com.urbanairship.BaseTestCase;
+
+import org.junit.Test;
+import org.robolectric.Shadows;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
+
+public class SchedulersTest extends BaseTestCase {
+
+    /**
+     * Test the main, background and io schedulers are shared.
+     */
+    @Test
+    public void testLooperSchedulerShared() {
+        assertSame(Schedulers.main(), Schedulers.looper(Looper.getMainLooper()));
+        assertSame(Schedulers.background(), Schedulers.looper(AirshipLoopers.getBackgroundLooper()));
+        assertSame(Schedulers.io(), Schedulers.io());
+    }
+
+    /**
+     * Test schedulers for other loopers are not cached.
+     */
+    @Test
+    public void testLooperSchedulerNotCached() {
+        HandlerThread thread = new HandlerThread("test");
+        thread.start();
+
+        assertNotSame(Schedulers.looper(thread.getLooper()), Schedulers.looper(thread.getLooper()));
+        thread.quit();
+    }
+
+    /**
+     * Test cancelling a scheduled runnable removes it from the looper.
+     */
+    @Test
+    public void testCancel() {
+        ShadowLooper mainLooper = Shadows.shadowOf(Looper.getMainLooper());
+        mainLooper.pause();
+
+        final AtomicInteger runs = new AtomicInteger();
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                runs.incrementAndGet();
+            }
+        };
+
+        Schedulers.main().schedule(runnable);
+        Schedulers.main().schedule(100, runnable).cancel();
+        Schedulers.main().schedule(runnable).cancel();
+
+        mainLooper.getScheduler().advanceBy(200, TimeUnit.MILLISECONDS);
+        assertEquals(1, runs.get());
+    }
+
+}
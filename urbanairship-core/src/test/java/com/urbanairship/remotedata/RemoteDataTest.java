@@ -462,7 +462,7 @@ public class RemoteDataTest extends BaseTestCase {
      */
     private void runLooperTasks() {
         ShadowLooper mainLooper = Shadows.shadowOf(Looper.getMainLooper());
-        ShadowLooper backgroundLooper = Shadows.shadowOf(remoteData.backgroundThread.getLooper());
+        ShadowLooper backgroundLooper = Shadows.shadowOf(remoteData.backgroundLooper);
 
         do {
             mainLooper.runToEndOfTasks();
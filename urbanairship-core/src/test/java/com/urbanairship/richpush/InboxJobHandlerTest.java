@@ -14,15 +14,21 @@ import com.urbanairship.http.Request;
 import com.urbanairship.http.RequestFactory;
 import com.urbanairship.http.Response;
 import com.urbanairship.job.JobInfo;
+import com.urbanairship.json.JsonException;
+import com.urbanairship.json.JsonValue;
 import com.urbanairship.push.PushManager;
+import com.urbanairship.util.FileUtils;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.io.File;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +55,7 @@ public class InboxJobHandlerTest extends BaseTestCase {
     private RichPushUser user;
     private PreferenceDataStore dataStore;
     private TestUserListener userListener;
+    private MessageBodyCache bodyCache;
 
     @Before
     public void setup() {
@@ -80,6 +87,8 @@ public class InboxJobHandlerTest extends BaseTestCase {
             }
         };
 
+        bodyCache = new MessageBodyCache(new File(TestApplication.getApplication().getCacheDir(), "test-bodies"));
+
         mockChannel = Mockito.mock(AirshipChannel.class);
         TestApplication.getApplication().setChannel(mockChannel);
 
@@ -88,7 +97,7 @@ public class InboxJobHandlerTest extends BaseTestCase {
 
         jobHandler = new InboxJobHandler(UAirship.shared(),
                 TestApplication.getApplication().preferenceDataStore,
-                requestFactory, mock(RichPushResolver.class));
+                requestFactory, mock(RichPushResolver.class), bodyCache);
     }
 
     /**
@@ -275,6 +284,106 @@ public class InboxJobHandlerTest extends BaseTestCase {
         verify(inbox).refresh(true);
     }
 
+    /**
+     * Test message bodies are prefetched after the messages update and removed once the message is gone.
+     */
+    @Test
+    public void testPrefetchMessageBodies() throws JsonException {
+        user.setUser("fakeUserId", "password");
+        when(mockChannel.getId()).thenReturn("channelID");
+
+        responses.put("https://device-api.urbanairship.com/api/user/fakeUserId/messages/",
+                Response.newBuilder(HttpURLConnection.HTTP_NOT_MODIFIED).build());
+
+        responses.put("https://go.urbanairship.com/api/user/userId/messages/message/some_mesg_id/body/",
+                Response.newBuilder(HttpURLConnection.HTTP_OK)
+                        .setResponseBody("<html>body</html>")
+                        .build());
+
+        RichPushMessage message = RichPushMessage.create(JsonValue.parseString("{\"message_id\": \"some_mesg_id\"," +
+                "\"message_url\": \"https://go.urbanairship.com/api/user/userId/messages/message/some_mesg_id/\"," +
+                "\"message_body_url\": \"https://go.urbanairship.com/api/user/userId/messages/message/some_mesg_id/body/\"," +
+                "\"message_read_url\": \"https://go.urbanairship.com/api/user/userId/messages/message/some_mesg_id/read/\"," +
+                "\"unread\": true, \"message_sent\": \"2010-09-05 12:13 -0000\", \"title\": \"Message title\"}"), true, false);
+
+        when(inbox.getMessages()).thenReturn(Collections.singletonList(message));
+
+        JobInfo jobInfo = JobInfo.newBuilder()
+                                 .setAction(InboxJobHandler.ACTION_RICH_PUSH_MESSAGES_UPDATE)
+                                 .build();
+
+        assertEquals(JobInfo.JOB_FINISHED, jobHandler.performJob(jobInfo));
+        assertTrue(bodyCache.contains("some_mesg_id"));
+        assertEquals("https://go.urbanairship.com/api/user/userId/messages/message/some_mesg_id/body/", requests.get(1).getURL().toString());
+
+        // Already cached, no request
+        requests.clear();
+        jobHandler.performJob(jobInfo);
+        assertEquals(1, requests.size());
+
+        // Message removed
+        when(inbox.getMessages()).thenReturn(Collections.<RichPushMessage>emptyList());
+        jobHandler.performJob(jobInfo);
+        assertFalse(bodyCache.contains("some_mesg_id"));
+    }
+
+    /**
+     * Test bodies that do not fit the cache are not downloaded again on the next sync.
+     */
+    @Test
+    public void testPrefetchFullCache() throws JsonException {
+        user.setUser("fakeUserId", "password");
+        when(mockChannel.getId()).thenReturn("channelID");
+
+        bodyCache = new MessageBodyCache(new File(TestApplication.getApplication().getCacheDir(), "test-full-bodies"), 20);
+        jobHandler = new InboxJobHandler(UAirship.shared(),
+                TestApplication.getApplication().preferenceDataStore,
+                requestFactory, mock(RichPushResolver.class), bodyCache);
+
+        responses.put("https://device-api.urbanairship.com/api/user/fakeUserId/messages/",
+                Response.newBuilder(HttpURLConnection.HTTP_NOT_MODIFIED).build());
+
+        responses.put("https://go.urbanairship.com/api/user/userId/messages/message/new_id/body/",
+                Response.newBuilder(HttpURLConnection.HTTP_OK)
+                        .setResponseBody("<html>new</html>")
+                        .build());
+
+        responses.put("https://go.urbanairship.com/api/user/userId/messages/message/old_id/body/",
+                Response.newBuilder(HttpURLConnection.HTTP_OK)
+                        .setResponseBody("<html>old</html>")
+                        .build());
+
+        RichPushMessage newMessage = RichPushMessage.create(JsonValue.parseString("{\"message_id\": \"new_id\"," +
+                "\"message_url\": \"https://go.urbanairship.com/api/user/userId/messages/message/new_id/\"," +
+                "\"message_body_url\": \"https://go.urbanairship.com/api/user/userId/messages/message/new_id/body/\"," +
+                "\"message_read_url\": \"https://go.urbanairship.com/api/user/userId/messages/message/new_id/read/\"," +
+                "\"unread\": true, \"message_sent\": \"2010-09-06 12:13 -0000\", \"title\": \"Message title\"}"), true, false);
+
+        RichPushMessage oldMessage = RichPushMessage.create(JsonValue.parseString("{\"message_id\": \"old_id\"," +
+                "\"message_url\": \"https://go.urbanairship.com/api/user/userId/messages/message/old_id/\"," +
+                "\"message_body_url\": \"https://go.urbanairship.com/api/user/userId/messages/message/old_id/body/\"," +
+                "\"message_read_url\": \"https://go.urbanairship.com/api/user/userId/messages/message/old_id/read/\"," +
+                "\"unread\": true, \"message_sent\": \"2010-09-05 12:13 -0000\", \"title\": \"Message title\"}"), true, false);
+
+        when(inbox.getMessages()).thenReturn(Arrays.asList(newMessage, oldMessage));
+
+        JobInfo jobInfo = JobInfo.newBuilder()
+                                 .setAction(InboxJobHandler.ACTION_RICH_PUSH_MESSAGES_UPDATE)
+                                 .build();
+
+        assertEquals(JobInfo.JOB_FINISHED, jobHandler.performJob(jobInfo));
+        assertEquals(3, requests.size());
+        assertTrue(bodyCache.contains("new_id"));
+        assertFalse(bodyCache.contains("old_id"));
+
+        // Only the message list is requested
+        requests.clear();
+        jobHandler.performJob(jobInfo);
+        assertEquals(1, requests.size());
+
+        FileUtils.deleteRecursively(new File(TestApplication.getApplication().getCacheDir(), "test-full-bodies"));
+    }
+
     /**
      * Test updateMessages returns error code when response is HTTP_INTERNAL_ERROR
      */
@@ -0,0 +1,130 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.richpush;
+
+import com.urbanairship.BaseTestCase;
+import com.urbanairship.TestApplication;
+import com.urbanairship.util.FileUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+public class MessageBodyCacheTest extends BaseTestCase {
+
+    private File directory;
+    private MessageBodyCache cache;
+
+    @Before
+    public void setup() {
+        directory = new File(TestApplication.getApplication().getCacheDir(), "bodies");
+        cache = new MessageBodyCache(directory, 100);
+    }
+
+    @After
+    public void takeDown() {
+        FileUtils.deleteRecursively(directory);
+    }
+
+    /**
+     * Test storing and opening a body.
+     */
+    @Test
+    public void testPutOpen() throws IOException {
+        assertNull(cache.open("message"));
+
+        assertTrue(cache.put("message", 1000, "<html>ü</html>"));
+        assertTrue(cache.contains("message"));
+        assertEquals("<html>ü</html>", read(cache.open("message")));
+    }
+
+    /**
+     * Test bodies of older messages are evicted, oldest first, to make room for newer ones.
+     */
+    @Test
+    public void testEvictOldest() throws IOException {
+        assertTrue(cache.put("second", 2000, repeat(40)));
+        assertTrue(cache.put("first", 1000, repeat(40)));
+        assertTrue(cache.hasSpace(3000));
+
+        assertTrue(cache.put("third", 3000, repeat(40)));
+        assertFalse(cache.contains("first"));
+        assertTrue(cache.contains("second"));
+        assertTrue(cache.contains("third"));
+        assertEquals(80, cache.getSize());
+    }
+
+    /**
+     * Test bodies of newer messages are not evicted for older ones.
+     */
+    @Test
+    public void testBudget() throws IOException {
+        assertTrue(cache.put("second", 2000, repeat(60)));
+        assertFalse(cache.put("first", 1000, repeat(60)));
+        assertFalse(cache.contains("first"));
+        assertTrue(cache.isRefused("first"));
+
+        assertTrue(cache.put("third", 3000, repeat(40)));
+        assertFalse(cache.hasSpace(1000));
+        assertTrue(cache.hasSpace(2500));
+
+        // Larger than the budget
+        assertFalse(cache.put("fourth", 4000, repeat(101)));
+        assertTrue(cache.contains("second"));
+        assertTrue(cache.contains("third"));
+        assertEquals(100, cache.getSize());
+
+        // Removing a body forgets the refusals
+        cache.remove(Collections.singleton("second"));
+        assertFalse(cache.isRefused("first"));
+    }
+
+    /**
+     * Test removing and retaining bodies.
+     */
+    @Test
+    public void testRemoveRetain() throws IOException {
+        cache.put("first", 1000, "1");
+        cache.put("second", 2000, "2");
+        cache.put("third", 3000, "3");
+
+        cache.remove(Collections.singleton("first"));
+        assertFalse(cache.contains("first"));
+
+        cache.retainAll(Arrays.asList("second"));
+        assertTrue(cache.contains("second"));
+        assertFalse(cache.contains("third"));
+    }
+
+    private static String repeat(int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append('a');
+        }
+        return builder.toString();
+    }
+
+    private static String read(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[64];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        input.close();
+        return output.toString("UTF-8");
+    }
+
+}
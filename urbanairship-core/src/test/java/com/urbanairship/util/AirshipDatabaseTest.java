@@ -0,0 +1,258 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.util;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.urbanairship.BaseTestCase;
+import com.urbanairship.TestApplication;
+import com.urbanairship.metrics.Metrics;
+import com.urbanairship.metrics.MetricsSink;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AirshipDatabaseTest extends BaseTestCase {
+
+    private static final String APP_KEY = "appKey";
+
+    @After
+    public void tearDown() {
+        AirshipDatabase.setEnabled(false);
+        AirshipDatabase.clearInstances();
+        Metrics.setSink(null);
+    }
+
+    @Test
+    public void testSharedConnection() {
+        AirshipDatabase.setEnabled(true);
+        Context context = TestApplication.getApplication();
+
+        TestStore first = new TestStore(context, "first.db", 1);
+        TestStore second = new TestStore(context, "second.db", 1);
+
+        SQLiteDatabase db = first.getWritableDatabase();
+        assertNotNull(db);
+        assertSame(db, second.getWritableDatabase());
+
+        assertEquals(1, first.insertValue("first"));
+        assertEquals(0, second.count());
+        assertEquals(1, first.count());
+    }
+
+    @Test
+    public void testMigrateLegacyDatabase() {
+        Context context = TestApplication.getApplication();
+
+        TestStore legacy = new TestStore(context, "legacy.db", 1);
+        legacy.insertValue("one");
+        legacy.insertValue("two");
+
+        File legacyFile = new File(legacy.getDatabasePath());
+        legacy.close();
+        assertTrue(legacyFile.exists());
+
+        AirshipDatabase.setEnabled(true);
+        TestStore store = new TestStore(context, "legacy.db", 1);
+        assertEquals(2, store.count());
+        assertFalse(legacyFile.exists());
+    }
+
+    @Test
+    public void testDisableAfterMigration() {
+        AirshipDatabase.setEnabled(true);
+        Context context = TestApplication.getApplication();
+
+        TestStore store = new TestStore(context, "disable.db", 1);
+        store.insertValue("one");
+        assertEquals(1, store.openCount);
+
+        // Opting out keeps using the consolidated database so the data is not lost
+        AirshipDatabase.setEnabled(false);
+        AirshipDatabase.clearInstances();
+
+        TestStore reopened = new TestStore(context, "disable.db", 1);
+        assertEquals(1, reopened.count());
+        assertEquals(1, reopened.openCount);
+    }
+
+    @Test
+    public void testUpgradeStore() {
+        AirshipDatabase.setEnabled(true);
+        Context context = TestApplication.getApplication();
+
+        TestStore store = new TestStore(context, "upgrade.db", 1);
+        store.insertValue("one");
+
+        // Reopen the database
+        AirshipDatabase.clearInstances();
+
+        TestStore upgraded = new TestStore(context, "upgrade.db", 2);
+        assertEquals(1, upgraded.count());
+        assertEquals(1, upgraded.upgradeCount);
+    }
+
+    @Test
+    public void testPrefixedStores() {
+        AirshipDatabase.setEnabled(true);
+        Context context = TestApplication.getApplication();
+
+        PrefixedStore first = new PrefixedStore(context, "first.db", "first_");
+        PrefixedStore second = new PrefixedStore(context, "second.db", "second_");
+        assertEquals("first_entries", first.getTableName("entries"));
+
+        first.insertValue("one");
+        assertEquals(1, first.count());
+        assertEquals(0, second.count());
+    }
+
+    @Test
+    public void testMigratePrefixedStore() {
+        Context context = TestApplication.getApplication();
+
+        PrefixedStore legacy = new PrefixedStore(context, "prefixed.db", "prefixed_");
+        assertEquals("entries", legacy.getTableName("entries"));
+        legacy.insertValue("one");
+        legacy.insertValue("two");
+
+        File legacyFile = new File(legacy.getDatabasePath());
+        legacy.close();
+
+        AirshipDatabase.setEnabled(true);
+        PrefixedStore store = new PrefixedStore(context, "prefixed.db", "prefixed_");
+        assertEquals(2, store.count());
+        assertFalse(legacyFile.exists());
+    }
+
+    @Test
+    public void testOpenSpan() {
+        final List<String> spans = new ArrayList<>();
+        Metrics.setSink(new MetricsSink() {
+            @Override
+            public void onCount(@NonNull String name, long delta) {
+            }
+
+            @Override
+            public void onHistogram(@NonNull String name, double value) {
+            }
+
+            @Override
+            public void onSpan(@NonNull String name, long durationNanos) {
+                spans.add(name);
+            }
+        });
+
+        AirshipDatabase.setEnabled(true);
+        TestStore store = new TestStore(TestApplication.getApplication(), "span.db", 1);
+        store.insertValue("one");
+        store.insertValue("two");
+
+        // Only the first open is recorded
+        int openCount = 0;
+        for (String span : spans) {
+            if (Metrics.SPAN_DATABASE_OPEN.equals(span)) {
+                openCount++;
+            }
+        }
+        assertEquals(1, openCount);
+    }
+
+    private static class PrefixedStore extends DataManager {
+
+        PrefixedStore(@NonNull Context context, @NonNull String name, @NonNull String tablePrefix) {
+            super(context, APP_KEY, name, 1, tablePrefix);
+        }
+
+        @Override
+        protected void onCreate(@NonNull SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + getTableName("entries") + " (id INTEGER PRIMARY KEY AUTOINCREMENT, value TEXT);");
+        }
+
+        String getDatabasePath() {
+            return getReadableDatabase().getPath();
+        }
+
+        long insertValue(@NonNull String value) {
+            ContentValues values = new ContentValues();
+            values.put("value", value);
+            return insert(getTableName("entries"), values);
+        }
+
+        int count() {
+            Cursor cursor = query(getTableName("entries"), null, null, null, null, null);
+            try {
+                return cursor == null ? 0 : cursor.getCount();
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+        }
+
+    }
+
+    private static class TestStore extends DataManager {
+
+        private final String table;
+        private int upgradeCount = 0;
+        private int openCount = 0;
+
+        TestStore(@NonNull Context context, @NonNull String name, int version) {
+            super(context, APP_KEY, name, version, true);
+            this.table = "test_" + name.replace(".", "_");
+        }
+
+        @Override
+        protected void onCreate(@NonNull SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + table + " (id INTEGER PRIMARY KEY AUTOINCREMENT, value TEXT);");
+        }
+
+        @Override
+        protected void onUpgrade(@NonNull SQLiteDatabase db, int oldVersion, int newVersion) {
+            upgradeCount++;
+        }
+
+        @Override
+        protected void onOpen(@NonNull SQLiteDatabase db) {
+            openCount++;
+        }
+
+        String getDatabasePath() {
+            return getReadableDatabase().getPath();
+        }
+
+        long insertValue(@NonNull String value) {
+            ContentValues values = new ContentValues();
+            values.put("value", value);
+            return insert(table, values);
+        }
+
+        int count() {
+            Cursor cursor = query(table, null, null, null, null, null);
+            try {
+                return cursor == null ? 0 : cursor.getCount();
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+        }
+
+    }
+
+}
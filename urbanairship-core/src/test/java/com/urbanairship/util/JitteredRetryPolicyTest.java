@@ -0,0 +1,40 @@
+/* Copyright Airship and Contributors */
+
+package com.urbanairship.util;
+
+import com.urbanairship.BaseTestCase;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link JitteredRetryPolicy}.
+ */
+public class JitteredRetryPolicyTest extends BaseTestCase {
+
+    @Test
+    public void testBackoffBounds() {
+        JitteredRetryPolicy policy = new JitteredRetryPolicy(1000, 10000, new Random(0));
+
+        long backoff = policy.getInitialBackoff();
+        assertTrue(backoff >= 1000 && backoff <= 3000);
+
+        for (int i = 0; i < 100; i++) {
+            long next = policy.getNextBackoff(backoff);
+            assertTrue(next >= 1000);
+            assertTrue(next <= Math.min(10000, backoff * 3));
+            backoff = next;
+        }
+    }
+
+    @Test
+    public void testMaxBackoff() {
+        JitteredRetryPolicy policy = new JitteredRetryPolicy(20000, 10000, new Random(0));
+        assertTrue(policy.getInitialBackoff() == 10000);
+        assertTrue(policy.getNextBackoff(20000) == 10000);
+    }
+
+}
@@ -7,15 +7,19 @@ import android.os.Looper;
 import androidx.annotation.NonNull;
 
 import com.urbanairship.BaseTestCase;
+import com.urbanairship.TestClock;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.robolectric.Shadows;
 
+import java.util.Arrays;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -90,6 +94,47 @@ public class RetryingExecutorTest extends BaseTestCase {
         assertEquals(0, thirdOperation.runCount);
     }
 
+    @Test
+    public void testExecuteParallelOperations() {
+        TestOperation firstOperation = new TestOperation(RetryingExecutor.RESULT_RETRY);
+        TestOperation secondOperation = new TestOperation(RetryingExecutor.RESULT_FINISHED);
+        TestOperation thenOperation = new TestOperation(RetryingExecutor.RESULT_FINISHED);
+
+        executor.executeParallel(Arrays.asList(firstOperation, secondOperation), thenOperation);
+        assertEquals(1, firstOperation.runCount);
+        assertEquals(1, secondOperation.runCount);
+        assertEquals(0, thenOperation.runCount);
+
+        // Only the retrying operation runs again
+        firstOperation.result = RetryingExecutor.RESULT_FINISHED;
+        advanceLooper(30000);
+
+        assertEquals(2, firstOperation.runCount);
+        assertEquals(1, secondOperation.runCount);
+        assertEquals(1, thenOperation.runCount);
+
+        // The group operations and the then chain
+        assertEquals(3, executor.getStatistics().getOperationCount());
+    }
+
+    @Test
+    public void testExecuteParallelOperationsCancel() {
+        TestOperation firstOperation = new TestOperation(RetryingExecutor.RESULT_RETRY);
+        TestOperation secondOperation = new TestOperation(RetryingExecutor.RESULT_CANCEL);
+        TestOperation thenOperation = new TestOperation(RetryingExecutor.RESULT_FINISHED);
+
+        executor.executeParallel(Arrays.asList(firstOperation, secondOperation), thenOperation);
+        assertEquals(1, firstOperation.runCount);
+        assertEquals(1, secondOperation.runCount);
+
+        // The pending retry is skipped
+        firstOperation.result = RetryingExecutor.RESULT_FINISHED;
+        advanceLooper(30000);
+
+        assertEquals(1, firstOperation.runCount);
+        assertEquals(0, thenOperation.runCount);
+    }
+
     @Test
     public void testExecuteOperationRetry() {
         TestOperation operation = new TestOperation(RetryingExecutor.RESULT_RETRY);
@@ -139,6 +184,105 @@ public class RetryingExecutorTest extends BaseTestCase {
         assertEquals(2, operation.runCount);
     }
 
+    @Test
+    public void testRetryPendingOperations() {
+        TestOperation operation = new TestOperation(RetryingExecutor.RESULT_RETRY);
+        executor.execute(operation);
+        assertEquals(1, operation.runCount);
+
+        // Retry before the backoff expires
+        executor.retryPendingOperations();
+        Shadows.shadowOf(mainLooper).runToEndOfTasks();
+        assertEquals(2, operation.runCount);
+
+        // Next backoff is doubled
+        operation.result = RetryingExecutor.RESULT_FINISHED;
+        advanceLooper(30000);
+        assertEquals(2, operation.runCount);
+
+        advanceLooper(30000);
+        assertEquals(3, operation.runCount);
+
+        assertEquals(1, executor.getStatistics().getResumedCount());
+    }
+
+    @Test
+    public void testRetryBudget() {
+        TestClock clock = new TestClock();
+        executor = new RetryingExecutor(new Handler(Looper.getMainLooper()), new Executor() {
+            @Override
+            public void execute(@NonNull Runnable runnable) {
+                runnable.run();
+            }
+        }, new ExponentialRetryPolicy(30000, 300000), new RetryBudget(1, 60000, clock));
+
+        TestOperation first = new TestOperation(RetryingExecutor.RESULT_RETRY);
+        TestOperation second = new TestOperation(RetryingExecutor.RESULT_RETRY);
+        executor.execute(first);
+        executor.execute(second);
+
+        first.result = RetryingExecutor.RESULT_FINISHED;
+        second.result = RetryingExecutor.RESULT_FINISHED;
+
+        // Only one retry token is available
+        advanceLooper(30000);
+        assertEquals(2, first.runCount);
+        assertEquals(1, second.runCount);
+        assertEquals(1, executor.getStatistics().getThrottledCount());
+
+        // Refill the token
+        clock.currentTimeMillis += 60000;
+        advanceLooper(60000);
+        assertEquals(2, second.runCount);
+    }
+
+    @Test
+    public void testStatistics() {
+        TestOperation operation = new TestOperation(RetryingExecutor.RESULT_RETRY);
+        TestOperation cancelOperation = new TestOperation(RetryingExecutor.RESULT_CANCEL);
+
+        executor.execute(operation);
+        executor.execute(cancelOperation);
+
+        operation.result = RetryingExecutor.RESULT_FINISHED;
+        advanceLooper(30000);
+
+        RetryingExecutor.Statistics statistics = executor.getStatistics();
+        assertEquals(2, statistics.getOperationCount());
+        assertEquals(3, statistics.getAttemptCount());
+        assertEquals(1, statistics.getRetryCount());
+        assertEquals(1, statistics.getCancelCount());
+        assertEquals(2, statistics.getMaxAttempts());
+    }
+
+    @Test
+    public void testOperationStatistics() {
+        TestOperation operation = new TestOperation(RetryingExecutor.RESULT_RETRY);
+        TestOperation otherOperation = new TestOperation(RetryingExecutor.RESULT_FINISHED);
+
+        RetryingExecutor.OperationStatistics statistics = executor.execute(operation);
+        RetryingExecutor.OperationStatistics otherStatistics = executor.execute(otherOperation);
+
+        assertEquals(1, statistics.getAttemptCount());
+        assertEquals(1, statistics.getRetryCount());
+        assertFalse(statistics.isDone());
+
+        // Run the retry early
+        operation.result = RetryingExecutor.RESULT_FINISHED;
+        executor.retryPendingOperations();
+        Shadows.shadowOf(mainLooper).runToEndOfTasks();
+
+        assertEquals(2, statistics.getAttemptCount());
+        assertEquals(1, statistics.getRetryCount());
+        assertEquals(1, statistics.getResumedCount());
+        assertTrue(statistics.isDone());
+
+        assertEquals(1, otherStatistics.getAttemptCount());
+        assertEquals(0, otherStatistics.getRetryCount());
+        assertEquals(0, otherStatistics.getResumedCount());
+        assertTrue(otherStatistics.isDone());
+    }
+
     private void advanceLooper(long millis) {
         Shadows.shadowOf(mainLooper).getScheduler().advanceBy(millis, TimeUnit.MILLISECONDS);
     }
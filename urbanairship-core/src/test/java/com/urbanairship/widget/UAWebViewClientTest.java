@@ -47,6 +47,7 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -305,6 +306,31 @@ public class UAWebViewClientTest extends BaseTestCase {
         verifyZeroInteractions(webView);
     }
 
+    /**
+     * Test the js bridge is injected once per page load when the page becomes visible.
+     */
+    @Test
+    @SuppressLint("NewApi")
+    public void testOnPageCommitVisibleInjectsOnce() {
+        NativeBridge.load(TestApplication.getApplication());
+
+        client.onPageCommitVisible(webView, webViewUrl);
+        client.onPageFinished(webView, webViewUrl);
+
+        verify(webView, times(1)).evaluateJavascript(argThat(new ArgumentMatcher<String>() {
+            @Override
+            public boolean matches(String argument) {
+                return argument.startsWith("var _UAirship = {};") && argument.contains("UAirship = (function()");
+            }
+        }), eq((ValueCallback<String>) null));
+
+        // A new page load injects the bridge again
+        client.onPageStarted(webView, webViewUrl, null);
+        client.onPageFinished(webView, webViewUrl);
+
+        verify(webView, times(2)).evaluateJavascript(any(String.class), eq((ValueCallback<String>) null));
+    }
+
     /**
      * Test running an action calls the action completion callback
      */
@@ -547,6 +573,53 @@ public class UAWebViewClientTest extends BaseTestCase {
         verify(completionCallback).onFinish(arguments, result);
     }
 
+    /**
+     * Test running a batch of actions calls back with all of the results in a single script.
+     */
+    @Test
+    public void testRunActionBatch() throws ActionValueException {
+        final ActionResult result = ActionTestUtils.createResult("action_result", null, ActionResult.STATUS_COMPLETED);
+        final ActionArguments arguments = ActionTestUtils.createArgs(Action.SITUATION_WEB_VIEW_INVOCATION, "what");
+
+        Answer<Void> finishAnswer = new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                ActionCompletionCallback callback = (ActionCompletionCallback) invocation.getArguments()[0];
+                callback.onFinish(arguments, result);
+                return null;
+            }
+        };
+
+        ActionRunRequest runRequest = Mockito.mock(StubbedActionRunRequest.class, Mockito.CALLS_REAL_METHODS);
+        doAnswer(finishAnswer).when(runRequest).run(Mockito.any(ActionCompletionCallback.class));
+        when(runRequestFactory.createActionRequest("actionName")).thenReturn(runRequest);
+
+        ActionRunRequest anotherRunRequest = Mockito.mock(StubbedActionRunRequest.class, Mockito.CALLS_REAL_METHODS);
+        doAnswer(finishAnswer).when(anotherRunRequest).run(Mockito.any(ActionCompletionCallback.class));
+        when(runRequestFactory.createActionRequest("anotherAction")).thenReturn(anotherRunRequest);
+
+        client.runActionBatch(webView, "[{\"name\": \"actionName\", \"value\": true, \"callback\": \"cb-1\"}," +
+                "{\"name\": \"anotherAction\", \"value\": {\"key\": \"value\"}}," +
+                "{\"name\": \"actionName\", \"value\": \"what\", \"callback\": \"cb-2\"}]");
+
+        verify(runRequest).setValue(ActionValue.wrap(true));
+        verify(runRequest).setValue(ActionValue.wrap("what"));
+        verify(anotherRunRequest).run(any(ActionCompletionCallback.class));
+
+        verifyWebView("UAirship.finishAction(null, \"action_result\", 'cb-1');" +
+                "UAirship.finishAction(null, \"action_result\", 'cb-2');");
+    }
+
+    /**
+     * Test action batches are ignored for URLs that are not white listed.
+     */
+    @Test
+    public void testRunActionBatchNotWhiteListed() {
+        webViewUrl = "http://not-white-listed";
+        client.runActionBatch(webView, "[{\"name\": \"actionName\", \"value\": true, \"callback\": \"cb-1\"}]");
+        verifyZeroInteractions(runRequestFactory);
+    }
+
     private void verifyWebView(String s) {
         if (Build.VERSION.SDK_INT <= Build.VERSION_CODES.JELLY_BEAN_MR2) {
             verify(webView).loadUrl("javascript:" + s);